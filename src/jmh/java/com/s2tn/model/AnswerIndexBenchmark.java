@@ -0,0 +1,82 @@
+package com.s2tn.model;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One speed-run answer attempt: the previous per-attempt normalization (trim + toLowerCase
+ * into a HashSet, trim + equalsIgnoreCase for riddles) against {@link AnswerIndex#matches},
+ * with and without accent stripping, plus a full {@link CodePuzzle#enterInput}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AnswerIndexBenchmark {
+
+    @Param({"  Open Sesame ", "wrong guess"})
+    public String attempt;
+
+    private static final String ANSWER = "open sesame";
+
+    private Set<String> legacyCodes;
+    private AnswerIndex index;
+    private AnswerIndex accentIndex;
+    private CodePuzzle puzzle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacyCodes = new HashSet<>();
+        legacyCodes.add(ANSWER);
+        legacyCodes.add("abracadabra");
+        index = new AnswerIndex();
+        index.add(ANSWER);
+        index.add("abracadabra");
+        accentIndex = new AnswerIndex(true);
+        accentIndex.add(ANSWER);
+        accentIndex.add("abracadabra");
+        accentIndex.matches("é"); // build the accent table outside the measurement
+        puzzle = new CodePuzzle("bench", Set.of(ANSWER, "abracadabra"));
+    }
+
+    @Benchmark
+    public boolean legacyCode() {
+        return legacyCodes.contains(attempt.trim().toLowerCase());
+    }
+
+    @Benchmark
+    public boolean legacyRiddle() {
+        return attempt.trim().equalsIgnoreCase(ANSWER.trim());
+    }
+
+    @Benchmark
+    public boolean indexMatch() {
+        return index.matches(attempt);
+    }
+
+    @Benchmark
+    public boolean indexMatchStripAccents() {
+        return accentIndex.matches(attempt);
+    }
+
+    @Benchmark
+    public ValidationResult codePuzzleEnterInput() {
+        return puzzle.enterInput(attempt);
+    }
+}
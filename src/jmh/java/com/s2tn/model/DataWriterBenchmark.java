@@ -0,0 +1,75 @@
+package com.s2tn.model;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repeated saves of a users.json snapshot: the old in-place {@link FileWriter} write
+ * against the crash-safe temp file + fsync + rename used by {@link AtomicFiles}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataWriterBenchmark {
+
+    @Param({"100", "10000"})
+    public int users;
+
+    private Path dir;
+    private Path target;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void createContent() throws IOException {
+        dir = Files.createTempDirectory("s2tn-writer");
+        target = dir.resolve("users.json");
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < users; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(DataWriter.userToJson(new Account("player" + i, "pw" + i)));
+        }
+        content = sb.append(']').toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /** Previous behaviour: truncate and rewrite the file in place, no sync. */
+    @Benchmark
+    public void fileWriterInPlace() throws IOException {
+        try (FileWriter writer = new FileWriter(target.toFile(), false)) {
+            writer.write(content);
+        }
+    }
+
+    /** Current behaviour: channel write to a temp file, force, atomic rename. */
+    @Benchmark
+    public void atomicReplace() throws IOException {
+        AtomicFiles.write(target, content);
+    }
+}
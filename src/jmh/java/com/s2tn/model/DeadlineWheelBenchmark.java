@@ -0,0 +1,101 @@
+package com.s2tn.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DeadlineWheel} holding a steady population of dungeon countdowns (each one that
+ * fires is rescheduled up to 30 minutes out). Measures schedule/cancel, a pause/resume style
+ * reschedule, and one 10 ms tick of the wheel against one polling pass over as many running
+ * {@link Timer}s.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeadlineWheelBenchmark {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(DeadlineWheel.DEFAULT_TICK_MILLIS);
+    private static final long LIMIT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"100000"})
+    public int deadlines;
+
+    private VirtualClock clock;
+    private DeadlineWheel wheel;
+    private DeadlineWheel.Deadline[] handles;
+    private Runnable[] tasks;
+    private long[] delays;
+    private Timer[] timers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(7);
+        delays = new long[1 << 16];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = 1 + (long) (rnd.nextDouble() * TimeUnit.MILLISECONDS.toNanos(LIMIT_MILLIS));
+        }
+        clock = new VirtualClock();
+        wheel = new DeadlineWheel(clock, TICK);
+        handles = new DeadlineWheel.Deadline[deadlines];
+        tasks = new Runnable[deadlines];
+        for (int i = 0; i < deadlines; i++) {
+            int k = i;
+            tasks[k] = () -> handles[k] = wheel.schedule(nextDelay(), tasks[k]);
+            handles[k] = wheel.schedule(nextDelay(), tasks[k]);
+        }
+        timers = new Timer[deadlines];
+        for (int i = 0; i < deadlines; i++) {
+            timers[i] = new Timer();
+            timers[i].start();
+        }
+    }
+
+    private long nextDelay() {
+        return delays[cursor++ & (delays.length - 1)];
+    }
+
+    @Benchmark
+    public boolean scheduleCancel() {
+        return wheel.schedule(nextDelay(), NOOP).cancel();
+    }
+
+    @Benchmark
+    public DeadlineWheel.Deadline reschedule() {
+        int k = cursor++ % deadlines;
+        handles[k].cancel();
+        return handles[k] = wheel.schedule(nextDelay(), tasks[k]);
+    }
+
+    @Benchmark
+    public int wheelTick() {
+        clock.advance(TICK);
+        return wheel.advance();
+    }
+
+    @Benchmark
+    public int pollTick() {
+        int expired = 0;
+        for (Timer t : timers) {
+            if (t.elapsedTime() >= LIMIT_MILLIS) expired++;
+        }
+        return expired;
+    }
+}
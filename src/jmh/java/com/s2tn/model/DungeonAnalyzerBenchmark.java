@@ -0,0 +1,110 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DungeonAnalyzer} on a 100k-room dungeon with eight puzzles per room (every tenth
+ * needing the previous room's reward item): room-completion checks against the old per-call
+ * puzzle scan, a state change, a full reachability pass and a critical path.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DungeonAnalyzerBenchmark {
+
+    static final int ROOMS = 100_000;
+    static final int PUZZLES_PER_ROOM = 8;
+
+    private ArrayList<Room> rooms;
+    private DungeonAnalyzer analyzer;
+    private int[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            ArrayList<Puzzle> ps = new ArrayList<>();
+            for (int k = 0; k < PUZZLES_PER_ROOM; k++) {
+                Puzzle p = new CodePuzzle();
+                if (k < PUZZLES_PER_ROOM - 1) p.setState(PuzzleState.SOLVED); // worst case for a scan
+                ps.add(p);
+            }
+            ps.get(0).setRewardItem("ITEM" + i);
+            if (i > 0 && i % 10 == 0) {
+                ps.get(1).setState(PuzzleState.INIT);
+                ps.get(1).setRequiresItem(true);
+                ps.get(1).setRequiredItemKey("ITEM" + (i - 1));
+            }
+            ArrayList<Room> open = new ArrayList<>();
+            ArrayList<Room> locked = new ArrayList<>();
+            if (i > 0) {
+                locked.add(rooms.get(i - 1));
+                open.add(rooms.get(rnd.nextInt(i)));
+            }
+            rooms.add(new Room(ps, null, open, locked));
+        }
+        // exits point backwards, so start from the last room and escape to room 0
+        Collections.reverse(rooms);
+        Dungeon d = new Dungeon("bench", rooms, 60_000, Difficulty.NORMAL, rooms.get(0));
+        analyzer = d.getAnalyzer();
+        probes = new int[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = rnd.nextInt(ROOMS);
+    }
+
+    private int next() {
+        return probes[cursor++ & (probes.length - 1)];
+    }
+
+    @Benchmark
+    public boolean legacyRoomComplete() {
+        for (Puzzle p : rooms.get(next()).getPuzzles()) {
+            if (p.getState() != PuzzleState.SOLVED) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean roomComplete() {
+        return analyzer.isComplete(next());
+    }
+
+    @Benchmark
+    public double stateChange() {
+        Puzzle p = rooms.get(next()).getPuzzles().get(PUZZLES_PER_ROOM - 1);
+        p.setState(p.getState() == PuzzleState.SOLVED ? PuzzleState.IN_PROGRESS : PuzzleState.SOLVED);
+        return analyzer.progress();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int reachability() {
+        return analyzer.analyzeReachability(null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Puzzle> criticalPath() {
+        return analyzer.criticalPath(null);
+    }
+}
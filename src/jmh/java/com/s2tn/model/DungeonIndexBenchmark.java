@@ -0,0 +1,103 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolving puzzle and room ids the way {@link Facade} used to (walking every room and puzzle)
+ * against {@link DungeonIndex}, plus the one-off cost of building the index.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DungeonIndexBenchmark {
+
+    @Param({"100", "2000"})
+    public int rooms;
+
+    static final int PUZZLES_PER_ROOM = 5;
+
+    private Dungeon dungeon;
+    private DungeonIndex index;
+    private UUID[] puzzleIds;
+    private UUID[] roomIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<Room> list = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            ArrayList<Puzzle> ps = new ArrayList<>();
+            for (int k = 0; k < PUZZLES_PER_ROOM; k++) ps.add(new Riddle("R" + k, "q", "a"));
+            list.add(new Room(ps, null, null, null));
+        }
+        dungeon = new Dungeon("bench", list, 60_000, Difficulty.NORMAL, list.get(0));
+        index = new DungeonIndex(dungeon);
+        Random rnd = new Random(42);
+        puzzleIds = new UUID[1024];
+        roomIds = new UUID[1024];
+        for (int i = 0; i < puzzleIds.length; i++) {
+            Room r = list.get(rnd.nextInt(rooms));
+            roomIds[i] = r.getRoomID();
+            puzzleIds[i] = r.getPuzzles().get(rnd.nextInt(PUZZLES_PER_ROOM)).getPuzzleID();
+        }
+    }
+
+    private int next() {
+        return cursor++ & 1023;
+    }
+
+    @Benchmark
+    public Puzzle legacyFindPuzzle() {
+        UUID id = puzzleIds[next()];
+        for (Room r : dungeon.getRooms()) {
+            for (Puzzle p : r.getPuzzles()) {
+                if (id.equals(p.getPuzzleID())) return p;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Puzzle findPuzzle() {
+        return index.puzzle(puzzleIds[next()]);
+    }
+
+    @Benchmark
+    public Room legacyFindRoom() {
+        UUID id = roomIds[next()];
+        for (Room r : dungeon.getRooms()) {
+            if (id.equals(r.getRoomID())) return r;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Room findRoom() {
+        return index.room(roomIds[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public DungeonIndex build() {
+        return new DungeonIndex(dungeon);
+    }
+}
@@ -0,0 +1,109 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DungeonList} lookups against the linear scans it used to do, a four-thread read of
+ * the published snapshot, and the cost of swapping in a reloaded list.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DungeonListBenchmark {
+
+    @Param({"10", "1000"})
+    public int dungeons;
+
+    private List<Dungeon> legacy;
+    private UUID[] ids;
+    private String[] names;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacy = new ArrayList<>(dungeons);
+        for (int i = 0; i < dungeons; i++) {
+            legacy.add(new Dungeon("Dungeon " + i, new ArrayList<>(), 60_000, Difficulty.NORMAL, null));
+        }
+        DungeonList.getInstance().replaceAll(legacy);
+        Random rnd = new Random(42);
+        ids = new UUID[1024];
+        names = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            Dungeon d = legacy.get(rnd.nextInt(dungeons));
+            ids[i] = d.getUUID();
+            names[i] = d.getName().toUpperCase();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DungeonList.getInstance().clear();
+    }
+
+    private int next() {
+        return cursor++ & 1023;
+    }
+
+    @Benchmark
+    public Dungeon legacyGetById() {
+        UUID id = ids[next()];
+        for (Dungeon d : legacy) {
+            if (id.equals(d.getUUID())) return d;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Dungeon getById() {
+        return DungeonList.getInstance().getById(ids[next()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Dungeon getByIdFourThreads() {
+        return DungeonList.getInstance().getById(ids[next()]);
+    }
+
+    @Benchmark
+    public Dungeon legacyGetByName() {
+        String name = names[next()];
+        for (Dungeon d : legacy) {
+            if (name.equalsIgnoreCase(d.getName())) return d;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Dungeon getByName() {
+        return DungeonList.getInstance().getByName(names[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void replaceAll() {
+        DungeonList.getInstance().replaceAll(legacy);
+    }
+}
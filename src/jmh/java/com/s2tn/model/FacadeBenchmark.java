@@ -0,0 +1,97 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The public {@link Facade} calls that resolve a puzzle id through its private findPuzzle:
+ * locating the room that holds a puzzle, answering a riddle (a wrong guess, so the puzzle
+ * stays playable) and attempting a code puzzle, on a generated dungeon.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FacadeBenchmark {
+
+    @Param({"100", "2000"})
+    public int rooms;
+
+    private Facade facade;
+    private UUID[] riddleIds;
+    private UUID[] codeIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<Room> list = new ArrayList<>(rooms);
+        List<UUID> riddles = new ArrayList<>();
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            Riddle riddle = new Riddle("Riddle " + i, "What burns?", "TORCH");
+            CodePuzzle code = new CodePuzzle("Code " + i, Set.of("3214"));
+            riddles.add(riddle.getPuzzleID());
+            codes.add(code.getPuzzleID());
+            list.add(new Room(new ArrayList<>(List.of(riddle, code)), null, null, null));
+        }
+        Dungeon dungeon = new Dungeon("bench", list, 60_000, Difficulty.NORMAL, list.get(0));
+
+        facade = new Facade();
+        facade.listDungeons(); // let the one-off disk load happen before installing the fixture
+        DungeonList.getInstance().replaceAll(List.of(dungeon));
+        facade.startDungeon(dungeon.getUUID());
+        facade.enterDungeon();
+
+        Random rnd = new Random(42);
+        riddleIds = new UUID[1024];
+        codeIds = new UUID[1024];
+        for (int i = 0; i < riddleIds.length; i++) {
+            riddleIds[i] = riddles.get(rnd.nextInt(rooms));
+            codeIds[i] = codes.get(rnd.nextInt(rooms));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DungeonList.getInstance().clear();
+    }
+
+    private int next() {
+        return cursor++ & 1023;
+    }
+
+    @Benchmark
+    public Room getPuzzleRoom() {
+        return facade.getPuzzleRoom(riddleIds[next()]);
+    }
+
+    @Benchmark
+    public boolean answerRiddleWrong() {
+        return facade.answerRiddle(riddleIds[next()], "candle");
+    }
+
+    @Benchmark
+    public boolean attemptCodePuzzleWrong() {
+        return facade.attemptCodePuzzle(codeIds[next()], "1234");
+    }
+}
@@ -0,0 +1,75 @@
+package com.s2tn.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link Facade} instrumentation: a trivial Facade call with metrics on and off (the
+ * difference is the per-call overhead), a bare start/end pair, the same pair from four
+ * threads into one operation, and the two clock reads a timed call cannot avoid.
+ * {@code sampleEvery} is how often a call is timed; 8 is the default.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FacadeMetricsBenchmark {
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    @Param({"1", "8"})
+    public int sampleEvery;
+
+    private Facade facade;
+    private OperationStats op;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        facade = new Facade();
+        op = FacadeMetrics.operation("benchmark");
+        FacadeMetrics.getInstance().setEnabled(enabled);
+        FacadeMetrics.getInstance().setSampleEvery(sampleEvery);
+    }
+
+    @Benchmark
+    public Account getCurrentUser() {
+        return facade.getCurrentUser();
+    }
+
+    /** The two clock reads every timed call needs, as a floor for startEnd. */
+    @Benchmark
+    public long nanoTimePair() {
+        return System.nanoTime() - System.nanoTime();
+    }
+
+    @Benchmark
+    public long startEnd() {
+        long t = op.start();
+        op.end(t);
+        return t;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long startEndFourThreads() {
+        long t = op.start();
+        op.end(t);
+        return t;
+    }
+}
@@ -0,0 +1,85 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates synthetic content files for the benchmarks.
+ * Output mirrors the shape of json/rooms.json and json/users.json so loaders see realistic keys
+ * and nesting.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * Writes a {@code {"dungeons":[...]}} file with the given number of rooms spread over
+     * dungeons of up to 100 rooms, each room holding a riddle, a scramble and a code puzzle.
+     *
+     * @param file target file
+     * @param rooms total number of rooms to generate
+     * @throws IOException if the file cannot be written
+     */
+    static void writeDungeons(Path file, int rooms) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("{\"dungeons\":[");
+            int written = 0;
+            int dungeon = 0;
+            while (written < rooms) {
+                if (dungeon > 0) w.write(',');
+                int count = Math.min(100, rooms - written);
+                writeDungeon(w, dungeon++, written, count);
+                written += count;
+            }
+            w.write("]}");
+        }
+    }
+
+    private static void writeDungeon(Writer w, int d, int firstRoom, int rooms) throws IOException {
+        w.write("{\"dungeonId\":\"d-" + d + "\",\"name\":\"Dungeon " + d + "\",\"difficulty\":" + (1 + d % 4)
+                + ",\"timer\":{\"allowedTime\":\"00:05:00\",\"elapsedTime\":\"00:00:00\"},\"rooms\":[");
+        for (int r = 0; r < rooms; r++) {
+            if (r > 0) w.write(',');
+            int id = firstRoom + r;
+            w.write("{\"roomId\":\"r-" + id + "\",\"puzzles\":[");
+            w.write("{\"puzzleId\":\"p-" + id + "-1\",\"title\":\"Riddle " + id + "\",\"status\":\"INIT\",\"maxTries\":3,"
+                    + "\"hints\":[{\"level\":1,\"text\":\"Think about burning more than one torch\",\"cost\":1.0}],"
+                    + "\"question\":\"You have one match and three unlit torches. How do you measure three minutes?\","
+                    + "\"answer\":\"TORCH\",\"hint\":\"Burn them together\",\"rewardItem\":\"CIPHER\"},");
+            w.write("{\"puzzleId\":\"p-" + id + "-2\",\"title\":\"Scramble " + id + "\",\"status\":\"INIT\",\"maxTries\":5,"
+                    + "\"hints\":[{\"level\":1,\"text\":\"It is a precious metal\",\"cost\":1.0},"
+                    + "{\"level\":2,\"text\":\"Symbol Au\",\"cost\":1.5}],"
+                    + "\"scrambledWord\":\"DLOG\",\"solution\":\"GOLD\",\"rewardItem\":\"GOLD_COIN\"},");
+            w.write("{\"puzzleId\":\"p-" + id + "-3\",\"title\":\"Code " + id + "\",\"type\":\"CODE\",\"status\":\"INIT\","
+                    + "\"codePrompt\":\"Enter the order as digits 1-4 without spaces.\",\"expectedCode\":\"3214\","
+                    + "\"requiresItem\":true,\"requiredItemKey\":\"CIPHER\",\"rewardItem\":\"BRASS_KEY\"}");
+            w.write("],\"hints\":[{\"level\":1,\"text\":\"Check the wall carvings\",\"cost\":0.5}],"
+                    + "\"exits\":[\"r-" + (id + 1) + "\"],\"lockedExits\":[]}");
+        }
+        w.write("],\"story\":{\"title\":\"Dungeon " + d + "\",\"text\":\"When the citadel fell, the last Sentinel hid the"
+                + " Golden Vault away. Only minds bright as flame may pass.\",\"tts\":true}}");
+    }
+
+    /**
+     * Writes a users.json snapshot of {@code users} generated accounts named player0, player1, ...
+     *
+     * @param file target file
+     * @param users number of accounts
+     * @throws IOException if the file cannot be written
+     */
+    static void writeUsers(Path file, int users) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write('[');
+            for (int i = 0; i < users; i++) {
+                if (i > 0) w.write(',');
+                Account a = new Account("player" + i, "pw" + i);
+                a.setScore(i % 5000);
+                w.write(DataWriter.userToJson(a));
+            }
+            w.write(']');
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.s2tn.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What the {@code com.s2tn.PuzzleInput} flight recorder event costs when no recording has
+ * enabled it: {@link Puzzle#enterInput} (with the event) against the puzzle's own
+ * {@link Puzzle#handleInput} (without it). Run with {@code -prof gc} to confirm the event
+ * object is never allocated.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JfrEventsBenchmark {
+
+    private Riddle riddle;
+    private final String[] inputs = {"needle", "pin"};
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        riddle = new Riddle("Riddle", "What has an eye, but cannot see?", "needle");
+    }
+
+    @Benchmark
+    public ValidationResult handleInput() {
+        return riddle.handleInput(inputs[next++ & 1]);
+    }
+
+    @Benchmark
+    public ValidationResult enterInputEventOff() {
+        return riddle.enterInput(inputs[next++ & 1]);
+    }
+}
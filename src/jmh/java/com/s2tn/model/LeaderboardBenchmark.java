@@ -0,0 +1,75 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leaderboard operations against a populated board, with the old sort-every-query
+ * top 10 as a reference point.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LeaderboardBenchmark {
+
+    private static final Comparator<Leaderboard.Entry> RANKING =
+        Comparator.comparingInt(Leaderboard.Entry::getScore).reversed()
+                  .thenComparingLong(Leaderboard.Entry::getElapsedTime)
+                  .thenComparingLong(Leaderboard.Entry::getTimestamp);
+
+    @Param({"1000", "100000"})
+    public int players;
+
+    private Leaderboard board;
+    private List<Leaderboard.Entry> entries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        UserList.getInstance().replaceAll(null);
+        board = new Leaderboard();
+        for (int i = 0; i < players; i++) board.submit("player" + i, i % 5000, 60_000 + i);
+        entries = new ArrayList<>(board.snapshot());
+    }
+
+    /** Improves one player's score, moving their entry. */
+    @Benchmark
+    public void submit() {
+        int i = next++ % players;
+        board.submit("player" + i, 5000 + next, 1);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> topScore10() {
+        return board.topScore(10);
+    }
+
+    @Benchmark
+    public int rankOf() {
+        return board.rankOf("player" + (next++ % players));
+    }
+
+    /** Previous topScore: sort every entry, then take 10. */
+    @Benchmark
+    public List<Leaderboard.Entry> sortPerQueryTop10() {
+        return entries.stream().sorted(RANKING).limit(10).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.s2tn.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Random walk over a generated maze through the primitive move path (expected to allocate
+ * nothing) and through the string facade, plus the cost of generating the maze.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MazeBenchmark {
+
+    private static final String[] WORDS = {"U", "D", "L", "R"};
+
+    @Param({"10000"})
+    public int size;
+
+    private Maze maze;
+    private long rnd = 0x9E3779B97F4A7C15L;
+
+    @Setup(Level.Trial)
+    public void generateMaze() {
+        maze = Maze.generate(size, size, 42L);
+    }
+
+    private int nextDirection() {
+        rnd ^= rnd << 13;
+        rnd ^= rnd >>> 7;
+        rnd ^= rnd << 17;
+        return (int) (rnd & 3);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean tryMove() {
+        return switch (nextDirection()) {
+            case 0 -> maze.tryMove(-1, 0);
+            case 1 -> maze.tryMove(1, 0);
+            case 2 -> maze.tryMove(0, -1);
+            default -> maze.tryMove(0, 1);
+        };
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ValidationResult enterInputFacade() {
+        return maze.enterInput(WORDS[nextDirection()]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Maze generate() {
+        return Maze.generate(size, size, 7L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.s2tn.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MazeSolver} on a generated maze: start-to-end path from the cached route field, a full
+ * A* search to another corner, a rebuild of the route field after the layout changes, and a
+ * single next-move query once the field exists.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MazeSolverBenchmark {
+
+    @Param({"4096"})
+    public int size;
+
+    private Maze maze;
+    private MazeSolver solver;
+    private int endRow;
+    private int endCol;
+    private String endB;
+    private boolean flip;
+    private long rnd = 0x9E3779B97F4A7C15L;
+
+    private static final String END_A = "0,2";
+
+    @Setup(Level.Trial)
+    public void generateMaze() {
+        maze = Maze.generate(size, size, 42L);
+        solver = new MazeSolver(maze);
+        endRow = (size - 1) & ~1;
+        endCol = (size - 1) & ~1;
+        endB = endRow + "," + endCol;
+        solver.isSolvable(); // build the route field and scratch once
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] shortestPath() {
+        return solver.shortestPath(0, 0, endRow, endCol);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] shortestPathSearch() {
+        return solver.shortestPath(0, 0, endRow, 0);
+    }
+
+    /** Moves the end between two cells so every query rebuilds the whole route field. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public char rebuildRouteField() {
+        flip = !flip;
+        maze.setEndPosition(flip ? END_A : endB);
+        return solver.nextMove(0, 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public char nextMove() {
+        rnd ^= rnd << 13;
+        rnd ^= rnd >>> 7;
+        rnd ^= rnd << 17;
+        int cell = (int) ((rnd >>> 1) % ((long) size * size));
+        return solver.nextMove(cell / size, cell % size);
+    }
+}
@@ -0,0 +1,83 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starting a new run of a 1,000-puzzle dungeon (riddles, codes, sliding boards, shape matches
+ * and 32x32 mazes): a {@link GameSession} on the shared template, the same plus the first move
+ * on a stateful puzzle (one copy-on-write run copy), and copying every stateful puzzle up
+ * front as a deep-copying run would. Run with {@code -prof gc} for bytes per run.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NewRunBenchmark {
+
+    static final int ROOMS = 50;
+    static final int PUZZLES_PER_ROOM = 20;
+
+    private DungeonIndex template;
+    private UUID slideId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            ArrayList<Puzzle> ps = new ArrayList<>();
+            for (int k = 0; k < PUZZLES_PER_ROOM; k++) {
+                switch (k % 5) {
+                    case 0 -> ps.add(new Riddle("Riddle " + k, "What has an eye, but cannot see?", "needle"));
+                    case 1 -> ps.add(new CodePuzzle("Code " + k, Set.of("open sesame")));
+                    case 2 -> ps.add(new SlideShapePuzzle());
+                    case 3 -> {
+                        ShapeMatchPuzzle p = new ShapeMatchPuzzle();
+                        for (int s = 0; s < 6; s++) p.setTarget("S" + s, s * 10, s * 20, s * 15);
+                        ps.add(p);
+                    }
+                    default -> ps.add(Maze.generate(32, 32, i * 31L + k));
+                }
+            }
+            rooms.add(new Room(ps, null, null, null));
+        }
+        Dungeon d = new Dungeon("runs", rooms, 60_000, Difficulty.NORMAL, rooms.get(0));
+        template = new DungeonIndex(d);
+        slideId = rooms.get(0).getPuzzles().get(2).getPuzzleID();
+    }
+
+    @Benchmark
+    public GameSession newRun() {
+        return new GameSession(null, template);
+    }
+
+    @Benchmark
+    public GameSession newRunFirstMove() {
+        GameSession s = new GameSession(null, template);
+        s.answer(slideId, "H left");
+        return s;
+    }
+
+    @Benchmark
+    public Puzzle[] copyEveryStatefulPuzzle() {
+        Puzzle[] copies = new Puzzle[template.puzzleCount()];
+        for (int k = 0; k < copies.length; k++) copies[k] = template.puzzleAt(k).newRun();
+        return copies;
+    }
+}
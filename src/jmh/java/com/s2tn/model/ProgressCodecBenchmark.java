@@ -0,0 +1,90 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Binary {@link ProgressCodec} against the JSON slot format for encode and decode,
+ * plus a full {@link ProgressManager#saveProgress(Progress)} autosave.
+ * Encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProgressCodecBenchmark {
+
+    @Param({"10", "200"})
+    public int puzzles;
+
+    private Progress progress;
+    private PuzzleKeyDictionary dict;
+    private byte[] binary;
+    private String json;
+    private ProgressManager manager;
+
+    @Setup(Level.Trial)
+    public void createProgress() throws IOException {
+        Path dir = Files.createTempDirectory("s2tn-progress");
+        progress = new Progress();
+        progress.setUserName("player42");
+        progress.setDungeonID(UUID.randomUUID());
+        progress.setCurrentRoomID(UUID.randomUUID());
+        progress.setSlot("autosave");
+        progress.setElapsedTime(754_321);
+        for (int i = 0; i < puzzles; i++) {
+            progress.getPuzzleState().put(UUID.randomUUID().toString(), PuzzleState.values()[i % 4]);
+        }
+        dict = new PuzzleKeyDictionary(dir.resolve("bench.keys"));
+        binary = ProgressCodec.encode(progress, dict);
+        json = ProgressStore.encodeJson(progress);
+        manager = new ProgressManager(dir.resolve("slots"));
+        System.out.println("\nbinary " + binary.length + " B, json " + json.getBytes(StandardCharsets.UTF_8).length + " B");
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() throws IOException {
+        return ProgressCodec.encode(progress, dict);
+    }
+
+    @Benchmark
+    public Progress decodeBinary() throws IOException {
+        return ProgressCodec.decode(binary, id -> dict);
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return ProgressStore.encodeJson(progress);
+    }
+
+    @Benchmark
+    public Progress decodeJson() throws ParseException {
+        return ProgressStore.decodeJson(json);
+    }
+
+    /** Encode plus the atomic, fsynced slot write. */
+    @Benchmark
+    public void autosave() {
+        manager.saveProgress(progress);
+    }
+}
@@ -0,0 +1,135 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Puzzle#enterInput(String)} for every puzzle type, fed a fixed cycle of generated
+ * inputs. {@code size} scales each type's data: the answer length of a {@link Riddle}, the
+ * number of accepted codes of a {@link CodePuzzle}, the grid side of a {@link Maze} and a
+ * {@link SlideShapePuzzle} (capped at 15, the largest board of at most 255 tiles), and the
+ * number of shapes of a {@link ShapeMatchPuzzle}.
+ * Run with {@code -prof gc} to see the garbage each input produces.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PuzzleInputBenchmark {
+
+    @Param({"Riddle", "CodePuzzle", "Maze", "SlideShapePuzzle", "ShapeMatchPuzzle"})
+    public String kind;
+
+    @Param({"4", "64"})
+    public int size;
+
+    private Puzzle puzzle;
+    private String[] inputs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom rnd = new SplittableRandom(42L);
+        inputs = new String[1024];
+        switch (kind) {
+            case "Riddle" -> {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < size; i++) sb.append((char) ('a' + rnd.nextInt(26)));
+                String answer = sb.toString();
+                puzzle = new Riddle("Riddle", "Say the word", answer);
+                for (int i = 0; i < inputs.length; i++) {
+                    inputs[i] = (i & 1) == 0 ? "  " + answer.toUpperCase() + " " : answer.substring(1) + "x";
+                }
+            }
+            case "CodePuzzle" -> {
+                Set<String> codes = new HashSet<>();
+                while (codes.size() < size) codes.add(String.valueOf(1000 + rnd.nextInt(9000)));
+                List<String> accepted = new ArrayList<>(codes);
+                puzzle = new CodePuzzle("Code", codes);
+                for (int i = 0; i < inputs.length; i++) {
+                    inputs[i] = (i & 1) == 0 ? accepted.get(rnd.nextInt(size)) : "x" + rnd.nextInt(10000);
+                }
+            }
+            case "Maze" -> {
+                puzzle = Maze.generate(size, size, 42L);
+                String[] dirs = {"U", "D", "L", "R"};
+                for (int i = 0; i < inputs.length; i++) inputs[i] = dirs[rnd.nextInt(4)];
+            }
+            case "SlideShapePuzzle" -> {
+                int side = Math.min(size, 15);
+                List<String> goal = new ArrayList<>();
+                for (int i = 1; i < side * side; i++) goal.add("T" + i);
+                goal.add("_");
+                puzzle = new SlideShapePuzzle(goal, goal, side, side);
+                slideWalk(goal, side, rnd);
+            }
+            case "ShapeMatchPuzzle" -> {
+                ShapeMatchPuzzle shapes = new ShapeMatchPuzzle();
+                StringBuilder near = new StringBuilder();
+                StringBuilder far = new StringBuilder();
+                for (int i = 0; i < size; i++) {
+                    double x = 12.5 * i, y = 640 - 3.25 * i;
+                    shapes.setTarget("S" + i, x, y, i % 360);
+                    near.append('S').append(i).append(':').append(x + 1.5).append(',')
+                        .append(y - 0.75).append(',').append(i % 360 + 2).append("; ");
+                    far.append('S').append(i).append(':').append(x + 40).append(',')
+                       .append(y).append(',').append(i % 360).append("; ");
+                }
+                puzzle = shapes;
+                for (int i = 0; i < inputs.length; i++) inputs[i] = (i & 1) == 0 ? near.toString() : far.toString();
+            }
+            default -> throw new IllegalArgumentException("Unknown puzzle kind: " + kind);
+        }
+    }
+
+    /** A random walk of the empty slot followed by the same walk undone, so the board cycles. */
+    private void slideWalk(List<String> goal, int side, SplittableRandom rnd) {
+        int walk = inputs.length / 2;
+        List<String> board = new ArrayList<>(goal);
+        int blank = board.size() - 1;
+        for (int i = 0; i < walk; ) {
+            int r = blank / side, c = blank % side;
+            int from;
+            String dir, back;
+            switch (rnd.nextInt(4)) {
+                case 0 -> { from = r + 1 < side ? blank + side : -1; dir = "up"; back = "down"; }
+                case 1 -> { from = r > 0 ? blank - side : -1; dir = "down"; back = "up"; }
+                case 2 -> { from = c + 1 < side ? blank + 1 : -1; dir = "left"; back = "right"; }
+                default -> { from = c > 0 ? blank - 1 : -1; dir = "right"; back = "left"; }
+            }
+            if (from < 0) continue;
+            inputs[i] = board.get(from) + " " + dir;
+            inputs[inputs.length - 1 - i] = board.get(from) + " " + back;
+            Collections.swap(board, from, blank);
+            blank = from;
+            i++;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult enterInput() {
+        String in = inputs[next];
+        next = (next + 1) & 1023;
+        return puzzle.enterInput(in);
+    }
+}
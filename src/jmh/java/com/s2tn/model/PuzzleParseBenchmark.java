@@ -0,0 +1,85 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures puzzle construction alone, from already parsed JSON definitions,
+ * so the JSON tokenizer does not hide the cost of binding fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PuzzleParseBenchmark {
+
+    @Param({"10000"})
+    public int puzzles;
+
+    /** Whether the definitions carry a "type" field or must be sniffed by key. */
+    @Param({"true", "false"})
+    public boolean typed;
+
+    private List<JSONObject> defs;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        defs = new ArrayList<>(puzzles);
+        for (int i = 0; i < puzzles; i++) {
+            JSONObject p = new JSONObject();
+            p.put("title", "Puzzle " + i);
+            JSONArray hints = new JSONArray();
+            JSONObject h = new JSONObject();
+            h.put("level", 1L);
+            h.put("text", "hint " + i);
+            h.put("cost", 1.0);
+            hints.add(h);
+            p.put("hints", hints);
+            p.put("rewardItem", "ITEM_" + (i % 7));
+            switch (i % 3) {
+                case 0 -> {
+                    if (typed) p.put("type", "RIDDLE");
+                    p.put("question", "What burns?");
+                    p.put("answer", "TORCH");
+                }
+                case 1 -> {
+                    if (typed) p.put("type", "SCRAMBLE");
+                    p.put("scrambledWord", "DLOG");
+                    p.put("solution", "GOLD");
+                }
+                default -> {
+                    if (typed) p.put("type", "CODE");
+                    p.put("codePrompt", "Enter the order");
+                    p.put("expectedCode", "3214");
+                    p.put("requiresItem", Boolean.TRUE);
+                    p.put("requiredItemKey", "CIPHER");
+                }
+            }
+            defs.add(p);
+        }
+    }
+
+    @Benchmark
+    public void parsePuzzles(Blackhole bh) {
+        for (JSONObject p : defs) bh.consume(DataLoader.parsePuzzle(p));
+    }
+}
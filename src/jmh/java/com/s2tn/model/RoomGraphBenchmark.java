@@ -0,0 +1,132 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link RoomGraph} on a 100k-room dungeon with about two open and one locked exit per room:
+ * building the graph, neighbour walks, moves, reachability, unlocking every locked exit, and
+ * the room-index lookup behind {@link Facade#nextRoom()} against the old {@code rooms.indexOf}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomGraphBenchmark {
+
+    static final int ROOMS = 100_000;
+
+    private ArrayList<Room> rooms;
+    private Dungeon dungeon;
+    private RoomGraph graph;
+    private int[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rooms = buildRooms(42);
+        dungeon = new Dungeon("bench", rooms, 60_000, Difficulty.NORMAL, rooms.get(0));
+        graph = dungeon.getGraph();
+        Random rnd = new Random(7);
+        probes = new int[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = rnd.nextInt(ROOMS);
+    }
+
+    /** Room i gets open exits to i - 1 and a random earlier room, and a locked exit to another. */
+    static ArrayList<Room> buildRooms(long seed) {
+        Random rnd = new Random(seed);
+        ArrayList<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            ArrayList<Room> open = new ArrayList<>(2);
+            ArrayList<Room> locked = new ArrayList<>(1);
+            if (i > 0) {
+                open.add(rooms.get(i - 1));
+                open.add(rooms.get(rnd.nextInt(i)));
+                locked.add(rooms.get(rnd.nextInt(i)));
+            }
+            rooms.add(new Room(null, null, open, locked));
+        }
+        return rooms;
+    }
+
+    private int next() {
+        return probes[cursor++ & (probes.length - 1)];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RoomGraph build() {
+        return RoomGraph.of(rooms);
+    }
+
+    @Benchmark
+    public int legacyIndexOf() {
+        return rooms.indexOf(rooms.get(next()));
+    }
+
+    @Benchmark
+    public int indexOfRoom() {
+        return dungeon.indexOfRoom(rooms.get(next()));
+    }
+
+    @Benchmark
+    public void openNeighbors(Blackhole bh) {
+        graph.forEachOpenNeighbor(next(), bh::consume);
+    }
+
+    @Benchmark
+    public boolean canMove() {
+        int from = next();
+        return graph.canMove(from, from == 0 ? 0 : from - 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int reachableCount() {
+        return graph.reachableCount(ROOMS - 1);
+    }
+
+    /** Fresh rooms for each unlock pass, since unlocking cannot be undone. */
+    @State(Scope.Thread)
+    public static class Unlocking {
+        RoomGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            graph = RoomGraph.of(buildRooms(42));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 20)
+    @Warmup(iterations = 5)
+    public int unlockAll(Unlocking u) {
+        RoomGraph g = u.graph;
+        int opened = 0;
+        for (int from = 0; from < g.size(); from++) {
+            for (int k = 0; k < g.degree(from); k++) {
+                if (g.isLocked(from, k) && g.unlock(from, g.neighbor(from, k))) opened++;
+            }
+        }
+        return opened;
+    }
+}
@@ -0,0 +1,106 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test for {@link SessionManager}: opens {@code sessions} players on one 20-room,
+ * 100-puzzle dungeon, each playing a few moves on its own virtual thread, and reports the
+ * wall time plus the retained heap per session as the {@code bytesPerSession} secondary
+ * result (sessions per GB of heap is 2^30 divided by it).
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SessionLoadBenchmark {
+
+    static final int ROOMS = 20;
+    static final int PUZZLES_PER_ROOM = 5;
+
+    @Param({"10000", "100000"})
+    public int sessions;
+
+    private Dungeon dungeon;
+    private List<Riddle> riddles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<Room> rooms = new ArrayList<>();
+        riddles = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            ArrayList<Puzzle> ps = new ArrayList<>();
+            for (int k = 0; k < PUZZLES_PER_ROOM; k++) {
+                Riddle r = new Riddle("R" + i + "." + k, "q", "answer" + k);
+                r.setRewardItem("ITEM" + k);
+                riddles.add(r);
+                ps.add(r);
+            }
+            rooms.add(new Room(ps, null, null, null));
+        }
+        dungeon = new Dungeon("load", rooms, 60_000, Difficulty.NORMAL, rooms.get(0));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerSession;
+    }
+
+    /** Opens every session and plays enter, two answers and a move on virtual threads. */
+    private SessionManager play() {
+        SessionManager manager = new SessionManager();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            GameSession s = manager.open(null, dungeon);
+            Riddle a = riddles.get(i % riddles.size());
+            Riddle b = riddles.get((i * 7 + 3) % riddles.size());
+            futures.add(manager.submit(s.getSessionId(), session -> {
+                session.enterDungeon();
+                session.answer(a.getPuzzleID(), "answer" + (a.getTitle().charAt(a.getTitle().length() - 1) - '0'));
+                session.answer(b.getPuzzleID(), "wrong");
+                return session.nextRoom();
+            }));
+        }
+        for (CompletableFuture<Boolean> f : futures) f.join();
+        return manager;
+    }
+
+    @Benchmark
+    public int openAndPlay() {
+        return play().size();
+    }
+
+    @Benchmark
+    public int heapPerSession(Footprint fp) {
+        long before = usedAfterGc();
+        SessionManager manager = play();
+        long after = usedAfterGc();
+        fp.bytesPerSession = (double) (after - before) / sessions;
+        return manager.size();
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,92 @@
+package com.s2tn.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One drag frame of {@link ShapeMatchPuzzle}: the previous model (split the whole pose string
+ * into a HashMap, then hypot every target), a full-string {@link ShapeMatchPuzzle#enterInput}
+ * on the in-place parser, and a single {@link ShapeMatchPuzzle#updatePose} plus solved check.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ShapeMatchPuzzleBenchmark {
+
+    @Param({"10", "300"})
+    public int shapes;
+
+    private ShapeMatchPuzzle puzzle;
+    private String[] labels;
+    private double[] tx;
+    private double[] ty;
+    private String input;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzle = new ShapeMatchPuzzle();
+        labels = new String[shapes];
+        tx = new double[shapes];
+        ty = new double[shapes];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < shapes; i++) {
+            labels[i] = "S" + i;
+            tx[i] = 12.5 * i;
+            ty[i] = 640 - 3.25 * i;
+            puzzle.setTarget(labels[i], tx[i], ty[i], i % 360);
+            sb.append(labels[i]).append(':').append(tx[i] + 1.5).append(',')
+              .append(ty[i] - 0.75).append(',').append(i % 360 + 2).append("; ");
+        }
+        input = sb.toString();
+        puzzle.enterInput(input);
+    }
+
+    @Benchmark
+    public boolean legacyParseAndCheck() {
+        Map<String, double[]> observed = new HashMap<>();
+        for (String part : input.split(";")) {
+            String piece = part.trim();
+            if (piece.isEmpty()) continue;
+            int colon = piece.indexOf(':');
+            String[] xyz = piece.substring(colon + 1).trim().split(",");
+            observed.put(piece.substring(0, colon).trim(), new double[] {
+                Double.parseDouble(xyz[0].trim()), Double.parseDouble(xyz[1].trim()), Double.parseDouble(xyz[2].trim())});
+        }
+        for (int i = 0; i < shapes; i++) {
+            double[] got = observed.get(labels[i]);
+            if (got == null || Math.hypot(got[0] - tx[i], got[1] - ty[i]) > 5.0) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public ValidationResult enterInput() {
+        return puzzle.enterInput(input);
+    }
+
+    @Benchmark
+    public boolean updatePose() {
+        int i = next;
+        next = (i + 1) % shapes;
+        puzzle.updatePose(labels[i], tx[i] + (i & 7), ty[i], i % 360);
+        return puzzle.isSolved();
+    }
+}
@@ -0,0 +1,169 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Packed {@link SlideShapePuzzle} board against the previous List&lt;String&gt; model for a
+ * slide plus solved check, and {@link SlideSolver} on scrambled 4x4 and 5x5 boards.
+ * Both models replay the same random walk, which is mirrored so the board cycles.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SlideShapePuzzleBenchmark {
+
+    @Param({"4", "5"})
+    public int size;
+
+    private String[] tiles;
+    private String[] dirs;
+    private int next;
+
+    private SlideShapePuzzle packed;
+    private ListModel list;
+
+    private SlideSolver solver;
+    private byte[] scrambled;
+
+    /** The board model before packing: linear scans and a full equals per move. */
+    static final class ListModel {
+        final List<String> board;
+        final List<String> end;
+        final int cols;
+
+        ListModel(List<String> start, List<String> end, int cols) {
+            this.board = new ArrayList<>(start);
+            this.end = new ArrayList<>(end);
+            this.cols = cols;
+        }
+
+        boolean slide(String tile, String dir) {
+            int emptyIdx = board.indexOf("_");
+            int tileIdx = board.indexOf(tile);
+            if (emptyIdx < 0 || tileIdx < 0) return false;
+            int er = emptyIdx / cols, ec = emptyIdx % cols;
+            int tr = tileIdx / cols, tc = tileIdx % cols;
+            boolean ok = switch (dir) {
+                case "up" -> tr - 1 == er && tc == ec;
+                case "down" -> tr + 1 == er && tc == ec;
+                case "left" -> tr == er && tc - 1 == ec;
+                default -> tr == er && tc + 1 == ec;
+            };
+            if (ok) Collections.swap(board, tileIdx, emptyIdx);
+            return ok;
+        }
+
+        boolean isSolved() { return board.equals(end); }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> goal = new ArrayList<>();
+        for (int i = 1; i < size * size; i++) goal.add("T" + i);
+        goal.add("_");
+        packed = new SlideShapePuzzle(goal, goal, size, size);
+        list = new ListModel(goal, goal, size);
+
+        // random walk of the empty slot, then the same walk undone
+        int walk = 1024;
+        tiles = new String[walk * 2];
+        dirs = new String[walk * 2];
+        SplittableRandom rnd = new SplittableRandom(1L);
+        List<String> board = new ArrayList<>(goal);
+        int blank = board.size() - 1;
+        for (int i = 0; i < walk; ) {
+            int r = blank / size, c = blank % size;
+            int from;
+            String dir;
+            switch (rnd.nextInt(4)) {
+                case 0 -> { from = r + 1 < size ? blank + size : -1; dir = "up"; }
+                case 1 -> { from = r > 0 ? blank - size : -1; dir = "down"; }
+                case 2 -> { from = c + 1 < size ? blank + 1 : -1; dir = "left"; }
+                default -> { from = c > 0 ? blank - 1 : -1; dir = "right"; }
+            }
+            if (from < 0) continue;
+            tiles[i] = board.get(from);
+            dirs[i] = dir;
+            tiles[walk * 2 - 1 - i] = board.get(from);
+            dirs[walk * 2 - 1 - i] = switch (dir) {
+                case "up" -> "down";
+                case "down" -> "up";
+                case "left" -> "right";
+                default -> "left";
+            };
+            Collections.swap(board, from, blank);
+            blank = from;
+            i++;
+        }
+
+        byte[] g = new byte[size * size];
+        for (int i = 0; i < g.length - 1; i++) g[i] = (byte) (i + 1);
+        solver = new SlideSolver(size, size, g);
+        scrambled = scramble(g, size == 4 ? 40 : 30);
+    }
+
+    private byte[] scramble(byte[] goal, int steps) {
+        byte[] b = goal.clone();
+        SplittableRandom rnd = new SplittableRandom(size);
+        int blank = b.length - 1, prev = -1;
+        for (int i = 0; i < steps; ) {
+            int r = blank / size, c = blank % size;
+            int n = switch (rnd.nextInt(4)) {
+                case 0 -> r > 0 ? blank - size : -1;
+                case 1 -> r < size - 1 ? blank + size : -1;
+                case 2 -> c > 0 ? blank - 1 : -1;
+                default -> c < size - 1 ? blank + 1 : -1;
+            };
+            if (n < 0 || n == prev) continue;
+            b[blank] = b[n];
+            b[n] = 0;
+            prev = blank;
+            blank = n;
+            i++;
+        }
+        return b;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean slidePacked() {
+        int i = next;
+        next = (i + 1) % tiles.length;
+        return packed.slide(tiles[i], dirs[i]) && packed.isSolved();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean slideList() {
+        int i = next;
+        next = (i + 1) % tiles.length;
+        return list.slide(tiles[i], dirs[i]) && list.isSolved();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] solveScrambled() {
+        return solver.solve(scrambled, SlideSolver.DEFAULT_NODE_LIMIT);
+    }
+}
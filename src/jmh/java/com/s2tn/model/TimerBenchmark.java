@@ -0,0 +1,60 @@
+package com.s2tn.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading a {@link Timer}: a stopped timer answers from its counters, a running one
+ * reads the clock once, and a pause/resume pair reads it twice.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimerBenchmark {
+
+    private Timer running;
+    private Timer stopped;
+    private Timer toggled;
+
+    @Setup
+    public void setUp() {
+        running = new Timer();
+        running.start();
+        stopped = new Timer();
+        stopped.start();
+        stopped.addPenalty(1_000);
+        stopped.stop();
+        toggled = new Timer();
+        toggled.start();
+    }
+
+    @Benchmark
+    public long elapsedStopped() {
+        return stopped.elapsedTime();
+    }
+
+    @Benchmark
+    public long elapsedRunning() {
+        return running.elapsedTime();
+    }
+
+    @Benchmark
+    public long pauseResume() {
+        toggled.stop();
+        toggled.unPause();
+        return toggled.activeNanos();
+    }
+}
@@ -0,0 +1,76 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DataLoader#loadUsers(Path)} and {@link DataWriter#saveUsers(Path)} against a generated
+ * users.json: a full load into {@link UserList}, and a save after one player's score changed,
+ * which diffs every account and appends one journal line.
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserDataBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private Path dir;
+    private Path file;
+    private List<Account> accounts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("s2tn-users");
+        file = dir.resolve("users.json");
+        Fixtures.writeUsers(file, users);
+        new DataLoader().loadUsers(file);
+        accounts = UserList.getInstance().getAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        UserList.getInstance().replaceAll(null);
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int loadUsers() {
+        new DataLoader().loadUsers(file);
+        return UserList.getInstance().getAll().size();
+    }
+
+    @Benchmark
+    public void saveUsersOneChanged() {
+        Account a = accounts.get(next++ % users);
+        a.setScore(a.getScore() + 1);
+        new DataWriter().saveUsers(file);
+    }
+}
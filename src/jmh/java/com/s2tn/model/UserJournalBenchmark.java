@@ -0,0 +1,69 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of persisting one score change against a user base of growing size,
+ * through the users journal (one appended line, plus periodic compaction).
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserJournalBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private Path dir;
+    private UserJournal journal;
+    private List<Account> accounts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        dir = Files.createTempDirectory("s2tn-journal");
+        journal = UserJournal.forPath(dir.resolve("users.json"));
+        accounts = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) accounts.add(new Account("player" + i, "pw" + i));
+        journal.upsert(accounts);
+        journal.compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /** Bumps one player's score and saves just that account. */
+    @Benchmark
+    public int saveOneScore() throws IOException {
+        Account a = accounts.get(next++ % users);
+        a.setScore(a.getScore() + 1);
+        return journal.upsert(List.of(a));
+    }
+}
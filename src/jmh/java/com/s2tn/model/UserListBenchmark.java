@@ -0,0 +1,82 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Registers a full user base into {@link UserList} and looks users up by name.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserListBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int users;
+
+    private List<Account> accounts;
+    private String[] names;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createAccounts() {
+        accounts = new ArrayList<>(users);
+        names = new String[users];
+        for (int i = 0; i < users; i++) {
+            Account a = new Account("player" + i, "pw" + i);
+            accounts.add(a);
+            names[i] = a.getUserName();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        UserList.getInstance().replaceAll(null);
+    }
+
+    /** Registers every account one by one, as sign-ups would. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void registerAll(Blackhole bh) {
+        UserList list = UserList.getInstance();
+        for (Account a : accounts) bh.consume(list.addUser(a));
+    }
+
+    /** Looks one user up by exact username against a fully populated list. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Account getUserName(Populated populated) {
+        int i = next++;
+        if (next == users) next = 0;
+        return UserList.getInstance().getUserName(names[i]);
+    }
+
+    /** Fills the list once for the lookup benchmark. */
+    @State(Scope.Benchmark)
+    public static class Populated {
+        @Setup(Level.Iteration)
+        public void fill(UserListBenchmark bench) {
+            UserList.getInstance().replaceAll(bench.accounts);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.s2tn.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set of accepted answers, normalized once when they are added, for {@link CodePuzzle} and
+ * {@link Riddle}. Normalization trims, collapses every whitespace run to one space, applies
+ * simple Unicode case folding (as {@link String#equalsIgnoreCase} does), and can optionally
+ * strip accents, so "  Café  AU lait" and "cafe au lait" compare equal.
+ * {@link #matches(CharSequence)} folds the attempt on the fly while hashing and comparing,
+ * so a check allocates nothing. Not thread-safe for writes; reads may be shared once built.
+ */
+final class AnswerIndex {
+
+    private final List<String> raw = new ArrayList<>(); // as added, for rebuilding
+    private boolean stripAccents;
+    private String[] table = new String[8];              // normalized answers, open addressing
+    private int size = 0;
+
+    AnswerIndex() {
+        this(false);
+    }
+
+    AnswerIndex(boolean stripAccents) {
+        this.stripAccents = stripAccents;
+    }
+
+    /** Adds an accepted answer; null is ignored. */
+    void add(String answer) {
+        if (answer == null) return;
+        raw.add(answer);
+        insert(normalize(answer, stripAccents));
+    }
+
+    /** Removes every answer. */
+    void clear() {
+        raw.clear();
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    /** Returns the number of distinct normalized answers. */
+    int size() { return size; }
+
+    boolean isStripAccents() { return stripAccents; }
+
+    /** Turns accent stripping on or off, re-normalizing the answers already added. */
+    void setStripAccents(boolean strip) {
+        if (strip == stripAccents) return;
+        stripAccents = strip;
+        Arrays.fill(table, null);
+        size = 0;
+        for (String a : raw) insert(normalize(a, strip));
+    }
+
+    /** Returns true if the attempt normalizes to one of the accepted answers. */
+    boolean matches(CharSequence attempt) {
+        if (attempt == null || size == 0) return false;
+        int mask = table.length - 1;
+        for (int i = hash(attempt, stripAccents) & mask; ; i = (i + 1) & mask) {
+            String candidate = table[i];
+            if (candidate == null) return false;
+            if (normalizedEquals(attempt, stripAccents, candidate)) return true;
+        }
+    }
+
+    /**
+     * Returns the normalized form of a string: trimmed, whitespace runs collapsed to a
+     * single space, case-folded, and with accents removed if {@code stripAccents} is set.
+     */
+    static String normalize(CharSequence s, boolean stripAccents) {
+        StringBuilder out = new StringBuilder(s.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            int f = fold(s.charAt(i), stripAccents);
+            if (f == SKIP) continue;
+            if (f == SPACE) { pendingSpace = out.length() > 0; continue; }
+            if (pendingSpace) { out.append(' '); pendingSpace = false; }
+            out.append((char) f);
+        }
+        return out.toString();
+    }
+
+    // -------- streaming normalization --------
+
+    private static final int SKIP = -1;   // combining mark dropped by accent stripping
+    private static final int SPACE = -2;  // whitespace, collapsed
+
+    /** ASCII folds, looked up without branching on the char class. */
+    private static final int[] ASCII = new int[0x80];
+
+    static {
+        for (int c = 0; c < 0x80; c++) {
+            ASCII[c] = Character.isWhitespace(c) ? SPACE : (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+        }
+    }
+
+    /** Folds one char; returns SKIP or SPACE for chars that do not map to themselves. */
+    private static int fold(char c, boolean stripAccents) {
+        if (c < 0x80) return ASCII[c];
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) return SPACE;
+        if (stripAccents) {
+            char base = AccentTable.BASE[c];
+            if (base == 0) return SKIP;
+            c = base;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /** Polynomial hash of the normalized form, computed without building it. */
+    private static int hash(CharSequence s, boolean stripAccents) {
+        int h = 0;
+        boolean started = false, pendingSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            int f = fold(s.charAt(i), stripAccents);
+            if (f == SKIP) continue;
+            if (f == SPACE) { pendingSpace = started; continue; }
+            if (pendingSpace) { h = 31 * h + ' '; pendingSpace = false; }
+            h = 31 * h + f;
+            started = true;
+        }
+        return mix(h);
+    }
+
+    /** Compares the normalized form of {@code s} with an already normalized string. */
+    private static boolean normalizedEquals(CharSequence s, boolean stripAccents, String normalized) {
+        int j = 0, n = normalized.length();
+        boolean started = false, pendingSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            int f = fold(s.charAt(i), stripAccents);
+            if (f == SKIP) continue;
+            if (f == SPACE) { pendingSpace = started; continue; }
+            if (pendingSpace) {
+                if (j == n || normalized.charAt(j++) != ' ') return false;
+                pendingSpace = false;
+            }
+            if (j == n || normalized.charAt(j++) != f) return false;
+            started = true;
+        }
+        return j == n;
+    }
+
+    private void insert(String normalized) {
+        if ((size + 1) * 2 > table.length) {
+            String[] old = table;
+            table = new String[old.length * 2];
+            size = 0;
+            for (String s : old) if (s != null) insert(s);
+        }
+        int mask = table.length - 1;
+        int i = hashNormalized(normalized) & mask;
+        while (table[i] != null) {
+            if (table[i].equals(normalized)) return;
+            i = (i + 1) & mask;
+        }
+        table[i] = normalized;
+        size++;
+    }
+
+    private static int hashNormalized(String s) {
+        return mix(s.hashCode()); // same polynomial as hash(), over the normalized chars
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    /**
+     * Base letter for every BMP char, with 0 for combining marks, built the first time accent
+     * stripping is used. Chars whose canonical decomposition is a base char plus marks map to
+     * that base char (é -> e); everything else maps to itself.
+     */
+    private static final class AccentTable {
+        static final char[] BASE = new char[0x10000];
+
+        static {
+            char[] one = new char[1];
+            for (int c = 0; c < BASE.length; c++) {
+                char ch = (char) c;
+                if (Character.getType(ch) == Character.NON_SPACING_MARK) continue; // stays 0
+                BASE[c] = ch;
+                if (c < 0xC0 || Character.isSurrogate(ch)) continue;
+                one[0] = ch;
+                String d = Normalizer.normalize(new String(one), Normalizer.Form.NFD);
+                if (d.length() < 2 || d.charAt(0) == ch) continue;
+                boolean marksOnly = true;
+                for (int k = 1; k < d.length(); k++) {
+                    if (Character.getType(d.charAt(k)) != Character.NON_SPACING_MARK) { marksOnly = false; break; }
+                }
+                if (marksOnly) BASE[c] = d.charAt(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+/**
+ * Crash-safe file replacement used by {@link DataWriter} and {@link UserJournal}.
+ * Text is encoded in chunks of at most 64 KiB and written through a {@link FileChannel} to a
+ * temp file in the target's directory, forced to disk, then renamed over the target, so
+ * readers see either the old file or the complete new one, never a partial write.
+ * The replacement keeps the target's POSIX permissions; a new file gets rw-r--r--.
+ */
+final class AtomicFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Set<PosixFilePermission> NEW_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+
+    private AtomicFiles() {}
+
+    /** Writes the new content of a file into an open channel. */
+    @FunctionalInterface
+    private interface Body {
+        void writeTo(FileChannel ch) throws IOException;
+    }
+
+    /**
+     * Atomically replaces a file with UTF-8 text.
+     *
+     * @param target  file to replace (created if missing, along with its directory)
+     * @param content text to write
+     * @throws IOException if the content cannot be written or the rename fails
+     */
+    static void write(Path target, CharSequence content) throws IOException {
+        replace(target, ch -> writeUtf8(ch, content));
+    }
+
+    /**
+     * Atomically replaces a file with raw bytes.
+     *
+     * @param target  file to replace (created if missing, along with its directory)
+     * @param content bytes to write
+     * @param length  number of leading bytes of {@code content} to write
+     * @throws IOException if the content cannot be written or the rename fails
+     */
+    static void write(Path target, byte[] content, int length) throws IOException {
+        replace(target, ch -> {
+            ByteBuffer buf = ByteBuffer.wrap(content, 0, length);
+            while (buf.hasRemaining()) ch.write(buf);
+        });
+    }
+
+    private static void replace(Path target, Body body) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                body.writeTo(ch);
+                ch.force(true);
+            }
+            copyPermissions(target, tmp);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        syncDirectory(dir);
+    }
+
+    /**
+     * Gives the temp file the permissions of the file it replaces, or rw-r--r-- for a new
+     * file, instead of the owner-only mode temp files are created with.
+     */
+    private static void copyPermissions(Path target, Path tmp) throws IOException {
+        Set<PosixFilePermission> perms;
+        try {
+            perms = Files.exists(target) ? Files.getPosixFilePermissions(target) : NEW_FILE_PERMISSIONS;
+        } catch (UnsupportedOperationException e) {
+            return; // not a POSIX file system; the platform's defaults apply
+        }
+        Files.setPosixFilePermissions(tmp, perms);
+    }
+
+    /**
+     * Encodes text as UTF-8 straight into the channel through a buffer of at most 64 KiB.
+     *
+     * @param ch      channel positioned where the text should go
+     * @param content text to write
+     * @throws IOException if the channel fails
+     */
+    static void writeUtf8(FileChannel ch, CharSequence content) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        CharBuffer in = CharBuffer.wrap(content);
+        ByteBuffer out = ByteBuffer.allocate(Math.min(BUFFER_SIZE, Math.max(64, content.length() * 3)));
+        CoderResult r;
+        do {
+            r = encoder.encode(in, out, true);
+            if (r.isError()) r.throwException();
+            drain(ch, out);
+        } while (r.isOverflow());
+        while (encoder.flush(out).isOverflow()) drain(ch, out);
+        drain(ch, out);
+    }
+
+    private static void drain(FileChannel ch, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) ch.write(out);
+        out.clear();
+    }
+
+    /**
+     * Returns a file's size, for reporting.
+     *
+     * @param file the file, or null
+     * @return its size in bytes, or 0 if it is missing or unreadable
+     */
+    static long sizeOf(Path file) {
+        try {
+            return file != null && Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /** Makes the rename itself durable where the platform allows opening directories. */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException | UnsupportedOperationException ignore) {
+            // not supported on every platform (e.g. Windows); the rename is still atomic
+        }
+    }
+}
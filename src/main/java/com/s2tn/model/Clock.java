@@ -0,0 +1,17 @@
+package com.s2tn.model;
+
+/**
+ * Monotonic time source for {@link Timer} and anything else that measures durations.
+ * Readings are only meaningful relative to each other; they never jump with the wall clock.
+ * Production code uses {@link #SYSTEM}; tests and simulations pass a {@link VirtualClock}
+ * and move time forward by hand.
+ */
+@FunctionalInterface
+public interface Clock {
+
+    /** {@link System#nanoTime()}, unaffected by NTP or manual changes to the wall clock. */
+    Clock SYSTEM = System::nanoTime;
+
+    /** Returns the current reading in nanoseconds. */
+    long nanoTime();
+}
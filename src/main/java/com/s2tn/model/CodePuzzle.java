@@ -1,7 +1,6 @@
 package com.s2tn.model;
 
 import java.time.Duration;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -9,8 +8,8 @@ import java.util.Set;
  */
 public class CodePuzzle extends Puzzle {
 
-    /** Stores all accepted codes for solving the puzzle. */
-    private final Set<String> acceptedCodes = new HashSet<>();
+    /** Stores all accepted codes for solving the puzzle, normalized once when added. */
+    private final AnswerIndex acceptedCodes = new AnswerIndex();
     private String codePrompt; 
 
     public void setCodePrompt(String text) {
@@ -46,17 +45,25 @@ public class CodePuzzle extends Puzzle {
         setMaxHints(0);
         if (codes != null) {
             for (String c : codes) {
-                if (c != null) acceptedCodes.add(c.trim().toLowerCase());
+                acceptedCodes.add(c);
             }
         }
     }
 
     /**
-     * Adds a new accepted code.
+     * Adds a new accepted code. Case, surrounding and repeated whitespace are ignored.
      * @param code the code to add
      */
     public void addAcceptedCode(String code) {
-        if (code != null) acceptedCodes.add(code.trim().toLowerCase());
+        acceptedCodes.add(code);
+    }
+
+    /**
+     * Sets whether accents are ignored when comparing codes (so "cafe" matches "café").
+     * @param ignore true to strip accents from codes and attempts
+     */
+    public void setIgnoreAccents(boolean ignore) {
+        acceptedCodes.setStripAccents(ignore);
     }
 
     /**
@@ -83,18 +90,26 @@ public class CodePuzzle extends Puzzle {
      * @return a ValidationResult showing if the input is correct, incorrect, or invalid
      */
     @Override
-    public ValidationResult enterInput(String input) {
+    protected ValidationResult handleInput(String input) {
+        ValidationResult result = check(input);
+        if (input != null && !input.isBlank()) setState(result.getNewState()); // blank input leaves the state alone
+        return result;
+    }
+
+    /**
+     * Validates a code the same way as {@link #enterInput}, without changing state.
+     * @param input the player's entered code
+     * @return a ValidationResult showing if the input is correct, incorrect, or invalid
+     */
+    @Override
+    public ValidationResult check(String input) {
         if (input == null || input.isBlank()) {
             return ValidationResult.invalidFormat("Enter a code.", PuzzleState.IN_PROGRESS);
         }
-        boolean ok = acceptedCodes.contains(input.trim().toLowerCase());
-        if (ok) {
-            setState(PuzzleState.SOLVED);
+        if (acceptedCodes.matches(input)) {
             return ValidationResult.valid("Correct code.", PuzzleState.SOLVED);
-        } else {
-            setState(PuzzleState.IN_PROGRESS);
-            return ValidationResult.invalidFormat("Incorrect code.", PuzzleState.IN_PROGRESS);
         }
+        return ValidationResult.invalidFormat("Incorrect code.", PuzzleState.IN_PROGRESS);
     }
 
     // This is for the abstract puzzle
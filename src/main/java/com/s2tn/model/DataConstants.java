@@ -38,4 +38,13 @@ public class DataConstants {
     public static Path lbPath() {
         return Paths.get("S2TN","json", "users.json");
     }
+
+    /**
+     * Returns the directory holding saved progress slots, one subdirectory per user.
+     * 
+     * @return Path to the progress directory
+     */
+    public static Path progressPath() {
+        return Paths.get("S2TN", "json", "progress");
+    }
 }
@@ -1,14 +1,14 @@
 package com.s2tn.model;
 
-import java.io.FileReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
 
 /**
  * Handles loading of user and dungeon data from JSON files.
@@ -16,51 +16,59 @@ import org.json.simple.parser.JSONParser;
  */
 public class DataLoader extends DataConstants {
 
-    private final ArrayList<Dungeon> dungeons = new ArrayList<>();
+    private volatile List<Dungeon> dungeons = List.of();
 
     /**
      * Loads all user accounts from the users.json file.
-     * Replaces the current {@link UserList} contents with loaded data.
+     * Replays the users journal on top of it, then replaces the current
+     * {@link UserList} contents with the result.
      */
-    @SuppressWarnings("UseSpecificCatch")
     public void loadUsers() {
-        Path path = usersPath();
-        ArrayList<Account> loaded = new ArrayList<>();
-
-        try {
-            if (!Files.exists(path)) {
-                UserList.getInstance().replaceAll(loaded);
-                return;
-            }
-
-            JSONParser parser = new JSONParser();
-            try (FileReader reader = new FileReader(path.toFile())) {
-                Object root = parser.parse(reader);
-                if (!(root instanceof JSONArray arr)) {
-                    System.err.println("Users JSON must be an array: " + path.toAbsolutePath());
-                    UserList.getInstance().replaceAll(loaded);
-                    return;
-                }
+        loadUsers(usersPath());
+    }
 
-                for (Object o : arr) {
-                    if (!(o instanceof JSONObject u)) continue;
+    /**
+     * Loads user accounts from the given users.json file and its journal.
+     *
+     * @param path path to users.json
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    public void loadUsers(Path path) {
+        JfrEvents.UsersLoad event = new JfrEvents.UsersLoad();
+        event.begin();
+        List<Account> loaded = new ArrayList<>();
+        UserJournal journal = UserJournal.forPath(path);
 
-                    Account a = new Account();
-                    a.setAccountID(asString(u.get("accountID")));
-                    a.setUserName(asString(u.get("userName")));
-                    String pass = asString(u.get("password"));
-                    if (pass == null || pass.isEmpty()) pass = asString(u.get("password"));
-                    a.setPassword(pass);
-                    a.setScore(asInt(u.get("score")));
-                    a.setRank(asInt(u.get("rank")));
-                    loaded.add(a);
-                }
-            }
+        try {
+            loaded = journal.load();
         } catch (Exception e) {
             System.err.println("Failed to load users from " + path.toAbsolutePath() + ": " + e.getMessage());
         }
 
         UserList.getInstance().replaceAll(loaded);
+
+        if (event.shouldCommit()) {
+            event.file = path.toString();
+            event.bytes = AtomicFiles.sizeOf(journal.getSnapshotPath()) + AtomicFiles.sizeOf(journal.getJournalPath());
+            event.records = loaded.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Builds an account from its users.json record.
+     *
+     * @param u JSON object representing a user
+     * @return the account
+     */
+    static Account parseAccount(JSONObject u) {
+        Account a = new Account();
+        a.setAccountID(asString(u.get("accountID")));
+        a.setUserName(asString(u.get("userName")));
+        a.setPassword(asString(u.get("password")));
+        a.setScore(asInt(u.get("score")));
+        a.setRank(asInt(u.get("rank")));
+        return a;
     }
 
     // -------- dungeons --------
@@ -69,93 +77,48 @@ public class DataLoader extends DataConstants {
      * Loads all dungeons from the rooms.json file.
      * Populates the internal dungeon list with parsed data.
      */
-    @SuppressWarnings("UseSpecificCatch")
     public void loadDungeons() {
-        dungeons.clear();
+        loadDungeons(dungeonPath());
+    }
 
+    /**
+     * Loads all dungeons from the given file in a single streaming pass.
+     * Dungeons, rooms, hints and puzzles are built as their tokens are read,
+     * so the whole file is never held as a JSON tree.
+     *
+     * @param path path to a rooms.json style file
+     */
+    public void loadDungeons(Path path) {
+        JfrEvents.DungeonsLoad event = new JfrEvents.DungeonsLoad();
+        event.begin();
         try {
-            Path path = dungeonPath();
-            if (!Files.exists(path)) {
-                System.err.println("Dungeon file not found at: " + path.toAbsolutePath());
-                return;
+            readDungeons(path);
+        } finally {
+            if (event.shouldCommit()) {
+                event.file = String.valueOf(path);
+                event.bytes = AtomicFiles.sizeOf(path);
+                event.records = dungeons.size();
+                event.commit();
             }
+        }
+    }
 
-            JSONParser parser = new JSONParser();
-            try (FileReader reader = new FileReader(path.toFile())) {
-                Object rootObj = parser.parse(reader);
-
-                JSONArray dungeonArray;
-                if (rootObj instanceof JSONObject root && root.get("dungeons") instanceof JSONArray arr) {
-                    dungeonArray = arr;
-                } else if (rootObj instanceof JSONArray arr) {
-                    dungeonArray = arr;
-                } else {
-                    System.err.println("Unexpected dungeon JSON format at: " + path.toAbsolutePath());
-                    return;
-                }
-
-                for (Object dObj : dungeonArray) {
-                    if (!(dObj instanceof JSONObject dungeonJson)) continue;
-
-                    String name = asString(dungeonJson.get("name"));
-                    if (name == null) name = "Unnamed Dungeon";
-
-                    Difficulty difficulty = parseDifficulty(dungeonJson.get("difficulty"));
-
-                    double baseMaxAllowedTime = 600_000d; // 10 minutes
-                    Object timerObj = dungeonJson.get("timer");
-                    if (timerObj instanceof JSONObject tJson) {
-                        String allowed = asString(tJson.get("allowedTime"));
-                        if (allowed != null) {
-                            baseMaxAllowedTime = toMillis(allowed, 600_000d);
-                        }
-                    }
-
-                    // Rooms
-                    ArrayList<Room> rooms = new ArrayList<>();
-                    Object roomsObj = dungeonJson.get("rooms");
-                    if (roomsObj instanceof JSONArray roomsArray) {
-                        for (Object rObj : roomsArray) {
-                            if (!(rObj instanceof JSONObject roomJson)) continue;
-
-                            // Room-level hints
-                            ArrayList<Hint> roomHints = new ArrayList<>();
-                            Object hintsObj = roomJson.get("hints");
-                            if (hintsObj instanceof JSONArray hArr) {
-                                for (Object hObj : hArr) {
-                                    if (hObj instanceof JSONObject hJson) {
-                                        int level = asInt(hJson.get("level"));
-                                        String text = asString(hJson.get("text"), "");
-                                        double cost = asDouble(hJson.get("cost"), 0.0);
-                                        roomHints.add(new Hint(level, text, cost));
-                                    }
-                                }
-                            }
-
-                            // puzzles in the room
-                            ArrayList<Puzzle> puzzles = new ArrayList<>();
-                            Object puzzlesObj = roomJson.get("puzzles");
-                            if (puzzlesObj instanceof JSONArray pArr) {
-                                for (Object pObj : pArr) {
-                                    if (pObj instanceof JSONObject pJson) {
-                                        Puzzle pz = parsePuzzle(pJson);
-                                        if (pz != null) puzzles.add(pz);
-                                    }
-                                }
-                            }
-
-                            Room room = new Room(puzzles, roomHints, new ArrayList<>(), new ArrayList<>());
-                            rooms.add(room);
-                        }
-                    }
+    @SuppressWarnings("UseSpecificCatch")
+    private void readDungeons(Path path) {
+        if (path == null || !Files.exists(path)) {
+            System.err.println("Dungeon file not found at: " + (path == null ? null : path.toAbsolutePath()));
+            dungeons = List.of();
+            return;
+        }
 
-                    Room starting = rooms.isEmpty() ? null : rooms.get(0);
-                    Dungeon dungeon = new Dungeon(name, rooms, baseMaxAllowedTime, difficulty, starting);
-                    dungeons.add(dungeon);
-                }
-            }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            dungeons = List.copyOf(DungeonStreamReader.read(reader));
+        } catch (ParseException e) {
+            System.err.println("Unexpected dungeon JSON format at: " + path.toAbsolutePath());
+            dungeons = List.of();
         } catch (Exception e) {
             System.err.println("Error loading dungeons: " + e.getMessage());
+            dungeons = List.of();
         }
     }
 
@@ -174,7 +137,7 @@ public class DataLoader extends DataConstants {
      * @param v object to convert
      * @return string value or null
      */
-    private static String asString(Object v) { return v == null ? null : String.valueOf(v); }
+    static String asString(Object v) { return v == null ? null : String.valueOf(v); }
 
     /**
      * Converts an object to a string, or returns a default value.
@@ -183,7 +146,7 @@ public class DataLoader extends DataConstants {
      * @param def default value
      * @return string or default
      */
-    private static String asString(Object v, String def) { return v == null ? def : String.valueOf(v); }
+    static String asString(Object v, String def) { return v == null ? def : String.valueOf(v); }
 
     /**
      * Converts an object to an integer.
@@ -191,7 +154,7 @@ public class DataLoader extends DataConstants {
      * @param v object to convert
      * @return integer value or 0
      */
-    private static int asInt(Object v) {
+    static int asInt(Object v) {
         if (v instanceof Number n) return n.intValue();
         if (v == null) return 0;
         try { return Integer.parseInt(String.valueOf(v)); } catch (NumberFormatException e) { return 0; }
@@ -204,7 +167,7 @@ public class DataLoader extends DataConstants {
      * @param def default value
      * @return double value or default
      */
-    private static double asDouble(Object v, double def) {
+    static double asDouble(Object v, double def) {
         if (v == null) return def;
         if (v instanceof Number n) return n.doubleValue();
         try { return Double.parseDouble(String.valueOf(v)); } catch (NumberFormatException e) { return def; }
@@ -217,7 +180,7 @@ public class DataLoader extends DataConstants {
      * @param def default value
      * @return milliseconds or default
      */
-    private static double toMillis(String hms, double def) {
+    static double toMillis(String hms, double def) {
         if (hms == null || !hms.matches("\\d{2}:\\d{2}:\\d{2}")) return def;
         String[] p = hms.split(":");
         long h = Long.parseLong(p[0]), m = Long.parseLong(p[1]), s = Long.parseLong(p[2]);
@@ -230,7 +193,7 @@ public class DataLoader extends DataConstants {
      * @param raw raw difficulty value
      * @return parsed Difficulty enum
      */
-    private static Difficulty parseDifficulty(Object raw) {
+    static Difficulty parseDifficulty(Object raw) {
         if (raw == null) return Difficulty.NORMAL;
         if (raw instanceof Number n) {
             int v = n.intValue();
@@ -248,96 +211,27 @@ public class DataLoader extends DataConstants {
         };
     }
 
+    /**
+     * Builds a hint from its JSON definition.
+     *
+     * @param hJson JSON object with level, text and cost
+     * @return the parsed hint
+     */
+    static Hint parseHint(JSONObject hJson) {
+        int level = asInt(hJson.get("level"));
+        String text = asString(hJson.get("text"), "");
+        double cost = asDouble(hJson.get("cost"), 0.0);
+        return new Hint(level, text, cost);
+    }
+
     /**
      * Parses a puzzle object from a JSON definition.
+     * Construction is delegated to the factory registered in {@link PuzzleRegistry}.
      * 
      * @param pJson JSON object representing a puzzle
      * @return constructed Puzzle object or null
      */
-    @SuppressWarnings("UseSpecificCatch")
-    private static Puzzle parsePuzzle(JSONObject pJson) {
-        String title = asString(pJson.get("title"), "Puzzle");
-        Puzzle pz;
-
-        // Riddle (question + answer)
-        if (pJson.get("question") != null && pJson.get("answer") != null) {
-            String q = asString(pJson.get("question"), "");
-            String a = asString(pJson.get("answer"), "");
-            String singleHint = asString(pJson.get("hint"), null);
-            pz = new Riddle(title, q, a, singleHint);
-        }
-        // Scramble (scrambledWord + solution)
-        else if (pJson.get("scrambledWord") != null) {
-            String scrambled = asString(pJson.get("scrambledWord"), "");
-            String solution  = asString(pJson.get("solution"), "");
-            CodePuzzle cp = new CodePuzzle(); // use your available constructor
-            try { cp.setTitle(title); } catch (Throwable ignore) {}
-            try { cp.setCodePrompt("Unscramble the letters: " + scrambled); }
-            catch (Throwable ignore) {
-                try { CodePuzzle.class.getMethod("setPrompt", String.class).invoke(cp, "Unscramble the letters: " + scrambled); }
-                catch (Throwable ignored) {}
-            }
-            if (solution != null && !solution.isBlank()) cp.addAcceptedCode(solution);
-            pz = cp;
-        }
-        // Code (codePrompt + expectedCode)
-        else if (pJson.get("expectedCode") != null || pJson.get("codePrompt") != null) {
-            String codePrompt = asString(pJson.get("codePrompt"), "");
-            String expected   = asString(pJson.get("expectedCode"), "");
-            CodePuzzle cp = new CodePuzzle();
-            try { cp.setTitle(title); } catch (Throwable ignore) {}
-            if (expected != null && !expected.isBlank()) cp.addAcceptedCode(expected);
-            try { cp.setCodePrompt(codePrompt); }
-            catch (Throwable ignore) {
-                try { CodePuzzle.class.getMethod("setPrompt", String.class).invoke(cp, codePrompt); }
-                catch (Throwable ignored) {}
-            }
-            pz = cp;
-        }
-        // Fallback (acceptedCodes / solution)
-        else {
-            CodePuzzle cp = new CodePuzzle();
-            try { cp.setTitle(title); } catch (Throwable ignore) {}
-            Object codes = pJson.get("acceptedCodes");
-            if (codes instanceof JSONArray arr) {
-                for (Object o : arr) if (o instanceof String s) cp.addAcceptedCode(s);
-            }
-            if (pJson.get("solution") != null) cp.addAcceptedCode(asString(pJson.get("solution"), ""));
-            pz = cp;
-        }
-
-        // Hints
-        Object hintsObj = pJson.get("hints");
-        if (hintsObj instanceof JSONArray hArr) {
-            int count = 0;
-            for (Object hObj : hArr) {
-                if (hObj instanceof JSONObject hJson) {
-                    int level = asInt(hJson.get("level"));
-                    String text = asString(hJson.get("text"), "");
-                    double cost = asDouble(hJson.get("cost"), 0.0);
-                    try { pz.addHint(new Hint(level, text, cost)); count++; } catch (Throwable ignore) {}
-                }
-            }
-            try { pz.setMaxHints(count); } catch (Throwable ignore) {}
-        }
-
-        // Items, required for puzzle
-        try {
-            String rewardItem = asString(pJson.get("rewardItem"));
-            if (rewardItem != null && !rewardItem.isBlank()) {
-                try { pz.getClass().getMethod("setRewardItem", String.class).invoke(pz, rewardItem); } catch (Throwable ignored) {}
-            }
-            Object rq = pJson.get("requiresItem");
-            boolean requiresItem = (rq instanceof Boolean b) ? b : (rq != null && "true".equalsIgnoreCase(String.valueOf(rq)));
-            if (requiresItem) {
-                try { pz.getClass().getMethod("setRequiresItem", boolean.class).invoke(pz, true); } catch (Throwable ignored) {}
-                String requiredKey = asString(pJson.get("requiredItemKey"));
-                if (requiredKey != null && !requiredKey.isBlank()) {
-                    try { pz.getClass().getMethod("setRequiredItemKey", String.class).invoke(pz, requiredKey); } catch (Throwable ignored) {}
-                }
-            }
-        } catch (Throwable ignored) {}
-
-        return pz;
+    static Puzzle parsePuzzle(JSONObject pJson) {
+        return PuzzleRegistry.create(pJson);
     }
 }
@@ -3,79 +3,82 @@ package com.s2tn.model;
 //import com.google.gson.Gson;
 //import com.google.gson.JsonArray;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
  * Handles writing user, dungeon, leaderboard, and game data to JSON files.
  * Extends {@link DataConstants} for consistent file path references.
+ * Files are never written in place: each is replaced atomically through {@link AtomicFiles}.
  */
 public class DataWriter extends DataConstants {
 
     /**
      * Saves all users from {@link UserList} to the users.json file.
-     * Appends only new users that are not already in the file.
+     * Only accounts that changed since they were last written are appended to the
+     * users journal; see {@link UserJournal}.
      */
     //Gson gson = new Gson();
-    @SuppressWarnings("UseSpecificCatch")
     public void saveUsers() {
-        Path path = usersPath();
-        List<Account> currentUsers = UserList.getInstance().getAll();
+        saveUsers(usersPath());
+    }
 
+    /**
+     * Saves all users from {@link UserList} to the given users.json file and its journal.
+     *
+     * @param path path to users.json
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    public void saveUsers(Path path) {
+        JfrEvents.UsersSave event = new JfrEvents.UsersSave();
+        event.begin();
+        UserJournal journal = UserJournal.forPath(path);
+        long before = event.isEnabled() ? journal.bytesWritten() : 0;
+        int written = 0;
         try {
-            String existing = "";
-            if (Files.exists(path)) {
-                existing = Files.readString(path, StandardCharsets.UTF_8).trim();
-            }
-
-            if (existing.isEmpty()) existing = "[]";
-            if (!existing.startsWith("[")) existing = "[]";  
-
-            HashSet<String> seenUsernames = new HashSet<>();
-            collectExistingUsernames(existing, seenUsernames);
-
-            StringBuilder appended = new StringBuilder();
-            boolean firstAppend = true;
-            for (Account a : currentUsers) {
-                String uname = a.getUserName() == null ? "" : a.getUserName();
-                if (uname.isEmpty() || seenUsernames.contains(uname)) continue;
-
-                //String obj = gson.toJson(a);
-                String obj = userToJson(a);
-                if (!firstAppend) appended.append(",");
-                appended.append(obj);
-                firstAppend = false;
-            }
-
-            if (appended.length() == 0 && Files.exists(path)) {
-                return;
-            }
-
-            StringBuilder out = new StringBuilder();
-            String trimmed = existing;
-            if (trimmed.endsWith("]")) trimmed = trimmed.substring(0, trimmed.length() - 1);
-
-            boolean hadObjects = trimmed.indexOf('{') >= 0; 
-            out.append(trimmed);
-            if (hadObjects && appended.length() > 0) out.append(",");
-            out.append(appended);
-            out.append("]");
+            written = journal.upsert(UserList.getInstance().getAll());
+        } catch (Exception e) {
+            System.err.println("Failed to save users at " + path.toAbsolutePath() + ": " + e.getMessage());
+        }
+        if (event.shouldCommit()) {
+            event.file = path.toString();
+            event.bytes = journal.bytesWritten() - before;
+            event.records = written;
+            event.commit();
+        }
+    }
 
-            Path parent = path.getParent();
-            if (parent != null) Files.createDirectories(parent);
-            try (FileWriter writer = new FileWriter(path.toFile(), false)) {
-                writer.write(out.toString());
-            }
+    /**
+     * Saves a single user, appending one journal entry if the record changed.
+     *
+     * @param a the account to save
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    public void saveUser(Account a) {
+        if (a == null) return;
+        Path path = usersPath();
+        try {
+            UserJournal.forPath(path).upsert(List.of(a));
         } catch (Exception e) {
-            System.err.println("Failed to append users at " + path.toAbsolutePath() + ": " + e.getMessage());
+            System.err.println("Failed to save user at " + path.toAbsolutePath() + ": " + e.getMessage());
         }
+    }
 
+    /**
+     * Records that a user was removed so it is not loaded again.
+     *
+     * @param accountId ID of the removed account
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    public void deleteUser(String accountId) {
+        Path path = usersPath();
+        try {
+            UserJournal.forPath(path).delete(accountId);
+        } catch (Exception e) {
+            System.err.println("Failed to delete user at " + path.toAbsolutePath() + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -84,10 +87,20 @@ public class DataWriter extends DataConstants {
      *
      * @param dungeons list of dungeons to save
      */
-    @SuppressWarnings("UseSpecificCatch")
     public void saveDungeons(List<Dungeon> dungeons) {
-        Path path = dungeonPath();
+        saveDungeons(dungeonPath(), dungeons);
+    }
 
+    /**
+     * Saves a list of dungeons to the given file, replacing it atomically.
+     *
+     * @param path     target rooms.json style file
+     * @param dungeons list of dungeons to save
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    public void saveDungeons(Path path, List<Dungeon> dungeons) {
+        JfrEvents.DungeonsSave event = new JfrEvents.DungeonsSave();
+        event.begin();
         StringBuilder sb = new StringBuilder();
         sb.append("[");
 
@@ -115,14 +128,17 @@ public class DataWriter extends DataConstants {
         sb.append("]");
 
         try {
-            Path parent = path.getParent();
-            if (parent != null) Files.createDirectories(parent);
-            try (FileWriter writer = new FileWriter(path.toFile(), false)) {
-                writer.write(sb.toString());
-            }
+            AtomicFiles.write(path, sb);
         } catch (Exception e) {
             System.err.println("Failed to save dungeons at " + path.toAbsolutePath() + ": " + e.getMessage());
         }
+
+        if (event.shouldCommit()) {
+            event.file = path.toString();
+            event.bytes = AtomicFiles.sizeOf(path);
+            event.records = dungeons.size();
+            event.commit();
+        }
     }
 
     /**
@@ -142,36 +158,13 @@ public class DataWriter extends DataConstants {
         writeJson(path, lb);
     }
 
-    /**
-     * Collects existing usernames from a JSON array string and adds them to a set.
-     *
-     * @param jsonArray JSON string containing user data
-     * @param out set to populate with usernames
-     */
-    private static void collectExistingUsernames(String jsonArray, HashSet<String> out) {
-        int idx = 0;
-        while (idx >= 0) {
-            idx = jsonArray.indexOf("\"userName\"", idx);
-            if (idx < 0) break;
-            int colon = jsonArray.indexOf(':', idx);
-            if (colon < 0) break;
-            int firstQuote = jsonArray.indexOf('"', colon + 1);
-            if (firstQuote < 0) break;
-            int secondQuote = jsonArray.indexOf('"', firstQuote + 1);
-            if (secondQuote < 0) break;
-            String uname = jsonArray.substring(firstQuote + 1, secondQuote);
-            out.add(unescapeJson(uname));
-            idx = secondQuote + 1;
-        }
-    }
-
     /**
      * Converts an {@link Account} object to a JSON string.
      *
      * @param a the account to convert
      * @return JSON string representation of the account
      */
-    private static String userToJson(Account a) {
+    static String userToJson(Account a) {
         StringBuilder sb = new StringBuilder(128);
         sb.append("{");
         sb.append("\"accountID\":").append(toJsonString(a.getAccountID()));
@@ -268,16 +261,6 @@ public class DataWriter extends DataConstants {
         return out.toString();
     }
 
-    /**
-     * Reverses basic JSON string escaping.
-     *
-     * @param s JSON string
-     * @return unescaped version
-     */
-    private static String unescapeJson(String s) {
-        return s.replace("\\\"", "\"").replace("\\\\", "\\");
-    }
-
     /**
      * Writes a text certificate file for a completed game session.
      *
@@ -288,15 +271,19 @@ public class DataWriter extends DataConstants {
      * @param score final score
      */
     public static void writeCertificate(Account account, String gameName, int hintsUsed, String difficulty, int score) {
-        try (PrintWriter writer = new PrintWriter("Certificate_" + account.getUserName() + ".txt")) {
-            writer.println("===== Escape Room Certificate =====");
-            writer.println("Player: " + account.getUserName());
-            writer.println("Game: " + gameName);
-            writer.println("Difficulty: " + difficulty);
-            writer.println("Hints Used: " + hintsUsed);
-            writer.println("Final Score: " + score);
-            writer.println("Congratulations on escaping!");
-        } catch (IOException e) {
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("===== Escape Room Certificate =====").append(nl);
+        sb.append("Player: ").append(account.getUserName()).append(nl);
+        sb.append("Game: ").append(gameName).append(nl);
+        sb.append("Difficulty: ").append(difficulty).append(nl);
+        sb.append("Hints Used: ").append(hintsUsed).append(nl);
+        sb.append("Final Score: ").append(score).append(nl);
+        sb.append("Congratulations on escaping!").append(nl);
+        try {
+            AtomicFiles.write(Paths.get("Certificate_" + account.getUserName() + ".txt"), sb);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write certificate for " + account.getUserName() + ": " + e.getMessage());
         }
     }
 }
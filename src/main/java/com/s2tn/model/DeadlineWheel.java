@@ -0,0 +1,291 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel for dungeon countdowns, in the style of the classic Linux timer
+ * wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level covering 64 times the
+ * span of the one below. A deadline goes into the coarsest level that can hold it, and when
+ * a lower level wraps, the next slot up is cascaded down, so each deadline is moved at most
+ * once per level however far away it is. Deadlines beyond the top level are parked at its
+ * far end and re-filed when they come round.
+ * <p>
+ * Scheduling and cancelling are O(1) (a linked-list insert or unlink under one short lock);
+ * the only per-tick work is one slot. Deadlines never fire early: they fire on the first
+ * tick at or after them, so up to one tick late.
+ * <p>
+ * The shared wheel from {@link #getInstance()} runs on one daemon ticker thread for every
+ * session in the JVM. Wheels built with a {@link VirtualClock} are driven by hand through
+ * {@link #advance()}. Expiry callbacks run on whichever thread advances the wheel, outside
+ * its lock; they should be short and must do their own locking.
+ */
+public final class DeadlineWheel {
+
+    /** Default tick, in milliseconds. */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = (1L << (SLOT_BITS * LEVELS)) - 1; // in ticks
+
+    private static final class Holder {
+        static final DeadlineWheel INSTANCE = create();
+    }
+
+    /** A scheduled expiry; cancel it when the countdown pauses or changes. */
+    public static final class Deadline {
+        private final DeadlineWheel wheel;
+        private final Runnable task;
+        private final long tick;        // first tick at or after the deadline
+        private Deadline prev, next;    // links in its slot, guarded by the wheel's lock
+        private Deadline[] slotLevel;   // the level array holding it, or null once out of the wheel
+        private int slot;
+        private boolean done;           // fired or cancelled
+
+        private Deadline(DeadlineWheel wheel, long tick, Runnable task) {
+            this.wheel = wheel;
+            this.tick = tick;
+            this.task = task;
+        }
+
+        /**
+         * Removes the deadline from the wheel.
+         *
+         * @return true if it was pending; false if it already fired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        /** Returns true until the deadline fires or is cancelled. */
+        public boolean isPending() {
+            wheel.lock.lock();
+            try {
+                return !done;
+            } finally {
+                wheel.lock.unlock();
+            }
+        }
+    }
+
+    private final Clock clock;
+    private final long tickNanos;
+    private final long origin;
+    private final Deadline[][] heads = new Deadline[LEVELS][SLOTS];
+    private final ReentrantLock lock = new ReentrantLock();
+    private long current;   // next tick to process, guarded by lock
+    private int size;       // pending deadlines, guarded by lock
+    private Thread ticker;
+    private volatile boolean running;
+
+    /** Returns the shared wheel on the system clock, starting its ticker on first use. */
+    public static DeadlineWheel getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static DeadlineWheel create() {
+        DeadlineWheel wheel = new DeadlineWheel(Clock.SYSTEM,
+                TimeUnit.MILLISECONDS.toNanos(Long.getLong("s2tn.wheel.tickMs", DEFAULT_TICK_MILLIS)));
+        wheel.start();
+        return wheel;
+    }
+
+    /** Creates a wheel on a clock with the default tick; it does not tick until started or advanced. */
+    public DeadlineWheel(Clock clock) {
+        this(clock, TimeUnit.MILLISECONDS.toNanos(DEFAULT_TICK_MILLIS));
+    }
+
+    /**
+     * Creates a wheel; it does not tick until {@link #start()}ed or {@link #advance()}d.
+     *
+     * @param clock     time source for deadlines
+     * @param tickNanos resolution in nanoseconds (minimum 1)
+     */
+    public DeadlineWheel(Clock clock, long tickNanos) {
+        if (clock == null) throw new IllegalArgumentException("clock must not be null");
+        this.clock = clock;
+        this.tickNanos = Math.max(1, tickNanos);
+        this.origin = clock.nanoTime();
+    }
+
+    /** Returns the clock deadlines are measured on. */
+    public Clock getClock() { return clock; }
+
+    /** Returns the tick in nanoseconds. */
+    public long getTickNanos() { return tickNanos; }
+
+    /**
+     * Schedules a task to run once a delay has passed.
+     *
+     * @param delayNanos how long from now; zero or negative fires on the next tick
+     * @param task       the expiry callback
+     * @return a handle for cancelling
+     */
+    public Deadline schedule(long delayNanos, Runnable task) {
+        if (task == null) throw new IllegalArgumentException("task must not be null");
+        long at = clock.nanoTime() - origin;
+        long due = delayNanos <= 0 ? at : at + delayNanos;
+        if (due < at) due = Long.MAX_VALUE; // overflow: effectively never
+        long tick = ceilDiv(due, tickNanos);
+        Deadline d = new Deadline(this, tick, task);
+        lock.lock();
+        try {
+            file(d);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+        return d;
+    }
+
+    /** Schedules a task to run once a delay has passed. */
+    public Deadline schedule(long delay, TimeUnit unit, Runnable task) {
+        return schedule(unit.toNanos(delay), task);
+    }
+
+    private boolean cancel(Deadline d) {
+        lock.lock();
+        try {
+            if (d.done) return false;
+            d.done = true;
+            unlink(d);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of pending deadlines. */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Processes every tick up to the clock's current reading and runs the expired tasks on
+     * the calling thread. The ticker calls this; wheels on a {@link VirtualClock} call it
+     * after advancing the clock.
+     *
+     * @return number of tasks run
+     */
+    public int advance() {
+        long target = Math.floorDiv(clock.nanoTime() - origin, tickNanos);
+        List<Deadline> expired = null;
+        lock.lock();
+        try {
+            while (current <= target) {
+                if (size == 0) { // nothing to move or fire: skip straight to the end
+                    current = target + 1;
+                    break;
+                }
+                int idx = (int) (current & MASK);
+                if (idx == 0) cascade(1);
+                Deadline d = heads[0][idx];
+                heads[0][idx] = null;
+                for (; d != null; d = d.next) {
+                    d.slotLevel = null;
+                    d.done = true;
+                    size--;
+                    if (expired == null) expired = new ArrayList<>();
+                    expired.add(d);
+                }
+                current++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (expired == null) return 0;
+        for (Deadline d : expired) {
+            try {
+                d.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Deadline callback failed: " + e);
+            }
+        }
+        return expired.size();
+    }
+
+    /** Moves the current slot of a level down into the levels below, after the levels above. */
+    private void cascade(int level) {
+        if (level >= LEVELS) return;
+        int idx = (int) ((current >>> (SLOT_BITS * level)) & MASK);
+        if (idx == 0) cascade(level + 1);
+        Deadline d = heads[level][idx];
+        heads[level][idx] = null;
+        while (d != null) {
+            Deadline next = d.next;
+            d.prev = d.next = null;
+            file(d);
+            d = next;
+        }
+    }
+
+    /** Links a deadline into the slot for its tick, relative to the current tick. */
+    private void file(Deadline d) {
+        long tick = Math.max(d.tick, current);
+        long delta = tick - current;
+        if (delta > MAX_SPAN) tick = current + MAX_SPAN; // parked; re-filed when cascaded
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+        int idx = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+        Deadline[] row = heads[level];
+        d.slotLevel = row;
+        d.slot = idx;
+        d.prev = null;
+        d.next = row[idx];
+        if (d.next != null) d.next.prev = d;
+        row[idx] = d;
+    }
+
+    private static void unlink(Deadline d) {
+        Deadline[] row = d.slotLevel;
+        if (row == null) return;
+        if (d.prev != null) d.prev.next = d.next;
+        else row[d.slot] = d.next;
+        if (d.next != null) d.next.prev = d.prev;
+        d.prev = d.next = null;
+        d.slotLevel = null;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /** Starts the ticker thread, which advances the wheel once per tick. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        ticker = new Thread(this::tick, "s2tn-deadline-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /** Stops the ticker thread; pending deadlines stay in the wheel. */
+    public synchronized void stop() {
+        running = false;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        while (running) {
+            advance();
+            long now = clock.nanoTime() - origin;
+            long next = (Math.floorDiv(now, tickNanos) + 1) * tickNanos;
+            LockSupport.parkNanos(this, next - now);
+        }
+    }
+}
@@ -14,13 +14,16 @@ public class Dungeon {
     private String name;
     private ArrayList<Room> rooms;
     private Timer timer;
+    private final long allowedTime; // millis, from rooms.json "allowedTime"
     private Difficulty difficulty;
     private Room currentRoom;
     @SuppressWarnings("FieldMayBeFinal")
     private Room startingRoom;
     private Room previousRoom;
+    private volatile RoomGraph graph; // built on first use from rooms, rebuilt if the list changes
+    private volatile DungeonAnalyzer analyzer; // follows graph
 
-    /** Creates a dungeon with the given name, rooms, timer, and difficulty. */
+    /** Creates a dungeon with the given name, rooms, timer, and difficulty; null rooms are dropped. */
     public Dungeon(String name,
                    ArrayList<Room> rooms,
                    double baseMaxAllowedTimeMillis,
@@ -28,7 +31,9 @@ public class Dungeon {
                    Room startingRoom) {
         this.name = name;
         this.rooms = (rooms == null) ? new ArrayList<>() : rooms;
+        this.rooms.removeIf(Objects::isNull);
         this.timer = new Timer();
+        this.allowedTime = (long) baseMaxAllowedTimeMillis;
         this.difficulty = (difficulty == null) ? Difficulty.NORMAL : difficulty;
         this.startingRoom = startingRoom;
         this.currentRoom = null;
@@ -39,17 +44,80 @@ public class Dungeon {
     public String getName() { return name; }
 
     /** Sets the dungeon name. */
-    public void setName(String n) { this.name = n; }
+    public void setName(String n) {
+        this.name = n;
+        DungeonList.getInstance().renamed(this); // keep the name index in step
+    }
 
     /** Returns the list of rooms in this dungeon. */
     public List<Room> getRooms() { return rooms; }
 
-    /** Sets the rooms for this dungeon. */
-    public void setRooms(ArrayList<Room> rooms) { this.rooms = rooms; }
+    /** Sets the rooms for this dungeon; null rooms are dropped so graph and list positions agree. */
+    public void setRooms(ArrayList<Room> rooms) {
+        if (rooms != null) rooms.removeIf(Objects::isNull);
+        this.rooms = rooms;
+        this.graph = null;
+    }
+
+    /**
+     * Returns the room graph for this dungeon, indexed in room-list order.
+     * Built on first use and rebuilt if the room list has changed since. Nulls put into the
+     * list after it was set are dropped before a rebuild, so the graph always matches it.
+     */
+    public RoomGraph getGraph() {
+        RoomGraph g = graph;
+        List<Room> rs = (rooms == null) ? List.of() : rooms;
+        if (!matches(g, rs)) {
+            if (rooms != null) rooms.removeIf(Objects::isNull);
+            g = RoomGraph.of(rs);
+            graph = g;
+        }
+        return g;
+    }
+
+    /**
+     * Returns true if a graph is still this dungeon's graph for its current room list.
+     * Unlike {@link #getGraph()} this never rebuilds, so it is safe to call from any thread.
+     */
+    boolean isGraphCurrent(RoomGraph g) {
+        return g != null && g == graph && matches(g, (rooms == null) ? List.of() : rooms);
+    }
+
+    private static boolean matches(RoomGraph g, List<Room> rs) {
+        return g != null && g.size() == rs.size() && (rs.isEmpty() || g.room(rs.size() - 1) == rs.get(rs.size() - 1));
+    }
+
+    /** Returns a room's position in {@link #getRooms()}, or -1 if it is not in this dungeon. O(1). */
+    public int indexOfRoom(Room room) {
+        if (room == null || rooms == null) return -1;
+        int i = getGraph().indexOf(room);
+        if (i >= 0 && i < rooms.size() && rooms.get(i) == room) return i;
+        // list edited in place since the graph was built
+        graph = null;
+        i = getGraph().indexOf(room);
+        return (i >= 0 && i < rooms.size() && rooms.get(i) == room) ? i : -1;
+    }
+
+    /**
+     * Returns the progress and reachability analyzer for this dungeon, built together with
+     * {@link #getGraph()} and rebuilt with it.
+     */
+    public DungeonAnalyzer getAnalyzer() {
+        RoomGraph g = getGraph();
+        DungeonAnalyzer a = analyzer;
+        if (a == null || !a.isCurrent(g)) {
+            a = new DungeonAnalyzer(g, g.indexOf(startingRoom));
+            analyzer = a;
+        }
+        return a;
+    }
 
     /** Returns the dungeon timer. */
     public Timer getTimer() { return timer; }
 
+    /** Returns the time allowed to finish the dungeon in milliseconds; 0 or less means no limit. */
+    public long getAllowedTime() { return allowedTime; }
+
     /** Sets the dungeon timer. */
     public void setTimer(Timer t) { this.timer = t; }
 
@@ -74,7 +142,7 @@ public class Dungeon {
     /** Changes the current room to the specified one, if it exists in the dungeon. */
     public void changeRoom(Room next) {
         if (next == null) return;
-        if (!rooms.contains(next)) return;
+        if (indexOfRoom(next) < 0) return;
         this.previousRoom = this.currentRoom;
         this.currentRoom = next;
     }
@@ -0,0 +1,381 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progress, reachability and critical-path analysis over a dungeon's {@link RoomGraph}.
+ * <p>
+ * Puzzle counts are flattened per room when the analyzer is built, and every puzzle reports
+ * its state changes back here, so solved counts, room completion and overall progress are
+ * O(1) queries. The puzzle lists are read once: {@link Dungeon#getAnalyzer()} builds a new
+ * analyzer whenever it rebuilds the room graph or a room gains a puzzle through
+ * {@link Room#addPuzzle(Puzzle)}.
+ * <p>
+ * The escape rules used for reachability: open exits can always be taken; a room's locked
+ * exits open once all of its puzzles are solved; a puzzle that requires an item can be solved
+ * once that item is held or is the reward of another puzzle that can be solved first.
+ * Not thread-safe.
+ */
+public final class DungeonAnalyzer {
+
+    private final RoomGraph graph;
+    private final long puzzleEdits; // the graph's puzzle edit count when built
+    private final int start;
+
+    // puzzles of room i are puzzles[puzzleOffsets[i] .. puzzleOffsets[i + 1])
+    private final int[] puzzleOffsets;
+    private final Puzzle[] puzzles;
+    private final int[] puzzleRoom;
+    private final HashMap<String, int[]> providers; // reward item -> puzzles granting it
+
+    private final int[] solved;
+    private int solvedTotal;
+    private int completeRooms;
+
+    // last reachability result, valid while its version and item set are current
+    private long version;
+    private long reachVersion = -1;
+    private Set<String> reachItems;
+    private long[] reached;
+    private int[] blockers;
+    private int reachedCount;
+
+    /**
+     * Builds an analyzer for a room graph and starts tracking its puzzles' states.
+     *
+     * @param graph the dungeon's room graph
+     * @param start index of the starting room
+     */
+    DungeonAnalyzer(RoomGraph graph, int start) {
+        this.graph = graph;
+        this.puzzleEdits = graph.puzzleEditCount();
+        int n = graph.size();
+        this.start = (start >= 0 && start < n) ? start : 0;
+
+        puzzleOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) puzzleOffsets[i + 1] = puzzleOffsets[i] + countPuzzles(graph.room(i));
+        puzzles = new Puzzle[puzzleOffsets[n]];
+        puzzleRoom = new int[puzzles.length];
+        solved = new int[n];
+        HashMap<String, List<Integer>> byReward = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int p = puzzleOffsets[i];
+            for (Puzzle puzzle : graph.room(i).getPuzzles()) {
+                if (puzzle == null) continue;
+                puzzles[p] = puzzle;
+                puzzleRoom[p] = i;
+                puzzle.track(this, p);
+                if (puzzle.getState() == PuzzleState.SOLVED) solved[i]++;
+                String reward = puzzle.getRewardItem();
+                if (reward != null && !reward.isBlank()) byReward.computeIfAbsent(reward, k -> new ArrayList<>()).add(p);
+                p++;
+            }
+            solvedTotal += solved[i];
+            if (solved[i] == puzzleCount(i)) completeRooms++;
+        }
+        providers = new HashMap<>();
+        byReward.forEach((k, v) -> providers.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private static int countPuzzles(Room room) {
+        int c = 0;
+        for (Puzzle p : room.getPuzzles()) if (p != null) c++;
+        return c;
+    }
+
+    /** Returns the room graph this analyzer covers. */
+    public RoomGraph getGraph() { return graph; }
+
+    /** Returns true if no room of the graph has gained a puzzle since this analyzer was built. */
+    boolean isCurrent(RoomGraph g) { return graph == g && puzzleEdits == g.puzzleEditCount(); }
+
+    // -------- progress, all O(1) --------
+
+    /** Returns the number of puzzles in a room. */
+    public int puzzleCount(int room) { return puzzleOffsets[room + 1] - puzzleOffsets[room]; }
+
+    /** Returns the number of solved puzzles in a room. */
+    public int solvedCount(int room) { return solved[room]; }
+
+    /** Returns true if every puzzle in a room is solved (rooms without puzzles are complete). */
+    public boolean isComplete(int room) { return solved[room] == puzzleCount(room); }
+
+    /** Returns true if the room belongs to this dungeon and every puzzle in it is solved. */
+    public boolean isComplete(Room room) {
+        int i = graph.indexOf(room);
+        return i >= 0 && isComplete(i);
+    }
+
+    /** Returns the number of rooms whose puzzles are all solved. */
+    public int completedRoomCount() { return completeRooms; }
+
+    /** Returns the number of puzzles in the dungeon. */
+    public int totalPuzzles() { return puzzles.length; }
+
+    /** Returns the number of solved puzzles in the dungeon. */
+    public int solvedPuzzles() { return solvedTotal; }
+
+    /** Returns the fraction of puzzles solved, from 0 to 1 (1 if there are none). */
+    public double progress() {
+        return puzzles.length == 0 ? 1.0 : (double) solvedTotal / puzzles.length;
+    }
+
+    /** Returns true if every puzzle in the dungeon is solved. */
+    public boolean isDungeonComplete() { return completeRooms == graph.size(); }
+
+    /** Called by {@link Puzzle#setState} when a tracked puzzle changes state. */
+    void onStateChange(int puzzle, PuzzleState from, PuzzleState to) {
+        boolean was = from == PuzzleState.SOLVED, now = to == PuzzleState.SOLVED;
+        if (was == now) return;
+        int room = puzzleRoom[puzzle];
+        boolean wasComplete = isComplete(room);
+        int d = now ? 1 : -1;
+        solved[room] += d;
+        solvedTotal += d;
+        if (wasComplete != isComplete(room)) completeRooms += d;
+        version++;
+    }
+
+    // -------- reachability --------
+
+    /**
+     * Works out which rooms can be reached from the starting room when holding the given items,
+     * and how many there are. The result is kept for {@link #isReachable(int)}, and recomputed
+     * with the same items once a puzzle changes state or an exit is unlocked.
+     * O(rooms + exits + puzzles).
+     *
+     * @param items keys of the items the player holds; null for none
+     * @return the number of reachable rooms
+     */
+    public int analyzeReachability(Collection<String> items) {
+        Set<String> held = (items == null) ? new HashSet<>() : new HashSet<>(items);
+        reachItems = Set.copyOf(held);
+        int n = graph.size();
+        reached = new long[(n + 63) >>> 6];
+        blockers = new int[n];
+        reachedCount = 0;
+        reachVersion = currentVersion();
+        if (n == 0) return 0;
+
+        HashMap<String, List<Integer>> waiting = new HashMap<>();
+        int[] rooms = new int[n];      // reached, to expand over open exits
+        int[] cleared = new int[n];    // reached with every puzzle solvable, to expand over locked exits
+        int rHead = 0, rTail = 0, cHead = 0, cTail = 0;
+        int[] grant = new int[puzzles.length]; // solvable puzzles whose rewards are still to hand out
+        int gTail = 0;
+
+        markReached(start);
+        rooms[rTail++] = start;
+        while (rHead < rTail || cHead < cTail || gTail > 0) {
+            if (gTail > 0) {
+                String reward = puzzles[grant[--gTail]].getRewardItem();
+                if (reward == null || reward.isBlank() || !held.add(reward)) continue;
+                List<Integer> unblocked = waiting.remove(reward);
+                if (unblocked == null) continue;
+                for (int p : unblocked) {
+                    grant[gTail++] = p;
+                    int r = puzzleRoom[p];
+                    if (puzzles[p].getState() != PuzzleState.SOLVED && --blockers[r] == 0) cleared[cTail++] = r;
+                }
+            } else if (rHead < rTail) {
+                int u = rooms[rHead++];
+                for (int p = puzzleOffsets[u]; p < puzzleOffsets[u + 1]; p++) {
+                    String need = requiredItem(puzzles[p]);
+                    if (need == null || held.contains(need)) {
+                        grant[gTail++] = p;
+                    } else {
+                        waiting.computeIfAbsent(need, k -> new ArrayList<>()).add(p);
+                        if (puzzles[p].getState() != PuzzleState.SOLVED) blockers[u]++;
+                    }
+                }
+                if (blockers[u] == 0) cleared[cTail++] = u;
+                for (int k = 0, deg = graph.degree(u); k < deg; k++) {
+                    if (graph.isLocked(u, k)) continue;
+                    int v = graph.neighbor(u, k);
+                    if (markReached(v)) rooms[rTail++] = v;
+                }
+            } else {
+                int u = cleared[cHead++];
+                for (int k = 0, deg = graph.degree(u); k < deg; k++) {
+                    if (!graph.isLocked(u, k)) continue;
+                    int v = graph.neighbor(u, k);
+                    if (markReached(v)) rooms[rTail++] = v;
+                }
+            }
+        }
+        return reachedCount;
+    }
+
+    /**
+     * Returns true if a room was reachable in the last {@link #analyzeReachability} call,
+     * recomputing it with the same items first if the dungeon has changed since.
+     */
+    public boolean isReachable(int room) {
+        ensureReachability();
+        return (reached[room >>> 6] & (1L << room)) != 0;
+    }
+
+    /** Returns true if a room of this dungeon is reachable; see {@link #isReachable(int)}. */
+    public boolean isReachable(Room room) {
+        int i = graph.indexOf(room);
+        return i >= 0 && isReachable(i);
+    }
+
+    /** Returns the number of rooms reachable in the last analysis; see {@link #isReachable(int)}. */
+    public int reachableCount() {
+        ensureReachability();
+        return reachedCount;
+    }
+
+    private void ensureReachability() {
+        if (reachVersion != currentVersion()) analyzeReachability(reachItems);
+    }
+
+    /** Changes with every puzzle state change and every unlocked exit. */
+    private long currentVersion() {
+        return version + graph.unlockCount();
+    }
+
+    private boolean markReached(int room) {
+        long bit = 1L << room;
+        if ((reached[room >>> 6] & bit) != 0) return false;
+        reached[room >>> 6] |= bit;
+        reachedCount++;
+        return true;
+    }
+
+    private static String requiredItem(Puzzle p) {
+        String key = p.getRequiredItemKey();
+        return (p.isRequiresItem() && key != null && !key.isBlank()) ? key : null;
+    }
+
+    // -------- critical path --------
+
+    /**
+     * Finds a smallest set of unsolved puzzles that must be solved to get from the starting room
+     * to {@code exit}: the route is the one that crosses locked exits out of the rooms with the
+     * fewest unsolved puzzles (Dijkstra over rooms), plus, for every chosen puzzle that needs an
+     * item the player does not hold, the nearest puzzle that rewards it and the route there.
+     * The route is exact; item providers are chosen greedily by distance.
+     *
+     * @param items keys of the items the player holds; null for none
+     * @param exit  index of the room to escape through
+     * @return the puzzles in route order, or null if the exit cannot be reached
+     */
+    public List<Puzzle> criticalPath(Collection<String> items, int exit) {
+        if (exit < 0 || exit >= graph.size()) return null;
+        analyzeReachability(items);
+        if (!isReachable(exit)) return null;
+
+        int n = graph.size();
+        int[] dist = new int[n];
+        int[] parent = new int[n];      // room we came from
+        boolean[] viaLock = new boolean[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[start] = 0;
+        parent[start] = -1;
+        long[] heap = new long[Math.max(16, n)];
+        int size = 0;
+        heap[size++] = start;
+        while (size > 0) {
+            long top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+            int u = (int) top, d = (int) (top >>> 32);
+            if (d != dist[u]) continue;
+            int cost = (blockers[u] == 0) ? puzzleCount(u) - solved[u] : -1;
+            for (int k = 0, deg = graph.degree(u); k < deg; k++) {
+                boolean locked = graph.isLocked(u, k);
+                if (locked && cost < 0) continue;
+                int v = graph.neighbor(u, k);
+                if (!isReachable(v)) continue;
+                int nd = d + (locked ? cost : 0);
+                if (nd >= dist[v]) continue;
+                dist[v] = nd;
+                parent[v] = u;
+                viaLock[v] = locked;
+                if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+                heap[size] = ((long) nd << 32) | v;
+                siftUp(heap, size++);
+            }
+        }
+
+        boolean[] roomChosen = new boolean[n];
+        boolean[] puzzleChosen = new boolean[puzzles.length];
+        List<Integer> pending = new ArrayList<>();
+        List<Puzzle> out = new ArrayList<>();
+        chooseRoute(exit, parent, viaLock, roomChosen, pending);
+        Set<String> held = (items == null) ? Set.of() : new HashSet<>(items);
+        for (int i = 0; i < pending.size(); i++) {
+            int p = pending.get(i);
+            if (puzzleChosen[p]) continue;
+            puzzleChosen[p] = true;
+            out.add(puzzles[p]);
+            String need = requiredItem(puzzles[p]);
+            if (need == null || held.contains(need)) continue;
+            int best = -1;
+            for (int q : providers.getOrDefault(need, new int[0])) {
+                int r = puzzleRoom[q];
+                if (dist[r] == Integer.MAX_VALUE) continue;
+                if (puzzles[q].getState() == PuzzleState.SOLVED) { best = -1; break; } // already earned
+                if (best < 0 || dist[r] < dist[puzzleRoom[best]]) best = q;
+            }
+            if (best < 0) continue;
+            pending.add(best);
+            chooseRoute(puzzleRoom[best], parent, viaLock, roomChosen, pending);
+        }
+        return out;
+    }
+
+    /** Critical path to the last room in the dungeon; see {@link #criticalPath(Collection, int)}. */
+    public List<Puzzle> criticalPath(Collection<String> items) {
+        return graph.size() == 0 ? null : criticalPath(items, graph.size() - 1);
+    }
+
+    /** Queues the unsolved puzzles of every room left through a locked exit on the route to a room. */
+    private void chooseRoute(int room, int[] parent, boolean[] viaLock, boolean[] roomChosen, List<Integer> pending) {
+        List<Integer> route = new ArrayList<>();
+        for (int v = room; parent[v] >= 0; v = parent[v]) {
+            if (viaLock[v] && !roomChosen[parent[v]]) route.add(parent[v]);
+        }
+        for (int r = route.size() - 1; r >= 0; r--) {
+            int u = route.get(r);
+            roomChosen[u] = true;
+            for (int p = puzzleOffsets[u]; p < puzzleOffsets[u + 1]; p++) {
+                if (puzzles[p].getState() != PuzzleState.SOLVED) pending.add(p);
+            }
+        }
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long x = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= x) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = x;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) return;
+        long x = heap[0];
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) break;
+            if (c + 1 < size && heap[c + 1] < heap[c]) c++;
+            if (heap[c] >= x) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = x;
+    }
+}
@@ -0,0 +1,117 @@
+package com.s2tn.model;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.UUID;
+
+/**
+ * UUID lookups for one dungeon's rooms and puzzles, built once when {@link Facade} selects the
+ * dungeon: room id to room, puzzle id to puzzle, and puzzle to the room that holds it.
+ * Rooms are numbered as in the dungeon's {@link RoomGraph} and puzzles in room order, so
+ * {@link GameSession}s can keep their own state in arrays indexed the same way.
+ * The index remembers the graph it was built against, so a changed room list or an added
+ * puzzle is noticed by {@link #isCurrent()}. Read-only once built, so it can be shared between threads.
+ */
+final class DungeonIndex {
+
+    private final Dungeon dungeon;
+    private final RoomGraph graph;
+    private final long puzzleEdits; // the graph's puzzle edit count before the scan
+    private final HashMap<UUID, Integer> roomSlots;
+    private final HashMap<UUID, Integer> puzzleSlots;
+    private final IdentityHashMap<Puzzle, Integer> puzzleNumbers;
+    private final Puzzle[] puzzles;
+    private final int[] puzzleRoom;
+    private final byte[] initialStates; // authored start state per puzzle, as PuzzleState ordinals
+
+    DungeonIndex(Dungeon dungeon) {
+        this.dungeon = dungeon;
+        this.graph = dungeon.getGraph();
+        this.puzzleEdits = graph.puzzleEditCount();
+        int n = graph.size();
+        roomSlots = new HashMap<>(n * 2);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (Puzzle p : graph.room(i).getPuzzles()) if (p != null) count++;
+        }
+        puzzles = new Puzzle[count];
+        puzzleRoom = new int[count];
+        initialStates = new byte[count];
+        puzzleSlots = new HashMap<>(count * 2);
+        puzzleNumbers = new IdentityHashMap<>(count * 2);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            Room r = graph.room(i);
+            roomSlots.putIfAbsent(r.getRoomID(), i);
+            for (Puzzle p : r.getPuzzles()) {
+                if (p == null) continue;
+                puzzles[k] = p;
+                puzzleRoom[k] = i;
+                initialStates[k] = (byte) p.initialState().ordinal();
+                puzzleSlots.putIfAbsent(p.getPuzzleID(), k);
+                puzzleNumbers.putIfAbsent(p, k);
+                k++;
+            }
+        }
+    }
+
+    /** Returns the dungeon this index covers. */
+    Dungeon dungeon() { return dungeon; }
+
+    /** Returns the room graph this index numbers rooms by. */
+    RoomGraph graph() { return graph; }
+
+    /**
+     * Returns true while the dungeon still has the room list this index was built from and no
+     * room has gained a puzzle since. Only reads the dungeon, so it can run outside the lock
+     * that guards rebuilding its graph.
+     */
+    boolean isCurrent() { return dungeon.isGraphCurrent(graph) && puzzleEdits == graph.puzzleEditCount(); }
+
+    /** Returns the room with this id, or null. */
+    Room room(UUID id) {
+        int i = roomNumber(id);
+        return i < 0 ? null : graph.room(i);
+    }
+
+    /** Returns the room's graph index, or -1 if the id is unknown. */
+    int roomNumber(UUID id) {
+        Integer i = id == null ? null : roomSlots.get(id);
+        return i == null ? -1 : i;
+    }
+
+    /** Returns the puzzle with this id, or null. */
+    Puzzle puzzle(UUID id) {
+        int k = puzzleNumber(id);
+        return k < 0 ? null : puzzles[k];
+    }
+
+    /** Returns the puzzle's number, or -1 if the id is unknown. */
+    int puzzleNumber(UUID id) {
+        Integer k = id == null ? null : puzzleSlots.get(id);
+        return k == null ? -1 : k;
+    }
+
+    /** Returns the puzzle with this number. */
+    Puzzle puzzleAt(int k) { return puzzles[k]; }
+
+    /**
+     * Copies every puzzle's authored start state ({@link Puzzle#initialState()}), as ordinals,
+     * into a session's state array. Captured when the index was built, so play through the
+     * shared puzzle objects does not leak into new sessions.
+     */
+    void copyInitialStates(byte[] into) { System.arraycopy(initialStates, 0, into, 0, initialStates.length); }
+
+    /** Returns the graph index of the room holding puzzle number {@code k}. */
+    int roomOfPuzzle(int k) { return puzzleRoom[k]; }
+
+    /** Returns the room holding a puzzle, or null if the puzzle is not in this dungeon. */
+    Room owner(Puzzle p) {
+        Integer k = p == null ? null : puzzleNumbers.get(p);
+        return k == null ? null : graph.room(puzzleRoom[k]);
+    }
+
+    int roomCount() { return graph.size(); }
+
+    int puzzleCount() { return puzzles.length; }
+}
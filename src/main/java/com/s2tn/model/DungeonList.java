@@ -1,62 +1,111 @@
 package com.s2tn.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Singleton class that manages all dungeons in the system.
+ * The contents are an immutable snapshot (list plus hash indexes by UUID and by
+ * case-insensitive name) published through an {@link AtomicReference}: readers never lock and
+ * always see one consistent version, and every change, including a full reload through
+ * {@link #replaceAll}, swaps in a new snapshot atomically.
  */
 public class DungeonList {
-    private static DungeonList instance;
-    private static List<Dungeon> dungeons;
+    private static final DungeonList INSTANCE = new DungeonList();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /** One published version of the list; never modified after construction. */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(List.of());
+
+        final List<Dungeon> dungeons;
+        final HashMap<UUID, Dungeon> byId;
+        final HashMap<String, Dungeon> byName;
+
+        Snapshot(List<Dungeon> dungeons) {
+            this.dungeons = Collections.unmodifiableList(dungeons);
+            this.byId = new HashMap<>(dungeons.size() * 2);
+            this.byName = new HashMap<>(dungeons.size() * 2);
+            for (Dungeon d : dungeons) {
+                byId.putIfAbsent(d.getUUID(), d);
+                if (d.getName() != null) byName.putIfAbsent(nameKey(d.getName()), d);
+            }
+        }
 
-    /** Initializes an empty dungeon list (private constructor for singleton). */
-    private DungeonList() {
-        DungeonList.dungeons = new ArrayList<>();
+        /** Returns true if the list holds this dungeon; O(1), as dungeons are equal by UUID. */
+        boolean contains(Dungeon d) {
+            return byId.containsKey(d.getUUID());
+        }
+
+        /** Returns a modifiable copy of the list. */
+        List<Dungeon> copy() {
+            return new ArrayList<>(dungeons);
+        }
     }
 
+    /** Initializes an empty dungeon list (private constructor for singleton). */
+    private DungeonList() {}
+
     /** Returns the singleton instance of the DungeonList. */
     public static DungeonList getInstance() {
-        if (instance == null) {
-            instance = new DungeonList();
+        return INSTANCE;
+    }
+
+    /** Case-insensitive lookup key, folding the way {@link String#equalsIgnoreCase} compares. */
+    private static String nameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Publishes the list a change builds from the current snapshot, retrying on races. The
+     * change returns null when there is nothing to do, before copying anything.
+     */
+    private Snapshot update(Function<Snapshot, List<Dungeon>> change) {
+        while (true) {
+            Snapshot cur = snapshot.get();
+            List<Dungeon> next = change.apply(cur);
+            if (next == null) return cur; // nothing to change
+            Snapshot built = new Snapshot(next);
+            if (snapshot.compareAndSet(cur, built)) return built;
         }
-        return instance;
     }
 
     /** Returns a copy of all dungeons. */
     public List<Dungeon> getAll() {
-        return new ArrayList<>(dungeons);
+        return new ArrayList<>(snapshot.get().dungeons);
     }
 
     /** Returns a dungeon by its unique ID, or null if not found. */
     public Dungeon getById(UUID id) {
         if (id == null) return null;
-        for (Dungeon d : dungeons) {
-            if (id.equals(d.getUUID())) return d;
-        }
-        return null;
+        return snapshot.get().byId.get(id);
     }
 
     /** Returns a dungeon by its name, or null if not found. */
     public Dungeon getByName(String name) {
         if (name == null) return null;
-        for (Dungeon d : dungeons) {
-            if (name.equalsIgnoreCase(d.getName())) return d;
-        }
-        return null;
+        return snapshot.get().byName.get(nameKey(name));
     }
 
     /** Replaces all existing dungeons with a new list. */
     public void replaceAll(List<Dungeon> newOnes) {
-        dungeons.clear();
-        if (newOnes != null) dungeons.addAll(newOnes);
+        List<Dungeon> fresh = new ArrayList<>();
+        if (newOnes != null) for (Dungeon d : newOnes) if (d != null) fresh.add(d);
+        snapshot.set(new Snapshot(fresh));
     }
 
     /** Returns a list of all dungeon UUIDs. */
     public List<UUID> getAllIds() {
-        List<UUID> ids = new ArrayList<>();
-        for (Dungeon d : dungeons) {
+        List<Dungeon> ds = snapshot.get().dungeons;
+        List<UUID> ids = new ArrayList<>(ds.size());
+        for (Dungeon d : ds) {
             ids.add(d.getUUID());
         }
         return ids;
@@ -64,11 +113,7 @@ public class DungeonList {
 
     /** Returns a dungeon by UUID, or null if not found. */
     public Dungeon getDungeon(UUID id) {
-        if (id == null) return null;
-        for (Dungeon d : dungeons) {
-            if (id.equals(d.getUUID())) return d;
-        }
-        return null;
+        return getById(id);
     }
 
     /** Returns a dungeon by string ID, or null if invalid. */
@@ -82,15 +127,34 @@ public class DungeonList {
 
     /** Adds a new dungeon if it is not already in the list. */
     public void addDungeon(Dungeon d) {
-        if (d != null && !dungeons.contains(d)) {
-            dungeons.add(d);
-        }
+        if (d == null) return;
+        update(cur -> {
+            if (cur.contains(d)) return null;
+            List<Dungeon> list = cur.copy();
+            list.add(d);
+            return list;
+        });
     }
 
     /** Removes a dungeon by ID. Returns true if successful. */
     public boolean removeDungeon(UUID id) {
         if (id == null) return false;
-        return dungeons.removeIf(d -> id.equals(d.getUUID()));
+        boolean[] removed = new boolean[1];
+        update(cur -> {
+            if (!cur.byId.containsKey(id)) {
+                removed[0] = false;
+                return null;
+            }
+            List<Dungeon> list = cur.copy();
+            removed[0] = list.removeIf(d -> id.equals(d.getUUID()));
+            return removed[0] ? list : null;
+        });
+        return removed[0];
+    }
+
+    /** Re-indexes the list after a dungeon in it was renamed; called by {@link Dungeon#setName}. */
+    void renamed(Dungeon d) {
+        update(cur -> cur.contains(d) ? cur.copy() : null);
     }
 
     /** Converts the dungeon list to JSON (currently unimplemented). */
@@ -104,6 +168,6 @@ public class DungeonList {
 
     /** Clears all dungeons from the list. */
     public void clear() {
-        dungeons.clear();
+        snapshot.set(Snapshot.EMPTY);
     }
 }
@@ -0,0 +1,231 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Single-pass reader for rooms.json that builds {@link Dungeon}, {@link Room}, {@link Hint}
+ * and {@link Puzzle} objects straight from parser tokens.
+ * Accepts both a top-level array of dungeons and a {@code {"dungeons":[...]}} wrapper.
+ * Only the puzzle currently being read is held as a small JSON object; everything else
+ * (stories, ids, exits) is skipped without being materialized.
+ */
+final class DungeonStreamReader implements ContentHandler {
+
+    /** What the parser is currently inside of. */
+    private enum Scope {
+        ROOT_OBJECT, DUNGEONS, DUNGEON, TIMER, ROOMS, ROOM, ROOM_HINTS, HINT, PUZZLES, PUZZLE, SKIP
+    }
+
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+    private final Deque<String> keys = new ArrayDeque<>();
+    private final ArrayList<Dungeon> dungeons = new ArrayList<>();
+    private boolean sawDungeons;
+
+    // dungeon being built
+    private String name;
+    private Object difficulty;
+    private double allowedTime;
+    private ArrayList<Room> rooms;
+
+    // room being built
+    private ArrayList<Hint> roomHints;
+    private ArrayList<Puzzle> puzzles;
+
+    // room-level hint being built
+    private int hintLevel;
+    private String hintText;
+    private double hintCost;
+
+    // puzzle subtree being captured (innermost container on top)
+    private final Deque<Object> puzzleTree = new ArrayDeque<>();
+
+    /**
+     * Reads every dungeon from the given reader.
+     *
+     * @param reader source of rooms.json content
+     * @return the dungeons in file order
+     * @throws IOException if the reader fails
+     * @throws ParseException if the content is not valid JSON
+     */
+    static List<Dungeon> read(Reader reader) throws IOException, ParseException {
+        DungeonStreamReader handler = new DungeonStreamReader();
+        new JSONParser().parse(reader, handler);
+        if (!handler.sawDungeons) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "dungeon array");
+        }
+        return handler.dungeons;
+    }
+
+    private DungeonStreamReader() {}
+
+    @Override
+    public void startJSON() {
+        scopes.clear();
+        keys.clear();
+        puzzleTree.clear();
+        dungeons.clear();
+        sawDungeons = false;
+    }
+
+    @Override
+    public void endJSON() {}
+
+    @Override
+    public boolean startObject() {
+        Scope parent = scopes.peek();
+        String key = keys.peek();
+        Scope next;
+        if (parent == null) {
+            next = Scope.ROOT_OBJECT;
+        } else {
+            switch (parent) {
+                case DUNGEONS -> {
+                    next = Scope.DUNGEON;
+                    name = null;
+                    difficulty = null;
+                    allowedTime = 600_000d; // 10 minutes
+                    rooms = new ArrayList<>();
+                }
+                case DUNGEON -> next = "timer".equals(key) ? Scope.TIMER : Scope.SKIP;
+                case ROOMS -> {
+                    next = Scope.ROOM;
+                    roomHints = new ArrayList<>();
+                    puzzles = new ArrayList<>();
+                }
+                case ROOM_HINTS -> {
+                    next = Scope.HINT;
+                    hintLevel = 0;
+                    hintText = "";
+                    hintCost = 0.0;
+                }
+                case PUZZLES, PUZZLE -> {
+                    next = Scope.PUZZLE;
+                    JSONObject obj = new JSONObject();
+                    attach(obj);
+                    puzzleTree.push(obj);
+                }
+                default -> next = Scope.SKIP;
+            }
+        }
+        scopes.push(next);
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        Scope done = scopes.pop();
+        switch (done) {
+            case DUNGEON -> {
+                String n = (name == null) ? "Unnamed Dungeon" : name;
+                Room starting = rooms.isEmpty() ? null : rooms.get(0);
+                dungeons.add(new Dungeon(n, rooms, allowedTime, DataLoader.parseDifficulty(difficulty), starting));
+                rooms = null;
+            }
+            case ROOM -> {
+                rooms.add(new Room(puzzles, roomHints, new ArrayList<>(), new ArrayList<>()));
+                puzzles = null;
+                roomHints = null;
+            }
+            case HINT -> roomHints.add(new Hint(hintLevel, hintText, hintCost));
+            case PUZZLE -> {
+                Object obj = puzzleTree.pop();
+                if (puzzleTree.isEmpty()) {
+                    Puzzle pz = DataLoader.parsePuzzle((JSONObject) obj);
+                    if (pz != null) puzzles.add(pz);
+                }
+            }
+            default -> { }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        keys.push(key);
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        keys.pop();
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        Scope parent = scopes.peek();
+        String key = keys.peek();
+        Scope next;
+        if (parent == null) {
+            next = Scope.DUNGEONS;
+        } else {
+            next = switch (parent) {
+                case ROOT_OBJECT -> "dungeons".equals(key) ? Scope.DUNGEONS : Scope.SKIP;
+                case DUNGEON -> "rooms".equals(key) ? Scope.ROOMS : Scope.SKIP;
+                case ROOM -> "hints".equals(key) ? Scope.ROOM_HINTS
+                        : "puzzles".equals(key) ? Scope.PUZZLES : Scope.SKIP;
+                case PUZZLE -> {
+                    JSONArray arr = new JSONArray();
+                    attach(arr);
+                    puzzleTree.push(arr);
+                    yield Scope.PUZZLE;
+                }
+                default -> Scope.SKIP;
+            };
+        }
+        if (next == Scope.DUNGEONS) sawDungeons = true;
+        scopes.push(next);
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        if (scopes.pop() == Scope.PUZZLE) puzzleTree.pop();
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        Scope scope = scopes.peek();
+        if (scope == null) return true;
+        String key = keys.peek();
+        switch (scope) {
+            case DUNGEON -> {
+                if ("name".equals(key)) name = DataLoader.asString(value);
+                else if ("difficulty".equals(key)) difficulty = value;
+            }
+            case TIMER -> {
+                if ("allowedTime".equals(key) && value != null) {
+                    allowedTime = DataLoader.toMillis(DataLoader.asString(value), 600_000d);
+                }
+            }
+            case HINT -> {
+                if ("level".equals(key)) hintLevel = DataLoader.asInt(value);
+                else if ("text".equals(key)) hintText = DataLoader.asString(value, "");
+                else if ("cost".equals(key)) hintCost = DataLoader.asDouble(value, 0.0);
+            }
+            case PUZZLE -> attach(value);
+            default -> { }
+        }
+        return true;
+    }
+
+    /** Adds a value to the innermost captured puzzle container. */
+    @SuppressWarnings("unchecked")
+    private void attach(Object value) {
+        Object parent = puzzleTree.peek();
+        if (parent instanceof JSONObject obj) obj.put(keys.peek(), value);
+        else if (parent instanceof JSONArray arr) arr.add(value);
+    }
+}
@@ -15,10 +15,38 @@ import java.util.UUID;
 public class Facade {
 
     private Account user;
-    private Dungeon dungeon;
+    private volatile Dungeon dungeon; // read by the deadline wheel's thread
+    private DungeonIndex index; // id lookups for dungeon, built by startDungeon
+    private volatile boolean timeUp; // set from the deadline wheel's thread
+    private boolean entered;         // the selected dungeon's countdown has been started
 
     private final Set<String> inventory = new HashSet<>();
 
+    // Latency and error counters per public operation, published over JMX by FacadeMetrics
+    private static final OperationStats REGISTER = FacadeMetrics.operation("register");
+    private static final OperationStats LOGIN = FacadeMetrics.operation("login");
+    private static final OperationStats LOGOUT = FacadeMetrics.operation("logout");
+    private static final OperationStats GET_CURRENT_USER = FacadeMetrics.operation("getCurrentUser");
+    private static final OperationStats GET_TOP_PLAYERS = FacadeMetrics.operation("getTopPlayers");
+    private static final OperationStats LIST_DUNGEONS = FacadeMetrics.operation("listDungeons");
+    private static final OperationStats START_DUNGEON = FacadeMetrics.operation("startDungeon");
+    private static final OperationStats ENTER_DUNGEON = FacadeMetrics.operation("enterDungeon");
+    private static final OperationStats EXIT_DUNGEON = FacadeMetrics.operation("exitDungeon");
+    private static final OperationStats CHOOSE_DIFFICULTY = FacadeMetrics.operation("chooseDifficulty");
+    private static final OperationStats VIEW_ROOMS = FacadeMetrics.operation("viewRooms");
+    private static final OperationStats GET_CURRENT_ROOM_ID = FacadeMetrics.operation("getCurrentRoomId");
+    private static final OperationStats ENTER_ROOM = FacadeMetrics.operation("enterRoom");
+    private static final OperationStats GET_PUZZLE_ROOM = FacadeMetrics.operation("getPuzzleRoom");
+    private static final OperationStats NEXT_ROOM = FacadeMetrics.operation("nextRoom");
+    private static final OperationStats ANSWER_RIDDLE = FacadeMetrics.operation("answerRiddle");
+    private static final OperationStats ANSWER_SCRAMBLE = FacadeMetrics.operation("answerScramble");
+    private static final OperationStats ATTEMPT_CODE_PUZZLE = FacadeMetrics.operation("attemptCodePuzzle");
+    private static final OperationStats GET_INVENTORY_KEYS = FacadeMetrics.operation("getInventoryKeys");
+    private static final OperationStats USE_ITEM_BY_KEY = FacadeMetrics.operation("useItemByKey");
+    private static final OperationStats PAUSE_TIMER = FacadeMetrics.operation("pauseTimer");
+    private static final OperationStats RESUME_TIMER = FacadeMetrics.operation("resumeTimer");
+    private static final OperationStats IS_TIME_UP = FacadeMetrics.operation("isTimeUp");
+
     public Facade(){
         DataLoader loader = new DataLoader();
         loader.loadUsers();
@@ -26,31 +54,41 @@ public class Facade {
 
     /** Registers a new user with username and password. */
     public boolean register(String userName, String password) {
-        if (userName == null || userName.isBlank() || password == null) return false;
-        Account a = new Account();
-        a.setUserName(userName);
-        a.setPassword(password);
-        return new UserService().addUser(a);
+        return REGISTER.time(() -> {
+            if (userName == null || userName.isBlank() || password == null) return false;
+            Account a = new Account();
+            a.setUserName(userName);
+            a.setPassword(password);
+            return new UserService().addUser(a);
+        });
     }
 
     /** Attempts to log in a user by username/password and sets it as current user. */
     public boolean login(String userName, String password) {
-        Account found = new UserService().getByUserName(userName);
-        if (found == null) return false;
-        if (!Objects.equals(password, found.getPassword())) return false;
-        this.user = found;
-        return true;
+        return LOGIN.time(() -> {
+            UserService users = new UserService();
+            Account found = users.getByUserName(userName);
+            if (found == null) found = users.getByUserNameIgnoreCase(userName);
+            if (found == null) return false;
+            if (!Objects.equals(password, found.getPassword())) return false;
+            this.user = found;
+            return true;
+        });
     }
 
     /** Logs out the current user. */
-    public void logout() { this.user = null; }
+    public void logout() {
+        LOGOUT.time(() -> { this.user = null; });
+    }
 
     /** Returns the currently logged-in user, or null if none. */
-    public Account getCurrentUser() { return user; }
+    public Account getCurrentUser() {
+        return GET_CURRENT_USER.time(() -> user);
+    }
 
     /** Returns a list of the top N players from the leaderboard. */
     public List<Account> getTopPlayers(int n) {
-    return new Leaderboard().getTopPlayers(n);
+        return GET_TOP_PLAYERS.time(() -> new Leaderboard().getTopPlayers(n));
     }
     
     // Dungeons 
@@ -58,150 +96,229 @@ public class Facade {
 
     /** Lists all available dungeons, loading them once on first access. */
     public List<Dungeon> listDungeons() {
-        ensureDungeonsLoadedOnce();
-        return DungeonList.getInstance().getAll();
+        return LIST_DUNGEONS.time(() -> {
+            ensureDungeonsLoadedOnce();
+            return DungeonList.getInstance().getAll();
+        });
     }
 
     /** Starts (selects) a dungeon by id; if id is null, selects the first available. */
     public boolean startDungeon(UUID id) {
-        ensureDungeonsLoadedOnce();
-        List<Dungeon> ds = DungeonList.getInstance().getAll();
-        if (ds == null || ds.isEmpty()) return false;
-        Dungeon pick = (id == null) ? ds.get(0)
-                : ds.stream().filter(d -> id.equals(d.getUUID())).findFirst().orElse(null);
-        if (pick == null) return false;
-        dungeon = pick;
-        return true;
+        return START_DUNGEON.time(() -> {
+            ensureDungeonsLoadedOnce();
+            DungeonList list = DungeonList.getInstance();
+            Dungeon pick;
+            if (id == null) {
+                List<Dungeon> ds = list.getAll();
+                pick = ds.isEmpty() ? null : ds.get(0);
+            } else {
+                pick = list.getById(id);
+            }
+            if (pick == null) return false;
+            clearCountdown();
+            dungeon = pick;
+            index = new DungeonIndex(pick);
+            return true;
+        });
     }
 
     /** Enters the selected dungeon, starting its timer and moving to the starting room if needed. */
     public boolean enterDungeon() {
-        if (dungeon == null) return false;
-        if (dungeon.getTimer() != null) dungeon.getTimer().start();
-        if (dungeon.getCurrentRoom() == null) {
-            Room start = dungeon.getStartingRoom();
-            if (start != null) dungeon.changeRoom(start);
-        }
-        return true;
+        return ENTER_DUNGEON.time(() -> {
+            if (dungeon == null) return false;
+            Timer timer = dungeon.getTimer();
+            if (timer != null && !entered) { // entering again must not give the time back
+                Dungeon d = dungeon;
+                synchronized (timer) {
+                    if (d.getAllowedTime() > 0) {
+                        timer.expireAfter(d.getAllowedTime(), DeadlineWheel.getInstance(), () -> {
+                            synchronized (timer) { // a pause may have beaten this callback
+                                if (dungeon != d || !timer.isExpired()) return;
+                                timer.stop();
+                                timeUp = true;
+                            }
+                        });
+                    }
+                    timer.start();
+                }
+                entered = true;
+            }
+            if (dungeon.getCurrentRoom() == null) {
+                Room start = dungeon.getStartingRoom();
+                if (start != null) dungeon.changeRoom(start);
+            }
+            return true;
+        });
     }
 
     /** Exits the current dungeon. */
-    public void exitDungeon() { dungeon = null; }
+    public void exitDungeon() {
+        EXIT_DUNGEON.time(() -> {
+            clearCountdown();
+            dungeon = null;
+            index = null;
+        });
+    }
+
+    /** Cancels the selected dungeon's pending deadline and forgets its countdown. */
+    private void clearCountdown() {
+        Dungeon d = dungeon;
+        if (d != null && d.getTimer() != null) {
+            synchronized (d.getTimer()) {
+                d.getTimer().clearLimit();
+            }
+        }
+        timeUp = false;
+        entered = false;
+    }
 
     /** Sets the dungeon difficulty from a string level (easy/normal/hard). */
     public void chooseDifficulty(String level) {
-        if (dungeon == null || level == null) return;
-        switch (level.toLowerCase()) {
-            case "easy"   -> dungeon.setDifficulty(Difficulty.EASY);
-            case "hard"   -> dungeon.setDifficulty(Difficulty.HARD);
-            default       -> dungeon.setDifficulty(Difficulty.NORMAL);
-        }
+        CHOOSE_DIFFICULTY.time(() -> {
+            if (dungeon == null || level == null) return;
+            switch (level.toLowerCase()) {
+                case "easy"   -> dungeon.setDifficulty(Difficulty.EASY);
+                case "hard"   -> dungeon.setDifficulty(Difficulty.HARD);
+                default       -> dungeon.setDifficulty(Difficulty.NORMAL);
+            }
+        });
     }
 
     // Rooms 
 
     /** Returns the list of rooms for the current dungeon, or an empty list if none. */
     public List<Room> viewRooms() {
-        return dungeon == null ? Collections.emptyList() : dungeon.getRooms();
+        return VIEW_ROOMS.time(() -> dungeon == null ? Collections.emptyList() : dungeon.getRooms());
     }
 
     /** Returns the UUID of the current room (or starting room), or null if not available. */
     public UUID getCurrentRoomId() {
-        if (dungeon == null) return null;
-        Room cur = dungeon.getCurrentRoom() != null ? dungeon.getCurrentRoom() : dungeon.getStartingRoom();
-        return cur == null ? null : cur.getRoomID();
+        return GET_CURRENT_ROOM_ID.time(() -> {
+            if (dungeon == null) return null;
+            Room cur = dungeon.getCurrentRoom() != null ? dungeon.getCurrentRoom() : dungeon.getStartingRoom();
+            return cur == null ? null : cur.getRoomID();
+        });
     }
 
     /** Enters a room by its UUID within the current dungeon. */
     public boolean enterRoom(UUID roomId) {
-        if (dungeon == null || roomId == null) return false;
-        for (Room r : dungeon.getRooms()) {
-            if (roomId.equals(r.getRoomID())) {
-                dungeon.changeRoom(r);
-                return true;
-            }
-        }
-        return false;
+        return ENTER_ROOM.time(() -> {
+            if (dungeon == null || roomId == null) return false;
+            Room r = index().room(roomId);
+            if (r == null) return false;
+            dungeon.changeRoom(r);
+            return true;
+        });
+    }
+
+    /** Returns the room holding a puzzle of the current dungeon, or null if not found. */
+    public Room getPuzzleRoom(UUID puzzleId) {
+        return GET_PUZZLE_ROOM.time(() -> {
+            Puzzle p = findPuzzle(puzzleId);
+            return p == null ? null : index().owner(p);
+        });
     }
 
     /** Moves to the next room in sequence; wraps to the first if at the end. */
     public boolean nextRoom() {
-        if (dungeon == null) return false;
-        List<Room> rooms = dungeon.getRooms();
-        if (rooms == null || rooms.isEmpty()) return false;
-        Room cur = (dungeon.getCurrentRoom() != null) ? dungeon.getCurrentRoom() : dungeon.getStartingRoom();
-        if (cur == null) { dungeon.changeRoom(rooms.get(0)); return true; }
-        int idx = rooms.indexOf(cur);
-        int nxt = (idx < 0 || idx + 1 >= rooms.size()) ? 0 : idx + 1;
-        dungeon.changeRoom(rooms.get(nxt));
-        return true;
+        return NEXT_ROOM.time(() -> {
+            if (dungeon == null) return false;
+            List<Room> rooms = dungeon.getRooms();
+            if (rooms == null || rooms.isEmpty()) return false;
+            Room cur = (dungeon.getCurrentRoom() != null) ? dungeon.getCurrentRoom() : dungeon.getStartingRoom();
+            if (cur == null) { dungeon.changeRoom(rooms.get(0)); return true; }
+            int idx = dungeon.indexOfRoom(cur);
+            int nxt = (idx < 0 || idx + 1 >= rooms.size()) ? 0 : idx + 1;
+            dungeon.changeRoom(rooms.get(nxt));
+            return true;
+        });
     }
 
     // Puzzles 
 
     /** Answers a riddle puzzle by id; grants reward item on success. */
     public boolean answerRiddle(UUID puzzleId, String answer) {
-        Puzzle p = findPuzzle(puzzleId);
-        if (!(p instanceof Riddle)) return false;
-        ValidationResult res = p.enterInput(answer);
-        if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
-        return res != null && res.isValid();
+        return ANSWER_RIDDLE.time(() -> {
+            if (timeUp) return false;
+            Puzzle p = findPuzzle(puzzleId);
+            if (!(p instanceof Riddle)) return false;
+            ValidationResult res = p.enterInput(answer);
+            if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
+            return res != null && res.isValid();
+        });
     }
 
     /** Answers a word scramble (or generic) puzzle by id; grants reward item on success. */
     public boolean answerScramble(UUID puzzleId, String answer) {
-        Puzzle p = findPuzzle(puzzleId);
-        if (p == null) return false;
+        return ANSWER_SCRAMBLE.time(() -> {
+            if (timeUp) return false;
+            Puzzle p = findPuzzle(puzzleId);
+            if (p == null) return false;
+
+            if (p.getClass().getSimpleName().toLowerCase().contains("scramble")) {
+                ValidationResult res = p.enterInput(answer);
+                if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
+                return res != null && res.isValid();
+            }
 
-        if (p.getClass().getSimpleName().toLowerCase().contains("scramble")) {
             ValidationResult res = p.enterInput(answer);
             if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
             return res != null && res.isValid();
-        }
-
-        ValidationResult res = p.enterInput(answer);
-        if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
-        return res != null && res.isValid();
+        });
     }
 
     /** Attempts a code-based puzzle by id, enforcing required item checks; grants reward on success. */
     public boolean attemptCodePuzzle(UUID puzzleId, String code) {
-        Puzzle p = findPuzzle(puzzleId);
-        if (p == null) return false;
-        if (!hasRequiredItem(p)) {
-            return false;
-        }
+        return ATTEMPT_CODE_PUZZLE.time(() -> {
+            if (timeUp) return false;
+            Puzzle p = findPuzzle(puzzleId);
+            if (p == null) return false;
+            if (!hasRequiredItem(p)) {
+                return false;
+            }
 
-        ValidationResult res = p.enterInput(code);
-        if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
-        return res != null && res.isValid();
+            ValidationResult res = p.enterInput(code);
+            if (res != null && res.isValid() && res.getNewState() == PuzzleState.SOLVED) grantRewardItem(p);
+            return res != null && res.isValid();
+        });
     }
 
-    /** Finds a puzzle by UUID in the current dungeon, or null if not found. */
+    /** Finds a puzzle by UUID in the current dungeon, or null if not found. O(1) via the index. */
     private Puzzle findPuzzle(UUID puzzleId) {
         if (dungeon == null || puzzleId == null) return null;
-        for (Room r : dungeon.getRooms()) {
-            if (r.getPuzzles() == null) continue;
-            for (Puzzle p : r.getPuzzles()) {
-                if (puzzleId.equals(p.getPuzzleID())) return p;
-            }
+        return index().puzzle(puzzleId);
+    }
+
+    /**
+     * Returns the index for the current dungeon, rebuilding it if the room list has changed or
+     * a room has gained a puzzle, so a UUID it does not know is simply not in the dungeon.
+     */
+    private DungeonIndex index() {
+        DungeonIndex idx = index;
+        if (idx == null || idx.dungeon() != dungeon || !idx.isCurrent()) {
+            idx = new DungeonIndex(dungeon);
+            index = idx;
         }
-        return null;
+        return idx;
     }
 
     // Inventory 
 
     /** Returns a snapshot list of inventory keys acquired by the player. */
-    public List<String> getInventoryKeys() { return new ArrayList<>(inventory); }
+    public List<String> getInventoryKeys() {
+        return GET_INVENTORY_KEYS.time(() -> new ArrayList<>(inventory));
+    }
 
     /** Uses an item by key if present in the inventory. */
     public boolean useItemByKey(String key) {
-        if (key == null) return false;
-        if (inventory.contains(key)) {
-            System.out.println("[Inventory] Used: " + key);
-            return true;
-        }
-        return false;
+        return USE_ITEM_BY_KEY.time(() -> {
+            if (key == null) return false;
+            if (inventory.contains(key)) {
+                System.out.println("[Inventory] Used: " + key);
+                return true;
+            }
+            return false;
+        });
     }
 
     /** Grants a reward item to the inventory based on puzzle metadata or title heuristics. */
@@ -261,16 +378,31 @@ public class Facade {
 
     /** Pauses the active dungeon timer, if running. */
     public void pauseTimer() {
-        if (dungeon != null && dungeon.getTimer() != null && dungeon.getTimer().isRunning()) {
-            dungeon.getTimer().stop();
-        }
+        PAUSE_TIMER.time(() -> {
+            Timer timer = dungeon == null ? null : dungeon.getTimer();
+            if (timer != null) {
+                synchronized (timer) {
+                    if (timer.isRunning()) timer.stop();
+                }
+            }
+        });
     }
 
     /** Resumes the active dungeon timer, if paused. */
     public void resumeTimer() {
-        if (dungeon != null && dungeon.getTimer() != null && !dungeon.getTimer().isRunning()) {
-            dungeon.getTimer().unPause();
-        }
+        RESUME_TIMER.time(() -> {
+            Timer timer = dungeon == null ? null : dungeon.getTimer();
+            if (timer != null && !timeUp) {
+                synchronized (timer) {
+                    if (!timer.isRunning()) timer.unPause();
+                }
+            }
+        });
+    }
+
+    /** Returns true once the active dungeon's allowed time has run out; answers are then refused. */
+    public boolean isTimeUp() {
+        return IS_TIME_UP.time(() -> timeUp);
     }
 
     // Loader helper 
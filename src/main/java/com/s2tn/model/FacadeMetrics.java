@@ -0,0 +1,96 @@
+package com.s2tn.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the per-operation {@link OperationStats} that {@link Facade} records into,
+ * published on the platform MBean server as {@code com.s2tn:type=Facade,operation=<name>}
+ * alongside this switch at {@code com.s2tn:type=FacadeMetrics}.
+ * Instrumentation is on by default; start the JVM with {@code -Ds2tn.metrics=false} or flip
+ * the {@code Enabled} attribute over JMX to turn it off. Every eighth call is timed unless
+ * {@code -Ds2tn.metrics.sampleEvery=N} or the {@code SampleEvery} attribute says otherwise.
+ */
+public final class FacadeMetrics implements FacadeMetricsMBean {
+
+    static final String DOMAIN = "com.s2tn";
+
+    /** Read on every instrumented call, so kept as a plain static flag. */
+    static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("s2tn.metrics"));
+
+    /** A call is timed when its tick has none of these bits set; sampleEvery - 1. */
+    static volatile int sampleMask = maskFor(Integer.getInteger("s2tn.metrics.sampleEvery", 8));
+
+    private static final class Holder {
+        static final FacadeMetrics INSTANCE = new FacadeMetrics();
+    }
+
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    private FacadeMetrics() {
+        register(this, DOMAIN + ":type=FacadeMetrics");
+    }
+
+    /** Returns the registry. */
+    public static FacadeMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /** Returns the stats for an operation, creating and publishing them on first use. */
+    static OperationStats operation(String name) {
+        return getInstance().operations.computeIfAbsent(name, n -> {
+            OperationStats s = new OperationStats(n);
+            register(s, DOMAIN + ":type=Facade,operation=" + n);
+            return s;
+        });
+    }
+
+    /** Returns the stats for an operation, or null if it is not instrumented. */
+    public OperationStats get(String name) {
+        return name == null ? null : operations.get(name);
+    }
+
+    /** Rounds a sampling interval up to a power of two (at most 2^30) and returns its mask. */
+    static int maskFor(int every) {
+        int clamped = Math.max(1, Math.min(every, 1 << 30));
+        return (clamped == 1 ? 1 : Integer.highestOneBit(clamped - 1) << 1) - 1;
+    }
+
+    private static void register(Object bean, String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(bean, new ObjectName(name));
+        } catch (InstanceAlreadyExistsException e) {
+            // another class loader got there first; its numbers stay visible
+        } catch (JMException | RuntimeException e) {
+            System.err.println("Failed to register " + name + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    @Override
+    public void setEnabled(boolean on) { enabled = on; }
+
+    @Override
+    public int getSampleEvery() { return sampleMask + 1; }
+
+    @Override
+    public void setSampleEvery(int every) { sampleMask = maskFor(every); }
+
+    @Override
+    public String[] getOperations() {
+        return operations.keySet().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public void resetAll() {
+        for (OperationStats s : operations.values()) s.reset();
+    }
+}
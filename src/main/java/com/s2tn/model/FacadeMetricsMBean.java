@@ -0,0 +1,26 @@
+package com.s2tn.model;
+
+/**
+ * JMX switch for {@link Facade} instrumentation; per-operation numbers are published
+ * separately as {@link OperationStatsMBean}s.
+ */
+public interface FacadeMetricsMBean {
+
+    /** Returns true while calls are being timed. */
+    boolean isEnabled();
+
+    /** Turns timing on or off; counters keep their values while off. */
+    void setEnabled(boolean enabled);
+
+    /** Returns how often calls are timed: 1 times every call, 8 every eighth. */
+    int getSampleEvery();
+
+    /** Sets how often calls are timed; rounded up to a power of two. */
+    void setSampleEvery(int every);
+
+    /** Returns the names of the instrumented operations. */
+    String[] getOperations();
+
+    /** Clears every operation's counters. */
+    void resetAll();
+}
@@ -0,0 +1,363 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * One player's run through a dungeon template, for hosting many players in one JVM through
+ * {@link SessionManager}. The template (rooms, puzzles, answers) is shared and never written;
+ * everything that changes during play lives here: the current room, one state byte per
+ * puzzle, the inventory and a timer.
+ * <p>
+ * Answers are validated with {@link Puzzle#check(String)} against the shared puzzle. Puzzles
+ * that keep their progress inside the puzzle object (sliding boards, shape poses, maze
+ * positions) get a copy-on-write run copy from {@link Puzzle#newRun()} the first time this
+ * session plays them; the copy shares the template's content, so opening a session costs
+ * one byte per puzzle plus a few small objects.
+ * <p>
+ * If the dungeon has an allowed time, the timer's deadline is kept in a shared
+ * {@link DeadlineWheel} rather than polled. When it passes the session expires: the timer
+ * stops, answers are refused and the manager's expiry listener is told.
+ * <p>
+ * Every operation takes the session's lock, so a session can be driven from any thread;
+ * the lock is a {@link ReentrantLock} so waiting virtual threads do not pin their carrier.
+ */
+public final class GameSession {
+
+    private static final PuzzleState[] STATES = PuzzleState.values();
+
+    private final UUID sessionId = UUID.randomUUID();
+    private final Account user;
+    private final DungeonIndex template;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final byte[] puzzleStates;  // PuzzleState ordinals, by DungeonIndex puzzle number
+    private Puzzle[] runs;              // run copies of stateful puzzles, allocated on first use
+    private final Set<String> inventory = new HashSet<>(4);
+    private final Timer timer;
+    private final DeadlineWheel wheel;
+    private final Consumer<GameSession> onExpire;
+    private boolean expired;
+    private boolean entered;   // timer started; entering again must not reset it
+    private int currentRoom = -1;
+    private int previousRoom = -1;
+    private int solved;
+
+    /**
+     * Creates a session on a template; every puzzle starts in its authored start state (see
+     * {@link Puzzle#initialState()}), whatever state the shared template objects have been
+     * played into through {@link Facade}.
+     *
+     * @param user     the player, or null for an anonymous session
+     * @param template the shared index of the dungeon to play
+     */
+    GameSession(Account user, DungeonIndex template) {
+        this(user, template, DeadlineWheel.getInstance(), null);
+    }
+
+    /**
+     * Creates a session whose timer reads the wheel's clock and keeps its deadline there.
+     *
+     * @param onExpire called on the wheel's thread when the allowed time runs out, or null
+     */
+    GameSession(Account user, DungeonIndex template, DeadlineWheel wheel, Consumer<GameSession> onExpire) {
+        this.user = user;
+        this.template = template;
+        this.wheel = wheel;
+        this.onExpire = onExpire;
+        this.timer = new Timer(wheel.getClock());
+        this.puzzleStates = new byte[template.puzzleCount()];
+        template.copyInitialStates(puzzleStates);
+        for (byte b : puzzleStates) if (b == PuzzleState.SOLVED.ordinal()) solved++;
+    }
+
+    /** Returns this session's id. */
+    public UUID getSessionId() { return sessionId; }
+
+    /** Returns the player, or null for an anonymous session. */
+    public Account getUser() { return user; }
+
+    /** Returns the dungeon template this session plays. Do not modify it. */
+    public Dungeon getDungeon() { return template.dungeon(); }
+
+    /**
+     * Starts the timer the first time and moves to the starting room (or the first room) if
+     * not in one yet. Entering again keeps the running time and deadline.
+     */
+    public void enterDungeon() {
+        lock.lock();
+        try {
+            if (!entered) {
+                long allowed = template.dungeon().getAllowedTime();
+                if (allowed > 0) timer.expireAfter(allowed, wheel, this::expire);
+                timer.start();
+                entered = true;
+            }
+            if (currentRoom < 0 && template.roomCount() > 0) {
+                Room start = template.dungeon().getStartingRoom();
+                int i = start == null ? -1 : template.roomNumber(start.getRoomID());
+                moveTo(i < 0 ? 0 : i);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the current room's id, or null before {@link #enterDungeon()}. */
+    public UUID getCurrentRoomId() {
+        lock.lock();
+        try {
+            return currentRoom < 0 ? null : template.graph().room(currentRoom).getRoomID();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the previous room's id, or null. */
+    public UUID getPreviousRoomId() {
+        lock.lock();
+        try {
+            return previousRoom < 0 ? null : template.graph().room(previousRoom).getRoomID();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Moves to a room of the dungeon by id. */
+    public boolean enterRoom(UUID roomId) {
+        int i = template.roomNumber(roomId);
+        if (i < 0) return false;
+        lock.lock();
+        try {
+            moveTo(i);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Moves to the next room in sequence; wraps to the first if at the end. */
+    public boolean nextRoom() {
+        int n = template.roomCount();
+        if (n == 0) return false;
+        lock.lock();
+        try {
+            moveTo(currentRoom < 0 || currentRoom + 1 >= n ? 0 : currentRoom + 1);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveTo(int room) {
+        previousRoom = currentRoom;
+        currentRoom = room;
+    }
+
+    /**
+     * Answers a puzzle by id. Puzzles requiring an item need it in this session's inventory;
+     * a solve grants the puzzle's reward item.
+     *
+     * @return the validation result, or an invalid result if the puzzle is unknown, needs an
+     *         item the player lacks, or cannot be played in a shared session
+     */
+    public ValidationResult answer(UUID puzzleId, String input) {
+        int k = template.puzzleNumber(puzzleId);
+        if (k < 0) return ValidationResult.invalidFormat("Unknown puzzle.", PuzzleState.INIT);
+        Puzzle p = template.puzzleAt(k);
+        lock.lock();
+        try {
+            PuzzleState current = STATES[puzzleStates[k]];
+            if (expired) return ValidationResult.invalidFormat("Time is up.", current);
+            String need = p.isRequiresItem() ? p.getRequiredItemKey() : null;
+            if (need != null && !need.isBlank() && !inventory.contains(need)) {
+                return ValidationResult.invalidFormat("You need " + need + ".", current);
+            }
+            ValidationResult res = p.check(input);
+            if (res == null) {
+                Puzzle run = run(k);
+                if (run == null) {
+                    return ValidationResult.invalidFormat("This puzzle cannot be played in a shared session.", current);
+                }
+                res = run.enterInput(input);
+            }
+            if (input != null && !input.isBlank()) setPuzzleState(k, res.getNewState());
+            if (res.isValid() && res.getNewState() == PuzzleState.SOLVED) {
+                String reward = p.getRewardItem();
+                if (reward != null && !reward.isBlank()) inventory.add(reward);
+            }
+            return res;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the puzzle as this session sees it: its own run copy for puzzles that hold play
+     * state, otherwise the shared template puzzle, which must not be modified.
+     *
+     * @return the puzzle, or null if the id is unknown
+     */
+    public Puzzle getPuzzle(UUID puzzleId) {
+        int k = template.puzzleNumber(puzzleId);
+        if (k < 0) return null;
+        lock.lock();
+        try {
+            Puzzle run = run(k);
+            return run != null ? run : template.puzzleAt(k);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns this session's copy of puzzle {@code k}, creating it on first use; null if not needed. */
+    private Puzzle run(int k) {
+        if (runs != null && runs[k] != null) return runs[k];
+        Puzzle copy = template.puzzleAt(k).newRun();
+        if (copy == null) return null;
+        if (runs == null) runs = new Puzzle[puzzleStates.length];
+        runs[k] = copy;
+        return copy;
+    }
+
+    private void setPuzzleState(int k, PuzzleState s) {
+        boolean was = puzzleStates[k] == PuzzleState.SOLVED.ordinal();
+        puzzleStates[k] = (byte) s.ordinal();
+        if (was != (s == PuzzleState.SOLVED)) solved += was ? -1 : 1;
+    }
+
+    /** Returns this session's state for a puzzle, or null if the id is unknown. */
+    public PuzzleState getPuzzleState(UUID puzzleId) {
+        int k = template.puzzleNumber(puzzleId);
+        if (k < 0) return null;
+        lock.lock();
+        try {
+            return STATES[puzzleStates[k]];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many puzzles this session has solved. */
+    public int getSolvedCount() {
+        lock.lock();
+        try {
+            return solved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns true once every puzzle in the dungeon is solved in this session. */
+    public boolean isComplete() {
+        return getSolvedCount() == puzzleStates.length;
+    }
+
+    /** Returns a snapshot of the item keys the player holds. */
+    public List<String> getInventoryKeys() {
+        lock.lock();
+        try {
+            return new ArrayList<>(inventory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns true if the player holds an item. */
+    public boolean hasItem(String key) {
+        lock.lock();
+        try {
+            return inventory.contains(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Pauses the session timer, if running. */
+    public void pauseTimer() {
+        lock.lock();
+        try {
+            if (timer.isRunning()) timer.stop();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Resumes the session timer, if paused. */
+    public void resumeTimer() {
+        lock.lock();
+        try {
+            if (!expired && !timer.isRunning()) timer.unPause();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the run time so far in milliseconds, excluding pauses and including penalties. */
+    public long getElapsedTime() {
+        lock.lock();
+        try {
+            return timer.elapsedTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Adds a time penalty in milliseconds, bringing the deadline closer. */
+    public void addPenalty(long penaltyMillis) {
+        lock.lock();
+        try {
+            if (!expired) timer.addPenalty(penaltyMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns true once the dungeon's allowed time has run out. */
+    public boolean isExpired() {
+        lock.lock();
+        try {
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Expiry callback from the wheel; ignored if a pause or restart beat it. */
+    private void expire() {
+        lock.lock();
+        try {
+            if (expired || !timer.isExpired()) return;
+            expired = true;
+            timer.stop();
+        } finally {
+            lock.unlock();
+        }
+        if (onExpire != null) onExpire.accept(this);
+    }
+
+    /** Cancels the pending deadline when the session is closed. */
+    void close() {
+        lock.lock();
+        try {
+            timer.clearLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns true if the session timer is running. */
+    public boolean isTimerRunning() {
+        lock.lock();
+        try {
+            return timer.isRunning();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.s2tn.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for S2TN's persistence, leaderboard and puzzle paths.
+ * Every event is disabled by default, so until a recording turns them on an emit site costs a
+ * check of a constant flag. The settings in {@code com/s2tn/s2tn.jfc} enable them with
+ * thresholds; start a recording with
+ * {@code -XX:StartFlightRecording:settings=default,settings=path/to/s2tn.jfc}.
+ * <p>
+ * Emit sites guard any extra work (file sizes, names) with {@link Event#shouldCommit()}.
+ */
+final class JfrEvents {
+
+    private JfrEvents() {}
+
+    @Name("com.s2tn.UsersLoad")
+    @Label("Users Load")
+    @Category({"S2TN", "Persistence"})
+    @Description("users.json and its journal read into UserList")
+    @Enabled(false)
+    static final class UsersLoad extends Event {
+        @Label("File") String file;
+        @Label("Bytes Read") @DataAmount long bytes;
+        @Label("Accounts") int records;
+    }
+
+    @Name("com.s2tn.DungeonsLoad")
+    @Label("Dungeons Load")
+    @Category({"S2TN", "Persistence"})
+    @Description("rooms.json parsed into dungeons")
+    @Enabled(false)
+    static final class DungeonsLoad extends Event {
+        @Label("File") String file;
+        @Label("Bytes Read") @DataAmount long bytes;
+        @Label("Dungeons") int records;
+    }
+
+    @Name("com.s2tn.UsersSave")
+    @Label("Users Save")
+    @Category({"S2TN", "Persistence"})
+    @Description("Changed accounts appended to the users journal, compacting it when due")
+    @Enabled(false)
+    static final class UsersSave extends Event {
+        @Label("File") String file;
+        @Label("Bytes Written") @DataAmount long bytes;
+        @Label("Accounts Written") int records;
+    }
+
+    @Name("com.s2tn.DungeonsSave")
+    @Label("Dungeons Save")
+    @Category({"S2TN", "Persistence"})
+    @Description("Dungeon list written to a rooms.json style file")
+    @Enabled(false)
+    static final class DungeonsSave extends Event {
+        @Label("File") String file;
+        @Label("Bytes Written") @DataAmount long bytes;
+        @Label("Dungeons") int records;
+    }
+
+    @Name("com.s2tn.ProgressSave")
+    @Label("Progress Save")
+    @Category({"S2TN", "Persistence"})
+    @Enabled(false)
+    static final class ProgressSave extends Event {
+        @Label("User") String user;
+        @Label("Slot") String slot;
+        @Label("Succeeded") boolean succeeded;
+    }
+
+    @Name("com.s2tn.ProgressLoad")
+    @Label("Progress Load")
+    @Category({"S2TN", "Persistence"})
+    @Enabled(false)
+    static final class ProgressLoad extends Event {
+        @Label("User") String user;
+        @Label("Slot") String slot;
+        @Label("Found") boolean found;
+    }
+
+    @Name("com.s2tn.LeaderboardSubmit")
+    @Label("Leaderboard Submit")
+    @Category({"S2TN", "Leaderboard"})
+    @Enabled(false)
+    static final class LeaderboardSubmit extends Event {
+        @Label("User") String user;
+        @Label("Score") int score;
+        @Label("Entries") int entries;
+        @Label("Ranking Changed") boolean ranked;
+        @Label("Save Triggered") @Description("The account's best score rose, so it was queued for saving")
+        boolean saveTriggered;
+    }
+
+    @Name("com.s2tn.PuzzleInput")
+    @Label("Puzzle Input")
+    @Category({"S2TN", "Puzzles"})
+    @Description("One Puzzle.enterInput call; the input itself is not recorded")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PuzzleInput extends Event {
+        @Label("Puzzle Type") String puzzleType;
+        @Label("Puzzle Id") String puzzleId;
+        @Label("Valid") boolean valid;
+        @Label("Outcome") String outcome;
+    }
+}
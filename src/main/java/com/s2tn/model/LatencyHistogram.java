@@ -0,0 +1,90 @@
+package com.s2tn.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in nanoseconds with log-linear buckets, in the style of
+ * HdrHistogram: values below 32 get a bucket each, and every power of two above that is split
+ * into 16 buckets, so a reported percentile is within 1/16 (6.25%) of the recorded value.
+ * Recording is two atomic adds on preallocated storage and never allocates; the total count
+ * is summed from the buckets when read, keeping that cost off the recording path.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;   // buckets per power of two
+    private static final int LINEAR = SUB << 1;      // values 0..31 are exact
+    static final int BUCKETS = index(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /** Returns the bucket a value falls in; negative values count as zero. */
+    static int index(long v) {
+        if (v < LINEAR) return v < 0 ? 0 : (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return LINEAR + (shift - 1) * SUB + (int) (v >>> shift) - SUB;
+    }
+
+    /** Returns the largest value that falls in a bucket. */
+    static long highestIn(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int j = bucket - LINEAR;
+        int shift = j / SUB + 1;
+        long m = SUB + j % SUB;
+        return ((m + 1) << shift) - 1; // the last bucket wraps to exactly Long.MAX_VALUE
+    }
+
+    /** Records one latency. */
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(index(nanos));
+        sum.addAndGet(nanos);
+        long m = max.get();
+        while (nanos > m && !max.compareAndSet(m, nanos)) m = max.get();
+    }
+
+    /** Returns the number of recorded values. */
+    long count() {
+        long n = 0;
+        for (int b = 0; b < BUCKETS; b++) n += counts.get(b);
+        return n;
+    }
+
+    /** Returns the largest recorded value, or 0. */
+    long max() { return max.get(); }
+
+    /** Returns the mean of the recorded values, or 0. */
+    double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns the value at a percentile: the upper end of the bucket holding that rank,
+     * capped at the largest recorded value.
+     *
+     * @param percentile between 0 and 100
+     * @return the value, or 0 if nothing was recorded
+     */
+    long percentile(double percentile) {
+        long n = count();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * n));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) return Math.min(highestIn(b), max.get());
+        }
+        return max.get(); // records raced with the scan
+    }
+
+    /** Clears every count. Values recorded while resetting may be kept or lost. */
+    void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0);
+        sum.set(0);
+        max.set(0);
+    }
+}
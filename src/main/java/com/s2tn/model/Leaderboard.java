@@ -1,14 +1,15 @@
 package com.s2tn.model;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Represents the leaderboard for tracking player scores and performance.
- * Maintains a list of entries sorted by score, time, and timestamp.
+ * Keeps one entry per player in an {@link OrderStatisticTree} sorted by score, time, and
+ * timestamp, so submitting and ranking are O(log n) and the top k entries are O(k).
+ * Readers work on the current immutable tree and never take the lock.
  */
 public class Leaderboard {
 
@@ -49,69 +50,111 @@ public class Leaderboard {
         }
     }
 
-    private final List<Entry> entries = new ArrayList<>();
-
     /** Comparator used to rank entries by score, elapsed time, and timestamp. */
     private static final Comparator<Entry> RANKING =
         Comparator.comparingInt(Entry::getScore).reversed()
                   .thenComparingLong(Entry::getElapsedTime)
                   .thenComparingLong(Entry::getTimestamp);
 
+    /** Tree order: {@link #RANKING}, with exact ties broken by username so every user keeps a slot. */
+    private static final Comparator<Entry> TREE_ORDER = RANKING.thenComparing(Entry::getUserName);
+
+    // current ranking (replaced, never mutated) and each user's entry in it; writers hold the monitor
+    private volatile OrderStatisticTree<Entry> ranked = OrderStatisticTree.empty(TREE_ORDER);
+    private final ConcurrentHashMap<String, Entry> byUser = new ConcurrentHashMap<>();
+
     /**
-     * Submits a new score for a user. Updates their record if the new score is higher.
+     * Submits a new score for a user. Updates their entry if the new result ranks better,
+     * and their account score if it is higher. Only memory is touched; the account is
+     * persisted later by {@link UserFlusher}.
      *
      * @param userName the player's username
      * @param score the score achieved
      * @param elapsedTime the time taken in milliseconds
      */
-    public synchronized void submit(String userName, int score, long elapsedTime) {
+    public void submit(String userName, int score, long elapsedTime) {
         if (userName == null || userName.isBlank()) return;
         if (score < 0) score = 0;
         if (elapsedTime < 0) elapsedTime = 0;
 
-        int idx = -1;
-        for (int i = 0; i < entries.size(); i++) {
-            if (Objects.equals(entries.get(i).getUserName(), userName)) { idx = i; break; }
+        JfrEvents.LeaderboardSubmit event = new JfrEvents.LeaderboardSubmit();
+        event.begin();
+        boolean changed = false;
+        Entry candidate = new Entry(userName, score, elapsedTime, System.currentTimeMillis());
+        synchronized (this) {
+            Entry current = byUser.get(userName);
+            // a negative comparison means the candidate ranks ahead of the current entry
+            if (current == null || RANKING.compare(candidate, current) < 0) {
+                ranked = (current == null ? ranked : ranked.remove(current)).insert(candidate);
+                byUser.put(userName, candidate);
+                changed = true;
+            }
         }
 
-        long now = System.currentTimeMillis();
-        Entry candidate = new Entry(userName, score, elapsedTime, now);
-
-        if (idx < 0) {
-            entries.add(candidate);
-        } else {
-            Entry current = entries.get(idx);
-            int cmp = RANKING.compare(candidate, current);
-            if (cmp < 0) {
-                // keep current score
-            } else if (cmp > 0) {
-                entries.set(idx, candidate);
-            } else {
-                // equal performance, no update
+        Account acc = UserList.getInstance().getUser(userName);
+        boolean improved = false;
+        if (acc != null) {
+            synchronized (acc) {
+                if (acc.getScore() < score) {
+                    acc.setScore(score);
+                    improved = true;
+                }
             }
+            if (improved) UserFlusher.getInstance().markDirty(acc); // saved in the background
         }
 
-        Account acc = new UserService().getByUserName(userName);
-        if (acc != null && acc.getScore() < score) {
-            acc.setScore(score);
-            new DataWriter().saveUsers(); // keep users.json up to date
+        if (event.shouldCommit()) {
+            event.user = userName;
+            event.score = score;
+            event.entries = ranked.size();
+            event.ranked = changed;
+            event.saveTriggered = improved;
+            event.commit();
         }
     }
 
+    /** Submits a score with the run time read from a timer, penalties included. */
+    public void submit(String userName, int score, Timer timer) {
+        submit(userName, score, timer == null ? 0 : timer.elapsedTime());
+    }
+
     /**
      * Returns the top N leaderboard entries sorted by ranking.
      *
      * @param n number of top entries to return
      * @return list of top leaderboard entries
      */
-    public synchronized List<Entry> topScore(int n) {
-        if (n <= 0) return List.of();
-        return entries.stream()
-                .sorted(RANKING)
-                .limit(n)
-                .collect(Collectors.toUnmodifiableList());
+    public List<Entry> topScore(int n) {
+        return ranked.first(n);
+    }
+
+    /**
+     * Returns a user's position on the leaderboard.
+     *
+     * @param userName the player's username
+     * @return 1-based rank, or -1 if the user has no entry
+     */
+    public int rankOf(String userName) {
+        if (userName == null) return -1;
+        while (true) {
+            Entry e = byUser.get(userName);
+            if (e == null) return -1;
+            int idx = ranked.indexOf(e);
+            if (idx >= 0) return idx + 1;
+            // the entry was replaced between the two reads; look again
+            if (byUser.get(userName) == e) return -1;
+        }
     }
 
+    /** Returns the number of players on the leaderboard. */
+    public int size() { return ranked.size(); }
+
+    /**
+     * Returns an immutable view of the whole leaderboard in rank order, taken without locking.
+     * Later submissions do not change a snapshot already handed out.
+     */
+    public List<Entry> snapshot() { return ranked.asList(); }
+
     /**
      * Returns the top N player accounts sorted by score.
      *
@@ -126,5 +169,8 @@ public class Leaderboard {
     }
 
     /** Clears all entries from the leaderboard. */
-    public synchronized void clear() { entries.clear(); }
+    public synchronized void clear() {
+        ranked = OrderStatisticTree.empty(TREE_ORDER);
+        byUser.clear();
+    }
 }
@@ -1,8 +1,9 @@
 package com.s2tn.model;
 
 import java.util.ArrayList;
-
-// This will be implemented in the GUI, visual map
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * Represents a map for tracking explored and completed rooms within a dungeon.
@@ -10,6 +11,9 @@ import java.util.ArrayList;
 public class Map {
     private ArrayList<Room> exploredRooms;
     private ArrayList<Room> completedRooms;
+    // membership for the lists above, by identity like the rest of the room model
+    private final Set<Room> explored = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Room> completed = Collections.newSetFromMap(new IdentityHashMap<>());
     private Dungeon dungeon;
 
     /** Creates a map associated with a specific dungeon. */
@@ -19,47 +23,53 @@ public class Map {
         this.dungeon = dungeon;
     }
 
-    /** Marks a room as explored if it has not already been visited. */
+    /** Marks a room as explored if it has not already been visited. Null is ignored. */
     public void markExplored(Room room){
-        if(!exploredRooms.contains(room)){
+        if(room != null && explored.add(room)){
             exploredRooms.add(room);
         }
     }
 
     /**
-     * Marks a room as complete if all its puzzles are solved.
+     * Marks a room as complete if all its puzzles are solved. For rooms of this map's dungeon
+     * the check is O(1) through the dungeon's {@link DungeonAnalyzer}.
      *
      * @param room the room to mark as complete
      */
     public void markComplete(Room room){
-        boolean complete = true;
-        for(Puzzle isSolved : room.getPuzzles()){
-            if (isSolved.getState() != PuzzleState.SOLVED) {
-                complete = false;
-                break;
-            }
-        }
-        if(complete){
+        if(room == null || completed.contains(room)) return;
+        if(isComplete(room)){
+            completed.add(room);
             completedRooms.add(room);
         }
     }
 
+    private boolean isComplete(Room room){
+        if(dungeon != null && dungeon.indexOfRoom(room) >= 0){
+            return dungeon.getAnalyzer().isComplete(room);
+        }
+        for(Puzzle isSolved : room.getPuzzles()){
+            if (isSolved.getState() != PuzzleState.SOLVED) return false;
+        }
+        return true;
+    }
+
     /**
-     * Loads and returns the dungeon associated with this map.
-     * This may later include logic for room connections via exits.
+     * Loads and returns the dungeon associated with this map, building its room graph and
+     * analyzer so later progress and reachability queries are ready.
      *
      * @return the associated dungeon
      */
     public Dungeon loadMap(){
-        //Will load details of dungeon into a facade
-        // I want to load rooms via the exits in a room
-        // have a arraylist of size 10 where
-        // 1 = north, 2 = east, 3 = south, 4 = west,
-        // 5 = north-west, 6 = north-east, 7 = south-east, 8 = south-west,
-        // 9 = up, 10 = down though I think the last two will likely go unused
+        if(dungeon != null) dungeon.getAnalyzer();
         return dungeon;
     }
 
+    /** Returns the analyzer for this map's dungeon, or null if there is no dungeon. */
+    public DungeonAnalyzer getAnalyzer(){
+        return dungeon == null ? null : dungeon.getAnalyzer();
+    }
+
     /** Returns a copy of the list of all explored rooms. */
     public ArrayList<Room> getExploredRooms() {
         return new ArrayList<>(exploredRooms);
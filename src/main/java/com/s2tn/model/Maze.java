@@ -1,14 +1,14 @@
 package com.s2tn.model;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Maze puzzle where the player moves from start to end.
- * - Keeps string-facing API (startPosition/endPosition/playerPosition)
+ * - Keeps string-facing API (startPosition/endPosition/playerPosition) as a facade
  * - Real movement (U/D/L/R, WASD, UP/DOWN/LEFT/RIGHT) + "r,c" absolute
- * - Bounds + optional walls
+ * - Bounds + optional walls, packed one bit per cell (index r * cols + c)
+ * - {@link #tryMove(int, int)} / {@link #isBlocked(int, int)} never allocate
  * - Uses ValidationResult with PuzzleState; no direct state setter calls
  */
 public class Maze extends Puzzle {
@@ -16,7 +16,8 @@ public class Maze extends Puzzle {
     // string-facing API (per UML)
     private String startPosition;
     private String endPosition;
-    private String playerPosition;
+    private String playerPosition; // formatted lazily from (r, c) when positionStale
+    private boolean positionStale = false;
     private String hint;
 
     // grid model
@@ -26,18 +27,15 @@ public class Maze extends Puzzle {
     private int endR   = 0, endC   = 0;
     private int r = 0, c = 0; // player (row, col)
 
-    // walls
-    private static final class Cell {
-        final int r, c;
-        Cell(int r, int c) { this.r = r; this.c = c; }
-        @Override public boolean equals(Object o) {
-            if (!(o instanceof Cell)) return false;
-            Cell other = (Cell) o;
-            return r == other.r && c == other.c;
-        }
-        @Override public int hashCode() { return Objects.hash(r, c); }
-    }
-    private final Set<Cell> walls = new HashSet<Cell>();
+    // walls: one bit per in-grid cell; walls outside the grid (or added before setGrid)
+    // are parked as packed (row, col) longs and applied if the grid grows to include them
+    private long[] wallBits = new long[0];
+    private long[] parked = new long[0];
+    private int parkedCount = 0;
+    private long layoutVersion = 0; // bumped whenever walls, size or end change
+    private boolean wallsShared;    // wall arrays are shared between a template and its run copies
+
+    private MazeSolver solver; // created when the maze is loaded or on the first hint; run copies share its field
 
     public Maze() {
         this.startPosition  = "";
@@ -46,15 +44,78 @@ public class Maze extends Puzzle {
         this.hint           = "Set grid and end first";
     }
 
+    /** Run copy: grid and walls are shared until the copy edits them; the player starts over. */
+    private Maze(Maze template) {
+        super(template);
+        this.startPosition = template.startPosition;
+        this.endPosition = template.endPosition;
+        this.playerPosition = "";
+        this.rows = template.rows;
+        this.cols = template.cols;
+        this.startR = template.startR; this.startC = template.startC;
+        this.endR = template.endR; this.endC = template.endC;
+        this.r = startR; this.c = startC;
+        this.positionStale = rows > 0;
+        this.wallBits = template.wallBits;
+        this.parked = template.parked;
+        this.parkedCount = template.parkedCount;
+        this.wallsShared = true;
+        template.wallsShared = true; // the template must not write into arrays this copy reads
+        this.layoutVersion = template.layoutVersion;
+        this.solver = template.solver == null ? null : template.solver.forRun(this);
+        refreshHint();
+    }
+
+    /** Returns a copy with the player back at the start, sharing this maze's walls. */
+    @Override
+    protected Puzzle newRun() {
+        return new Maze(this);
+    }
+
+    /** Gives this maze (template or run copy) its own wall arrays before it edits them. */
+    private void ownWalls() {
+        if (!wallsShared) return;
+        wallBits = wallBits.clone();
+        parked = parked.clone();
+        wallsShared = false;
+    }
+
+    /**
+     * Builds a rows x cols maze with exactly one path between any two open cells.
+     * Open cells sit at even (row, col); each one opens the wall above or to its left at random
+     * (binary-tree carving), so generation is a single pass with no extra memory beyond the
+     * wall bitmap. Start is the top-left cell, end the bottom-right open cell.
+     *
+     * @param rows number of rows (at least 1)
+     * @param cols number of columns (at least 1)
+     * @param seed random seed, so the same seed always gives the same maze
+     * @return the generated maze
+     */
+    public static Maze generate(int rows, int cols, long seed) {
+        Maze m = new Maze();
+        m.setGrid(rows, cols, "0,0", ((rows - 1) & ~1) + "," + ((cols - 1) & ~1));
+        Arrays.fill(m.wallBits, -1L);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int rr = 0; rr < rows; rr += 2) {
+            for (int cc = 0; cc < cols; cc += 2) {
+                m.clearBit(rr, cc);
+                boolean up = rr > 0, left = cc > 0;
+                if (up && (!left || rnd.nextBoolean())) m.clearBit(rr - 1, cc);
+                else if (left) m.clearBit(rr, cc - 1);
+            }
+        }
+        return m;
+    }
+
     // ---------- setup / accessors ----------
     public void setStartPosition(String pos) {
         this.startPosition = (pos == null) ? "" : pos.trim();
         if (!this.startPosition.trim().isEmpty() && rows > 0 && cols > 0) {
             int[] s = parsePos(this.startPosition);
             this.startR = s[0]; this.startC = s[1];
-            if (playerPosition.trim().isEmpty()) {
+            if (getPlayerPosition().trim().isEmpty()) {
                 this.r = startR; this.c = startC;
-                this.playerPosition = formatPos(r, c);
+                this.positionStale = true;
             }
         }
         refreshHint();
@@ -65,12 +126,14 @@ public class Maze extends Puzzle {
         if (!this.endPosition.trim().isEmpty()) {
             int[] e = parsePos(this.endPosition);
             this.endR = e[0]; this.endC = e[1];
+            layoutVersion++;
         }
         refreshHint();
     }
 
     public void setPlayerPosition(String pos) {
         this.playerPosition = (pos == null) ? "" : pos.trim();
+        this.positionStale = false;
         if (!this.playerPosition.trim().isEmpty()) {
             int[] p = parsePos(this.playerPosition);
             this.r = p[0]; this.c = p[1];
@@ -80,15 +143,47 @@ public class Maze extends Puzzle {
 
     public String getStartPosition()  { return this.startPosition; }
     public String getEndPosition()    { return this.endPosition; }
-    public String getPlayerPosition() { return this.playerPosition; }
+
+    public String getPlayerPosition() {
+        if (positionStale) {
+            playerPosition = formatPos(r, c);
+            positionStale = false;
+        }
+        return this.playerPosition;
+    }
+
+    /** Returns the player's row. */
+    public int getRow() { return r; }
+
+    /** Returns the player's column. */
+    public int getCol() { return c; }
+
+    /** Returns the number of rows in the grid (0 before setGrid). */
+    public int getRows() { return rows; }
+
+    /** Returns the number of columns in the grid (0 before setGrid). */
+    public int getCols() { return cols; }
+
+    int startRow() { return startR; }
+    int startCol() { return startC; }
+    int endRow()   { return endR; }
+    int endCol()   { return endC; }
+    long layoutVersion() { return layoutVersion; }
+    long[] wallBits() { return wallBits; } // live view for MazeSolver; index r * cols + c
+
+    /** Returns true if the player stands on the end cell. */
+    public boolean isAtEnd() { return r == endR && c == endC; }
 
     /** Configure grid and main cells. */
     public void setGrid(int rows, int cols, String start, String end) {
         if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("rows/cols > 0");
-        this.rows = rows; this.cols = cols;
+        long cells = (long) rows * cols;
+        if ((cells + 63) >>> 6 > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("grid too large");
 
         int[] s = parsePos(start);
         int[] e = parsePos(end);
+        resizeWalls(rows, cols, (int) ((cells + 63) >>> 6));
+
         this.startR = s[0]; this.startC = s[1];
         this.endR   = e[0]; this.endC   = e[1];
 
@@ -97,23 +192,39 @@ public class Maze extends Puzzle {
         // keep string API in sync
         this.startPosition  = formatPos(startR, startC);
         this.endPosition    = formatPos(endR, endC);
-        this.playerPosition = formatPos(r, c);
+        this.positionStale  = true;
+        layoutVersion++;
 
         refreshHint();
     }
 
-    public void addWall(int wr, int wc) { walls.add(new Cell(wr, wc)); }
-    public void clearWalls() { walls.clear(); }
+    public void addWall(int wr, int wc) {
+        ownWalls();
+        layoutVersion++;
+        if (inBounds(wr, wc)) {
+            long i = (long) wr * cols + wc;
+            wallBits[(int) (i >>> 6)] |= 1L << i;
+        } else {
+            park(wr, wc);
+        }
+    }
+
+    public void clearWalls() {
+        ownWalls();
+        layoutVersion++;
+        Arrays.fill(wallBits, 0L);
+        parkedCount = 0;
+    }
 
     // console helper
     public void displayPuzzle() {
-        System.out.println("Maze: Player=" + playerPosition + " grid " + rows + "x" + cols);
+        System.out.println("Maze: Player=" + getPlayerPosition() + " grid " + rows + "x" + cols);
     }
 
     /** Back-compat only; not used for real movement. */
     public String move(String direction) {
         if (direction == null || direction.trim().isEmpty()) return "invalid";
-        playerPosition += direction.trim().toUpperCase().charAt(0);
+        playerPosition = getPlayerPosition() + direction.trim().toUpperCase().charAt(0);
         refreshHint();
         return playerPosition;
     }
@@ -128,14 +239,24 @@ public class Maze extends Puzzle {
     public String getHint() {
         String base = (hint == null) ? "" : hint;
         if (rows > 0 && cols > 0 && endPosition != null && !endPosition.trim().isEmpty()) {
-            int dist = Math.abs(endR - r) + Math.abs(endC - c);
-            return base + " | distance≈" + dist;
+            MazeSolver s = getSolver();
+            int dist = s.distanceToEnd(r, c);
+            if (dist < 0) return base + " | no route to the end from here";
+            char next = s.nextMove(r, c);
+            return next == 0 ? base + " | distance: " + dist
+                             : base + " | distance: " + dist + " | next move: " + next;
         }
         return base;
     }
 
+    /** Returns this maze's solver, creating it on first use. */
+    public MazeSolver getSolver() {
+        if (solver == null) solver = new MazeSolver(this);
+        return solver;
+    }
+
     @Override
-    public ValidationResult enterInput(String userInput) {
+    protected ValidationResult handleInput(String userInput) {
         if (userInput == null || userInput.trim().isEmpty()) {
             hint = "Empty input";
             return vr(false, "Empty input", PuzzleState.IN_PROGRESS);
@@ -144,39 +265,35 @@ public class Maze extends Puzzle {
         String t = userInput.trim().toUpperCase();
 
         // 1) Try direction
-        String dir = normalizeDirection(t);
-        if (dir != null) {
-            boolean moved = tryMove(dir);
+        char dir = normalizeDirection(t);
+        if (dir != 0) {
+            boolean moved = tryMove(dRow(dir), dCol(dir));
             if (!moved) {
                 hint = "Blocked (wall or edge). Try another direction.";
-                syncStrings();
                 return vr(false, "blocked", PuzzleState.IN_PROGRESS);
             }
-            if (r == endR && c == endC) {
+            if (isAtEnd()) {
                 hint = "You're at the end!";
-                syncStrings();
                 return vr(true, "reached goal", PuzzleState.SOLVED);
             }
             hint = "Moved " + dir + ". Keep going.";
-            syncStrings();
             return vr(true, "ok", PuzzleState.IN_PROGRESS);
         }
 
         // 2) Else try absolute coordinate "r,c"
         try {
             int[] p = parsePos(userInput);
-            if (!inBounds(p[0], p[1]) || isBlocked(p[0], p[1])) {
+            if (isBlocked(p[0], p[1])) {
                 hint = "Invalid cell (out of bounds or wall).";
                 return vr(false, "invalid cell", PuzzleState.IN_PROGRESS);
             }
             r = p[0]; c = p[1];
-            if (r == endR && c == endC) {
+            positionStale = true;
+            if (isAtEnd()) {
                 hint = "You're at the end!";
-                syncStrings();
                 return vr(true, "reached goal", PuzzleState.SOLVED);
             }
             hint = "Position updated to " + formatPos(r, c);
-            syncStrings();
             return vr(true, "position set", PuzzleState.IN_PROGRESS);
         } catch (Exception ignore) {
             hint = "Use U/D/L/R (or WASD/words) or 'r,c'.";
@@ -194,57 +311,94 @@ public class Maze extends Puzzle {
         return false;
     }
 
+    // ---------- primitive movement (allocation-free) ----------
+
+    /**
+     * Moves the player by one step if the target cell is open.
+     *
+     * @param dRow row delta (-1, 0 or 1)
+     * @param dCol column delta (-1, 0 or 1)
+     * @return true if the player moved
+     */
+    public boolean tryMove(int dRow, int dCol) {
+        int nr = r + dRow, nc = c + dCol;
+        if (isBlocked(nr, nc)) return false;
+        r = nr; c = nc;
+        positionStale = true;
+        return true;
+    }
+
+    /** Returns true if the cell is outside the grid or holds a wall. */
+    public boolean isBlocked(int rr, int cc) {
+        if (!inBounds(rr, cc)) return true;
+        long i = (long) rr * cols + cc;
+        return (wallBits[(int) (i >>> 6)] & (1L << i)) != 0;
+    }
+
     // ---------- helpers ----------
     private void refreshHint() {
         if (endPosition == null || endPosition.isEmpty()) {
             hint = "Set grid and end first";
-        } else if (playerPosition.equalsIgnoreCase(endPosition)) {
+        } else if (getPlayerPosition().equalsIgnoreCase(endPosition)) {
             hint = "You're at the end!";
         } else {
             hint = "Keep moving toward " + endPosition;
         }
     }
 
-    private void syncStrings() {
-        this.playerPosition = formatPos(r, c);
-        if (this.startPosition == null || this.startPosition.trim().isEmpty()) {
-            this.startPosition = formatPos(startR, startC);
-        }
-        if (this.endPosition == null || this.endPosition.trim().isEmpty()) {
-            this.endPosition = formatPos(endR, endC);
-        }
-    }
-
-    private String normalizeDirection(String t) {
-        if (t.equals("U") || t.equals("UP") || t.equals("W")) return "U";
-        if (t.equals("D") || t.equals("DOWN") || t.equals("S")) return "D";
-        if (t.equals("L") || t.equals("LEFT") || t.equals("A")) return "L";
-        if (t.equals("R") || t.equals("RIGHT") || t.equals("R")) return "R";
-        if (t.startsWith("UP")) return "U";
-        if (t.startsWith("DOWN")) return "D";
-        if (t.startsWith("LEFT")) return "L";
-        if (t.startsWith("RIGHT")) return "R";
-        return null;
+    private char normalizeDirection(String t) {
+        if (t.equals("U") || t.equals("UP") || t.equals("W")) return 'U';
+        if (t.equals("D") || t.equals("DOWN") || t.equals("S")) return 'D';
+        if (t.equals("L") || t.equals("LEFT") || t.equals("A")) return 'L';
+        if (t.equals("R") || t.equals("RIGHT")) return 'R';
+        if (t.startsWith("UP")) return 'U';
+        if (t.startsWith("DOWN")) return 'D';
+        if (t.startsWith("LEFT")) return 'L';
+        if (t.startsWith("RIGHT")) return 'R';
+        return 0;
     }
 
-    private boolean tryMove(String dir) {
-        int nr = r, nc = c;
-        if ("U".equals(dir)) nr = r - 1;
-        else if ("D".equals(dir)) nr = r + 1;
-        else if ("L".equals(dir)) nc = c - 1;
-        else if ("R".equals(dir)) nc = c + 1;
+    private static int dRow(char dir) { return dir == 'U' ? -1 : dir == 'D' ? 1 : 0; }
 
-        if (!inBounds(nr, nc) || isBlocked(nr, nc)) return false;
-        r = nr; c = nc;
-        return true;
-    }
+    private static int dCol(char dir) { return dir == 'L' ? -1 : dir == 'R' ? 1 : 0; }
 
     private boolean inBounds(int rr, int cc) {
         return rr >= 0 && rr < rows && cc >= 0 && cc < cols;
     }
 
-    private boolean isBlocked(int rr, int cc) {
-        return walls.contains(new Cell(rr, cc));
+    private void clearBit(int rr, int cc) {
+        ownWalls();
+        layoutVersion++;
+        long i = (long) rr * cols + cc;
+        wallBits[(int) (i >>> 6)] &= ~(1L << i);
+    }
+
+    /** Re-packs walls for new dimensions; walls that fall outside are parked. */
+    private void resizeWalls(int newRows, int newCols, int words) {
+        if (newRows == rows && newCols == cols) return;
+        ownWalls();
+        long[] old = wallBits;
+        int oldRows = rows, oldCols = cols;
+        wallBits = new long[words];
+        rows = newRows;
+        cols = newCols;
+
+        for (int w = 0; w < old.length; w++) {
+            long bits = old[w];
+            while (bits != 0) {
+                long i = ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (i < (long) oldRows * oldCols) addWall((int) (i / oldCols), (int) (i % oldCols));
+            }
+        }
+        long[] waiting = Arrays.copyOf(parked, parkedCount);
+        parkedCount = 0;
+        for (long p : waiting) addWall((int) (p >> 32), (int) p);
+    }
+
+    private void park(int wr, int wc) {
+        if (parkedCount == parked.length) parked = Arrays.copyOf(parked, Math.max(8, parkedCount * 2));
+        parked[parkedCount++] = ((long) wr << 32) | (wc & 0xFFFFFFFFL);
     }
 
     private int[] parsePos(String pos) {
@@ -260,27 +414,11 @@ public class Maze extends Puzzle {
 
     public void reset() {
         this.r = startR; this.c = startC;
-        this.playerPosition = formatPos(r, c);
+        this.positionStale = true;
         hint = "reset";
     }
 
-    // ValidationResult compatibility (factory or ctor)
     private ValidationResult vr(boolean ok, String msg, PuzzleState state) {
-        try {
-            java.lang.reflect.Method m =
-                    ValidationResult.class.getDeclaredMethod(ok ? "valid" : "invalid",
-                            String.class, PuzzleState.class);
-            return (ValidationResult) m.invoke(null, msg, state);
-        } catch (Throwable ignore) {
-            try {
-                java.lang.reflect.Constructor<ValidationResult> ctor =
-                        ValidationResult.class.getDeclaredConstructor(
-                                boolean.class, String.class, PuzzleState.class);
-                ctor.setAccessible(true);
-                return ctor.newInstance(ok, msg, state);
-            } catch (Throwable e) {
-                throw new RuntimeException("ValidationResult API mismatch", e);
-            }
-        }
+        return ok ? ValidationResult.valid(msg, state) : ValidationResult.invalidFormat(msg, state);
     }
 }
@@ -0,0 +1,350 @@
+package com.s2tn.model;
+
+import java.util.Arrays;
+
+/**
+ * Shortest-path solver and next-move hint engine for a {@link Maze}.
+ * Cells are addressed by {@code row * cols + col}; all bookkeeping lives in primitive arrays
+ * sized to the grid and reused between calls:
+ * <ul>
+ *   <li>{@link #shortestPath} runs A* (Manhattan heuristic) with a primitive binary heap and
+ *       a visited bitmap, keeping only a 2-bit parent direction per cell. Paths to the maze's
+ *       end are read off the route field instead whenever it is current.</li>
+ *   <li>{@link #nextMove} answers from a route field built by one breadth-first search out
+ *       from the maze's end: every reachable cell stores the direction of its next step, so
+ *       each query is O(1) from wherever the player is. The field is rebuilt only when the
+ *       maze's walls, size or end change. Run copies of a maze start out sharing their
+ *       template's field, so a maze validated when it is loaded gives O(1) hints in every run.</li>
+ *   <li>{@link #distanceToEnd} walks the field once and then follows the player: a step
+ *       along or against the route adjusts the remembered distance by one.</li>
+ * </ul>
+ * A solver is not thread-safe; use one per maze per thread.
+ */
+public final class MazeSolver {
+
+    /** Direction codes, in the order U, D, L, R. */
+    private static final char[] NAMES = {'U', 'D', 'L', 'R'};
+    private static final int[] D_ROW = {-1, 1, 0, 0};
+    private static final int[] D_COL = {0, 0, -1, 1};
+
+    private final Maze maze;
+
+    // reusable scratch, (re)allocated when the grid size changes
+    private int rows = -1;
+    private int cols = -1;
+    private long[] visited = new long[0];    // A* only, allocated on the first search
+    private long[] dirs = new long[0];       // 2 bits per cell
+    private int[] queue = new int[64];       // BFS ring buffer
+    private long[] heapKeys = new long[64];  // A*: f << 32 | (tie-break on larger g)
+    private int[] heapCells = new int[64];   // A*: cell | dir << 30
+
+    // route field toward the end, valid while fieldVersion matches the maze
+    private long[] routeDirs = new long[0];
+    private long[] routeReached = new long[0];
+    private long fieldVersion = -1;
+    private boolean fieldShared;             // arrays shared with a template or run copy; never edited in place
+
+    // last distance answered, valid while distVersion matches fieldVersion
+    private int distCell = -1;
+    private int distValue;
+    private long distVersion = -1;
+
+    /**
+     * Creates a solver for a maze. Scratch space is allocated on first use.
+     *
+     * @param maze the maze to solve; its grid must be set before solving
+     */
+    public MazeSolver(Maze maze) {
+        if (maze == null) throw new IllegalArgumentException("maze required");
+        this.maze = maze;
+    }
+
+    /**
+     * Finds an optimal path between two cells.
+     *
+     * @return the path as cell indexes ({@code row * cols + col}) from start to target
+     *         inclusive, or an empty array if the target cannot be reached
+     */
+    public int[] shortestPath(int fromRow, int fromCol, int toRow, int toCol) {
+        ensureGrid();
+        if (maze.isBlocked(fromRow, fromCol) || maze.isBlocked(toRow, toCol)) return new int[0];
+        if (fieldVersion == maze.layoutVersion() && toRow == maze.endRow() && toCol == maze.endCol()) {
+            return routeToEnd(fromRow * cols + fromCol);
+        }
+        ensureSearchScratch();
+        Arrays.fill(visited, 0L);
+
+        long[] walls = maze.wallBits();
+        int source = fromRow * cols + fromCol;
+        int target = toRow * cols + toCol;
+        int heapSize = 0;
+        heapSize = push(heapSize, manhattan(fromRow, fromCol, toRow, toCol), 0, source, 0);
+
+        boolean found = false;
+        while (heapSize > 0) {
+            long key = heapKeys[0];
+            int packed = heapCells[0];
+            heapSize = pop(heapSize);
+
+            int cell = packed & 0x3FFFFFFF;
+            if (isSet(visited, cell)) continue;
+            set(visited, cell);
+            if (cell != source) setDir(dirs, cell, packed >>> 30);
+            if (cell == target) { found = true; break; }
+
+            int g = Integer.MAX_VALUE - (int) key + 1;
+            int r = cell / cols, c = cell - r * cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + D_ROW[d], nc = c + D_COL[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int next = nr * cols + nc;
+                if (isSet(walls, next) || isSet(visited, next)) continue;
+                heapSize = push(heapSize, g + 1 + manhattan(nr, nc, toRow, toCol), g + 1, next, d);
+            }
+        }
+        if (!found) return new int[0];
+
+        // walk parent directions back from the target
+        int length = 1;
+        for (int cell = target; cell != source; cell = step(cell, opposite(getDir(dirs, cell)))) length++;
+        int[] path = new int[length];
+        int cell = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            if (i > 0) cell = step(cell, opposite(getDir(dirs, cell)));
+        }
+        return path;
+    }
+
+    /** Returns true if the maze's end can be reached from its start. */
+    public boolean isSolvable() {
+        ensureField();
+        int start = maze.startRow() * cols + maze.startCol();
+        return !maze.isBlocked(maze.startRow(), maze.startCol()) && isSet(routeReached, start);
+    }
+
+    /**
+     * Returns the first step of an optimal route from a cell to the maze's end.
+     *
+     * @return 'U', 'D', 'L' or 'R', or 0 if the cell is the end, a wall, or cannot reach the end
+     */
+    public char nextMove(int row, int col) {
+        ensureField();
+        if (maze.isBlocked(row, col)) return 0;
+        if (row == maze.endRow() && col == maze.endCol()) return 0;
+        int cell = row * cols + col;
+        if (!isSet(routeReached, cell)) return 0;
+        return NAMES[getDir(routeDirs, cell)];
+    }
+
+    /**
+     * Returns the number of steps on an optimal route from a cell to the maze's end.
+     *
+     * @return the distance, or -1 if the end cannot be reached
+     */
+    public int distanceToEnd(int row, int col) {
+        ensureField();
+        if (maze.isBlocked(row, col)) return -1;
+        int cell = row * cols + col;
+        if (!isSet(routeReached, cell)) return -1;
+        int end = maze.endRow() * cols + maze.endCol();
+        int steps = -1;
+        if (distVersion == fieldVersion && distCell >= 0) {
+            if (cell == distCell) steps = distValue;
+            else if (distCell != end && cell == step(distCell, getDir(routeDirs, distCell))) steps = distValue - 1;
+            else if (cell != end && distCell == step(cell, getDir(routeDirs, cell))) steps = distValue + 1;
+        }
+        if (steps < 0) {
+            steps = 0;
+            for (int at = cell; at != end; at = step(at, getDir(routeDirs, at))) steps++;
+        }
+        distCell = cell;
+        distValue = steps;
+        distVersion = fieldVersion;
+        return steps;
+    }
+
+    /**
+     * Returns a solver for a run copy of this solver's maze. While this solver's route field
+     * is current the copy shares it; whichever of the two rebuilds first gets new arrays.
+     *
+     * @param copy a run copy of this solver's maze, with the same layout
+     */
+    MazeSolver forRun(Maze copy) {
+        MazeSolver s = new MazeSolver(copy);
+        if (fieldVersion == maze.layoutVersion() && copy.layoutVersion() == fieldVersion) {
+            s.rows = rows;
+            s.cols = cols;
+            s.routeDirs = routeDirs;
+            s.routeReached = routeReached;
+            s.fieldVersion = fieldVersion;
+            s.fieldShared = true;
+            fieldShared = true;
+        }
+        return s;
+    }
+
+    // -------- route field --------
+
+    /** Reads an optimal path to the end straight off the current route field. */
+    private int[] routeToEnd(int source) {
+        if (!isSet(routeReached, source)) return new int[0];
+        int end = maze.endRow() * cols + maze.endCol();
+        int length = 1;
+        for (int cell = source; cell != end; cell = step(cell, getDir(routeDirs, cell))) length++;
+        int[] path = new int[length];
+        int cell = source;
+        for (int i = 0; i < length; i++) {
+            path[i] = cell;
+            if (i + 1 < length) cell = step(cell, getDir(routeDirs, cell));
+        }
+        return path;
+    }
+
+    private void ensureField() {
+        ensureGrid();
+        if (fieldVersion == maze.layoutVersion()) return;
+        long cells = (long) rows * cols;
+        int words = (int) ((cells + 63) >>> 6);
+        if (fieldShared || routeReached.length != words) {
+            routeReached = new long[words];
+            routeDirs = new long[(int) ((cells * 2 + 63) >>> 6)];
+            fieldShared = false;
+        } else {
+            Arrays.fill(routeReached, 0L);
+        }
+
+        int er = maze.endRow(), ec = maze.endCol();
+        if (!maze.isBlocked(er, ec)) {
+            long[] walls = maze.wallBits();
+            int last = rows * cols - 1;
+            int head = 0, size = 1;
+            int end = er * cols + ec;
+            set(routeReached, end);
+            queue[0] = end;
+            while (size > 0) {
+                int cell = queue[head];
+                head = (head + 1) & (queue.length - 1);
+                size--;
+                int c = cell % cols;
+                // neighbours in U, D, L, R order; the stored direction steps back toward cell
+                for (int d = 0; d < 4; d++) {
+                    int next;
+                    switch (d) {
+                        case 0:  if (cell < cols) continue;        next = cell - cols; break;
+                        case 1:  if (cell + cols > last) continue; next = cell + cols; break;
+                        case 2:  if (c == 0) continue;             next = cell - 1;    break;
+                        default: if (c == cols - 1) continue;      next = cell + 1;    break;
+                    }
+                    if (isSet(walls, next) || isSet(routeReached, next)) continue;
+                    set(routeReached, next);
+                    setDir(routeDirs, next, opposite(d));
+                    if (size == queue.length) head = growQueue(head, size);
+                    queue[(head + size) & (queue.length - 1)] = next;
+                    size++;
+                }
+            }
+        }
+        fieldVersion = maze.layoutVersion();
+    }
+
+    private int growQueue(int head, int size) {
+        int[] bigger = new int[queue.length * 2];
+        for (int i = 0; i < size; i++) bigger[i] = queue[(head + i) & (queue.length - 1)];
+        queue = bigger;
+        return 0;
+    }
+
+    // -------- A* heap (min on key) --------
+
+    private int push(int size, int f, int g, int cell, int dir) {
+        if (size == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, size * 2);
+            heapCells = Arrays.copyOf(heapCells, size * 2);
+        }
+        long key = ((long) f << 32) | ((Integer.MAX_VALUE - g + 1) & 0xFFFFFFFFL);
+        int packed = cell | (dir << 30);
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKeys[parent] <= key) break;
+            heapKeys[i] = heapKeys[parent];
+            heapCells[i] = heapCells[parent];
+            i = parent;
+        }
+        heapKeys[i] = key;
+        heapCells[i] = packed;
+        return size + 1;
+    }
+
+    private int pop(int size) {
+        size--;
+        long key = heapKeys[size];
+        int packed = heapCells[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= key) break;
+            heapKeys[i] = heapKeys[child];
+            heapCells[i] = heapCells[child];
+            i = child;
+        }
+        heapKeys[i] = key;
+        heapCells[i] = packed;
+        return size;
+    }
+
+    // -------- helpers --------
+
+    private void ensureGrid() {
+        int r = maze.getRows(), c = maze.getCols();
+        if (r <= 0 || c <= 0) throw new IllegalStateException("maze grid not set");
+        if ((long) r * c > 0x3FFFFFFF) throw new IllegalStateException("maze too large to solve");
+        if (r == rows && c == cols) return;
+        rows = r;
+        cols = c;
+        visited = new long[0];
+        dirs = new long[0];
+        fieldVersion = -1;
+    }
+
+    private void ensureSearchScratch() {
+        long cells = (long) rows * cols;
+        int words = (int) ((cells + 63) >>> 6);
+        if (visited.length == words) return;
+        visited = new long[words];
+        dirs = new long[(int) ((cells * 2 + 63) >>> 6)];
+    }
+
+    private int step(int cell, int dir) {
+        return cell + D_ROW[dir] * cols + D_COL[dir];
+    }
+
+    private static int opposite(int dir) { return dir ^ 1; }
+
+    private static int manhattan(int r0, int c0, int r1, int c1) {
+        return Math.abs(r0 - r1) + Math.abs(c0 - c1);
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static int getDir(long[] field, int cell) {
+        long bit = (long) cell << 1;
+        return (int) (field[(int) (bit >>> 6)] >>> (bit & 63)) & 3;
+    }
+
+    private static void setDir(long[] field, int cell, int dir) {
+        long bit = (long) cell << 1;
+        int w = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        field[w] = (field[w] & ~(3L << shift)) | ((long) dir << shift);
+    }
+}
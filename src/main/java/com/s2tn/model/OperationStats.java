@@ -0,0 +1,108 @@
+package com.s2tn.model;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Call count, error count and latency histogram for one {@link Facade} operation.
+ * An instrumented method hands its body to one of the {@code time} methods:
+ * <pre>
+ *     return LOGIN.time(() -> { ... });
+ * </pre>
+ * Calls and errors are counted exactly. Only every {@link FacadeMetrics#getSampleEvery()}th
+ * call reads the clock and lands in the histogram, because two clock reads are most of the
+ * cost of timing a call. While {@link FacadeMetrics} is disabled, {@link #start()} returns 0
+ * and nothing is recorded.
+ */
+public final class OperationStats implements OperationStatsMBean {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private int tick; // racy on purpose: a lost increment only shifts which call is sampled
+    private volatile long since = System.nanoTime();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /** Runs a call, counting it and any exception it throws, and timing it when sampled. */
+    <T> T time(Supplier<T> body) {
+        long t = start();
+        try {
+            return body.get();
+        } catch (RuntimeException e) {
+            throw error(e);
+        } finally {
+            end(t);
+        }
+    }
+
+    /** Runs a call that returns a boolean, without boxing the result. */
+    boolean time(BooleanSupplier body) {
+        long t = start();
+        try {
+            return body.getAsBoolean();
+        } catch (RuntimeException e) {
+            throw error(e);
+        } finally {
+            end(t);
+        }
+    }
+
+    /** Runs a call with no result. */
+    void time(Runnable body) {
+        long t = start();
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            throw error(e);
+        } finally {
+            end(t);
+        }
+    }
+
+    /** Counts a call and returns its start timestamp, or 0 if it is not timed. */
+    long start() {
+        if (!FacadeMetrics.enabled) return 0L;
+        calls.increment();
+        return (++tick & FacadeMetrics.sampleMask) == 0 ? System.nanoTime() : 0L;
+    }
+
+    /** Records the latency of a timed call; does nothing for a 0 timestamp. */
+    void end(long start) {
+        if (start != 0L) latency.record(System.nanoTime() - start);
+    }
+
+    /** Counts a failed call and returns the exception for rethrowing. */
+    RuntimeException error(RuntimeException e) {
+        if (FacadeMetrics.enabled) errors.increment();
+        return e;
+    }
+
+    @Override public String getName() { return name; }
+    @Override public long getCount() { return calls.sum(); }
+    @Override public long getSampleCount() { return latency.count(); }
+    @Override public long getErrorCount() { return errors.sum(); }
+    @Override public double getMeanNanos() { return latency.mean(); }
+    @Override public long getP50Nanos() { return latency.percentile(50); }
+    @Override public long getP99Nanos() { return latency.percentile(99); }
+    @Override public long getP999Nanos() { return latency.percentile(99.9); }
+    @Override public long getMaxNanos() { return latency.max(); }
+
+    @Override
+    public double getThroughputPerSecond() {
+        long elapsed = System.nanoTime() - since;
+        return elapsed <= 0 ? 0 : calls.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        calls.reset();
+        errors.reset();
+        since = System.nanoTime();
+    }
+}
@@ -0,0 +1,42 @@
+package com.s2tn.model;
+
+/**
+ * JMX view of one instrumented {@link Facade} operation since start-up or the last
+ * {@link #reset()}. Counts cover every call; latencies are in nanoseconds and come from the
+ * sampled calls.
+ */
+public interface OperationStatsMBean {
+
+    /** Returns the operation name, e.g. "login". */
+    String getName();
+
+    /** Returns the number of calls. */
+    long getCount();
+
+    /** Returns the number of calls whose latency was recorded. */
+    long getSampleCount();
+
+    /** Returns the number of calls that threw. */
+    long getErrorCount();
+
+    /** Returns calls per second since start-up or the last reset. */
+    double getThroughputPerSecond();
+
+    /** Returns the mean latency. */
+    double getMeanNanos();
+
+    /** Returns the median latency. */
+    long getP50Nanos();
+
+    /** Returns the 99th percentile latency. */
+    long getP99Nanos();
+
+    /** Returns the 99.9th percentile latency. */
+    long getP999Nanos();
+
+    /** Returns the slowest call. */
+    long getMaxNanos();
+
+    /** Clears the counters and the histogram. */
+    void reset();
+}
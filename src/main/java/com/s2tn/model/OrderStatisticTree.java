@@ -0,0 +1,191 @@
+package com.s2tn.model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, size-augmented AVL tree.
+ * Every update returns a new tree that shares all untouched nodes with the old one, so a
+ * reference to a tree is a consistent snapshot that can be read without locking.
+ * Insert, remove, rank and positional lookup are O(log n); the first k elements are O(log n + k).
+ *
+ * @param <T> element type; elements that compare equal are treated as the same element
+ */
+final class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final int size;
+        final int height;
+
+        Node(T value, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+            this.height = 1 + Math.max(height(left), height(right));
+        }
+    }
+
+    private final Comparator<? super T> order;
+    private final Node<T> root;
+
+    private OrderStatisticTree(Comparator<? super T> order, Node<T> root) {
+        this.order = order;
+        this.root = root;
+    }
+
+    /** Returns an empty tree ordered by the given comparator. */
+    static <T> OrderStatisticTree<T> empty(Comparator<? super T> order) {
+        return new OrderStatisticTree<>(order, null);
+    }
+
+    /** Returns the number of elements. */
+    int size() { return size(root); }
+
+    /** Returns true if an element equal to {@code value} is present. */
+    boolean contains(T value) { return indexOf(value) >= 0; }
+
+    /** Returns a tree with {@code value} added, replacing any equal element. */
+    OrderStatisticTree<T> insert(T value) {
+        return new OrderStatisticTree<>(order, insert(root, value));
+    }
+
+    /** Returns a tree without the element equal to {@code value}, or this tree if absent. */
+    OrderStatisticTree<T> remove(T value) {
+        if (!contains(value)) return this;
+        return new OrderStatisticTree<>(order, remove(root, value));
+    }
+
+    /**
+     * Returns the zero-based position of an element in sort order.
+     *
+     * @param value element to look for
+     * @return its index, or -1 if it is not in the tree
+     */
+    int indexOf(T value) {
+        int rank = 0;
+        Node<T> n = root;
+        while (n != null) {
+            int c = order.compare(value, n.value);
+            if (c < 0) {
+                n = n.left;
+            } else if (c > 0) {
+                rank += size(n.left) + 1;
+                n = n.right;
+            } else {
+                return rank + size(n.left);
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the element at a zero-based position in sort order. */
+    T get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+        Node<T> n = root;
+        while (true) {
+            int leftSize = size(n.left);
+            if (index < leftSize) {
+                n = n.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                n = n.right;
+            } else {
+                return n.value;
+            }
+        }
+    }
+
+    /** Returns up to the first {@code k} elements in sort order as an unmodifiable list. */
+    List<T> first(int k) {
+        int limit = Math.min(Math.max(0, k), size());
+        if (limit == 0) return List.of();
+        ArrayList<T> out = new ArrayList<>(limit);
+        Deque<Node<T>> stack = new ArrayDeque<>(Math.max(1, height(root)));
+        Node<T> n = root;
+        while (out.size() < limit) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+            Node<T> next = stack.pop();
+            out.add(next.value);
+            n = next.right;
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    /** Returns an unmodifiable list view of this tree in sort order; get(i) is O(log n). */
+    List<T> asList() {
+        return new View<>(this);
+    }
+
+    private static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final OrderStatisticTree<T> tree;
+
+        View(OrderStatisticTree<T> tree) { this.tree = tree; }
+
+        @Override public T get(int index) { return tree.get(index); }
+
+        @Override public int size() { return tree.size(); }
+    }
+
+    // -------- AVL internals --------
+
+    private Node<T> insert(Node<T> n, T value) {
+        if (n == null) return new Node<>(value, null, null);
+        int c = order.compare(value, n.value);
+        if (c < 0) return balance(n.value, insert(n.left, value), n.right);
+        if (c > 0) return balance(n.value, n.left, insert(n.right, value));
+        return new Node<>(value, n.left, n.right);
+    }
+
+    private Node<T> remove(Node<T> n, T value) {
+        int c = order.compare(value, n.value);
+        if (c < 0) return balance(n.value, remove(n.left, value), n.right);
+        if (c > 0) return balance(n.value, n.left, remove(n.right, value));
+        if (n.left == null) return n.right;
+        if (n.right == null) return n.left;
+        Node<T> min = n.right;
+        while (min.left != null) min = min.left;
+        return balance(min.value, n.left, removeMin(n.right));
+    }
+
+    private static <T> Node<T> removeMin(Node<T> n) {
+        if (n.left == null) return n.right;
+        return balance(n.value, removeMin(n.left), n.right);
+    }
+
+    private static <T> Node<T> balance(T value, Node<T> left, Node<T> right) {
+        int hl = height(left);
+        int hr = height(right);
+        if (hl > hr + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+            }
+            Node<T> lr = left.right;
+            return new Node<>(lr.value, new Node<>(left.value, left.left, lr.left), new Node<>(value, lr.right, right));
+        }
+        if (hr > hl + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+            }
+            Node<T> rl = right.left;
+            return new Node<>(rl.value, new Node<>(value, left, rl.left), new Node<>(right.value, rl.right, right.right));
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static int size(Node<?> n) { return n == null ? 0 : n.size; }
+
+    private static int height(Node<?> n) { return n == null ? 0 : n.height; }
+}
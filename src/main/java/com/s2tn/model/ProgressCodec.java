@@ -0,0 +1,194 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact, versioned binary encoding of {@link Progress} used for save slots.
+ * <pre>
+ * magic "S2PG" | version u8 | flags u8
+ * [userName str] [dungeonID 2 x i64] [currentRoomID 2 x i64] [slot str]   (present per flag)
+ * elapsedTime zigzag varint | puzzle count varint | count x (key index varint, state ordinal u8)
+ * str = varint byte length + UTF-8
+ * </pre>
+ * Puzzle keys are stored as indexes into the dungeon's {@link PuzzleKeyDictionary}.
+ * States are stored by ordinal, so new {@link PuzzleState} constants must be appended;
+ * unknown ordinals are skipped on decode.
+ */
+final class ProgressCodec {
+
+    static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', '2', 'P', 'G'};
+    private static final int HAS_USER = 1;
+    private static final int HAS_DUNGEON = 2;
+    private static final int HAS_ROOM = 4;
+    private static final int HAS_SLOT = 8;
+    private static final PuzzleState[] STATES = PuzzleState.values();
+
+    /** Looks up the key dictionary for a dungeon ({@code null} for progress outside any dungeon). */
+    @FunctionalInterface
+    interface Dictionaries {
+        PuzzleKeyDictionary forDungeon(UUID dungeonId);
+    }
+
+    private ProgressCodec() {}
+
+    /** Returns true if the bytes start with this format's magic number. */
+    static boolean isBinary(byte[] data) {
+        return data.length >= MAGIC.length && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * Encodes progress, interning any new puzzle keys into the dictionary first.
+     *
+     * @param p    progress to encode
+     * @param dict dictionary of the progress's dungeon
+     * @return the encoded bytes
+     * @throws IOException if a new key cannot be added to the dictionary
+     */
+    static byte[] encode(Progress p, PuzzleKeyDictionary dict) throws IOException {
+        Out out = new Out(64 + p.getPuzzleState().size() * 3);
+        out.bytes(MAGIC);
+        out.u8(VERSION);
+        int flags = (p.getUserName() != null ? HAS_USER : 0)
+                | (p.getDungeonID() != null ? HAS_DUNGEON : 0)
+                | (p.getCurrentRoomID() != null ? HAS_ROOM : 0)
+                | (p.getSlot() != null ? HAS_SLOT : 0);
+        out.u8(flags);
+        if (p.getUserName() != null) out.str(p.getUserName());
+        if (p.getDungeonID() != null) out.uuid(p.getDungeonID());
+        if (p.getCurrentRoomID() != null) out.uuid(p.getCurrentRoomID());
+        if (p.getSlot() != null) out.str(p.getSlot());
+        out.varint((p.getElapsedTime() << 1) ^ (p.getElapsedTime() >> 63));
+
+        List<String> keys = new ArrayList<>(p.getPuzzleState().size());
+        List<PuzzleState> states = new ArrayList<>(p.getPuzzleState().size());
+        for (Map.Entry<String, PuzzleState> e : p.getPuzzleState().entrySet()) {
+            if (e.getKey() == null || e.getValue() == null) continue;
+            keys.add(e.getKey());
+            states.add(e.getValue());
+        }
+        int[] indexes = dict.internAll(keys); // new keys reach the dictionary in one append
+        out.varint(keys.size());
+        for (int i = 0; i < indexes.length; i++) {
+            out.varint(indexes[i]);
+            out.u8(states.get(i).ordinal());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes progress written by {@link #encode(Progress, PuzzleKeyDictionary)}.
+     *
+     * @param data  encoded bytes
+     * @param dicts source of the dungeon's key dictionary
+     * @return the decoded progress
+     * @throws IOException if the data is truncated, from an unknown version, or the dictionary fails
+     */
+    static Progress decode(byte[] data, Dictionaries dicts) throws IOException {
+        if (!isBinary(data)) throw new IOException("Not a binary progress record");
+        ByteBuffer in = ByteBuffer.wrap(data, MAGIC.length, data.length - MAGIC.length);
+        try {
+            int version = Byte.toUnsignedInt(in.get());
+            if (version != VERSION) throw new IOException("Unsupported progress version " + version);
+            int flags = Byte.toUnsignedInt(in.get());
+
+            Progress p = new Progress();
+            if ((flags & HAS_USER) != 0) p.setUserName(str(in));
+            if ((flags & HAS_DUNGEON) != 0) p.setDungeonID(new UUID(in.getLong(), in.getLong()));
+            if ((flags & HAS_ROOM) != 0) p.setCurrentRoomID(new UUID(in.getLong(), in.getLong()));
+            if ((flags & HAS_SLOT) != 0) p.setSlot(str(in));
+            long zz = varint(in);
+            p.setElapsedTime((zz >>> 1) ^ -(zz & 1));
+
+            int count = (int) varint(in);
+            if (count > 0) {
+                PuzzleKeyDictionary dict = dicts.forDungeon(p.getDungeonID());
+                for (int i = 0; i < count; i++) {
+                    String key = dict.keyAt((int) varint(in));
+                    int ordinal = Byte.toUnsignedInt(in.get());
+                    if (key != null && ordinal < STATES.length) p.getPuzzleState().put(key, STATES[ordinal]);
+                }
+            }
+            return p;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated progress record", e);
+        }
+    }
+
+    private static String str(ByteBuffer in) {
+        int len = (int) varint(in);
+        if (len > in.remaining()) throw new BufferUnderflowException();
+        String s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+        in.position(in.position() + len);
+        return s;
+    }
+
+    private static long varint(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    /** Minimal growable byte sink. */
+    private static final class Out {
+        private byte[] buf;
+        private int len;
+
+        Out(int capacity) { buf = new byte[capacity]; }
+
+        void u8(int v) {
+            ensure(1);
+            buf[len++] = (byte) v;
+        }
+
+        void bytes(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+        }
+
+        void varint(long v) {
+            ensure(10);
+            while ((v & ~0x7fL) != 0) {
+                buf[len++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            buf[len++] = (byte) v;
+        }
+
+        void uuid(UUID id) {
+            long64(id.getMostSignificantBits());
+            long64(id.getLeastSignificantBits());
+        }
+
+        void long64(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) buf[len++] = (byte) (v >>> shift);
+        }
+
+        void str(String s) {
+            byte[] utf = s.getBytes(StandardCharsets.UTF_8);
+            varint(utf.length);
+            bytes(utf);
+        }
+
+        byte[] toByteArray() { return Arrays.copyOf(buf, len); }
+
+        private void ensure(int n) {
+            if (len + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+        }
+    }
+}
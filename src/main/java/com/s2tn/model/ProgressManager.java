@@ -1,17 +1,34 @@
 package com.s2tn.model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Manages saving, loading, and deleting player progress.
- * Stores all saved progress in memory using save slots.
+ * Slots are keyed by (user name, slot name) and persisted as files under
+ * {@link DataConstants#progressPath()}, so saves survive restarts.
+ * Progress without a user name, and the slot-only methods, use a shared area.
  */
 public class ProgressManager {
 
-    private static final Map<String, Progress> savedProgress = new HashMap<>();
+    private static final String AUTOSAVE = "autosave";
+
+    private final ProgressStore store;
+
+    /** Creates a manager over the default progress directory. */
+    public ProgressManager() {
+        this(DataConstants.progressPath());
+    }
+
+    /**
+     * Creates a manager over the given progress directory.
+     *
+     * @param root directory holding one subdirectory per user
+     */
+    ProgressManager(Path root) {
+        this.store = ProgressStore.forRoot(root);
+    }
 
     /**
      * Saves the given progress using its assigned slot or "autosave" if none is set.
@@ -21,7 +38,7 @@ public class ProgressManager {
     public void saveProgress(Progress progress) {
         if (progress == null) return;
         String slot = (progress.getSlot() == null || progress.getSlot().isBlank())
-                ? "autosave" : progress.getSlot();
+                ? AUTOSAVE : progress.getSlot();
         save(slot, progress);
     }
 
@@ -32,11 +49,11 @@ public class ProgressManager {
      * @return the loaded progress, or null if none exists
      */
     public Progress loadProgress(String userName) {
-        return load("autosave");
+        return load(userName, AUTOSAVE);
     }
 
     /**
-     * Saves a copy of the given progress to the specified slot.
+     * Saves a copy of the given progress to the specified slot of its user.
      *
      * @param slot the save slot name
      * @param progress the progress data to save
@@ -48,60 +65,113 @@ public class ProgressManager {
         copy.setUserName(progress.getUserName());
         copy.setDungeonID(progress.getDungeonID());
         copy.setCurrentRoomID(progress.getCurrentRoomID());
-        copy.setPuzzleState(new HashMap<>(progress.getPuzzleState()));  // shallow copy OK (values are enums)
+        copy.setPuzzleState(progress.getPuzzleState());
         copy.setElapsedTime(progress.getElapsedTime());
         copy.setSlot(slot);
 
-        savedProgress.put(slot, copy);
-        System.out.println("Progress saved to slot: " + slot);
+        JfrEvents.ProgressSave event = new JfrEvents.ProgressSave();
+        event.begin();
+        boolean ok = false;
+        try {
+            store.save(progress.getUserName(), slot, copy);
+            ok = true;
+            System.out.println("Progress saved to slot: " + slot);
+        } catch (IOException e) {
+            System.err.println("Failed to save progress to slot " + slot + ": " + e.getMessage());
+        }
+        if (event.shouldCommit()) {
+            event.user = progress.getUserName();
+            event.slot = slot;
+            event.succeeded = ok;
+            event.commit();
+        }
     }
 
     /**
-     * Loads progress data from a specified slot.
+     * Loads progress data from a slot in the shared area.
      *
      * @param slot the save slot name
      * @return a copy of the saved progress, or null if not found
      */
     public Progress load(String slot) {
+        return load(null, slot);
+    }
+
+    /**
+     * Loads progress data from one of a user's slots.
+     *
+     * @param userName the slot owner
+     * @param slot the save slot name
+     * @return a copy of the saved progress, or null if not found
+     */
+    public Progress load(String userName, String slot) {
         if (slot == null || slot.isBlank()) return null;
-        Progress saved = savedProgress.get(slot);
-        if (saved == null) {
-            System.out.println("No progress found for slot: " + slot);
-            return null;
+        JfrEvents.ProgressLoad event = new JfrEvents.ProgressLoad();
+        event.begin();
+        Progress saved = null;
+        try {
+            saved = store.load(userName, slot);
+            if (saved == null) {
+                System.out.println("No progress found for slot: " + slot);
+            } else {
+                System.out.println("Progress loaded from slot: " + slot);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to load progress from slot " + slot + ": " + e.getMessage());
         }
-        
-        Progress copy = new Progress();
-        copy.setUserName(saved.getUserName());
-        copy.setDungeonID(saved.getDungeonID());
-        copy.setCurrentRoomID(saved.getCurrentRoomID());
-        copy.setPuzzleState(new HashMap<>(saved.getPuzzleState()));
-        copy.setElapsedTime(saved.getElapsedTime());
-        copy.setSlot(saved.getSlot());
-
-        System.out.println("Progress loaded from slot: " + slot);
-        return copy;
+        if (event.shouldCommit()) {
+            event.user = userName;
+            event.slot = slot;
+            event.found = saved != null;
+            event.commit();
+        }
+        return saved;
     }
 
     /**
-     * Returns a list of all saved slot names.
+     * Returns a list of the slot names in the shared area.
      *
      * @return list of available save slots
      */
     public List<String> listSlots() {
-        return new ArrayList<>(savedProgress.keySet());
+        return listSlots(null);
     }
 
     /**
-     * Deletes the progress saved in the specified slot, if it exists.
+     * Returns a list of a user's slot names.
+     *
+     * @param userName the slot owner
+     * @return list of available save slots
+     */
+    public List<String> listSlots(String userName) {
+        return store.list(userName);
+    }
+
+    /**
+     * Deletes the progress saved in the specified shared slot, if it exists.
      *
      * @param slot the save slot name
      */
     public void delete(String slot) {
+        delete(null, slot);
+    }
+
+    /**
+     * Deletes the progress saved in one of a user's slots, if it exists.
+     *
+     * @param userName the slot owner
+     * @param slot the save slot name
+     */
+    public void delete(String userName, String slot) {
         if (slot == null || slot.isBlank()) return;
-        if (savedProgress.remove(slot) != null) {
-            System.out.println("Progress deleted for slot: " + slot);
-        } else {
-            System.out.println("No progress found to delete for slot: " + slot);
+        try {
+            if (store.delete(userName, slot)) {
+                System.out.println("Progress deleted for slot: " + slot);
+            } else {
+                System.out.println("No progress found to delete for slot: " + slot);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete progress slot " + slot + ": " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,237 @@
+package com.s2tn.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * File-backed save slots used by {@link ProgressManager}.
+ * Each (user, slot) pair is one small file, {@code <root>/<user>/<slot>.save}, encoded with
+ * {@link ProgressCodec} and replaced atomically on every save; puzzle key dictionaries live in
+ * {@code <root>/%keys/<dungeon>.keys}. Older JSON slot files are still read.
+ * Slot names per user are read from disk the first time that user is touched and kept in
+ * memory afterwards, so save, list and delete never scan other users.
+ * Saves for one user are serialized; different users never contend.
+ * One instance exists per root directory.
+ */
+final class ProgressStore {
+
+    /** Directory used for progress that has no user name (cannot collide with an encoded name). */
+    static final String SHARED = "%shared";
+
+    private static final String EXT = ".save";
+    private static final String KEYS = "%keys";
+    private static final String NO_DUNGEON = "%none";
+    private static final Map<Path, ProgressStore> OPEN = new ConcurrentHashMap<>();
+
+    private final Path root;
+    private final Map<String, Set<String>> slotsByUser = new ConcurrentHashMap<>();
+    private final Map<String, PuzzleKeyDictionary> dictionaries = new ConcurrentHashMap<>();
+
+    private ProgressStore(Path root) {
+        this.root = root;
+    }
+
+    /** Returns the store for the given root directory, creating it on first use. */
+    static ProgressStore forRoot(Path root) {
+        return OPEN.computeIfAbsent(root.toAbsolutePath().normalize(), ProgressStore::new);
+    }
+
+    /**
+     * Writes a progress snapshot to a slot, replacing what was there.
+     *
+     * @param userName owner of the slot (null or blank for the shared area)
+     * @param slot     slot name
+     * @param progress progress to store
+     * @throws IOException if the slot file cannot be written
+     */
+    void save(String userName, String slot, Progress progress) throws IOException {
+        String dir = userDir(userName);
+        Set<String> slots = slots(dir);
+        synchronized (slots) {
+            byte[] data = ProgressCodec.encode(progress, dictionary(progress.getDungeonID()));
+            AtomicFiles.write(file(dir, slot), data, data.length);
+            slots.add(slot);
+        }
+    }
+
+    /**
+     * Reads a slot.
+     *
+     * @param userName owner of the slot (null or blank for the shared area)
+     * @param slot     slot name
+     * @return the stored progress, or null if the slot does not exist
+     * @throws IOException if the slot file cannot be read or is malformed
+     */
+    Progress load(String userName, String slot) throws IOException {
+        String dir = userDir(userName);
+        if (!slots(dir).contains(slot)) return null;
+        try {
+            byte[] data = Files.readAllBytes(file(dir, slot));
+            if (ProgressCodec.isBinary(data)) return ProgressCodec.decode(data, this::dictionary);
+            return decodeJson(new String(data, StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (ParseException e) {
+            throw new IOException("Malformed save slot " + file(dir, slot) + ": " + e, e);
+        }
+    }
+
+    /** Returns a user's slot names in alphabetical order. */
+    List<String> list(String userName) {
+        List<String> out = new ArrayList<>(slots(userDir(userName)));
+        Collections.sort(out);
+        return out;
+    }
+
+    /**
+     * Deletes a slot.
+     *
+     * @return true if the slot existed
+     * @throws IOException if the slot file cannot be removed
+     */
+    boolean delete(String userName, String slot) throws IOException {
+        String dir = userDir(userName);
+        Set<String> slots = slots(dir);
+        synchronized (slots) {
+            if (!slots.remove(slot)) return false;
+            Files.deleteIfExists(file(dir, slot));
+            return true;
+        }
+    }
+
+    // -------- layout --------
+
+    /** Returns the puzzle key dictionary shared by every slot of one dungeon. */
+    PuzzleKeyDictionary dictionary(UUID dungeonId) {
+        String name = dungeonId == null ? NO_DUNGEON : encodeName(dungeonId.toString());
+        return dictionaries.computeIfAbsent(name, n -> new PuzzleKeyDictionary(root.resolve(KEYS).resolve(n + ".keys")));
+    }
+
+    private Set<String> slots(String dir) {
+        return slotsByUser.computeIfAbsent(dir, this::scan);
+    }
+
+    /** Lists the slot files already on disk for one user directory. */
+    private Set<String> scan(String dir) {
+        Set<String> found = ConcurrentHashMap.newKeySet();
+        Path userRoot = root.resolve(dir);
+        if (!Files.isDirectory(userRoot)) return found;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userRoot, "*" + EXT)) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                found.add(decodeName(name.substring(0, name.length() - EXT.length())));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to list save slots in " + userRoot.toAbsolutePath() + ": " + e.getMessage());
+        }
+        return found;
+    }
+
+    private Path file(String dir, String slot) {
+        return root.resolve(dir).resolve(encodeName(slot) + EXT);
+    }
+
+    private static String userDir(String userName) {
+        return (userName == null || userName.isBlank()) ? SHARED : encodeName(userName);
+    }
+
+    /**
+     * Turns a user or slot name into a file name that is safe on every platform.
+     * Lower-case letters, digits, '-' and '_' are kept; everything else, including upper-case
+     * letters (so names differing only in case stay apart on case-insensitive file systems)
+     * and '.', becomes %XX of its UTF-8 bytes.
+     */
+    static String encodeName(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 8);
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xff;
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+                sb.append((char) c);
+            } else {
+                sb.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                  .append(Character.toUpperCase(Character.forDigit(c & 0xf, 16)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Reverses {@link #encodeName(String)}. */
+    static String decodeName(String encoded) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length());
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '%' && i + 2 < encoded.length()) {
+                out.write(Integer.parseInt(encoded.substring(i + 1, i + 3), 16));
+                i += 2;
+            } else {
+                out.write(c);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // -------- JSON slot format (written before the binary codec; still readable) --------
+
+    @SuppressWarnings("unchecked")
+    static String encodeJson(Progress p) {
+        JSONObject o = new JSONObject();
+        o.put("userName", p.getUserName());
+        o.put("dungeonID", p.getDungeonID() == null ? null : p.getDungeonID().toString());
+        o.put("currentRoomID", p.getCurrentRoomID() == null ? null : p.getCurrentRoomID().toString());
+        o.put("elapsedTime", p.getElapsedTime());
+        o.put("slot", p.getSlot());
+        JSONObject states = new JSONObject();
+        for (Map.Entry<String, PuzzleState> e : p.getPuzzleState().entrySet()) {
+            if (e.getKey() != null && e.getValue() != null) states.put(e.getKey(), e.getValue().name());
+        }
+        o.put("puzzleState", states);
+        return o.toJSONString();
+    }
+
+    static Progress decodeJson(String text) throws ParseException {
+        if (!(new JSONParser().parse(text) instanceof JSONObject o)) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "progress object");
+        }
+        Progress p = new Progress();
+        p.setUserName(DataLoader.asString(o.get("userName")));
+        p.setDungeonID(parseUuid(o.get("dungeonID")));
+        p.setCurrentRoomID(parseUuid(o.get("currentRoomID")));
+        p.setElapsedTime(o.get("elapsedTime") instanceof Number n ? n.longValue() : 0L);
+        p.setSlot(DataLoader.asString(o.get("slot")));
+        if (o.get("puzzleState") instanceof JSONObject states) {
+            for (Object k : states.keySet()) {
+                try {
+                    p.getPuzzleState().put(String.valueOf(k), PuzzleState.valueOf(String.valueOf(states.get(k))));
+                } catch (IllegalArgumentException ignore) {
+                    // state written by a newer version; leave the puzzle unset
+                }
+            }
+        }
+        return p;
+    }
+
+    private static UUID parseUuid(Object v) {
+        if (v == null) return null;
+        try {
+            return UUID.fromString(String.valueOf(v));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -11,17 +11,44 @@ import java.util.UUID;
  */
 public abstract class Puzzle {
 
-    private final UUID puzzleID = UUID.randomUUID();
+    private final UUID puzzleID;
     private String title;
     private PuzzleState state = PuzzleState.INIT;
 
-    private final ArrayList<Hint> hints = new ArrayList<>();
+    private ArrayList<Hint> hints;
+    private boolean hintsShared; // run copy still points at the template's hint list
     private int maxHints = 0;
 
     private String rewardItem;
     private boolean requiresItem = false;
     private String requiredItemKey;
 
+    // analyzer counting this puzzle's progress, told about every state change
+    private DungeonAnalyzer analyzer;
+    private int analyzerIndex = -1;
+
+    /** Creates a puzzle with a new id. */
+    protected Puzzle() {
+        this.puzzleID = UUID.randomUUID();
+        this.hints = new ArrayList<>();
+    }
+
+    /**
+     * Creates a run copy for {@link #newRun()}: same id, state INIT, and the template's
+     * content (title, hints, item rules) shared rather than copied. Adding a hint to the copy
+     * gives it its own hint list first.
+     */
+    protected Puzzle(Puzzle template) {
+        this.puzzleID = template.puzzleID;
+        this.title = template.title;
+        this.hints = template.hints;
+        this.hintsShared = true;
+        this.maxHints = template.maxHints;
+        this.rewardItem = template.rewardItem;
+        this.requiresItem = template.requiresItem;
+        this.requiredItemKey = template.requiredItemKey;
+    }
+
     /** Returns the unique ID of this puzzle. */
     public UUID getPuzzleID() { return puzzleID; }
 
@@ -35,10 +62,27 @@ public abstract class Puzzle {
     public PuzzleState getState() { return state; }
 
     /** Sets the current state of the puzzle. */
-    public void setState(PuzzleState state) { this.state = state == null ? PuzzleState.INIT : state; }
+    public void setState(PuzzleState state) {
+        PuzzleState old = this.state;
+        this.state = state == null ? PuzzleState.INIT : state;
+        if (analyzer != null && old != this.state) analyzer.onStateChange(analyzerIndex, old, this.state);
+    }
+
+    /** Records the analyzer (and this puzzle's index in it) that tracks this puzzle's state. */
+    void track(DungeonAnalyzer analyzer, int index) {
+        this.analyzer = analyzer;
+        this.analyzerIndex = index;
+    }
 
     /** Adds a hint to the puzzle. */
-    public void addHint(Hint h) { if (h != null) hints.add(h); }
+    public void addHint(Hint h) {
+        if (h == null) return;
+        if (hintsShared) {
+            hints = new ArrayList<>(hints);
+            hintsShared = false;
+        }
+        hints.add(h);
+    }
 
     /** Returns a list of all hints for this puzzle. */
     public List<Hint> getHints() { return hints; }
@@ -69,11 +113,61 @@ public abstract class Puzzle {
 
     /**
      * Handles user input and returns a {@link ValidationResult}.
+     * Emits a {@code com.s2tn.PuzzleInput} flight recorder event when a recording enables it.
+     *
+     * @param input the player's input
+     * @return the validation result
+     */
+    public final ValidationResult enterInput(String input) {
+        JfrEvents.PuzzleInput event = new JfrEvents.PuzzleInput();
+        event.begin();
+        ValidationResult result = handleInput(input);
+        if (event.shouldCommit()) {
+            event.puzzleType = getClass().getSimpleName();
+            event.puzzleId = String.valueOf(puzzleID);
+            event.valid = result != null && result.isValid();
+            event.outcome = result == null || result.getNewState() == null ? null : result.getNewState().name();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Puzzle-specific handling behind {@link #enterInput}.
      *
      * @param input the player's input
      * @return the validation result
      */
-    public abstract ValidationResult enterInput(String input);
+    protected abstract ValidationResult handleInput(String input);
+
+    /**
+     * Validates input without changing this puzzle, so one instance can serve many
+     * {@link GameSession}s. Puzzles whose progress lives in the puzzle itself (boards, poses)
+     * cannot be checked this way and return null.
+     *
+     * @param input the player's input
+     * @return the validation result, or null if this puzzle only supports {@link #enterInput}
+     */
+    public ValidationResult check(String input) {
+        return null;
+    }
+
+    /**
+     * Returns a copy of this puzzle for one player's run: it shares this puzzle's content and
+     * holds only its own play state, starting over. Puzzles that answer through
+     * {@link #check(String)} need no copies and return null.
+     */
+    protected Puzzle newRun() {
+        return null;
+    }
+
+    /**
+     * Returns the state a fresh, unplayed puzzle of this kind starts in, regardless of how far
+     * this object has been played. {@link DungeonIndex} captures it for new sessions.
+     */
+    protected PuzzleState initialState() {
+        return PuzzleState.INIT;
+    }
 
     /**
      * Checks a specific achievement condition related to this puzzle.
@@ -0,0 +1,154 @@
+package com.s2tn.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary of the puzzle keys used by one dungeon's saved progress.
+ * {@link ProgressCodec} stores each puzzle key as its index here instead of the string,
+ * so a save slot only carries small integers. A key is assigned the next index the first
+ * time it is seen. All keys new to one encode are appended to the dictionary file in one
+ * write (and forced to disk once) before any slot referring to them is written. Records
+ * are a 2-byte length followed by UTF-8 bytes; a record torn by a crash is dropped on load.
+ */
+final class PuzzleKeyDictionary {
+
+    private final Path file;
+    private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[16]; // grown by doubling; slots [0, count) are in use
+    private volatile int count;
+    private volatile boolean loaded;
+
+    /**
+     * Creates a dictionary backed by the given file; nothing is read until first use.
+     *
+     * @param file dictionary file (created on the first new key)
+     */
+    PuzzleKeyDictionary(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the index of a key, adding the key if it is new.
+     *
+     * @param key puzzle key
+     * @return its index
+     * @throws IOException if a new key cannot be persisted
+     */
+    int intern(String key) throws IOException {
+        return internAll(List.of(key))[0];
+    }
+
+    /**
+     * Returns the indexes of several keys, adding the new ones with a single append and sync.
+     *
+     * @param batch puzzle keys
+     * @return their indexes, in the same order
+     * @throws IOException if the new keys cannot be persisted
+     */
+    int[] internAll(List<String> batch) throws IOException {
+        ensureLoaded();
+        int[] out = new int[batch.size()];
+        if (lookup(batch, out)) return out;
+        synchronized (this) {
+            if (lookup(batch, out)) return out;
+            LinkedHashMap<String, Integer> fresh = new LinkedHashMap<>();
+            int next = count;
+            ByteArrayOutputStream recs = new ByteArrayOutputStream();
+            for (String key : batch) {
+                if (indexes.containsKey(key) || fresh.containsKey(key)) continue;
+                byte[] utf = key.getBytes(StandardCharsets.UTF_8);
+                if (utf.length > 0xFFFF) throw new IOException("Puzzle key too long: " + utf.length + " bytes");
+                recs.write(utf.length >>> 8);
+                recs.write(utf.length);
+                recs.write(utf, 0, utf.length);
+                fresh.put(key, next++);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(recs.toByteArray());
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                while (buf.hasRemaining()) ch.write(buf);
+                ch.force(false);
+            }
+            String[] k = keys;
+            if (next > k.length) k = Arrays.copyOf(k, Math.max(next, k.length * 2));
+            for (Map.Entry<String, Integer> e : fresh.entrySet()) k[e.getValue()] = e.getKey();
+            keys = k;
+            count = next; // publishes the new slots to keyAt
+            indexes.putAll(fresh);
+            lookup(batch, out);
+            return out;
+        }
+    }
+
+    /** Fills in the indexes of known keys; returns false if any key is new. */
+    private boolean lookup(List<String> batch, int[] out) {
+        for (int i = 0; i < out.length; i++) {
+            Integer idx = indexes.get(batch.get(i));
+            if (idx == null) return false;
+            out[i] = idx;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the key stored at an index.
+     *
+     * @param index index previously returned by {@link #intern(String)}
+     * @return the key, or null if the index is unknown
+     * @throws IOException if the dictionary file cannot be read
+     */
+    String keyAt(int index) throws IOException {
+        ensureLoaded();
+        int n = count;
+        return (index >= 0 && index < n) ? keys[index] : null;
+    }
+
+    /** Returns the number of keys. */
+    int size() throws IOException {
+        ensureLoaded();
+        return count;
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            if (Files.exists(file)) {
+                ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+                String[] read = new String[16];
+                int n = 0;
+                while (buf.remaining() >= 2) {
+                    int len = Short.toUnsignedInt(buf.getShort(buf.position()));
+                    if (buf.remaining() < 2 + len) break;
+                    buf.position(buf.position() + 2);
+                    String key = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+                    buf.position(buf.position() + len);
+                    if (n == read.length) read = Arrays.copyOf(read, n * 2);
+                    indexes.putIfAbsent(key, n);
+                    read[n++] = key;
+                }
+                if (buf.hasRemaining()) {
+                    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        ch.truncate(buf.position());
+                    }
+                }
+                keys = read;
+                count = n;
+            }
+            loaded = true;
+        }
+    }
+}
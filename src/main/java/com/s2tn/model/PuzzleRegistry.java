@@ -0,0 +1,216 @@
+package com.s2tn.model;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * Registry of puzzle factories used by {@link DataLoader} to build puzzles from rooms.json.
+ * A factory is chosen by the puzzle's declared {@code "type"} field; definitions without a
+ * known type fall back to sniffing the keys they carry (question/answer, scrambledWord, ...).
+ * Fields shared by every puzzle (hints, items) are bound directly through {@link Puzzle} setters.
+ */
+public final class PuzzleRegistry {
+
+    /**
+     * Creates a puzzle of one concrete type from its JSON definition.
+     */
+    @FunctionalInterface
+    public interface Factory {
+
+        /**
+         * Builds the type-specific part of a puzzle.
+         *
+         * @param title puzzle title, defaulted to "Puzzle" when missing
+         * @param json  the puzzle's JSON definition
+         * @return the new puzzle
+         */
+        Puzzle create(String title, JSONObject json);
+    }
+
+    public static final String RIDDLE = "RIDDLE";
+    public static final String SCRAMBLE = "SCRAMBLE";
+    public static final String CODE = "CODE";
+    public static final String MAZE = "MAZE";
+
+    private static final Map<String, Factory> FACTORIES = new ConcurrentHashMap<>();
+
+    static {
+        register(RIDDLE, PuzzleRegistry::riddle);
+        register(SCRAMBLE, PuzzleRegistry::scramble);
+        register(CODE, PuzzleRegistry::code);
+        register(MAZE, PuzzleRegistry::maze);
+    }
+
+    private PuzzleRegistry() {}
+
+    /**
+     * Registers (or replaces) the factory for a puzzle type. Type names are case-insensitive.
+     *
+     * @param type    value of the "type" field this factory handles
+     * @param factory the factory to use
+     */
+    public static void register(String type, Factory factory) {
+        if (type == null || type.isBlank() || factory == null) return;
+        FACTORIES.put(normalize(type), factory);
+    }
+
+    /** Returns the factory registered for a type, or null if none is. */
+    public static Factory get(String type) {
+        return type == null ? null : FACTORIES.get(normalize(type));
+    }
+
+    /**
+     * Builds a puzzle from its JSON definition.
+     *
+     * @param pJson JSON object representing a puzzle
+     * @return constructed puzzle, or null if the definition is null
+     */
+    public static Puzzle create(JSONObject pJson) {
+        if (pJson == null) return null;
+
+        Factory factory = get(DataLoader.asString(pJson.get("type")));
+        if (factory == null) factory = FACTORIES.get(sniffType(pJson));
+
+        Puzzle pz = factory.create(DataLoader.asString(pJson.get("title"), "Puzzle"), pJson);
+        if (pz != null) bindCommon(pz, pJson);
+        return pz;
+    }
+
+    /**
+     * Works out the puzzle type from the keys present, for definitions without a "type".
+     *
+     * @param pJson JSON object representing a puzzle
+     * @return one of {@link #RIDDLE}, {@link #SCRAMBLE} or {@link #CODE}
+     */
+    static String sniffType(JSONObject pJson) {
+        if (pJson.get("question") != null && pJson.get("answer") != null) return RIDDLE;
+        if (pJson.get("scrambledWord") != null) return SCRAMBLE;
+        return CODE;
+    }
+
+    // -------- built-in factories --------
+
+    /** Riddle (question + answer). */
+    private static Puzzle riddle(String title, JSONObject pJson) {
+        String q = DataLoader.asString(pJson.get("question"), "");
+        String a = DataLoader.asString(pJson.get("answer"), "");
+        String singleHint = DataLoader.asString(pJson.get("hint"), null);
+        Riddle r = new Riddle(title, q, a, singleHint);
+        if (pJson.get("alternateAnswers") instanceof JSONArray arr) {
+            for (Object o : arr) if (o instanceof String s) r.addAlternateAnswer(s);
+        }
+        r.setIgnoreAccents(ignoreAccents(pJson));
+        return r;
+    }
+
+    /** Scramble (scrambledWord + solution), played as a code puzzle. */
+    private static Puzzle scramble(String title, JSONObject pJson) {
+        String scrambled = DataLoader.asString(pJson.get("scrambledWord"), "");
+        String solution = DataLoader.asString(pJson.get("solution"), "");
+        CodePuzzle cp = new CodePuzzle();
+        cp.setTitle(title);
+        cp.setCodePrompt("Unscramble the letters: " + scrambled);
+        if (!solution.isBlank()) cp.addAcceptedCode(solution);
+        cp.setIgnoreAccents(ignoreAccents(pJson));
+        return cp;
+    }
+
+    /**
+     * Code (codePrompt + expectedCode). Definitions with neither field fall back to
+     * acceptedCodes / solution; as before the registry, the two forms are never mixed.
+     */
+    private static Puzzle code(String title, JSONObject pJson) {
+        CodePuzzle cp = new CodePuzzle();
+        cp.setTitle(title);
+        if (pJson.get("codePrompt") != null || pJson.get("expectedCode") != null) {
+            cp.setCodePrompt(DataLoader.asString(pJson.get("codePrompt"), ""));
+            String expected = DataLoader.asString(pJson.get("expectedCode"), "");
+            if (!expected.isBlank()) cp.addAcceptedCode(expected);
+        } else {
+            if (pJson.get("acceptedCodes") instanceof JSONArray arr) {
+                for (Object o : arr) if (o instanceof String s) cp.addAcceptedCode(s);
+            }
+            if (pJson.get("solution") != null) cp.addAcceptedCode(DataLoader.asString(pJson.get("solution"), ""));
+        }
+        cp.setIgnoreAccents(ignoreAccents(pJson));
+        return cp;
+    }
+
+    /**
+     * Maze (rows + cols, with start, end and walls as [row, col] pairs, or generated from a
+     * seed). The maze is solved while loading, so an unsolvable one is rejected here and the
+     * route field that hints read from is already built.
+     */
+    private static Puzzle maze(String title, JSONObject pJson) {
+        int rows = DataLoader.asInt(pJson.get("rows"));
+        int cols = DataLoader.asInt(pJson.get("cols"));
+        Maze m;
+        try {
+            if (pJson.get("seed") != null) {
+                Object seed = pJson.get("seed");
+                m = Maze.generate(rows, cols, seed instanceof Number n ? n.longValue() : DataLoader.asInt(seed));
+            } else {
+                m = new Maze();
+                m.setGrid(rows, cols, DataLoader.asString(pJson.get("start"), "0,0"),
+                        DataLoader.asString(pJson.get("end"), (rows - 1) + "," + (cols - 1)));
+                if (pJson.get("walls") instanceof JSONArray walls) {
+                    for (Object o : walls) {
+                        if (o instanceof JSONArray w && w.size() == 2) {
+                            m.addWall(DataLoader.asInt(w.get(0)), DataLoader.asInt(w.get(1)));
+                        }
+                    }
+                }
+            }
+            if (!m.getSolver().isSolvable()) {
+                System.err.println("Skipping unsolvable maze \"" + title + "\"");
+                return null;
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Skipping maze \"" + title + "\": " + e.getMessage());
+            return null;
+        }
+        m.setTitle(title);
+        return m;
+    }
+
+    // -------- shared fields --------
+
+    /** Binds hints and item requirements/rewards common to every puzzle type. */
+    private static void bindCommon(Puzzle pz, JSONObject pJson) {
+        if (pJson.get("hints") instanceof JSONArray hArr) {
+            int count = 0;
+            for (Object hObj : hArr) {
+                if (hObj instanceof JSONObject hJson) {
+                    pz.addHint(DataLoader.parseHint(hJson));
+                    count++;
+                }
+            }
+            pz.setMaxHints(count);
+        }
+
+        String rewardItem = DataLoader.asString(pJson.get("rewardItem"));
+        if (rewardItem != null && !rewardItem.isBlank()) pz.setRewardItem(rewardItem);
+
+        Object rq = pJson.get("requiresItem");
+        boolean requiresItem = (rq instanceof Boolean b) ? b : (rq != null && "true".equalsIgnoreCase(String.valueOf(rq)));
+        if (requiresItem) {
+            pz.setRequiresItem(true);
+            String requiredKey = DataLoader.asString(pJson.get("requiredItemKey"));
+            if (requiredKey != null && !requiredKey.isBlank()) pz.setRequiredItemKey(requiredKey);
+        }
+    }
+
+    /** Reads the optional "ignoreAccents" flag (boolean or "true"). */
+    private static boolean ignoreAccents(JSONObject pJson) {
+        Object v = pJson.get("ignoreAccents");
+        return (v instanceof Boolean b) ? b : (v != null && "true".equalsIgnoreCase(String.valueOf(v)));
+    }
+
+    private static String normalize(String type) {
+        return type.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -7,7 +7,7 @@ import java.time.Duration;
  */
 public class Riddle extends Puzzle {
     private String question;
-    private String answer;
+    private final AnswerIndex answers = new AnswerIndex(); // answer, normalized once
     private String hint;
 
     /** Creates an empty riddle with default values. */
@@ -29,7 +29,7 @@ public class Riddle extends Puzzle {
     public Riddle(String title, String question, String answer, String hint) {
         setTitle(title == null ? "Riddle" : title);
         this.question = question == null ? "" : question;
-        this.answer = answer == null ? "" : answer;
+        this.answers.add(answer == null ? "" : answer);
         this.hint = hint;
         setState(PuzzleState.INIT);
         setMaxHints(hint == null ? 0 : 1);
@@ -41,26 +41,40 @@ public class Riddle extends Puzzle {
     /** Returns the hint for this riddle. */
     public String getHint() { return hint; }
 
+    /** Adds another accepted answer, compared the same way as the main one. */
+    public void addAlternateAnswer(String alternate) {
+        answers.add(alternate);
+    }
+
+    /** Sets whether accents are ignored when comparing answers (so "naive" matches "naïve"). */
+    public void setIgnoreAccents(boolean ignore) {
+        answers.setStripAccents(ignore);
+    }
+
     /**
      * Validates the player's answer and updates the puzzle state.
+     * Case, surrounding and repeated whitespace are ignored.
      *
      * @param input the player's answer
      * @return a validation result indicating correctness and new state
      */
     @Override
-    public ValidationResult enterInput(String input) {
+    protected ValidationResult handleInput(String input) {
+        ValidationResult result = check(input);
+        setState(result.getNewState());
+        return result;
+    }
+
+    /** Validates an answer the same way as {@link #enterInput}, without changing state. */
+    @Override
+    public ValidationResult check(String input) {
         if (input == null) {
-            setState(PuzzleState.IN_PROGRESS);
             return ValidationResult.invalidFormat("No answer entered.", PuzzleState.IN_PROGRESS);
         }
-        boolean ok = input.trim().equalsIgnoreCase(answer.trim());
-        if (ok) {
-            setState(PuzzleState.SOLVED);
+        if (answers.matches(input)) {
             return ValidationResult.valid("Correct code.", PuzzleState.SOLVED);
-        } else {
-            setState(PuzzleState.IN_PROGRESS);
-            return ValidationResult.invalidFormat("Incorrect code.", PuzzleState.IN_PROGRESS);
         }
+        return ValidationResult.invalidFormat("Incorrect code.", PuzzleState.IN_PROGRESS);
     }
 
     /**
@@ -1,18 +1,28 @@
 package com.s2tn.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents a room in a dungeon that may contain puzzles, hints, and exits to other rooms.
+ * Exits are kept in exactly-sized arrays (rooms without exits share one empty array); the
+ * dungeon-wide view is a {@link RoomGraph}.
  */
 public class Room {
+    private static final Room[] NO_EXITS = new Room[0];
+
     private UUID roomID;
     private ArrayList<Puzzle> puzzles;
     private ArrayList<Hint> hints;
     private Room[] exits;
     private Room[] lockedExits;
 
+    // graph this room was last indexed into, kept in step by unlock()
+    private RoomGraph graph;
+    private int graphIndex = -1;
+
     /** 
      * Creates a room with puzzles, hints, and exits.
      *
@@ -25,16 +35,15 @@ public class Room {
         this.roomID = UUID.randomUUID();
         this.puzzles = (puzzles != null) ? puzzles : new ArrayList<>();
         this.hints = (hints != null) ? hints : new ArrayList<>();
-        this.exits = new Room[10];
-        this.lockedExits = new Room[10];
-
-        ArrayList<Room> ex = (exits != null) ? exits : new ArrayList<>();
-        ArrayList<Room> lex = (lockedExits != null) ? lockedExits : new ArrayList<>();
+        this.exits = compact(exits);
+        this.lockedExits = compact(lockedExits);
+    }
 
-        for (int i = 0; i < this.exits.length; i++) {
-            if (i < ex.size()) this.exits[i] = ex.get(i);
-            if (i < lex.size()) this.lockedExits[i] = lex.get(i);
-        }
+    /** Copies the non-null rooms of a list into an exactly-sized array. */
+    private static Room[] compact(List<Room> list) {
+        if (list == null || list.isEmpty()) return NO_EXITS;
+        Room[] out = list.stream().filter(r -> r != null).toArray(Room[]::new);
+        return out.length == 0 ? NO_EXITS : out;
     }
 
     /** Creates an empty room with the given name. */
@@ -48,10 +57,10 @@ public class Room {
     /** Returns the list of hints available in the room. */
     public ArrayList<Hint> getHints() { return hints; }
 
-    /** Returns an array of open exits from this room. */
+    /** Returns the open exits from this room (no null slots; empty if there are none). */
     public Room[] getExits() { return exits; }
 
-    /** Returns an array of locked exits from this room. */
+    /** Returns the locked exits from this room (no null slots; empty if there are none). */
     public Room[] getLockedExits() { return lockedExits; }
 
     /** Returns the unique ID for this room. */
@@ -69,6 +78,7 @@ public class Room {
             if (exists == puzzle) return false;
         }
         puzzles.add(puzzle);
+        if (graph != null) graph.puzzlesChanged();
         return true;
     }
 
@@ -88,15 +98,34 @@ public class Room {
     }
 
     /**
-     * Unlocks a previously locked exit, allowing access to the connected room.
+     * Unlocks a previously locked exit, allowing access to the connected room: the room moves
+     * from the locked exits to the open ones. O(number of exits).
      *
      * @param locked the room to unlock
      */
     public void unlock(Room locked) {
-        for (int i = 0; i < lockedExits.length; i++) {
-            if (locked == lockedExits[i]) {
-                lockedExits[i] = null;
-            }
+        if (locked == null) return;
+        int kept = 0;
+        for (Room r : lockedExits) {
+            if (r != locked) lockedExits[kept++] = r;
         }
+        if (kept == lockedExits.length) return;
+        int opened = lockedExits.length - kept;
+        lockedExits = kept == 0 ? NO_EXITS : Arrays.copyOf(lockedExits, kept);
+
+        Room[] grown = Arrays.copyOf(exits, exits.length + opened);
+        Arrays.fill(grown, exits.length, grown.length, locked);
+        exits = grown;
+
+        if (graph != null) {
+            int to = graph.indexOf(locked);
+            if (to >= 0) graph.clearLocks(graphIndex, to);
+        }
+    }
+
+    /** Records the graph (and index in it) that now holds this room's exits. */
+    void attach(RoomGraph graph, int index) {
+        this.graph = graph;
+        this.graphIndex = index;
     }
 }
@@ -0,0 +1,202 @@
+package com.s2tn.model;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Dungeon-level room graph in compressed sparse row form: room {@code i}'s exits are
+ * {@code targets[offsets[i] .. offsets[i + 1])}, with open exits first and one bit per edge
+ * in {@code locked}. Rooms are addressed by their index in the dungeon's room list.
+ * Neighbour walks, moves and unlocks are O(degree); reachability is a breadth-first search
+ * over open edges with scratch arrays kept between calls.
+ * Built from each room's exit lists by {@link Dungeon#getGraph()}; exits to rooms outside
+ * the dungeon are left out. Unlocking through the graph or through {@link Room#unlock(Room)}
+ * keeps both in step. Reachability queries share their scratch arrays, so one thread at a time.
+ */
+public final class RoomGraph {
+
+    private final Room[] rooms;
+    private final IdentityHashMap<Room, Integer> index;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] locked;
+
+    private long unlocks; // bumped by clearLocks, so analyzers can tell when exits opened
+    private volatile long puzzleEdits; // bumped when a room gains a puzzle; analyzers and indexes rebuild
+
+    // BFS scratch, allocated on first reachability query
+    private long[] visited;
+    private int[] queue;
+
+    private RoomGraph(Room[] rooms, IdentityHashMap<Room, Integer> index, int[] offsets, int[] targets, long[] locked) {
+        this.rooms = rooms;
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.locked = locked;
+    }
+
+    /**
+     * Builds the graph for a list of rooms, indexing them in list order.
+     *
+     * @param roomList the dungeon's rooms; nulls are skipped
+     * @return the graph
+     */
+    public static RoomGraph of(List<Room> roomList) {
+        Room[] rooms = roomList.stream().filter(r -> r != null).toArray(Room[]::new);
+        IdentityHashMap<Room, Integer> index = new IdentityHashMap<>(rooms.length * 2);
+        for (int i = 0; i < rooms.length; i++) index.putIfAbsent(rooms[i], i);
+
+        int[] offsets = new int[rooms.length + 1];
+        for (int i = 0; i < rooms.length; i++) {
+            offsets[i + 1] = offsets[i] + countKnown(rooms[i].getExits(), index) + countKnown(rooms[i].getLockedExits(), index);
+        }
+        int[] targets = new int[offsets[rooms.length]];
+        long[] locked = new long[(targets.length + 63) >>> 6];
+        for (int i = 0; i < rooms.length; i++) {
+            int e = offsets[i];
+            for (Room r : rooms[i].getExits()) {
+                Integer t = index.get(r);
+                if (t != null) targets[e++] = t;
+            }
+            for (Room r : rooms[i].getLockedExits()) {
+                Integer t = index.get(r);
+                if (t != null) {
+                    locked[e >>> 6] |= 1L << e;
+                    targets[e++] = t;
+                }
+            }
+        }
+
+        RoomGraph g = new RoomGraph(rooms, index, offsets, targets, locked);
+        for (int i = 0; i < rooms.length; i++) {
+            if (index.get(rooms[i]) == i) rooms[i].attach(g, i);
+        }
+        return g;
+    }
+
+    private static int countKnown(Room[] exits, IdentityHashMap<Room, Integer> index) {
+        int n = 0;
+        for (Room r : exits) if (index.containsKey(r)) n++;
+        return n;
+    }
+
+    /** Returns the number of rooms. */
+    public int size() { return rooms.length; }
+
+    /** Returns the number of exits, open and locked. */
+    public int edgeCount() { return targets.length; }
+
+    /** Returns the room at an index. */
+    public Room room(int i) { return rooms[i]; }
+
+    /** Returns a room's index, or -1 if it is not in this graph. */
+    public int indexOf(Room room) {
+        Integer i = room == null ? null : index.get(room);
+        return i == null ? -1 : i;
+    }
+
+    /** Returns the number of exits (open and locked) from a room. */
+    public int degree(int room) { return offsets[room + 1] - offsets[room]; }
+
+    /** Returns the index of the room behind a room's {@code k}-th exit. */
+    public int neighbor(int room, int k) { return targets[offsets[room] + k]; }
+
+    /** Returns true if a room's {@code k}-th exit is locked. */
+    public boolean isLocked(int room, int k) { return isLockedEdge(offsets[room] + k); }
+
+    /** Calls {@code action} with the index of every room behind an open exit. */
+    public void forEachOpenNeighbor(int room, IntConsumer action) {
+        for (int e = offsets[room], end = offsets[room + 1]; e < end; e++) {
+            if (!isLockedEdge(e)) action.accept(targets[e]);
+        }
+    }
+
+    /** Returns true if {@code from} has an open exit to {@code to}. */
+    public boolean canMove(int from, int to) {
+        for (int e = offsets[from], end = offsets[from + 1]; e < end; e++) {
+            if (targets[e] == to && !isLockedEdge(e)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Unlocks every locked exit from {@code from} to {@code to}, and the matching entry in the
+     * room's own exit lists.
+     *
+     * @return true if an exit was unlocked
+     */
+    public boolean unlock(int from, int to) {
+        boolean any = hasLockedEdge(from, to);
+        if (any) rooms[from].unlock(rooms[to]); // calls back into clearLocks
+        return any;
+    }
+
+    /** Returns true if {@code to} can be reached from {@code from} through open exits. */
+    public boolean isReachable(int from, int to) {
+        if (from == to) return true;
+        return search(from, to) < 0;
+    }
+
+    /** Returns how many rooms (including {@code from}) can be reached through open exits. */
+    public int reachableCount(int from) {
+        return search(from, -1);
+    }
+
+    // -------- internals --------
+
+    /** Clears lock bits from {@code from} to {@code to}; called by {@link Room#unlock(Room)}. */
+    void clearLocks(int from, int to) {
+        unlocks++;
+        for (int e = offsets[from], end = offsets[from + 1]; e < end; e++) {
+            if (targets[e] == to) locked[e >>> 6] &= ~(1L << e);
+        }
+    }
+
+    /** Returns how many unlocks this graph has seen. */
+    long unlockCount() { return unlocks; }
+
+    /** Records that a room's puzzle list changed; called by {@link Room#addPuzzle(Puzzle)}. */
+    void puzzlesChanged() { puzzleEdits++; }
+
+    /** Returns how many puzzle list changes this graph has seen. */
+    long puzzleEditCount() { return puzzleEdits; }
+
+    private boolean hasLockedEdge(int from, int to) {
+        for (int e = offsets[from], end = offsets[from + 1]; e < end; e++) {
+            if (targets[e] == to && isLockedEdge(e)) return true;
+        }
+        return false;
+    }
+
+    private boolean isLockedEdge(int e) {
+        return (locked[e >>> 6] & (1L << e)) != 0;
+    }
+
+    /** BFS from {@code from}; returns -1 as soon as {@code to} is found, else the count reached. */
+    private int search(int from, int to) {
+        if (visited == null) {
+            visited = new long[(rooms.length + 63) >>> 6];
+            queue = new int[rooms.length];
+        } else {
+            Arrays.fill(visited, 0L);
+        }
+        int head = 0, tail = 0;
+        visited[from >>> 6] |= 1L << from;
+        queue[tail++] = from;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (isLockedEdge(e)) continue;
+                int v = targets[e];
+                if ((visited[v >>> 6] & (1L << v)) != 0) continue;
+                if (v == to) return -1;
+                visited[v >>> 6] |= 1L << v;
+                queue[tail++] = v;
+            }
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,134 @@
+package com.s2tn.model;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hosts concurrent {@link GameSession}s in one JVM. Dungeons from {@link DungeonList} act as
+ * read-only templates: each is indexed once and shared by every session playing it, while
+ * rooms, puzzle states, inventory and timer are per session.
+ * Work submitted through {@link #submit} runs on a virtual thread per task, so thousands of
+ * sessions can wait on input or I/O without tying up platform threads.
+ * Dungeon time limits are enforced by one {@link DeadlineWheel} shared by all sessions.
+ */
+public class SessionManager {
+
+    private static final class Holder {
+        static final SessionManager INSTANCE = new SessionManager();
+    }
+
+    private final ConcurrentHashMap<UUID, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Dungeon, DungeonIndex> templates = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DeadlineWheel wheel;
+    private volatile Consumer<GameSession> expiryListener;
+
+    /** Creates a standalone manager; most callers want {@link #getInstance()}. */
+    SessionManager() {
+        this(DeadlineWheel.getInstance());
+    }
+
+    /**
+     * Creates a standalone manager whose sessions time against a wheel and its clock;
+     * pass a wheel on a {@link VirtualClock} to fast-forward sessions.
+     */
+    SessionManager(DeadlineWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    /** Returns the process-wide session manager. */
+    public static SessionManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Opens a session on a dungeon from {@link DungeonList}.
+     *
+     * @param user      the player, or null for an anonymous session
+     * @param dungeonId the dungeon to play
+     * @return the new session, or null if the dungeon is unknown
+     */
+    public GameSession open(Account user, UUID dungeonId) {
+        Dungeon d = DungeonList.getInstance().getById(dungeonId);
+        return d == null ? null : open(user, d);
+    }
+
+    /** Opens a session on a dungeon template. */
+    public GameSession open(Account user, Dungeon dungeon) {
+        if (dungeon == null) return null;
+        GameSession s = new GameSession(user, template(dungeon), wheel, this::expired);
+        sessions.put(s.getSessionId(), s);
+        return s;
+    }
+
+    /** Returns the shared index for a dungeon, built on first use and after room changes. */
+    private DungeonIndex template(Dungeon dungeon) {
+        DungeonIndex idx = templates.get(dungeon);
+        if (idx != null && idx.isCurrent()) return idx; // only reads the dungeon's graph
+        synchronized (dungeon) { // one build per dungeon; rebuilding Dungeon's lazy graph is not thread-safe
+            idx = templates.get(dungeon);
+            if (idx == null || !idx.isCurrent()) {
+                idx = new DungeonIndex(dungeon);
+                templates.put(dungeon, idx);
+            }
+            return idx;
+        }
+    }
+
+    /**
+     * Sets the callback run when a session's allowed time runs out. It runs on the wheel's
+     * ticker thread, so it should hand real work off (e.g. to {@link #submit}).
+     */
+    public void setExpiryListener(Consumer<GameSession> listener) {
+        this.expiryListener = listener;
+    }
+
+    private void expired(GameSession s) {
+        Consumer<GameSession> l = expiryListener;
+        if (l != null) l.accept(s);
+    }
+
+    /** Returns a session by id, or null. */
+    public GameSession get(UUID sessionId) {
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    /** Closes a session; returns false if it was not open. */
+    public boolean close(UUID sessionId) {
+        GameSession s = sessionId == null ? null : sessions.remove(sessionId);
+        if (s == null) return false;
+        s.close();
+        return true;
+    }
+
+    /** Returns the number of open sessions. */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Runs an action against a session on its own virtual thread.
+     *
+     * @return a future with the action's result; completes exceptionally if the session is
+     *         not open or the action throws
+     */
+    public <T> CompletableFuture<T> submit(UUID sessionId, Function<GameSession, T> action) {
+        return CompletableFuture.supplyAsync(() -> {
+            GameSession s = sessions.get(sessionId);
+            if (s == null) throw new IllegalStateException("No open session " + sessionId);
+            return action.apply(s);
+        }, executor);
+    }
+
+    /** Closes every session and forgets every template. */
+    public void clear() {
+        sessions.values().forEach(GameSession::close);
+        sessions.clear();
+        templates.clear();
+    }
+}
@@ -1,86 +1,188 @@
 package com.s2tn.model;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
-/** Align labeled shapes to target poses within a tolerance. */
+/**
+ * Align labeled shapes to target poses within a tolerance.
+ * Targets live in parallel arrays indexed by slot, found through an open-addressing label
+ * table that can be probed with any slice of a CharSequence. Each observed pose records
+ * whether it is in tolerance, and a running count of in-tolerance shapes makes
+ * {@link #isSolved()} O(1). Drag-and-drop UIs should call {@link #updatePose} for the shape
+ * that moved. {@link #enterInput(String)} still takes the full "A:x,y,deg; B:..." string,
+ * and parses it in place without allocating.
+ */
 public class ShapeMatchPuzzle extends Puzzle {
 
     private static final double DEFAULT_POS_TOL = 5.0; // pixels
     private static final double DEFAULT_ANG_TOL = 5.0; // degrees
 
-    private final Map<String, Pose> targets = new HashMap<>();
+    // targets by slot, in the order they were first set
+    private String[] labels = new String[8];
+    private double[] targetX = new double[8];
+    private double[] targetY = new double[8];
+    private double[] targetDeg = new double[8];
+    private int count = 0;
+
+    // label -> slot + 1, open addressing with linear probing (0 = empty)
+    private int[] table = new int[16];
+
+    // latest observed pose per slot; a slot counts only if seen[slot] == generation
+    private double[] poseX = new double[8];
+    private double[] poseY = new double[8];
+    private double[] poseDeg = new double[8];
+    private int[] seen = new int[8];
+    private boolean[] inTol = new boolean[8];
+    private int generation = 1;
+    private int inTolerance = 0;
+
     private double posTol = DEFAULT_POS_TOL;
     private double angTol = DEFAULT_ANG_TOL;
 
     private String lastHint = "";
 
-    private static class Pose {
-        final double x, y, deg;
-        Pose(double x, double y, double deg) { this.x = x; this.y = y; this.deg = deg; }
+    // labels, targets and table are shared between a template and its run copies
+    private boolean contentShared;
+
+    /** Creates a puzzle with no targets. */
+    public ShapeMatchPuzzle() {}
+
+    /** Run copy: targets are shared until the copy changes one; poses start empty. */
+    private ShapeMatchPuzzle(ShapeMatchPuzzle template) {
+        super(template);
+        labels = template.labels;
+        targetX = template.targetX;
+        targetY = template.targetY;
+        targetDeg = template.targetDeg;
+        table = template.table;
+        count = template.count;
+        contentShared = true;
+        template.contentShared = true; // the template must not write into arrays this copy reads
+        int n = labels.length;
+        poseX = new double[n];
+        poseY = new double[n];
+        poseDeg = new double[n];
+        seen = new int[n];
+        inTol = new boolean[n];
+        posTol = template.posTol;
+        angTol = template.angTol;
+    }
+
+    /** Returns a copy with no poses placed, sharing this puzzle's targets. */
+    @Override
+    protected Puzzle newRun() {
+        return new ShapeMatchPuzzle(this);
+    }
+
+    /** Gives this puzzle (template or run copy) its own targets before it changes them. */
+    private void unshare() {
+        if (!contentShared) return;
+        labels = labels.clone();
+        targetX = targetX.clone();
+        targetY = targetY.clone();
+        targetDeg = targetDeg.clone();
+        table = table.clone();
+        contentShared = false;
     }
 
     /** Defines or overwrites a target pose for a given shape label. */
     public void setTarget(String label, double x, double y, double deg) {
         if (label == null || label.isBlank()) return;
-        targets.put(label.trim(), new Pose(x, y, deg));
+        String key = label.trim();
+        unshare();
+        int slot = slotOf(key, 0, key.length());
+        if (slot < 0) slot = addSlot(key);
+        targetX[slot] = x;
+        targetY[slot] = y;
+        targetDeg[slot] = deg;
+        if (seen[slot] == generation) recheck(slot);
     }
 
     /** Sets positional and angular tolerances (pixels, degrees); applies only if positive. */
     public void setTolerance(double positionPixels, double angleDegrees) {
         if (positionPixels > 0) this.posTol = positionPixels;
         if (angleDegrees   > 0) this.angTol = angleDegrees;
+        for (int i = 0; i < count; i++) {
+            if (seen[i] == generation) recheck(i);
+        }
     }
 
     /** Returns the latest hint generated by {@link #enterInput(String)}. */
     public String getHint() { return lastHint; }
 
+    /**
+     * Moves one shape and updates the in-tolerance count in O(1).
+     *
+     * @return true if the shape is now within tolerance of its target; false if it is not,
+     *         or if the label has no target
+     */
+    public boolean updatePose(String label, double x, double y, double deg) {
+        if (label == null) return false;
+        int from = 0, to = label.length();
+        while (from < to && label.charAt(from) <= ' ') from++;
+        while (to > from && label.charAt(to - 1) <= ' ') to--;
+        int slot = slotOf(label, from, to);
+        if (slot < 0) return false;
+        observe(slot, x, y, deg);
+        return inTol[slot];
+    }
+
+    /** Forgets every observed pose, so no shape counts as placed. */
+    public void clearPoses() {
+        generation++;
+        inTolerance = 0;
+    }
+
+    /** Returns true if every target has an observed pose within tolerance. */
+    public boolean isSolved() { return count > 0 && inTolerance == count; }
+
+    /** Returns how many shapes are currently within tolerance of their targets. */
+    public int getInToleranceCount() { return inTolerance; }
+
+    /** Returns the number of targets. */
+    public int getTargetCount() { return count; }
+
     /**
      * Parses user input of poses and validates all labels against configured targets and tolerances.
-     * Input format: {@code "A:10,20,0; B:30,40,90"}.
+     * Input format: {@code "A:10,20,0; B:30,40,90"}. Each submission replaces the previous poses.
      * Returns valid only if all targets are within tolerance.
      */
     @Override
-    public ValidationResult enterInput(String userInput) {
+    protected ValidationResult handleInput(String userInput) {
         if (userInput == null || userInput.isBlank()) {
             lastHint = "no input";
             return ValidationResult.invalidFormat("Empty input", PuzzleState.IN_PROGRESS);
         }
-        if (targets.isEmpty()) {
+        if (count == 0) {
             lastHint = "no targets";
             return ValidationResult.invalidFormat("No targets set", PuzzleState.IN_PROGRESS);
         }
 
-        Map<String, Pose> observed = parse(userInput);
-        if (observed.isEmpty()) {
+        clearPoses();
+        if (parse(userInput) == 0) {
             lastHint = "bad format (use A:x,y,deg; B:x,y,deg)";
             return ValidationResult.invalidFormat("Bad format", PuzzleState.IN_PROGRESS);
         }
+        if (isSolved()) {
+            lastHint = "aligned";
+            return ValidationResult.valid("Solved", PuzzleState.SOLVED);
+        }
 
-        for (Map.Entry<String, Pose> e : targets.entrySet()) {
-            String lbl = e.getKey();
-            Pose tgt = e.getValue();
-            Pose got = observed.get(lbl);
-            if (got == null) {
+        // only failures pay for a scan, to name the first shape that is off
+        for (int i = 0; i < count; i++) {
+            if (inTol[i] && seen[i] == generation) continue;
+            String lbl = labels[i];
+            if (seen[i] != generation) {
                 lastHint = "missing shape: " + lbl;
                 return ValidationResult.invalidFormat("Missing " + lbl, PuzzleState.IN_PROGRESS);
             }
-
-            double dx = got.x - tgt.x;
-            double dy = got.y - tgt.y;
-            double dist = Math.hypot(dx, dy);
-            double dAng = angleDelta(got.deg, tgt.deg);
-
+            double dist = Math.hypot(poseX[i] - targetX[i], poseY[i] - targetY[i]);
             if (dist > posTol) {
                 lastHint = lbl + " off by " + round1(dist) + "px";
-                return ValidationResult.invalidFormat(lastHint, PuzzleState.IN_PROGRESS);
-            }
-            if (Math.abs(dAng) > angTol) {
-                lastHint = lbl + " angle off by " + round1(Math.abs(dAng)) + "°";
-                return ValidationResult.invalidFormat(lastHint, PuzzleState.IN_PROGRESS);
+            } else {
+                lastHint = lbl + " angle off by " + round1(Math.abs(angleDelta(poseDeg[i], targetDeg[i]))) + "°";
             }
+            return ValidationResult.invalidFormat(lastHint, PuzzleState.IN_PROGRESS);
         }
-
         lastHint = "aligned";
         return ValidationResult.valid("Solved", PuzzleState.SOLVED);
     }
@@ -88,9 +190,35 @@ public class ShapeMatchPuzzle extends Puzzle {
 
     // ---- helpers ----
 
+    /** Records a pose for a slot and adjusts the running in-tolerance count. */
+    private void observe(int slot, double x, double y, double deg) {
+        poseX[slot] = x;
+        poseY[slot] = y;
+        poseDeg[slot] = deg;
+        if (seen[slot] != generation) {
+            seen[slot] = generation;
+            inTol[slot] = false;
+        }
+        recheck(slot);
+    }
+
+    /** Re-evaluates one observed slot against its target and the current tolerances. */
+    private void recheck(int slot) {
+        double dx = poseX[slot] - targetX[slot];
+        double dy = poseY[slot] - targetY[slot];
+        boolean ok = dx * dx + dy * dy <= posTol * posTol
+                && Math.abs(angleDelta(poseDeg[slot], targetDeg[slot])) <= angTol;
+        if (ok != inTol[slot]) {
+            inTol[slot] = ok;
+            inTolerance += ok ? 1 : -1;
+        }
+    }
+
     /** Computes the minimal signed angle difference between two degrees values in [-180, 180]. */
     private static double angleDelta(double a, double b) {
-        double d = (a - b) % 360.0;
+        double d = a - b;
+        if (d >= -180 && d <= 180) return d; // skip the slow floating-point remainder
+        d %= 360.0;
         if (d < -180) d += 360;
         if (d > 180)  d -= 360;
         return d;
@@ -101,29 +229,193 @@ public class ShapeMatchPuzzle extends Puzzle {
         return String.format("%.1f", v);
     }
 
-    /** Parses a semicolon-separated list of label poses into a map. */
-    private static Map<String, Pose> parse(String s) {
-        Map<String, Pose> out = new HashMap<>();
-        for (String part : s.split(";")) {
-            String piece = part.trim();
-            if (piece.isEmpty()) continue;
+    /** Returns the slot for {@code s[from, to)}, or -1 if that label has no target. */
+    private int slotOf(CharSequence s, int from, int to) {
+        int mask = table.length - 1;
+        for (int i = hash(s, from, to) & mask; ; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry == 0) return -1;
+            String label = labels[entry - 1];
+            if (regionEquals(label, s, from, to)) return entry - 1;
+        }
+    }
+
+    private int addSlot(String label) {
+        if (count == labels.length) {
+            int n = count * 2;
+            labels = Arrays.copyOf(labels, n);
+            targetX = Arrays.copyOf(targetX, n);
+            targetY = Arrays.copyOf(targetY, n);
+            targetDeg = Arrays.copyOf(targetDeg, n);
+            poseX = Arrays.copyOf(poseX, n);
+            poseY = Arrays.copyOf(poseY, n);
+            poseDeg = Arrays.copyOf(poseDeg, n);
+            seen = Arrays.copyOf(seen, n);
+            inTol = Arrays.copyOf(inTol, n);
+        }
+        int slot = count++;
+        labels[slot] = label;
+        if (count * 2 > table.length) {
+            table = new int[table.length * 2];
+            for (int i = 0; i < count; i++) insert(i);
+        } else {
+            insert(slot);
+        }
+        return slot;
+    }
+
+    private void insert(int slot) {
+        int mask = table.length - 1;
+        int i = hash(labels[slot], 0, labels[slot].length()) & mask;
+        while (table[i] != 0) i = (i + 1) & mask;
+        table[i] = slot + 1;
+    }
+
+    /**
+     * String.hashCode over a slice, then mixed: labels like "S1", "S2" hash to neighbouring
+     * values that would otherwise pile up into one long linear-probe run.
+     */
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) h = 31 * h + s.charAt(i);
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    private static boolean regionEquals(String label, CharSequence s, int from, int to) {
+        if (label.length() != to - from) return false;
+        for (int i = 0; i < label.length(); i++) {
+            if (label.charAt(i) != s.charAt(from + i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Applies a semicolon-separated list of label poses without allocating.
+     * Pieces that are malformed are skipped, as are poses for labels with no target.
+     *
+     * @return the number of well-formed pieces
+     */
+    private int parse(String s) {
+        int pieces = 0;
+        int len = s.length();
+        int start = 0;
+        while (start <= len) {
+            int end = s.indexOf(';', start);
+            if (end < 0) end = len;
+            if (applyPiece(s, start, end)) pieces++;
+            start = end + 1;
+        }
+        return pieces;
+    }
 
-            int colon = piece.indexOf(':');
-            if (colon <= 0 || colon == piece.length() - 1) continue;
+    // scratch for applyPiece: field bounds and parsed values
+    private final int[] fieldFrom = new int[3];
+    private final int[] fieldTo = new int[3];
+    private final double[] values = new double[3];
 
-            String label = piece.substring(0, colon).trim();
-            String nums = piece.substring(colon + 1).trim();
-            String[] xyz = nums.split(",");
-            if (xyz.length != 3) continue;
+    /** Parses {@code label:x,y,deg} in {@code s[from, to)} and records it; false if malformed. */
+    private boolean applyPiece(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        if (from == to) return false;
+
+        int colon = s.indexOf(':', from);
+        if (colon < 0 || colon >= to || colon == from || colon == to - 1) return false;
+
+        // split on commas; like String.split, trailing empty fields are dropped
+        int fields = 0;
+        int f = colon + 1;
+        while (true) {
+            int comma = s.indexOf(',', f);
+            if (comma < 0 || comma > to) comma = to;
+            if (fields == 3) {
+                if (comma > f) return false;
+            } else {
+                fieldFrom[fields] = f;
+                fieldTo[fields] = comma;
+                fields++;
+            }
+            if (comma == to) break;
+            f = comma + 1;
+        }
+        if (fields != 3) return false;
+        for (int i = 0; i < 3; i++) {
+            if (!parseValue(s, fieldFrom[i], fieldTo[i], i)) return false;
+        }
+
+        int lt = colon;
+        while (lt > from && s.charAt(lt - 1) <= ' ') lt--;
+        int slot = slotOf(s, from, lt);
+        if (slot >= 0) observe(slot, values[0], values[1], values[2]);
+        return true;
+    }
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Parses a decimal like {@code -12.5} or {@code 3e2} in place into {@code values[index]}.
+     * A long mantissa times a power of ten up to 1e22 is exact in one rounding; anything
+     * else Double.parseDouble accepts goes through it instead.
+     *
+     * @return false if the text is not a number
+     */
+    private boolean parseValue(String s, int from, int to, int index) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) negative = s.charAt(i++) == '-';
+
+        long mantissa = 0;
+        int significant = 0, scale = 0;
+        boolean dot = false, digit = false;
+        for (; i < to; i++) {
+            char ch = s.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                if (significant == 18) return slowParse(s, from, to, index);
+                mantissa = mantissa * 10 + (ch - '0');
+                if (mantissa != 0) significant++;
+                if (dot) scale--;
+                digit = true;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (!digit) return slowParse(s, from, to, index);
+        if (i < to) {
+            char ch = s.charAt(i++);
+            if (ch != 'e' && ch != 'E') return slowParse(s, from, to, index);
+            boolean expNegative = false;
+            if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) expNegative = s.charAt(i++) == '-';
+            if (i == to || to - i > 3) return slowParse(s, from, to, index);
+            int exp = 0;
+            for (; i < to; i++) {
+                char d = s.charAt(i);
+                if (d < '0' || d > '9') return slowParse(s, from, to, index);
+                exp = exp * 10 + (d - '0');
+            }
+            scale += expNegative ? -exp : exp;
+        }
+        if (mantissa > (1L << 53) || scale < -22 || scale > 22) return slowParse(s, from, to, index);
+        double v = scale < 0 ? mantissa / POW10[-scale] : mantissa * POW10[scale];
+        values[index] = negative ? -v : v;
+        return true;
+    }
 
-            try {
-                double x = Double.parseDouble(xyz[0].trim());
-                double y = Double.parseDouble(xyz[1].trim());
-                double d = Double.parseDouble(xyz[2].trim());
-                out.put(label, new Pose(x, y, d));
-            } catch (NumberFormatException ignored) { /* skip bad piece */ }
+    /** Fallback for forms the fast path does not handle; allocates, but only for odd input. */
+    private boolean slowParse(String s, int from, int to, int index) {
+        try {
+            values[index] = Double.parseDouble(s.substring(from, to));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
         }
-        return out;
     }
 
     /**
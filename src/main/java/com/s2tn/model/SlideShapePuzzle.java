@@ -2,24 +2,41 @@ package com.s2tn.model;
 
 /**
  * Sliding puzzle with one empty slot "_".
- * Board is a flat list (row-major). You slide a tile into the empty slot.
- * Solved when the current board equals the goal board.
+ * Board is packed row-major as one byte code per tile (0 = empty) with the empty index and
+ * the number of misplaced cells tracked, so a slide is O(1) and solved is a single compare.
+ * You slide a tile into the empty slot. Solved when the current board equals the goal board.
+ * {@link #suggestMove()} gives an optimal next move from an IDA* search ({@link SlideSolver}).
  *
  * enterInput examples:
  *   "A up"        (also accepts "slide A up")
  *   "B left"
+ *   "hint"
  *   "solved"
  */
 public class SlideShapePuzzle extends Puzzle {
 
+    private static final String EMPTY = "_";
+
+    // tile labels by code (labels[0] is the empty slot); codes below boardCodes appear on the board
+    private final String[] labels;
     // fully qualify to avoid clash with com.example.s2tn.model.Map
-    private final java.util.List<String> startConfiguration;
-    private final java.util.List<String> endConfiguration;
-    private final java.util.List<String> board;
+    private final java.util.Map<String, Integer> codes;
+    private final int boardCodes;
+
+    private final byte[] startConfiguration;
+    private final byte[] endConfiguration;
+    private final byte[] board;
+    private int empty = -1;     // index of "_" on the board, -1 if there is none
+    private int misplaced = 0;  // cells that differ from endConfiguration
 
     private final int rows;
     private final int cols;
 
+    // optimal plan from the solver, followed while the player sticks to it
+    private SlideSolver solver;
+    private int[] plan;
+    private int planPos;
+
     private int movesMade = 0;
     private String hint = "";
 
@@ -39,10 +56,17 @@ public class SlideShapePuzzle extends Puzzle {
 
         this.rows = rows;
         this.cols = cols;
-
-        this.startConfiguration = new java.util.ArrayList<>(start);
-        this.endConfiguration   = new java.util.ArrayList<>(end);
-        this.board              = new java.util.ArrayList<>(start);
+        this.codes = new java.util.HashMap<>();
+
+        java.util.List<String> seen = new java.util.ArrayList<>();
+        seen.add(EMPTY);
+        codes.put(EMPTY, 0);
+        this.startConfiguration = encode(start, seen);
+        this.boardCodes         = seen.size();
+        this.endConfiguration   = encode(end, seen);
+        this.labels             = seen.toArray(new String[0]);
+        this.board              = startConfiguration.clone();
+        recount();
 
         setState(PuzzleState.IN_PROGRESS);
         applyDifficulty(); // set defaults for whatever the current difficulty is (may be null)
@@ -57,10 +81,70 @@ public class SlideShapePuzzle extends Puzzle {
         );
     }
 
+    /** Run copy: labels, codes and configurations are shared (never written after construction). */
+    private SlideShapePuzzle(SlideShapePuzzle template) {
+        super(template);
+        this.rows = template.rows;
+        this.cols = template.cols;
+        this.codes = template.codes;
+        this.labels = template.labels;
+        this.boardCodes = template.boardCodes;
+        this.startConfiguration = template.startConfiguration;
+        this.endConfiguration = template.endConfiguration;
+        this.board = startConfiguration.clone();
+        recount();
+        this.difficulty = template.difficulty;
+        this.maxMoves = template.maxMoves;
+        setState(PuzzleState.IN_PROGRESS);
+    }
+
+    /** Returns a fresh board from the start configuration, sharing this puzzle's tiles and goal. */
+    @Override
+    protected Puzzle newRun() {
+        return new SlideShapePuzzle(this);
+    }
+
+    /** A fresh board is already in progress: the tiles start out of place. */
+    @Override
+    protected PuzzleState initialState() {
+        return PuzzleState.IN_PROGRESS;
+    }
+
     // -------- basics --------
 
+    /** Assigns each new label the next code and returns the packed configuration. */
+    private byte[] encode(java.util.List<String> config, java.util.List<String> seen) {
+        byte[] packed = new byte[config.size()];
+        for (int i = 0; i < packed.length; i++) {
+            String label = config.get(i);
+            Integer code = codes.get(label);
+            if (code == null) {
+                if (seen.size() > 255) throw new IllegalArgumentException("at most 255 distinct tiles");
+                code = seen.size();
+                codes.put(label, code);
+                seen.add(label);
+            }
+            packed[i] = (byte) (int) code;
+        }
+        return packed;
+    }
+
+    /** Recomputes the empty index and misplaced count after the board is replaced. */
+    private void recount() {
+        empty = -1;
+        misplaced = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == 0 && empty < 0) empty = i;
+            if (board[i] != endConfiguration[i]) misplaced++;
+        }
+    }
+
     /** Returns a copy of the current board tiles in row-major order. */
-    public java.util.List<String> getBoard() { return new java.util.ArrayList<>(board); }
+    public java.util.List<String> getBoard() {
+        java.util.List<String> out = new java.util.ArrayList<>(board.length);
+        for (byte b : board) out.add(labels[b & 0xFF]);
+        return out;
+    }
 
     /** Returns the number of moves made so far. */
     public int getMovesMade() { return movesMade; }
@@ -69,12 +153,55 @@ public class SlideShapePuzzle extends Puzzle {
     public String getHint() { return hint; }
 
     /** Returns true if the current board matches the end configuration. */
-    public boolean isSolved() { return board.equals(endConfiguration); }
+    public boolean isSolved() { return misplaced == 0; }
+
+    /** Returns true if the end configuration can be reached from the current board. */
+    public boolean isSolvable() {
+        return solver().isSolvable(board);
+    }
+
+    /**
+     * Returns the first move of a shortest solution from the current board, in input form
+     * (e.g. "B left"), or null if the board is solved, unsolvable, or too far from the goal
+     * to search within the interactive budget of {@link SlideSolver#HINT_NODE_LIMIT} nodes.
+     * The plan is kept and reused for as long as the player follows it.
+     */
+    public String suggestMove() {
+        return suggestMove(SlideSolver.HINT_NODE_LIMIT);
+    }
+
+    /**
+     * Like {@link #suggestMove()} with a caller-chosen search budget, e.g.
+     * {@link SlideSolver#DEFAULT_NODE_LIMIT} for offline checks that may take a while.
+     */
+    String suggestMove(long nodeLimit) {
+        if (isSolved()) return null;
+        if (plan == null || planPos >= plan.length) {
+            plan = solver().solve(board, nodeLimit);
+            planPos = 0;
+            if (plan == null || plan.length == 0) return null;
+        }
+        int tile = plan[planPos];
+        return labels[board[tile] & 0xFF] + " " + directionInto(tile);
+    }
+
+    private SlideSolver solver() {
+        if (solver == null) solver = new SlideSolver(rows, cols, endConfiguration);
+        return solver;
+    }
+
+    /** Direction a tile at {@code tile} moves to reach the empty slot next to it. */
+    private String directionInto(int tile) {
+        if (empty == tile - cols) return "up";
+        if (empty == tile + cols) return "down";
+        return empty == tile - 1 ? "left" : "right";
+    }
 
     /** Resets the board back to the original start configuration. */
     public void resetToStart() {
-        board.clear();
-        board.addAll(startConfiguration);
+        System.arraycopy(startConfiguration, 0, board, 0, board.length);
+        recount();
+        plan = null;
         movesMade = 0;
         hint = "reset";
         setState(PuzzleState.IN_PROGRESS);
@@ -82,9 +209,15 @@ public class SlideShapePuzzle extends Puzzle {
 
     /** Prints a simple console view of the board for quick checks. */
     public void displayPuzzle() {
+        StringBuilder line = new StringBuilder();
         for (int r = 0; r < rows; r++) {
-            int s = r * cols, e = s + cols;
-            System.out.println(board.subList(s, e));
+            line.setLength(0);
+            line.append('[');
+            for (int c = 0; c < cols; c++) {
+                if (c > 0) line.append(", ");
+                line.append(labels[board[r * cols + c] & 0xFF]);
+            }
+            System.out.println(line.append(']'));
         }
     }
 
@@ -114,41 +247,43 @@ public class SlideShapePuzzle extends Puzzle {
 
     // -------- core slide logic --------
 
-    /** Attempts to slide a tile into the empty slot in the specified direction. */
-    private boolean slide(String tile, String dir) {
-        if (tile == null || dir == null || "_".equals(tile)) return false;
-
-        int emptyIdx = board.indexOf("_");
-        int tileIdx  = board.indexOf(tile);
-        if (emptyIdx < 0 || tileIdx < 0) return false;
+    /** Attempts to slide a tile into the empty slot in the specified direction (lower-case). */
+    boolean slide(String tile, String dir) {
+        if (tile == null || dir == null || EMPTY.equals(tile)) return false;
 
-        int er = emptyIdx / cols, ec = emptyIdx % cols;
-        int tr = tileIdx  / cols, tc = tileIdx  % cols;
+        Integer code = codes.get(tile);
+        if (empty < 0 || code == null) return false;
 
+        // the cell the tile must be in to move that way into the empty slot
+        int er = empty / cols, ec = empty % cols;
+        int from;
         switch (dir.toLowerCase()) {
-            case "up" -> {
-                if (tr - 1 == er && tc == ec) return swap(tileIdx, emptyIdx);
-            }
-            case "down" -> {
-                if (tr + 1 == er && tc == ec) return swap(tileIdx, emptyIdx);
-            }
-            case "left" -> {
-                if (tr == er && tc - 1 == ec) return swap(tileIdx, emptyIdx);
-            }
-            case "right" -> {
-                if (tr == er && tc + 1 == ec) return swap(tileIdx, emptyIdx);
-            }
+            case "up"    -> from = er + 1 < rows ? empty + cols : -1;
+            case "down"  -> from = er > 0 ? empty - cols : -1;
+            case "left"  -> from = ec + 1 < cols ? empty + 1 : -1;
+            case "right" -> from = ec > 0 ? empty - 1 : -1;
             default -> {
                 hint = "direction must be up/down/left/right"; return false;
             }
         }
+        if (from >= 0 && (board[from] & 0xFF) == code) return swap(from);
         hint = "that tile isn't next to the empty in that direction";
         return false;
     }
 
-    /** Swaps the tile and empty slot positions and increments the move counter. */
-    private boolean swap(int a, int b) {
-        java.util.Collections.swap(board, a, b);
+    /** Moves the tile at {@code from} into the empty slot and increments the move counter. */
+    private boolean swap(int from) {
+        byte tile = board[from];
+        int to = empty;
+        int before = (board[from] != endConfiguration[from] ? 1 : 0) + (board[to] != endConfiguration[to] ? 1 : 0);
+        board[to] = tile;
+        board[from] = 0;
+        empty = from;
+        misplaced += (board[from] != endConfiguration[from] ? 1 : 0) + (board[to] != endConfiguration[to] ? 1 : 0) - before;
+
+        if (plan != null && planPos < plan.length && plan[planPos] == from) planPos++;
+        else plan = null;
+
         movesMade++;
         hint = "moved";
 
@@ -167,7 +302,7 @@ public class SlideShapePuzzle extends Puzzle {
      * Updates puzzle state and returns a {@link ValidationResult} with feedback.
      */
     @Override
-    public ValidationResult enterInput(String s) {
+    protected ValidationResult handleInput(String s) {
         if (s == null || s.isBlank()) {
             hint = "give input like: A up";
             setState(PuzzleState.IN_PROGRESS);
@@ -187,6 +322,15 @@ public class SlideShapePuzzle extends Puzzle {
             return ValidationResult.invalidFormat("reset", PuzzleState.IN_PROGRESS);
         }
 
+        if ("hint".equalsIgnoreCase(in)) {
+            String move = suggestMove();
+            hint = move != null ? "try: " + move
+                 : isSolved()   ? "already solved"
+                 : isSolvable() ? "no short solution found" : "this board cannot be solved";
+            setState(PuzzleState.IN_PROGRESS);
+            return ValidationResult.invalidFormat(hint, PuzzleState.IN_PROGRESS);
+        }
+
         if ("solved".equalsIgnoreCase(in)) {
             if (isSolved()) {
                 setState(PuzzleState.SOLVED);
@@ -211,7 +355,8 @@ public class SlideShapePuzzle extends Puzzle {
             return ValidationResult.invalidFormat(hint, PuzzleState.IN_PROGRESS);
         }
 
-        if (!board.contains(tile)) {
+        Integer code = codes.get(tile);
+        if (code == null || code >= boardCodes) {
             hint = "unknown tile: " + tile;
             setState(PuzzleState.IN_PROGRESS);
             return ValidationResult.invalidFormat(hint, PuzzleState.IN_PROGRESS);
@@ -250,6 +395,6 @@ public class SlideShapePuzzle extends Puzzle {
     /** Returns a brief string representation of the puzzle state. */
     @Override
     public String toString() {
-        return "SlideShapePuzzle{moves=" + movesMade + ", board=" + board + "}";
+        return "SlideShapePuzzle{moves=" + movesMade + ", board=" + getBoard() + "}";
     }
 }
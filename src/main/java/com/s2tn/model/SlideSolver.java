@@ -0,0 +1,178 @@
+package com.s2tn.model;
+
+import java.util.Arrays;
+
+/**
+ * Optimal solver for sliding boards encoded as tile codes (0 = blank), used by
+ * {@link SlideShapePuzzle} for solvability checks and hints.
+ * Search is IDA* over one mutable board with a Manhattan-distance heuristic that is updated
+ * per move, so the only allocation is the final path. Tiles may share a label; each tile is
+ * then measured to the nearest goal cell with that label, which keeps the bound admissible.
+ */
+final class SlideSolver {
+
+    /** Default node budget for a single offline solve (a few hundred ms on a 4x4). */
+    static final long DEFAULT_NODE_LIMIT = 50_000_000L;
+
+    /** Node budget for a hint asked for during play: about a millisecond, so input never stalls. */
+    static final long HINT_NODE_LIMIT = 100_000L;
+
+    private static final int FOUND = -1;
+
+    private final int rows;
+    private final int cols;
+    private final int cells;
+    private final byte[] goal;
+    private final int[] dist;        // dist[code * cells + cell]: steps to the nearest goal cell
+    private final int[] goalCounts;  // how many times each code appears in the goal
+    private final boolean duplicates;
+
+    // search state, valid during solve()
+    private byte[] board;
+    private int[] path;
+    private long nodesLeft;
+    private int foundDepth;
+
+    /**
+     * @param goal goal board in row-major order; codes are read as unsigned bytes
+     */
+    SlideSolver(int rows, int cols, byte[] goal) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = rows * cols;
+        this.goal = goal.clone();
+
+        int codes = 1;
+        for (byte b : goal) codes = Math.max(codes, (b & 0xFF) + 1);
+        this.goalCounts = new int[256];
+        boolean dup = false;
+        for (byte b : goal) {
+            if (b != 0 && goalCounts[b & 0xFF]++ > 0) dup = true;
+        }
+        this.duplicates = dup;
+
+        this.dist = new int[codes * cells];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        for (int g = 0; g < cells; g++) {
+            int code = goal[g] & 0xFF;
+            if (code == 0) continue;
+            int gr = g / cols, gc = g % cols;
+            for (int cell = 0; cell < cells; cell++) {
+                int d = Math.abs(cell / cols - gr) + Math.abs(cell % cols - gc);
+                int i = code * cells + cell;
+                if (d < dist[i]) dist[i] = d;
+            }
+        }
+    }
+
+    /** Returns true if the goal board can be reached from this board by sliding tiles. */
+    boolean isSolvable(byte[] start) {
+        if (start.length != cells) return false;
+        int[] counts = new int[256];
+        int blank = -1;
+        for (int i = 0; i < cells; i++) {
+            int code = start[i] & 0xFF;
+            if (code == 0) {
+                if (blank >= 0) return false; // one blank only
+                blank = i;
+            } else {
+                counts[code]++;
+            }
+        }
+        if (blank < 0 || !Arrays.equals(counts, goalCounts)) return false;
+        if (duplicates) return true; // swapping equal tiles fixes either parity
+
+        // permutation parity (start -> goal, blank included) must match the blank's taxicab parity
+        int[] goalIndex = new int[256];
+        int goalBlank = -1;
+        for (int i = 0; i < cells; i++) {
+            if (goal[i] == 0) goalBlank = i;
+            else goalIndex[goal[i] & 0xFF] = i;
+        }
+        if (goalBlank < 0) return false;
+        int[] perm = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            perm[i] = start[i] == 0 ? goalBlank : goalIndex[start[i] & 0xFF];
+        }
+        boolean odd = false;
+        boolean[] seen = new boolean[cells];
+        for (int i = 0; i < cells; i++) {
+            if (seen[i]) continue;
+            int len = 0;
+            for (int j = i; !seen[j]; j = perm[j]) { seen[j] = true; len++; }
+            if ((len & 1) == 0) odd = !odd;
+        }
+        int blankDistance = Math.abs(blank / cols - goalBlank / cols) + Math.abs(blank % cols - goalBlank % cols);
+        return odd == ((blankDistance & 1) == 1);
+    }
+
+    /**
+     * Finds a shortest move sequence from a board to the goal.
+     *
+     * @param start     the board to solve; not modified
+     * @param nodeLimit maximum number of search nodes before giving up
+     * @return the cells of the tiles to slide, in order (empty if already solved), or null if
+     *         the board is unsolvable or the node budget ran out
+     */
+    int[] solve(byte[] start, long nodeLimit) {
+        if (!isSolvable(start)) return null;
+        board = start.clone();
+        int blank = 0;
+        int h = 0;
+        for (int i = 0; i < cells; i++) {
+            int code = board[i] & 0xFF;
+            if (code == 0) blank = i;
+            else h += dist[code * cells + i];
+        }
+        nodesLeft = nodeLimit;
+        path = new int[Math.max(64, h * 2)];
+        try {
+            for (int bound = h; ; ) {
+                int next = search(blank, -1, 0, h, bound);
+                if (next == FOUND) return Arrays.copyOf(path, foundDepth);
+                if (next == Integer.MAX_VALUE || nodesLeft <= 0) return null;
+                bound = next;
+            }
+        } finally {
+            board = null;
+            path = null;
+        }
+    }
+
+    /** Depth-first search below {@code bound}; returns FOUND or the smallest f that exceeded it. */
+    private int search(int blank, int prevBlank, int g, int h, int bound) {
+        int f = g + h;
+        if (f > bound) return f;
+        if (h == 0) { foundDepth = g; return FOUND; }
+        if (--nodesLeft <= 0) return Integer.MAX_VALUE;
+        if (g == path.length) path = Arrays.copyOf(path, g * 2);
+
+        int min = Integer.MAX_VALUE;
+        int br = blank / cols, bc = blank - br * cols;
+        for (int d = 0; d < 4; d++) {
+            int tile;
+            switch (d) {
+                case 0:  if (br == 0) continue;        tile = blank - cols; break;
+                case 1:  if (br == rows - 1) continue; tile = blank + cols; break;
+                case 2:  if (bc == 0) continue;        tile = blank - 1;    break;
+                default: if (bc == cols - 1) continue; tile = blank + 1;    break;
+            }
+            if (tile == prevBlank) continue; // never undo the previous move
+            int code = board[tile] & 0xFF;
+            int base = code * cells;
+            int nh = h - dist[base + tile] + dist[base + blank];
+
+            board[blank] = (byte) code;
+            board[tile] = 0;
+            path[g] = tile;
+            int t = search(tile, blank, g + 1, nh, bound);
+            board[tile] = (byte) code;
+            board[blank] = 0;
+
+            if (t == FOUND) return FOUND;
+            if (nodesLeft <= 0) return Integer.MAX_VALUE;
+            if (t < min) min = t;
+        }
+        return min;
+    }
+}
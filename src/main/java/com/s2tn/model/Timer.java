@@ -1,47 +1,141 @@
 package com.s2tn.model;
 
 /**
- * Simple timer class used to track elapsed time in milliseconds.
- * Supports start, stop, unpause, and adding penalties.
+ * Run timer measuring the time spent playing, in milliseconds.
+ * Time is read from a monotonic {@link Clock}, so wall-clock changes do not affect it, and
+ * only running intervals count: {@link #stop()} banks the time so far and {@link #unPause()}
+ * resumes from it. Penalties are kept in their own counter and added on top.
+ * <p>
+ * A timer can also count down to a limit with {@link #expireAfter}: the expiry is kept in a
+ * {@link DeadlineWheel} while the timer runs, cancelled on {@link #stop()} and rescheduled
+ * for the remaining time on {@link #unPause()}, {@link #start()} and {@link #addPenalty}.
+ * <p>
+ * Not thread-safe; the owning dungeon or {@link GameSession} guards it.
  */
 public class Timer {
-    private long startTime;
-    private long stopTime;
+    private final Clock clock;
+    private long activeNanos;    // banked running time, excluding the current interval
+    private long runningSince;   // clock reading when the current interval began
+    private long penaltyMillis;
     private boolean running;
+    private long limitMillis;
+    private DeadlineWheel wheel;         // null when there is no limit
+    private Runnable onExpire;
+    private DeadlineWheel.Deadline deadline;
 
-    /** Creates a new timer initialized in a stopped state. */
+    /** Creates a new timer on the system clock, initialized in a stopped state. */
     public Timer(){
-        startTime = 0;
-        stopTime = 0;
-        running = false;
+        this(Clock.SYSTEM);
+    }
+
+    /** Creates a new timer reading the given clock, initialized in a stopped state. */
+    public Timer(Clock clock) {
+        if (clock == null) throw new IllegalArgumentException("clock must not be null");
+        this.clock = clock;
     }
 
-    /** Starts or restarts the timer. */
+    /** Starts or restarts the timer from zero, clearing penalties. */
     public void start(){
-        this.startTime = System.currentTimeMillis();
-        this.running = true;
+        activeNanos = 0;
+        penaltyMillis = 0;
+        runningSince = clock.nanoTime();
+        running = true;
+        arm();
     }
 
-    /** Stops the timer and records the stop time. */
+    /** Stops (pauses) the timer, keeping the time run so far. Does nothing if stopped. */
     public void stop(){
-        this.stopTime = System.currentTimeMillis();
-        this.running = false;
+        if (!running) return;
+        activeNanos += clock.nanoTime() - runningSince;
+        running = false;
+        disarm();
     }
 
-    /** Resumes the timer from a paused state. */
+    /** Resumes the timer from a paused state; the paused interval is not counted. */
     public void unPause(){
-        this.stopTime = 0;
-        this.running = true;
+        if (running) return;
+        runningSince = clock.nanoTime();
+        running = true;
+        arm();
     }
 
-    /** Adds a time penalty by shifting the start time backward. */
+    /** Adds a time penalty in milliseconds, bringing any countdown's expiry closer. */
     public void addPenalty(long penalty){
-        this.startTime -= penalty;
+        penaltyMillis += penalty;
+        if (running) arm();
+    }
+
+    /**
+     * Sets a time limit: once the elapsed time (penalties included) reaches it, the wheel
+     * runs {@code onExpire} on its own thread. Only running time counts down. Replaces any
+     * earlier limit.
+     *
+     * @param limitMillis the allowed time in milliseconds
+     * @param wheel       the wheel to keep the deadline in
+     * @param onExpire    callback; it should check {@link #isExpired()} under the owner's lock,
+     *                    since the timer may have been paused while the callback was on its way
+     */
+    public void expireAfter(long limitMillis, DeadlineWheel wheel, Runnable onExpire) {
+        if (wheel == null || onExpire == null) throw new IllegalArgumentException("wheel and onExpire are required");
+        disarm();
+        this.limitMillis = limitMillis;
+        this.wheel = wheel;
+        this.onExpire = onExpire;
+        if (running) arm();
+    }
+
+    /** Removes the time limit and cancels its pending expiry. */
+    public void clearLimit() {
+        disarm();
+        wheel = null;
+        onExpire = null;
+        limitMillis = 0;
+    }
+
+    /** Returns true if a limit is set and the elapsed time has reached it. */
+    public boolean isExpired() {
+        return wheel != null && remainingNanos() <= 0;
+    }
+
+    /** Returns the time left before the limit in milliseconds, or -1 if there is no limit. */
+    public long remainingTime() {
+        return wheel == null ? -1 : Math.max(0, remainingNanos() / 1_000_000);
+    }
+
+    private long remainingNanos() {
+        return limitMillis * 1_000_000 - penaltyMillis * 1_000_000 - activeNanos();
+    }
+
+    /** Schedules the expiry for the time left, replacing any earlier one. */
+    private void arm() {
+        if (wheel == null) return;
+        disarm();
+        deadline = wheel.schedule(remainingNanos(), onExpire);
+    }
+
+    private void disarm() {
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+    }
+
+    /** Returns the total penalty in milliseconds. */
+    public long getPenalty() {
+        return penaltyMillis;
+    }
+
+    /** Returns the time spent running in nanoseconds, without penalties. */
+    public long activeNanos() {
+        return running ? activeNanos + (clock.nanoTime() - runningSince) : activeNanos;
     }
 
-    /** Returns the elapsed time in milliseconds between start and stop. */
+    /**
+     * Returns the elapsed time in milliseconds: the time spent running plus penalties.
+     * Reads the clock once while running and not at all while stopped.
+     */
     public long elapsedTime(){
-        return stopTime - startTime;
+        return activeNanos() / 1_000_000 + penaltyMillis;
     }
 
     /** Returns true if the timer is currently running. */
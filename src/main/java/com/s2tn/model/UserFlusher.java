@@ -0,0 +1,240 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for account changes that do not need to block the caller,
+ * such as score updates from {@link Leaderboard#submit(String, int, long)}.
+ * Accounts are marked dirty in memory; a background thread coalesces them (one write per
+ * account no matter how often it changed) and saves them to the {@link UserJournal} in batches.
+ * Anything still dirty is flushed when the JVM shuts down.
+ * Interval and batch size default to the {@code s2tn.flush.intervalMs} and
+ * {@code s2tn.flush.batchSize} system properties.
+ */
+public final class UserFlusher {
+
+    /** Default delay between background flushes, in milliseconds. */
+    public static final long DEFAULT_INTERVAL_MILLIS = 200;
+
+    /** Default maximum number of accounts written per journal append. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final class Holder {
+        static final UserFlusher INSTANCE = create();
+    }
+
+    private final UserJournal journal;
+    private final Map<String, Account> dirty = new ConcurrentHashMap<>();
+    // tombstones: deleted id -> journal compaction count at the delete; kept until the next compaction
+    private final Map<String, Long> deleted = new ConcurrentHashMap<>();
+    private long prunedAt; // compaction count tombstones were last pruned at, guarded by flushLock
+    private final ScheduledExecutorService scheduler;
+    private final Object flushLock = new Object();
+    private ScheduledFuture<?> task;
+    private long intervalMillis;
+    private volatile int batchSize;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushedAccounts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+
+    /** Returns the shared flusher for users.json, starting it on first use. */
+    public static UserFlusher getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static UserFlusher create() {
+        UserFlusher flusher = new UserFlusher(DataConstants.usersPath(),
+                Long.getLong("s2tn.flush.intervalMs", DEFAULT_INTERVAL_MILLIS),
+                Integer.getInteger("s2tn.flush.batchSize", DEFAULT_BATCH_SIZE));
+        Runtime.getRuntime().addShutdownHook(new Thread(flusher::close, "s2tn-user-flush-on-exit"));
+        return flusher;
+    }
+
+    /**
+     * Creates a flusher writing to the journal of the given users file.
+     *
+     * @param usersFile      path to users.json
+     * @param intervalMillis delay between background flushes
+     * @param batchSize      maximum accounts per journal append
+     */
+    UserFlusher(Path usersFile, long intervalMillis, int batchSize) {
+        this.journal = UserJournal.forPath(usersFile);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "s2tn-user-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        configure(intervalMillis, batchSize);
+    }
+
+    /**
+     * Changes the flush interval and batch size; takes effect for the next scheduled flush.
+     *
+     * @param intervalMillis delay between background flushes (minimum 1)
+     * @param batchSize      maximum accounts per journal append (minimum 1)
+     */
+    public synchronized void configure(long intervalMillis, int batchSize) {
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        if (scheduler.isShutdown()) return;
+        if (task != null) task.cancel(false);
+        task = scheduler.scheduleWithFixedDelay(this::backgroundFlush,
+                this.intervalMillis, this.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an account to be saved by the next flush, unless it was deleted through this flusher.
+     * Lock-free; a put that races a delete is dropped when the flush builds its batch.
+     */
+    public void markDirty(Account a) {
+        if (a == null || deleted.containsKey(a.getAccountID())) return;
+        dirty.put(a.getAccountID(), a);
+    }
+
+    /**
+     * Drops a queued account. Waits for a flush in progress, so a batch already taken off
+     * the queue is written (or re-queued) before this returns.
+     */
+    public void discard(String accountId) {
+        if (accountId == null) return;
+        synchronized (flushLock) {
+            dirty.remove(accountId);
+        }
+    }
+
+    /**
+     * Deletes an account from the journal, ordered after any flush in progress so that
+     * a batch holding the account cannot write it back after the delete. Later
+     * {@link #markDirty} calls for it, e.g. from a score submitted with a stale reference,
+     * are ignored until the journal next compacts.
+     *
+     * @param accountId ID of the removed account
+     * @return true if the account was persisted and is now deleted
+     * @throws IOException if the journal cannot be written
+     */
+    public boolean delete(String accountId) throws IOException {
+        if (accountId == null) return false;
+        synchronized (flushLock) {
+            dirty.remove(accountId);
+            try {
+                return journal.delete(accountId);
+            } finally {
+                deleted.put(accountId, journal.compactionCount());
+            }
+        }
+    }
+
+    /**
+     * Saves every queued account now, in batches, on the calling thread.
+     * Accounts whose batch fails to write stay queued for the next attempt.
+     *
+     * @return number of account records written
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            int written = 0;
+            while (!dirty.isEmpty()) {
+                List<Account> batch = new ArrayList<>(Math.min(batchSize, dirty.size()));
+                Iterator<Map.Entry<String, Account>> it = dirty.entrySet().iterator();
+                while (it.hasNext() && batch.size() < batchSize) {
+                    Map.Entry<String, Account> e = it.next();
+                    it.remove();
+                    if (!deleted.containsKey(e.getKey())) batch.add(e.getValue());
+                }
+                if (batch.isEmpty()) continue;
+
+                long start = System.nanoTime();
+                try {
+                    written += journal.upsert(batch);
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                    for (Account a : batch) {
+                        if (!deleted.containsKey(a.getAccountID())) dirty.putIfAbsent(a.getAccountID(), a);
+                    }
+                    System.err.println("Failed to flush users at " + journal.getSnapshotPath().toAbsolutePath() + ": " + e.getMessage());
+                    break;
+                }
+                long took = System.nanoTime() - start;
+                flushes.incrementAndGet();
+                flushedAccounts.addAndGet(batch.size());
+                lastFlushNanos.set(took);
+                totalFlushNanos.addAndGet(took);
+                maxFlushNanos.accumulateAndGet(took, Math::max);
+            }
+            pruneTombstones();
+            return written;
+        }
+    }
+
+    /** Drops tombstones for deletes the journal has since compacted past (caller holds flushLock). */
+    private void pruneTombstones() {
+        long compacted = journal.compactionCount();
+        if (compacted == prunedAt) return;
+        deleted.values().removeIf(at -> at < compacted);
+        prunedAt = compacted;
+    }
+
+    /** Stops the background thread and flushes whatever is still queued. */
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    // -------- metrics --------
+
+    /** Returns the number of accounts waiting to be flushed. */
+    public int queueDepth() { return dirty.size(); }
+
+    /** Returns the number of deleted accounts whose late updates are still being ignored. */
+    int tombstones() { return deleted.size(); }
+
+    /** Returns the number of batches written so far. */
+    public long flushCount() { return flushes.get(); }
+
+    /** Returns the number of accounts handed to the journal so far. */
+    public long flushedAccounts() { return flushedAccounts.get(); }
+
+    /** Returns the number of batches that failed to write. */
+    public long failureCount() { return failures.get(); }
+
+    /** Returns how long the most recent batch took to write, in nanoseconds. */
+    public long lastFlushNanos() { return lastFlushNanos.get(); }
+
+    /** Returns the slowest batch write so far, in nanoseconds. */
+    public long maxFlushNanos() { return maxFlushNanos.get(); }
+
+    /** Returns the mean batch write time, in nanoseconds (0 before the first flush). */
+    public long averageFlushNanos() {
+        long n = flushes.get();
+        return n == 0 ? 0 : totalFlushNanos.get() / n;
+    }
+
+    /** Returns the current flush interval in milliseconds. */
+    public synchronized long getIntervalMillis() { return intervalMillis; }
+
+    /** Returns the current batch size. */
+    public int getBatchSize() { return batchSize; }
+
+    private void backgroundFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("User flush failed: " + e.getMessage());
+        }
+    }
+}
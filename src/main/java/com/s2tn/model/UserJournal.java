@@ -0,0 +1,376 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Journaled persistence for user accounts.
+ * users.json is a compacted snapshot; a sibling users.journal holds one JSON line per account
+ * upsert or delete made since. Saving appends only the records that changed, and once enough
+ * entries pile up a background thread folds them back into the snapshot, which is replaced
+ * atomically; saves are not held up while the snapshot is written.
+ * A crash can at worst tear the last journal line, which is dropped on the next load.
+ * One instance exists per snapshot file; all DataWriter/DataLoader instances share it.
+ */
+public final class UserJournal {
+
+    /** Number of journal entries after which the journal is compacted into the snapshot. */
+    public static final int DEFAULT_COMPACT_THRESHOLD = 1000;
+
+    private static final Map<Path, UserJournal> OPEN = new ConcurrentHashMap<>();
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "s2tn-user-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path snapshot;
+    private final Path journal;
+
+    // persisted state, loaded lazily: accountID -> record JSON, userName -> accountID and back
+    private LinkedHashMap<String, String> records;
+    private HashMap<String, String> owners;
+    private HashMap<String, String> names;
+    private int pending = 0;
+    private long compactions = 0;
+    private int compactThreshold = DEFAULT_COMPACT_THRESHOLD;
+    private long bytesWritten = 0;
+    private boolean compactionQueued = false;
+    private final Object compactLock = new Object(); // one compaction at a time, taken before this
+
+    /**
+     * Returns the journal for the given snapshot file, creating it on first use.
+     *
+     * @param snapshot path to users.json
+     * @return the shared journal for that file
+     */
+    public static UserJournal forPath(Path snapshot) {
+        return OPEN.computeIfAbsent(snapshot.toAbsolutePath().normalize(), UserJournal::new);
+    }
+
+    private UserJournal(Path snapshot) {
+        this.snapshot = snapshot;
+        String name = snapshot.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.journal = snapshot.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".journal");
+    }
+
+    /** Returns the path of the snapshot file (users.json). */
+    public Path getSnapshotPath() { return snapshot; }
+
+    /** Returns the path of the append-only journal file. */
+    public Path getJournalPath() { return journal; }
+
+    /** Returns the number of entries written to the journal since the last compaction. */
+    public synchronized int pendingEntries() { return pending; }
+
+    /** Returns the number of compactions done through this instance. */
+    synchronized long compactionCount() { return compactions; }
+
+    /** Returns the bytes this journal has written to the journal and snapshot files so far. */
+    synchronized long bytesWritten() { return bytesWritten; }
+
+    /** Sets how many journal entries trigger a background compaction (minimum 1). */
+    public synchronized void setCompactThreshold(int entries) { this.compactThreshold = Math.max(1, entries); }
+
+    /**
+     * Reads the snapshot and replays the journal on top of it.
+     *
+     * @return freshly built accounts in file order
+     * @throws IOException if either file cannot be read
+     * @throws ParseException if the snapshot is not valid JSON
+     */
+    public synchronized List<Account> load() throws IOException, ParseException {
+        LinkedHashMap<String, Account> accounts = new LinkedHashMap<>();
+        read(accounts);
+        return new ArrayList<>(accounts.values());
+    }
+
+    /**
+     * Persists every given account whose record differs from what is on disk.
+     * Accounts without a username, or whose username is persisted under another
+     * account ID, are skipped.
+     *
+     * @param accounts accounts to save
+     * @return number of records written
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized int upsert(Collection<Account> accounts) throws IOException {
+        ensureLoaded();
+        LinkedHashMap<String, String> changed = new LinkedHashMap<>();
+        StringBuilder lines = new StringBuilder();
+        for (Account a : accounts) {
+            if (a == null) continue;
+            String id = a.getAccountID();
+            String uname = a.getUserName() == null ? "" : a.getUserName();
+            if (uname.isEmpty()) continue;
+            String owner = owners.get(uname);
+            if (owner != null && !owner.equals(id)) continue;
+
+            String json = DataWriter.userToJson(a);
+            if (json.equals(records.get(id)) || json.equals(changed.get(id))) continue;
+            changed.put(id, json);
+            lines.append("{\"op\":\"put\",\"user\":").append(json).append("}\n");
+        }
+        if (changed.isEmpty()) return 0;
+
+        append(lines);
+        for (Map.Entry<String, String> e : changed.entrySet()) {
+            records.put(e.getKey(), e.getValue());
+            disown(e.getKey(), owners, names);
+        }
+        for (Account a : accounts) {
+            if (a != null && changed.containsKey(a.getAccountID())) {
+                owners.put(a.getUserName(), a.getAccountID());
+                names.put(a.getAccountID(), a.getUserName());
+            }
+        }
+        pending += changed.size();
+        scheduleCompaction();
+        return changed.size();
+    }
+
+    /**
+     * Records the removal of an account.
+     *
+     * @param accountId ID of the removed account
+     * @return true if the account was persisted and is now deleted
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized boolean delete(String accountId) throws IOException {
+        ensureLoaded();
+        if (accountId == null || !records.containsKey(accountId)) return false;
+        JSONObject del = new JSONObject();
+        putEntry(del, "op", "del");
+        putEntry(del, "accountID", accountId);
+        append(new StringBuilder(del.toJSONString()).append('\n'));
+        records.remove(accountId);
+        disown(accountId, owners, names);
+        pending++;
+        scheduleCompaction();
+        return true;
+    }
+
+    /**
+     * Folds the journal into the snapshot: users.json is replaced atomically through
+     * {@link AtomicFiles}, then the journal is cut down to the entries appended while the
+     * snapshot was being written. The snapshot is written without holding the journal's
+     * lock, so saves carry on meanwhile. Replaying a journal that survived a crash in
+     * between is harmless because every entry is a full record.
+     *
+     * @throws IOException if the snapshot cannot be replaced
+     */
+    public void compact() throws IOException {
+        synchronized (compactLock) {
+            List<String> folded;
+            long mark;
+            int foldedEntries;
+            synchronized (this) {
+                ensureLoaded();
+                folded = new ArrayList<>(records.values());
+                mark = AtomicFiles.sizeOf(journal);
+                foldedEntries = pending;
+            }
+
+            StringBuilder out = new StringBuilder(64 + folded.size() * 160);
+            out.append('[');
+            for (int i = 0; i < folded.size(); i++) {
+                if (i > 0) out.append(',');
+                out.append(folded.get(i));
+            }
+            out.append(']');
+            AtomicFiles.write(snapshot, out);
+
+            synchronized (this) {
+                bytesWritten += AtomicFiles.sizeOf(snapshot);
+                dropJournalPrefix(mark);
+                pending = Math.max(0, pending - foldedEntries);
+                compactions++;
+            }
+        }
+    }
+
+    // -------- internals --------
+
+    /** Queues a background compaction once enough entries are pending (caller holds this). */
+    private void scheduleCompaction() {
+        if (pending < compactThreshold || compactionQueued) return;
+        compactionQueued = true;
+        COMPACTOR.execute(this::backgroundCompact);
+    }
+
+    private void backgroundCompact() {
+        synchronized (this) {
+            compactionQueued = false;
+        }
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to compact users journal " + journal.toAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /** Removes the first {@code mark} bytes of the journal, which the snapshot now holds (caller holds this). */
+    private void dropJournalPrefix(long mark) throws IOException {
+        if (!Files.exists(journal)) return;
+        try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            if (size <= mark) {
+                ch.truncate(0);
+                ch.force(true);
+                return;
+            }
+            ByteBuffer tail = ByteBuffer.allocate((int) (size - mark));
+            while (tail.hasRemaining() && ch.read(tail, mark + tail.position()) >= 0) {
+                // keep reading
+            }
+            AtomicFiles.write(journal, tail.array(), tail.position());
+        }
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (records != null) return;
+        try {
+            read(null);
+        } catch (ParseException e) {
+            throw new IOException("Unreadable users file " + snapshot.toAbsolutePath() + ": " + e, e);
+        }
+    }
+
+    /** Loads snapshot + journal into the persisted-state maps, optionally collecting accounts. */
+    private void read(LinkedHashMap<String, Account> accounts) throws IOException, ParseException {
+        LinkedHashMap<String, String> recs = new LinkedHashMap<>();
+        HashMap<String, String> own = new HashMap<>();
+        HashMap<String, String> nm = new HashMap<>();
+        if (accounts == null) accounts = new LinkedHashMap<>();
+
+        if (Files.exists(snapshot)) {
+            String text = Files.readString(snapshot, StandardCharsets.UTF_8).trim();
+            if (!text.isEmpty()) {
+                Object root = new JSONParser().parse(text);
+                if (root instanceof JSONArray arr) {
+                    for (Object o : arr) {
+                        if (o instanceof JSONObject u) apply(DataLoader.parseAccount(u), recs, own, nm, accounts);
+                    }
+                } else {
+                    System.err.println("Users JSON must be an array: " + snapshot.toAbsolutePath());
+                }
+            }
+        }
+
+        int entries = 0;
+        int corrupt = 0;
+        if (Files.exists(journal)) {
+            byte[] bytes = Files.readAllBytes(journal);
+            JSONParser parser = new JSONParser();
+            int start = 0;
+            int valid = 0;
+            while (start < bytes.length) {
+                int nl = indexOf(bytes, (byte) '\n', start);
+                if (nl < 0) break; // torn final line: the append never finished
+                String line = new String(bytes, start, nl - start, StandardCharsets.UTF_8).trim();
+                if (!line.isEmpty()) {
+                    // a complete line can only be damaged in place; skip it and keep what follows
+                    try {
+                        if (parser.parse(line) instanceof JSONObject entry) {
+                            replay(entry, recs, own, nm, accounts);
+                            entries++;
+                        } else {
+                            corrupt++;
+                        }
+                    } catch (ParseException e) {
+                        corrupt++;
+                    }
+                }
+                start = nl + 1;
+                valid = start;
+            }
+            if (corrupt > 0) {
+                System.err.println("Skipped " + corrupt + " corrupt entries in " + journal.toAbsolutePath());
+            }
+            if (valid < bytes.length) {
+                System.err.println("Dropping incomplete entries at end of " + journal.toAbsolutePath());
+                try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                    ch.truncate(valid);
+                    ch.force(true);
+                }
+            }
+        }
+
+        records = recs;
+        owners = own;
+        names = nm;
+        pending = entries;
+    }
+
+    private static void replay(JSONObject entry, LinkedHashMap<String, String> recs, HashMap<String, String> own,
+                               HashMap<String, String> nm, LinkedHashMap<String, Account> accounts) {
+        Object op = entry.get("op");
+        if ("put".equals(op) && entry.get("user") instanceof JSONObject u) {
+            apply(DataLoader.parseAccount(u), recs, own, nm, accounts);
+        } else if ("del".equals(op)) {
+            String id = DataLoader.asString(entry.get("accountID"));
+            if (id != null && recs.remove(id) != null) {
+                disown(id, own, nm);
+                accounts.remove(id);
+            }
+        }
+    }
+
+    private static void apply(Account a, LinkedHashMap<String, String> recs, HashMap<String, String> own,
+                              HashMap<String, String> nm, LinkedHashMap<String, Account> accounts) {
+        String id = a.getAccountID();
+        disown(id, own, nm);
+        recs.put(id, DataWriter.userToJson(a));
+        if (own.putIfAbsent(a.getUserName(), id) == null) nm.put(id, a.getUserName());
+        accounts.put(id, a);
+    }
+
+    /** Drops an account's claim on its persisted username in O(1) through the reverse map. */
+    private static void disown(String id, HashMap<String, String> own, HashMap<String, String> nm) {
+        String name = nm.remove(id);
+        if (name != null) own.remove(name, id);
+    }
+
+    private void append(CharSequence lines) throws IOException {
+        Path parent = journal.getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            long before = ch.size();
+            AtomicFiles.writeUtf8(ch, lines);
+            ch.force(false);
+            bytesWritten += ch.size() - before;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from) {
+        for (int i = from; i < bytes.length; i++) if (bytes[i] == b) return i;
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putEntry(JSONObject obj, String key, Object value) {
+        obj.put(key, value);
+    }
+}
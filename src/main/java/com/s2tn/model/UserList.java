@@ -1,18 +1,35 @@
 package com.s2tn.model;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Manages all user accounts in memory using a singleton pattern.
  * Provides lookup, add, remove, and update operations for users.
+ * Accounts are indexed by account ID, by username and by case-folded username, so lookups
+ * are constant time and never lock; writes are serialized to keep the indexes consistent.
+ * Renaming an account must go through {@link #updateUser(Account)} so it is re-indexed.
  */
 public class UserList {
 
     private static final UserList INSTANCE = new UserList();
 
-    private final List<Account> users = new ArrayList<>();
+    /** Index entry: the account, its insertion position and the username it is indexed under. */
+    private record Slot(long seq, Account account, String userName) {}
+
+    /** The indexes; edited in place by writers, replaced wholesale by {@link #replaceAll}. */
+    private static final class Indexes {
+        final ConcurrentHashMap<String, Slot> byId = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Slot> byName = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Slot> byFoldedName = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<Long, Account> order = new ConcurrentSkipListMap<>();
+        long nextSeq = 0;
+    }
+
+    private volatile Indexes idx = new Indexes();
 
     /** Private constructor to enforce singleton usage. */
     private UserList() {}
@@ -22,90 +39,144 @@ public class UserList {
         return INSTANCE;
     }
 
-    /** Returns an unmodifiable snapshot of all users. */
+    /** Returns an unmodifiable snapshot of all users, in insertion order. */
     public List<Account> getAll() {
-        return List.copyOf(users);
+        return List.copyOf(idx.order.values());
     }
 
-    /** Replaces the entire user list with a fresh collection (used by DataLoader). */
-    public void replaceAll(List<Account> fresh) {
-        users.clear();
-        if (fresh != null) users.addAll(fresh);
+    /** Returns the number of users. */
+    public int size() {
+        return idx.byId.size();
+    }
+
+    /**
+     * Replaces the entire user list with a fresh collection (used by DataLoader).
+     * If the collection repeats an ID or username, the first occurrence wins.
+     * The new indexes are built aside and published in one step, so readers see either the
+     * old list or the new one, never a partly filled one.
+     */
+    public synchronized void replaceAll(List<Account> fresh) {
+        Indexes built = new Indexes();
+        if (fresh != null) {
+            for (Account a : fresh) {
+                if (a == null || built.byId.containsKey(a.getAccountID())) continue;
+                if (a.getUserName() != null && built.byName.containsKey(a.getUserName())) continue;
+                index(built, a);
+            }
+        }
+        idx = built;
     }
 
     /** Finds a user by account ID. Returns null if not found or ID is invalid. */
     public Account getId(String accountId) {
         if (accountId == null || accountId.isBlank()) return null;
-        for (Account a : users) {
-            if (accountId.equals(a.getAccountID())) return a;
-        }
-        return null;
+        Slot s = idx.byId.get(accountId);
+        return s == null ? null : s.account();
     }
 
     /** Finds a user by username. Returns null if not found or input is invalid. */
     public Account getUser(String userName) {
         if (userName == null || userName.isBlank()) return null;
-        for (Account user : users) {
-            if (userName.equals(user.getUserName())) return user;
-        }
-        return null;
+        Slot s = idx.byName.get(userName);
+        return s == null ? null : s.account();
     }
 
     /** Finds a user by username (alias of getUser). Returns null if not found. */
     public Account getUserName(String userName) {
+        return getUser(userName);
+    }
+
+    /**
+     * Finds a user by username ignoring case, matching {@link Account#login(String, String)}.
+     * If several usernames differ only in case, the earliest registered one is returned.
+     */
+    public Account getUserIgnoreCase(String userName) {
         if (userName == null || userName.isBlank()) return null;
-        for (Account a : users) {
-            if (userName.equals(a.getUserName())) return a;
-        }
-        return null;
+        Slot s = idx.byFoldedName.get(fold(userName));
+        return s == null ? null : s.account();
     }
 
     /** Adds a new user if their ID and username are unique. Returns true if added. */
-    public boolean addUser(Account a) {
+    public synchronized boolean addUser(Account a) {
         if (a == null) return false;
 
         if (a.getAccountID() == null || a.getAccountID().isBlank()) {
             a.setAccountID(UUID.randomUUID().toString());
         }
 
-        boolean idExists = users.stream()
-                .anyMatch(u -> a.getAccountID().equals(u.getAccountID()));
-        boolean nameTaken = users.stream()
-                .anyMatch(u -> a.getUserName() != null &&
-                               a.getUserName().equals(u.getUserName()));
+        Indexes x = idx;
+        boolean idExists = x.byId.containsKey(a.getAccountID());
+        boolean nameTaken = a.getUserName() != null && x.byName.containsKey(a.getUserName());
         if (idExists || nameTaken) return false;
 
-        users.add(a);
+        index(x, a);
         return true;
     }
 
     /** Removes a user by account ID. Returns true if a matching user was removed. */
-    public boolean removeUser(String accountId) {
+    public synchronized boolean removeUser(String accountId) {
         if (accountId == null || accountId.isBlank()) return false;
-        return users.removeIf(u -> accountId.equals(u.getAccountID()));
+        Indexes x = idx;
+        Slot s = x.byId.remove(accountId);
+        if (s == null) return false;
+        unindexName(x, s);
+        x.order.remove(s.seq());
+        return true;
     }
 
     /**
      * Updates an existing user with new data.
      * Returns true if successful, false if user not found or username conflicts.
      */
-    public boolean updateUser(Account updated) {
+    public synchronized boolean updateUser(Account updated) {
         if (updated == null || updated.getAccountID() == null || updated.getAccountID().isBlank()) return false;
 
-        for (int i = 0; i < users.size(); i++) {
-            Account cur = users.get(i);
-            if (updated.getAccountID().equals(cur.getAccountID())) {
-                boolean nameTaken = users.stream()
-                        .anyMatch(u -> !u.getAccountID().equals(updated.getAccountID())
-                                    && updated.getUserName() != null
-                                    && updated.getUserName().equals(u.getUserName()));
-                if (nameTaken) return false;
-
-                users.set(i, updated);
-                return true;
+        Indexes x = idx;
+        Slot cur = x.byId.get(updated.getAccountID());
+        if (cur == null) return false;
+
+        String name = updated.getUserName();
+        Slot owner = (name == null) ? null : x.byName.get(name);
+        if (owner != null && owner != cur) return false;
+
+        unindexName(x, cur);
+        Slot fresh = new Slot(cur.seq(), updated, name);
+        x.byId.put(updated.getAccountID(), fresh);
+        indexName(x, fresh);
+        x.order.put(cur.seq(), updated);
+        return true;
+    }
+
+    // -------- index maintenance (callers hold the lock) --------
+
+    private static void index(Indexes x, Account a) {
+        Slot s = new Slot(x.nextSeq++, a, a.getUserName());
+        x.byId.put(a.getAccountID(), s);
+        indexName(x, s);
+        x.order.put(s.seq(), a);
+    }
+
+    private static void indexName(Indexes x, Slot s) {
+        if (s.userName() == null) return;
+        x.byName.put(s.userName(), s);
+        x.byFoldedName.merge(fold(s.userName()), s, (old, neu) -> old.seq() <= neu.seq() ? old : neu);
+    }
+
+    private static void unindexName(Indexes x, Slot s) {
+        if (s.userName() == null) return;
+        x.byName.remove(s.userName(), s);
+        String folded = fold(s.userName());
+        if (x.byFoldedName.remove(folded, s)) {
+            // another username may differ only in case; promote the earliest one (rare, so a scan is fine)
+            for (Slot other : x.byName.values()) {
+                if (folded.equals(fold(other.userName()))) {
+                    x.byFoldedName.merge(folded, other, (old, neu) -> old.seq() <= neu.seq() ? old : neu);
+                }
             }
         }
-        return false;
     }
 
+    private static String fold(String userName) {
+        return userName.toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,5 +1,6 @@
 package com.s2tn.model;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,7 +31,7 @@ public class UserService {
         }
 
         boolean ok = UserList.getInstance().addUser(a);
-        if (ok) new DataWriter().saveUsers();
+        if (ok) writer.saveUser(a);
         return ok;
     }
 
@@ -43,7 +44,7 @@ public class UserService {
      */
     public boolean updateUser(Account updated) {
         boolean ok = users.updateUser(updated);
-        if (ok) writer.saveUsers();
+        if (ok) writer.saveUser(updated);
         return ok;
     }
 
@@ -56,7 +57,13 @@ public class UserService {
      */
     public boolean removeUser(String accountId) {
         boolean ok = users.removeUser(accountId);
-        if (ok) writer.saveUsers();
+        if (ok) {
+            try {
+                UserFlusher.getInstance().delete(accountId); // ordered after any flush in progress
+            } catch (IOException e) {
+                System.err.println("Failed to delete user " + accountId + ": " + e.getMessage());
+            }
+        }
         return ok;
     }
 
@@ -68,4 +75,7 @@ public class UserService {
 
     /** Returns a user by username, or null if not found. */
     public Account getByUserName(String name) { return users.getUserName(name); }
+
+    /** Returns a user by username ignoring case, or null if not found. */
+    public Account getByUserNameIgnoreCase(String name) { return users.getUserIgnoreCase(name); }
 }
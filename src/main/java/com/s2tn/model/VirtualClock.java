@@ -0,0 +1,43 @@
+package com.s2tn.model;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Clock} that only moves when told to, so a test or simulation can fast-forward
+ * hours of dungeon time instantly and get exact, repeatable durations. Safe to read and
+ * advance from any thread.
+ */
+public final class VirtualClock implements Clock {
+
+    private final AtomicLong now = new AtomicLong();
+
+    /** Creates a clock reading zero. */
+    public VirtualClock() {}
+
+    /** Creates a clock with a starting reading in nanoseconds. */
+    public VirtualClock(long startNanos) {
+        now.set(startNanos);
+    }
+
+    @Override
+    public long nanoTime() {
+        return now.get();
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param nanos how far to move, not negative
+     * @return the new reading
+     */
+    public long advance(long nanos) {
+        if (nanos < 0) throw new IllegalArgumentException("A clock cannot go backward: " + nanos);
+        return now.addAndGet(nanos);
+    }
+
+    /** Moves the clock forward by a duration and returns the new reading. */
+    public long advance(Duration d) {
+        return advance(d.toNanos());
+    }
+}
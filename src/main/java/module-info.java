@@ -4,6 +4,8 @@ module com.example.s2tn {
     requires javafx.web;
     requires json.simple;
     requires freetts;
+    requires java.management;
+    requires jdk.jfr;
 
     requires org.controlsfx.controls;
     requires net.synedra.validatorfx;
@@ -13,5 +15,6 @@ module com.example.s2tn {
 
     opens com.s2tn to javafx.fxml;
     exports com.s2tn;
+    exports com.s2tn.model to java.management; // Facade metrics MBeans
 
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.s2tn.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerIndexTest {
+
+    @Test
+    @DisplayName("normalize trims, collapses whitespace and folds case")
+    void normalize() {
+        assertEquals("open sesame", AnswerIndex.normalize("  Open \t\u00A0 SESAME\n", false));
+        assertEquals("", AnswerIndex.normalize(" \t ", false));
+        assertEquals("straße", AnswerIndex.normalize("STRAßE", false));
+        assertEquals("café", AnswerIndex.normalize("CAFÉ", false));
+        assertEquals("cafe", AnswerIndex.normalize("CAFÉ", true));
+        assertEquals("cafe", AnswerIndex.normalize("cafe\u0301", true), "decomposed accents are dropped too");
+    }
+
+    @Test
+    void matches_usesSameNormalization() {
+        AnswerIndex idx = new AnswerIndex();
+        idx.add("Open Sesame");
+        idx.add("open   sesame"); // same normalized form
+        idx.add(null);
+        assertEquals(1, idx.size());
+
+        assertTrue(idx.matches("open sesame"));
+        assertTrue(idx.matches("\tOPEN\n\nsesame  "));
+        assertFalse(idx.matches("opensesame"));
+        assertFalse(idx.matches("open sesame!"));
+        assertFalse(idx.matches("open"));
+        assertFalse(idx.matches(null));
+        assertFalse(new AnswerIndex().matches("anything"));
+    }
+
+    @Test
+    void stripAccents_rebuildsExistingAnswers() {
+        AnswerIndex idx = new AnswerIndex();
+        idx.add("Naïve");
+        assertFalse(idx.matches("naive"));
+        idx.setStripAccents(true);
+        assertTrue(idx.isStripAccents());
+        assertTrue(idx.matches("NAIVE"));
+        assertTrue(idx.matches("nai\u0308ve"));
+        idx.setStripAccents(false);
+        assertFalse(idx.matches("naive"));
+        assertTrue(idx.matches("NAÏVE"));
+    }
+
+    @Test
+    void manyAnswers_growTheTable() {
+        AnswerIndex idx = new AnswerIndex();
+        for (int i = 0; i < 1000; i++) idx.add("Code " + i);
+        assertEquals(1000, idx.size());
+        for (int i = 0; i < 1000; i++) assertTrue(idx.matches("code  " + i));
+        assertFalse(idx.matches("code 1000"));
+        idx.clear();
+        assertEquals(0, idx.size());
+        assertFalse(idx.matches("code 1"));
+    }
+}
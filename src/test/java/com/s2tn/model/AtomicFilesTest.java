@@ -0,0 +1,61 @@
+package com.s2tn.model;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AtomicFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("write creates missing directories and replaces existing content")
+    void write_replacesContent() throws Exception {
+        Path target = dir.resolve("nested").resolve("users.json");
+        AtomicFiles.write(target, "[1,2,3]");
+        AtomicFiles.write(target, "[]");
+
+        assertEquals("[]", Files.readString(target, StandardCharsets.UTF_8));
+        try (var files = Files.list(target.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("content larger than the buffer with multi-byte characters round-trips")
+    void write_largeUnicode() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) sb.append("é€😀").append(i);
+        Path target = dir.resolve("big.txt");
+
+        AtomicFiles.write(target, sb);
+
+        assertEquals(sb.toString(), Files.readString(target, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("write keeps the target's permissions and gives new files rw-r--r--")
+    void write_keepsPermissions() throws Exception {
+        Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path created = dir.resolve("rooms.json");
+        AtomicFiles.write(created, "[]");
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(created)));
+
+        Path existing = dir.resolve("users.json");
+        Files.writeString(existing, "[]");
+        Files.setPosixFilePermissions(existing, PosixFilePermissions.fromString("rw-rw-r--"));
+        AtomicFiles.write(existing, "[1]");
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(existing)));
+        AtomicFiles.write(existing, new byte[] {'[', ']'}, 2);
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(existing)));
+    }
+}
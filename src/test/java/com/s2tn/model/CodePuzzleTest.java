@@ -1,6 +1,8 @@
 package com.s2tn.model;
 
-import org.junit.jupiter.api.AfterEach;
+import java.time.Duration;
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,23 +10,47 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class CodePuzzleTest {
 
+    private CodePuzzle puzzle;
+
     @BeforeEach
     void setUp() {
-    }
-
-    @AfterEach
-    void tearDown() {
+        puzzle = new CodePuzzle("Vault", Set.of(" Open Sesame ", "1234"));
     }
 
     @Test
     void addAcceptedCode() {
+        assertFalse(puzzle.enterInput("abracadabra").isValid());
+        puzzle.addAcceptedCode("AbraCadabra");
+        puzzle.addAcceptedCode(null);
+        assertTrue(puzzle.enterInput("  abracadabra ").isValid());
+        assertTrue(new CodePuzzle().enterInput("VICTORY").isValid());
     }
 
     @Test
     void enterInput() {
+        assertEquals("Enter a code.", puzzle.enterInput("  ").getMessage());
+        assertEquals(PuzzleState.IN_PROGRESS, puzzle.enterInput("open").getNewState());
+        assertEquals(PuzzleState.IN_PROGRESS, puzzle.getState());
+
+        ValidationResult ok = puzzle.enterInput("OPEN    sesame");
+        assertTrue(ok.isValid());
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    void setIgnoreAccents() {
+        CodePuzzle p = new CodePuzzle("Menu", Set.of("Jalapeño"));
+        assertFalse(p.enterInput("jalapeno").isValid());
+        p.setIgnoreAccents(true);
+        assertTrue(p.enterInput("jalapeno").isValid());
     }
 
     @Test
     void checkSpecificAchievementCondition() {
+        assertFalse(puzzle.checkSpecificAchievementCondition(null, Duration.ofSeconds(5), 0, 0));
+        puzzle.enterInput("1234");
+        assertTrue(puzzle.checkSpecificAchievementCondition(null, Duration.ofSeconds(5), 0, 0));
+        assertFalse(puzzle.checkSpecificAchievementCondition(null, Duration.ofSeconds(11), 0, 0));
+        assertFalse(puzzle.checkSpecificAchievementCondition(null, Duration.ofSeconds(5), 1, 0));
     }
-}
\ No newline at end of file
+}
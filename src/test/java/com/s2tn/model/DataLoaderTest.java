@@ -1,5 +1,8 @@
 package com.s2tn.model;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -13,13 +16,33 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 class DataLoaderTest {
 
+    private static final String DUNGEON = """
+            {"name":"Hall","difficulty":3,"timer":{"allowedTime":"00:05:00"},
+             "story":{"title":"skip me","tts":true},
+             "rooms":[
+               {"roomId":"r1","hints":[{"level":1,"text":"room hint","cost":0.5}],
+                "puzzles":[
+                  {"title":"Riddle","question":"q?","answer":"torch","hints":[{"level":1,"text":"h","cost":1.0}]},
+                  {"title":"Scramble","scrambledWord":"DLOG","solution":"GOLD","rewardItem":"GOLD_COIN"},
+                  {"title":"Code","codePrompt":"p","expectedCode":"3214","requiresItem":true,"requiredItemKey":"CIPHER"}
+                ],
+                "exits":["r2"],"lockedExits":[]},
+               {"roomId":"r2","puzzles":[]}
+             ]}
+            """;
+
+    @TempDir
+    Path tmp;
+
     private DataLoader loader;
 
     @BeforeEach
@@ -111,4 +134,74 @@ class DataLoaderTest {
         List<Dungeon> b = loader.getDungeons();
         assertNotSame(a, b);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadDungeons_streamsBothShapes() throws Exception {
+        Path array = tmp.resolve("array.json");
+        Path wrapped = tmp.resolve("wrapped.json");
+        Files.writeString(array, "[" + DUNGEON + "]", StandardCharsets.UTF_8);
+        Files.writeString(wrapped, "{\"version\":2,\"dungeons\":[" + DUNGEON + "," + DUNGEON + "]}", StandardCharsets.UTF_8);
+
+        loader.loadDungeons(array);
+        List<Dungeon> fromArray = loader.getDungeons();
+        assertEquals(1, fromArray.size());
+
+        Dungeon d = fromArray.get(0);
+        assertEquals("Hall", d.getName());
+        assertEquals(Difficulty.HARD, d.getDifficulty());
+        assertEquals(2, d.getRooms().size());
+        assertSame(d.getRooms().get(0), d.getStartingRoom());
+
+        Room first = d.getRooms().get(0);
+        assertEquals(1, first.getHints().size());
+        assertEquals("room hint", first.getHints().get(0).getText());
+        assertEquals(3, first.getPuzzles().size());
+
+        Puzzle riddle = first.getPuzzles().get(0);
+        assertTrue(riddle instanceof Riddle);
+        assertEquals(1, riddle.getHints().size());
+        assertEquals("GOLD_COIN", first.getPuzzles().get(1).getRewardItem());
+        assertTrue(first.getPuzzles().get(2).isRequiresItem());
+        assertEquals("CIPHER", first.getPuzzles().get(2).getRequiredItemKey());
+
+        loader.loadDungeons(wrapped);
+        assertEquals(2, loader.getDungeons().size());
+    }
+
+    @Test
+    void loadDungeons_matchesTreeLoader() throws Exception {
+        Path file = tmp.resolve("rooms.json");
+        Files.writeString(file, "{\"dungeons\":[" + DUNGEON + "]}", StandardCharsets.UTF_8);
+
+        loader.loadDungeons(file);
+        List<Dungeon> streamed = loader.getDungeons();
+        List<Dungeon> tree = TreeDungeonLoader.load(file);
+
+        assertEquals(tree.size(), streamed.size());
+        for (int i = 0; i < tree.size(); i++) {
+            List<Room> a = tree.get(i).getRooms();
+            List<Room> b = streamed.get(i).getRooms();
+            assertEquals(a.size(), b.size());
+            for (int j = 0; j < a.size(); j++) {
+                assertEquals(a.get(j).getHints().size(), b.get(j).getHints().size());
+                assertEquals(a.get(j).getPuzzles().size(), b.get(j).getPuzzles().size());
+                for (int k = 0; k < a.get(j).getPuzzles().size(); k++) {
+                    assertEquals(a.get(j).getPuzzles().get(k).getClass(), b.get(j).getPuzzles().get(k).getClass());
+                    assertEquals(a.get(j).getPuzzles().get(k).getTitle(), b.get(j).getPuzzles().get(k).getTitle());
+                }
+            }
+        }
+    }
+
+    @Test
+    void loadDungeons_badShapeLoadsNothing() throws Exception {
+        Path file = tmp.resolve("bad.json");
+        Files.writeString(file, "{\"rooms\":[]}", StandardCharsets.UTF_8);
+        loader.loadDungeons(file);
+        assertTrue(loader.getDungeons().isEmpty());
+
+        Files.writeString(file, "[{\"name\":", StandardCharsets.UTF_8);
+        loader.loadDungeons(file);
+        assertTrue(loader.getDungeons().isEmpty());
+    }
+}
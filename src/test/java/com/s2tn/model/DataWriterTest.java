@@ -10,6 +10,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -17,6 +18,7 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 class DataWriterTest {
 
@@ -134,4 +136,21 @@ class DataWriterTest {
             Files.deleteIfExists(p);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @Timeout(value = 3, unit = TimeUnit.SECONDS)
+    void saveDungeons_replacesFileAtomically(@TempDir Path dir) throws Exception {
+        Path p = dir.resolve("rooms.json");
+        Files.writeString(p, "[{\"name\":\"old\"}]", StandardCharsets.UTF_8);
+        Dungeon d = new Dungeon("Crypt", new ArrayList<>(), 60_000d, Difficulty.EASY, null);
+
+        writer.saveDungeons(p, List.of(d));
+
+        String s = Files.readString(p, StandardCharsets.UTF_8);
+        assertTrue(s.contains("\"Crypt\""));
+        assertFalse(s.contains("old"));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count(), "no temp files should be left behind");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.s2tn.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DeadlineWheelTest {
+
+    @Test
+    @DisplayName("A deadline should fire on the first tick at or after it, never before")
+    void firesOnTime() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock, TimeUnit.MILLISECONDS.toNanos(10));
+        int[] fired = new int[1];
+        DeadlineWheel.Deadline d = wheel.schedule(25, TimeUnit.MILLISECONDS, () -> fired[0]++);
+
+        clock.advance(Duration.ofMillis(24));
+        assertEquals(0, wheel.advance());
+        clock.advance(Duration.ofMillis(5));     // 29 ms: deadline passed, tick at 30 not reached
+        assertEquals(0, wheel.advance());
+        clock.advance(Duration.ofMillis(1));
+        assertEquals(1, wheel.advance());
+        assertEquals(1, fired[0]);
+        assertFalse(d.isPending());
+        assertFalse(d.cancel(), "A fired deadline cannot be cancelled");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("cancel() should remove a pending deadline so it never fires")
+    void cancelRemoves() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock);
+        int[] fired = new int[1];
+        DeadlineWheel.Deadline a = wheel.schedule(Duration.ofMinutes(10).toNanos(), () -> fired[0]++);
+        DeadlineWheel.Deadline b = wheel.schedule(Duration.ofMinutes(10).toNanos(), () -> fired[0] += 10);
+        assertEquals(2, wheel.size());
+
+        assertTrue(a.cancel());
+        assertFalse(a.cancel());
+        assertEquals(1, wheel.size());
+        clock.advance(Duration.ofMinutes(10));
+        assertEquals(1, wheel.advance());
+        assertEquals(10, fired[0]);
+        assertFalse(b.isPending());
+    }
+
+    @Test
+    @DisplayName("Deadlines at every level and beyond the wheel's span should fire in the right advance")
+    void randomDeadlinesAcrossLevels() {
+        VirtualClock clock = new VirtualClock(7);
+        DeadlineWheel wheel = new DeadlineWheel(clock, 1); // 1 ns ticks: span 2^24 ns, so many overflow
+        Random rnd = new Random(42);
+        int n = 5_000;
+        long[] due = new long[n];
+        long[] firedAt = new long[n];
+        List<DeadlineWheel.Deadline> handles = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            long delay = rnd.nextInt(4) == 0 ? rnd.nextInt(64) : (long) rnd.nextInt(50_000_000);
+            due[i] = clock.nanoTime() + delay;
+            int k = i;
+            firedAt[k] = -1;
+            handles.add(wheel.schedule(delay, () -> firedAt[k] = clock.nanoTime()));
+        }
+        boolean[] cancelled = new boolean[n];
+        for (int i = 0; i < n; i += 3) cancelled[i] = handles.get(i).cancel();
+
+        long prev = clock.nanoTime();
+        while (wheel.size() > 0) {
+            clock.advance(1 + rnd.nextInt(2_000_000));
+            long now = clock.nanoTime();
+            wheel.advance();
+            for (int i = 0; i < n; i++) {
+                if (cancelled[i]) continue;
+                boolean dueNow = due[i] > prev && due[i] <= now || due[i] <= prev && firedAt[i] == now;
+                if (due[i] <= now) assertTrue(firedAt[i] >= 0, "deadline " + i + " should have fired by " + now);
+                else assertEquals(-1, firedAt[i], "deadline " + i + " fired early");
+                if (firedAt[i] == now) assertTrue(dueNow, "deadline " + i + " fired late");
+            }
+            prev = now;
+        }
+        for (int i = 0; i < n; i++) {
+            if (cancelled[i]) assertEquals(-1, firedAt[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("A failing callback should not stop the others")
+    void callbackFailureIsContained() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock);
+        int[] fired = new int[1];
+        wheel.schedule(0, () -> { throw new IllegalStateException("boom"); });
+        wheel.schedule(0, () -> fired[0]++);
+        clock.advance(Duration.ofMillis(10));
+        assertEquals(2, wheel.advance());
+        assertEquals(1, fired[0]);
+    }
+
+    @Test
+    @DisplayName("A timer's limit should follow pauses and penalties")
+    void timerLimit() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock);
+        int[] fired = new int[1];
+        Timer timer = new Timer(clock);
+        timer.expireAfter(60_000, wheel, () -> fired[0]++);
+        assertEquals(0, wheel.size(), "Nothing is scheduled until the timer runs");
+
+        timer.start();
+        assertEquals(60_000, timer.remainingTime());
+        clock.advance(Duration.ofSeconds(40));
+        timer.stop();
+        assertEquals(0, wheel.size(), "A paused timer has no pending deadline");
+        clock.advance(Duration.ofHours(3));
+        wheel.advance();
+        assertEquals(0, fired[0]);
+
+        timer.unPause();
+        timer.addPenalty(15_000);
+        assertEquals(5_000, timer.remainingTime());
+        assertEquals(1, wheel.size());
+        clock.advance(Duration.ofSeconds(5));
+        wheel.advance();
+        assertEquals(1, fired[0]);
+        assertTrue(timer.isExpired());
+
+        timer.clearLimit();
+        assertFalse(timer.isExpired());
+        assertEquals(-1, timer.remainingTime());
+    }
+
+    @Test
+    @DisplayName("A started wheel should fire deadlines from its own ticker thread")
+    void tickerThreadFires() throws InterruptedException {
+        DeadlineWheel wheel = new DeadlineWheel(Clock.SYSTEM, TimeUnit.MILLISECONDS.toNanos(1));
+        wheel.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            Thread[] ran = new Thread[1];
+            wheel.schedule(20, TimeUnit.MILLISECONDS, () -> {
+                ran[0] = Thread.currentThread();
+                latch.countDown();
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("s2tn-deadline-wheel", ran[0].getName());
+        } finally {
+            wheel.stop();
+        }
+    }
+}
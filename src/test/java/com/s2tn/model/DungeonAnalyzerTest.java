@@ -0,0 +1,161 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DungeonAnalyzerTest {
+
+    private Puzzle hallPuzzle;
+    private Puzzle keyPuzzle;
+    private Puzzle vaultPuzzle;
+    private Puzzle sidePuzzle;
+    private Room hall;
+    private Room armory;
+    private Room vault;
+    private Room exit;
+    private Dungeon dungeon;
+    private DungeonAnalyzer analyzer;
+
+    /**
+     * hall -(open)-> armory, hall -(locked)-> vault -(locked)-> exit.
+     * The vault puzzle needs KEY, which the armory puzzle rewards.
+     */
+    @BeforeEach
+    void setUp() {
+        hallPuzzle = new CodePuzzle();
+        keyPuzzle = new CodePuzzle();
+        keyPuzzle.setRewardItem("KEY");
+        vaultPuzzle = new CodePuzzle();
+        vaultPuzzle.setRequiresItem(true);
+        vaultPuzzle.setRequiredItemKey("KEY");
+        sidePuzzle = new CodePuzzle();
+
+        exit = new Room("Exit");
+        vault = new Room(puzzles(vaultPuzzle, sidePuzzle), null, null, rooms(exit));
+        armory = new Room(puzzles(keyPuzzle), null, null, null);
+        hall = new Room(puzzles(hallPuzzle), null, rooms(armory), rooms(vault));
+
+        dungeon = new Dungeon("Analyzer", rooms(hall, armory, vault, exit), 1000, Difficulty.NORMAL, hall);
+        analyzer = dungeon.getAnalyzer();
+    }
+
+    private static ArrayList<Puzzle> puzzles(Puzzle... ps) {
+        return new ArrayList<>(List.of(ps));
+    }
+
+    private static ArrayList<Room> rooms(Room... rs) {
+        return new ArrayList<>(List.of(rs));
+    }
+
+    @Test
+    @DisplayName("Counters should follow puzzle state changes")
+    void counters() {
+        assertEquals(4, analyzer.totalPuzzles());
+        assertEquals(0, analyzer.solvedPuzzles());
+        assertEquals(1, analyzer.completedRoomCount(), "The exit has no puzzles");
+        assertFalse(analyzer.isComplete(vault));
+
+        vaultPuzzle.setState(PuzzleState.SOLVED);
+        assertEquals(1, analyzer.solvedCount(2));
+        assertFalse(analyzer.isComplete(2));
+        sidePuzzle.setState(PuzzleState.SOLVED);
+        assertTrue(analyzer.isComplete(vault));
+        assertEquals(2, analyzer.completedRoomCount());
+        assertEquals(0.5, analyzer.progress());
+
+        sidePuzzle.setState(PuzzleState.IN_PROGRESS);
+        assertFalse(analyzer.isComplete(vault));
+        assertEquals(1, analyzer.solvedPuzzles());
+
+        hallPuzzle.setState(PuzzleState.SOLVED);
+        keyPuzzle.setState(PuzzleState.SOLVED);
+        sidePuzzle.setState(PuzzleState.SOLVED);
+        assertTrue(analyzer.isDungeonComplete());
+    }
+
+    @Test
+    @DisplayName("Reachability should cross locked exits once their room's puzzles are solvable")
+    void reachability() {
+        assertEquals(4, analyzer.analyzeReachability(null));
+        assertTrue(analyzer.isReachable(exit));
+
+        // without the key reward the vault cannot be cleared
+        keyPuzzle.setRewardItem(null);
+        analyzer = new DungeonAnalyzer(dungeon.getGraph(), 0);
+        assertEquals(3, analyzer.analyzeReachability(null));
+        assertFalse(analyzer.isReachable(exit));
+        assertEquals(4, analyzer.analyzeReachability(Set.of("KEY")));
+    }
+
+    @Test
+    @DisplayName("Reachability should be recomputed after unlocks and solved puzzles")
+    void reachability_followsChanges() {
+        vaultPuzzle.setRequiredItemKey("MISSING");
+        analyzer = new DungeonAnalyzer(dungeon.getGraph(), 0);
+        analyzer.analyzeReachability(null);
+        assertFalse(analyzer.isReachable(exit));
+
+        vaultPuzzle.setState(PuzzleState.SOLVED);
+        assertTrue(analyzer.isReachable(exit), "A solved puzzle no longer blocks its room");
+        vaultPuzzle.setState(PuzzleState.INIT);
+        assertFalse(analyzer.isReachable(exit));
+
+        dungeon.getGraph().unlock(2, 3);
+        assertTrue(analyzer.isReachable(exit));
+    }
+
+    @Test
+    @DisplayName("criticalPath should take the locked rooms on the route plus item providers")
+    void criticalPath() {
+        List<Puzzle> path = analyzer.criticalPath(null);
+        assertEquals(List.of(hallPuzzle, vaultPuzzle, sidePuzzle, keyPuzzle), path);
+
+        assertEquals(List.of(hallPuzzle, vaultPuzzle, sidePuzzle), analyzer.criticalPath(Set.of("KEY")));
+        assertEquals(List.of(), analyzer.criticalPath(null, 1), "The armory is behind an open exit");
+
+        hallPuzzle.setState(PuzzleState.SOLVED);
+        assertEquals(List.of(vaultPuzzle, sidePuzzle, keyPuzzle), analyzer.criticalPath(null));
+    }
+
+    @Test
+    @DisplayName("criticalPath should prefer the route through fewer unsolved puzzles")
+    void criticalPath_cheapestRoute() {
+        Room goal = new Room("Goal");
+        Puzzle a1 = new CodePuzzle(), a2 = new CodePuzzle(), b1 = new CodePuzzle();
+        Room heavy = new Room(puzzles(a1, a2), null, null, rooms(goal));
+        Room light = new Room(puzzles(b1), null, null, rooms(goal));
+        Room entry = new Room(null, null, rooms(heavy, light), null);
+        Dungeon d = new Dungeon("Routes", rooms(entry, heavy, light, goal), 1000, Difficulty.NORMAL, entry);
+        assertEquals(List.of(b1), d.getAnalyzer().criticalPath(null));
+    }
+
+    @Test
+    @DisplayName("criticalPath should return null when the exit cannot be reached")
+    void criticalPath_unreachable() {
+        vaultPuzzle.setRequiredItemKey("MISSING");
+        analyzer = new DungeonAnalyzer(dungeon.getGraph(), 0);
+        assertNull(analyzer.criticalPath(null));
+        assertNull(analyzer.criticalPath(null, 99));
+    }
+
+    @Test
+    @DisplayName("Dungeon should hand out one analyzer until its rooms change")
+    void dungeonAnalyzer() {
+        assertSame(analyzer, dungeon.getAnalyzer());
+        dungeon.setRooms(rooms(hall, armory));
+        DungeonAnalyzer rebuilt = dungeon.getAnalyzer();
+        assertEquals(2, rebuilt.getGraph().size());
+        hallPuzzle.setState(PuzzleState.SOLVED);
+        assertEquals(1, rebuilt.solvedPuzzles());
+    }
+}
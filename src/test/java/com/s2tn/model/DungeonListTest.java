@@ -3,6 +3,8 @@ package com.s2tn.model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -178,4 +180,69 @@ class DungeonListTest {
         assertNull(dungeonList.getDungeon("invalid-uuid-string"), "Should return null for an invalid UUID string.");
         assertNull(dungeonList.getDungeon((String) null), "Should return null for a null string ID.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getByName should follow a rename of a listed dungeon")
+    void getByName_afterRename() {
+        dungeon1.setName("Catacombs");
+        assertSame(dungeon1, dungeonList.getByName("CATACOMBS"));
+        assertNull(dungeonList.getByName("Crypt of the Damned"), "The old name should no longer match.");
+    }
+
+    @Test
+    @DisplayName("getByName should return the first dungeon when names collide")
+    void getByName_duplicateNamesFirstWins() {
+        Dungeon twin = new Dungeon("crypt OF the damned", new ArrayList<>(), 1000, Difficulty.EASY, null);
+        dungeonList.addDungeon(twin);
+        assertSame(dungeon1, dungeonList.getByName("Crypt of the Damned"));
+    }
+
+    @Test
+    @DisplayName("readers should always see a whole list while replaceAll runs concurrently")
+    void replaceAll_concurrentReadersSeeWholeSnapshots() throws Exception {
+        List<Dungeon> a = new ArrayList<>();
+        List<Dungeon> b = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            a.add(new Dungeon("A" + i, new ArrayList<>(), 1000, Difficulty.EASY, null));
+            b.add(new Dungeon("B" + i, new ArrayList<>(), 1000, Difficulty.EASY, null));
+        }
+        dungeonList.replaceAll(a);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                List<Dungeon> seen = dungeonList.getAll();
+                boolean allA = seen.stream().allMatch(a::contains);
+                boolean allB = seen.stream().allMatch(b::contains);
+                if (seen.size() != 50 || !(allA || allB)) {
+                    failure.set("Saw a mixed or partial list of " + seen.size());
+                    return;
+                }
+                Dungeon d = dungeonList.getByName("A0");
+                if (d != null && d != a.get(0)) failure.set("Name index returned the wrong dungeon");
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 2000; i++) dungeonList.replaceAll(i % 2 == 0 ? b : a);
+        done.set(true);
+        reader.join();
+        assertNull(failure.get(), failure.get());
+    }
+
+    @Test
+    @DisplayName("concurrent addDungeon calls should not lose updates")
+    void addDungeon_concurrentWritersKeepEveryDungeon() throws Exception {
+        dungeonList.clear();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    dungeonList.addDungeon(new Dungeon("D", new ArrayList<>(), 1000, Difficulty.EASY, null));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread w : writers) w.join();
+        assertEquals(400, dungeonList.getAll().size());
+    }
+}
@@ -160,4 +160,27 @@ class DungeonTest {
         assertNotEquals(null, dungeon, "Dungeon should not be equal to null.");
         assertNotEquals(dungeon, new Object(), "Dungeon should not be equal to an object of a different type.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("null rooms should be dropped so the room graph is built once and positions match")
+    void nullRooms_doNotForceRebuilds() {
+        Room a = new Room("A");
+        Room b = new Room("B");
+        ArrayList<Room> withNulls = new ArrayList<>();
+        withNulls.add(a);
+        withNulls.add(null);
+        withNulls.add(b);
+        dungeon.setRooms(withNulls);
+        assertEquals(2, dungeon.getRooms().size());
+
+        RoomGraph g = dungeon.getGraph();
+        assertSame(g, dungeon.getGraph(), "An unchanged room list must not rebuild the graph");
+        assertEquals(1, dungeon.indexOfRoom(b));
+
+        dungeon.getRooms().add(null); // slipped in through the live list
+        RoomGraph rebuilt = dungeon.getGraph();
+        assertSame(rebuilt, dungeon.getGraph());
+        assertEquals(1, dungeon.indexOfRoom(b));
+        assertSame(rebuilt, dungeon.getGraph());
+    }
+}
@@ -0,0 +1,123 @@
+package com.s2tn.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FacadeMetricsTest {
+
+    private FacadeMetrics metrics;
+    private boolean wasEnabled;
+    private int wasSampleEvery;
+
+    @BeforeEach
+    void setUp() {
+        metrics = FacadeMetrics.getInstance();
+        wasEnabled = metrics.isEnabled();
+        wasSampleEvery = metrics.getSampleEvery();
+        metrics.setEnabled(true);
+        metrics.setSampleEvery(1);
+        metrics.resetAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.setEnabled(wasEnabled);
+        metrics.setSampleEvery(wasSampleEvery);
+        metrics.resetAll();
+    }
+
+    @Test
+    @DisplayName("every public Facade operation should be instrumented")
+    void operations_coverFacade() {
+        Facade facade = new Facade();
+        assertNotNull(facade);
+        String[] ops = metrics.getOperations();
+        for (String name : new String[] {"login", "register", "startDungeon", "answerRiddle", "attemptCodePuzzle", "resumeTimer"}) {
+            assertTrue(Arrays.asList(ops).contains(name), name + " should be instrumented");
+        }
+        assertSame(metrics.get("login"), FacadeMetrics.operation("login"));
+    }
+
+    @Test
+    @DisplayName("Facade calls should be counted and timed")
+    void facadeCalls_areRecorded() {
+        Facade facade = new Facade();
+        facade.login("nobody", "pw");
+        facade.login("nobody", "pw");
+        facade.getCurrentRoomId();
+
+        OperationStats login = metrics.get("login");
+        assertEquals(2, login.getCount());
+        assertEquals(0, login.getErrorCount());
+        assertTrue(login.getP50Nanos() > 0);
+        assertTrue(login.getP50Nanos() <= login.getP99Nanos() && login.getP99Nanos() <= login.getP999Nanos());
+        assertTrue(login.getP999Nanos() <= login.getMaxNanos());
+        assertTrue(login.getThroughputPerSecond() > 0);
+        assertEquals(1, metrics.get("getCurrentRoomId").getCount());
+    }
+
+    @Test
+    @DisplayName("an exception should count as an error and still be rethrown")
+    void error_isCountedAndRethrown() {
+        OperationStats op = FacadeMetrics.operation("test-op");
+        IllegalStateException boom = new IllegalStateException("boom");
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> op.time((Runnable) () -> { throw boom; }));
+        assertSame(boom, thrown);
+        assertEquals(1, op.getCount());
+        assertEquals(1, op.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("sampling should time every Nth call but count all of them")
+    void sampling_countsEveryCallTimesSome() {
+        metrics.setSampleEvery(6);
+        assertEquals(8, metrics.getSampleEvery(), "rounded up to a power of two");
+        OperationStats op = FacadeMetrics.operation("sampled-op");
+        for (int i = 0; i < 64; i++) op.end(op.start());
+        assertEquals(64, op.getCount());
+        assertEquals(8, op.getSampleCount());
+        metrics.setSampleEvery(0);
+        assertEquals(1, metrics.getSampleEvery());
+    }
+
+    @Test
+    @DisplayName("disabling metrics should stop recording")
+    void disabled_recordsNothing() {
+        metrics.setEnabled(false);
+        assertFalse(metrics.isEnabled());
+        Facade facade = new Facade();
+        facade.login("nobody", "pw");
+        assertEquals(0, metrics.get("login").getCount());
+    }
+
+    @Test
+    @DisplayName("operations should be readable over JMX")
+    void mbeans_arePublished() throws Exception {
+        new Facade().login("nobody", "pw");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName login = new ObjectName("com.s2tn:type=Facade,operation=login");
+        assertEquals(1L, server.getAttribute(login, "Count"));
+        assertTrue((Long) server.getAttribute(login, "P99Nanos") > 0);
+
+        ObjectName control = new ObjectName("com.s2tn:type=FacadeMetrics");
+        server.setAttribute(control, new javax.management.Attribute("Enabled", false));
+        assertFalse(metrics.isEnabled());
+        server.invoke(login, "reset", null, null);
+        assertEquals(0L, server.getAttribute(login, "Count"));
+    }
+}
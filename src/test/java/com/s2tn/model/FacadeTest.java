@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.BeforeEach;
@@ -184,6 +185,26 @@ class FacadeTest {
         assertFalse(facade.enterRoom(UUID.randomUUID()));
     }
 
+    @Test
+    @DisplayName("getPuzzleRoom should return the room holding a puzzle")
+    void getPuzzleRoom() {
+        assertNull(facade.getPuzzleRoom(riddle.getPuzzleID()), "No dungeon selected yet");
+        facade.startDungeon(testDungeon.getUUID());
+        assertSame(room1, facade.getPuzzleRoom(riddle.getPuzzleID()));
+        assertSame(room2, facade.getPuzzleRoom(codePuzzle.getPuzzleID()));
+        assertNull(facade.getPuzzleRoom(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Puzzles added after the dungeon was selected should still be found")
+    void lookup_afterPuzzleAdded() {
+        facade.startDungeon(testDungeon.getUUID());
+        Riddle late = new Riddle("Late", "What is late?", "me");
+        room2.addPuzzle(late);
+        assertSame(room2, facade.getPuzzleRoom(late.getPuzzleID()));
+        assertTrue(facade.answerRiddle(late.getPuzzleID(), "me"));
+    }
+
     @Test
     @DisplayName("nextRoom should cycle through rooms")
     void nextRoom() {
@@ -295,4 +316,38 @@ class FacadeTest {
         facade.resumeTimer();
         assertTrue(timer.isRunning());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("When the allowed time runs out answers should be refused and the timer stay stopped")
+    void timeUp_refusesAnswers() throws InterruptedException {
+        Dungeon quick = new Dungeon("Quick", new ArrayList<>(List.of(room1)), 30, Difficulty.NORMAL, room1);
+        dungeonList.addDungeon(quick);
+        assertTrue(facade.startDungeon(quick.getUUID()));
+        facade.enterDungeon();
+
+        long until = System.nanoTime() + 5_000_000_000L;
+        while (!facade.isTimeUp() && System.nanoTime() < until) Thread.sleep(5);
+        assertTrue(facade.isTimeUp());
+        assertFalse(quick.getTimer().isRunning());
+        assertFalse(facade.answerRiddle(riddle.getPuzzleID(), "needle"));
+        assertEquals(PuzzleState.INIT, riddle.getState());
+        facade.resumeTimer();
+        assertFalse(quick.getTimer().isRunning());
+
+        facade.enterDungeon();
+        assertTrue(facade.isTimeUp(), "Entering again should not give the time back");
+    }
+
+    @Test
+    @DisplayName("A paused dungeon should not run out of time")
+    void pausedDungeon_doesNotExpire() throws InterruptedException {
+        Dungeon quick = new Dungeon("Quick", new ArrayList<>(List.of(room1)), 100, Difficulty.NORMAL, room1);
+        dungeonList.addDungeon(quick);
+        facade.startDungeon(quick.getUUID());
+        facade.enterDungeon();
+        facade.pauseTimer();
+        Thread.sleep(250);
+        assertFalse(facade.isTimeUp());
+        assertTrue(facade.answerRiddle(riddle.getPuzzleID(), "needle"));
+    }
+}
@@ -0,0 +1,211 @@
+package com.s2tn.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GameSessionTest {
+
+    private Riddle riddle;
+    private CodePuzzle vault;
+    private SlideShapePuzzle slide;
+    private Room hall;
+    private Room cellar;
+    private Dungeon dungeon;
+    private SessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        riddle = new Riddle("Riddle", "What has an eye, but cannot see?", "needle");
+        riddle.setRewardItem("KEY");
+        vault = new CodePuzzle("Vault", Set.of("open"));
+        vault.setRequiresItem(true);
+        vault.setRequiredItemKey("KEY");
+        slide = new SlideShapePuzzle();
+
+        ArrayList<Puzzle> hallPuzzles = new ArrayList<>(List.of(riddle, slide));
+        ArrayList<Puzzle> cellarPuzzles = new ArrayList<>(List.of(vault));
+        hall = new Room(hallPuzzles, null, null, null);
+        cellar = new Room(cellarPuzzles, null, null, null);
+        dungeon = new Dungeon("Shared", new ArrayList<>(List.of(hall, cellar)), 60000, Difficulty.NORMAL, hall);
+        manager = new SessionManager();
+    }
+
+    @Test
+    @DisplayName("Sessions on one dungeon should not see each other's progress")
+    void sessionsAreIsolated() {
+        GameSession a = manager.open(null, dungeon);
+        GameSession b = manager.open(null, dungeon);
+        a.enterDungeon();
+        b.enterDungeon();
+
+        assertTrue(a.answer(riddle.getPuzzleID(), "needle").isValid());
+        assertEquals(PuzzleState.SOLVED, a.getPuzzleState(riddle.getPuzzleID()));
+        assertEquals(PuzzleState.INIT, b.getPuzzleState(riddle.getPuzzleID()));
+        assertEquals(PuzzleState.INIT, riddle.getState(), "The template should not change");
+        assertTrue(a.hasItem("KEY"));
+        assertFalse(b.hasItem("KEY"));
+
+        assertTrue(a.enterRoom(cellar.getRoomID()));
+        assertEquals(cellar.getRoomID(), a.getCurrentRoomId());
+        assertEquals(hall.getRoomID(), b.getCurrentRoomId());
+    }
+
+    @Test
+    @DisplayName("answer should require items from the session's own inventory")
+    void answer_requiresItem() {
+        GameSession s = manager.open(null, dungeon);
+        assertFalse(s.answer(vault.getPuzzleID(), "open").isValid());
+        assertEquals(PuzzleState.INIT, s.getPuzzleState(vault.getPuzzleID()));
+
+        s.answer(riddle.getPuzzleID(), "needle");
+        assertTrue(s.answer(vault.getPuzzleID(), "open").isValid());
+        assertEquals(2, s.getSolvedCount());
+        assertFalse(s.isComplete(), "The sliding puzzle is still open");
+    }
+
+    @Test
+    @DisplayName("answer should reject unknown puzzles")
+    void answer_unknown() {
+        GameSession s = manager.open(null, dungeon);
+        assertFalse(s.answer(UUID.randomUUID(), "x").isValid());
+        assertNull(s.getPuzzleState(UUID.randomUUID()));
+        assertNull(s.getPuzzle(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Stateful puzzles should be played on per-session copies")
+    void statefulPuzzles_copyOnWrite() {
+        GameSession a = manager.open(null, dungeon);
+        GameSession b = manager.open(null, dungeon);
+        List<String> start = slide.getBoard();
+
+        ValidationResult res = a.answer(slide.getPuzzleID(), "H left");
+        assertTrue(res.isValid());
+        assertEquals(PuzzleState.SOLVED, a.getPuzzleState(slide.getPuzzleID()));
+        assertTrue(((SlideShapePuzzle) a.getPuzzle(slide.getPuzzleID())).isSolved());
+
+        assertEquals(start, slide.getBoard(), "The template board should not move");
+        assertEquals(start, ((SlideShapePuzzle) b.getPuzzle(slide.getPuzzleID())).getBoard());
+        assertEquals(PuzzleState.IN_PROGRESS, b.getPuzzleState(slide.getPuzzleID()));
+        assertSame(riddle, a.getPuzzle(riddle.getPuzzleID()), "Stateless puzzles are shared");
+    }
+
+    @Test
+    @DisplayName("Wrong answers should mark the puzzle in progress; blank ones change nothing")
+    void answer_wrong() {
+        GameSession s = manager.open(null, dungeon);
+        s.answer(riddle.getPuzzleID(), "   ");
+        assertEquals(PuzzleState.INIT, s.getPuzzleState(riddle.getPuzzleID()));
+        assertFalse(s.answer(riddle.getPuzzleID(), "thread").isValid());
+        assertEquals(PuzzleState.IN_PROGRESS, s.getPuzzleState(riddle.getPuzzleID()));
+    }
+
+    @Test
+    @DisplayName("Navigation and timer should follow the Facade's rules")
+    void navigationAndTimer() {
+        GameSession s = manager.open(null, dungeon);
+        assertNull(s.getCurrentRoomId());
+        s.enterDungeon();
+        assertTrue(s.isTimerRunning());
+        assertEquals(hall.getRoomID(), s.getCurrentRoomId());
+        assertTrue(s.nextRoom());
+        assertEquals(cellar.getRoomID(), s.getCurrentRoomId());
+        assertEquals(hall.getRoomID(), s.getPreviousRoomId());
+        assertTrue(s.nextRoom());
+        assertEquals(hall.getRoomID(), s.getCurrentRoomId());
+        assertFalse(s.enterRoom(UUID.randomUUID()));
+
+        s.pauseTimer();
+        assertFalse(s.isTimerRunning());
+        s.resumeTimer();
+        assertTrue(s.isTimerRunning());
+    }
+
+    @Test
+    @DisplayName("A session on a virtual clock should count only unpaused play time")
+    void elapsedTimeOnVirtualClock() {
+        VirtualClock clock = new VirtualClock();
+        GameSession s = new SessionManager(new DeadlineWheel(clock)).open(null, dungeon);
+        s.enterDungeon();
+        clock.advance(Duration.ofSeconds(20));
+        s.pauseTimer();
+        clock.advance(Duration.ofHours(5));
+        s.resumeTimer();
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(Duration.ofSeconds(50).toMillis(), s.getElapsedTime());
+    }
+
+    @Test
+    @DisplayName("A session should expire when its allowed time runs out, counting pauses and penalties")
+    void expiresOnDeadline() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock);
+        SessionManager mgr = new SessionManager(wheel);
+        List<GameSession> expired = new ArrayList<>();
+        mgr.setExpiryListener(expired::add);
+        GameSession s = mgr.open(null, dungeon); // 60 s allowed
+        s.enterDungeon();
+
+        clock.advance(Duration.ofSeconds(30));
+        s.pauseTimer();
+        clock.advance(Duration.ofHours(1));      // paused time does not count
+        wheel.advance();
+        assertFalse(s.isExpired());
+
+        s.resumeTimer();
+        s.addPenalty(20_000);                    // 10 s left
+        clock.advance(Duration.ofSeconds(9));
+        wheel.advance();
+        assertFalse(s.isExpired());
+
+        clock.advance(Duration.ofSeconds(1));
+        wheel.advance();
+        assertTrue(s.isExpired());
+        assertEquals(List.of(s), expired);
+        assertFalse(s.isTimerRunning());
+        assertFalse(s.answer(riddle.getPuzzleID(), "needle").isValid());
+        s.resumeTimer();
+        assertFalse(s.isTimerRunning(), "An expired session should stay stopped");
+    }
+
+    @Test
+    @DisplayName("Closing a session should cancel its deadline")
+    void closeCancelsDeadline() {
+        DeadlineWheel wheel = new DeadlineWheel(new VirtualClock());
+        SessionManager mgr = new SessionManager(wheel);
+        GameSession s = mgr.open(null, dungeon);
+        s.enterDungeon();
+        assertEquals(1, wheel.size());
+        assertTrue(mgr.close(s.getSessionId()));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Entering again should keep the original deadline")
+    void reenterKeepsDeadline() {
+        VirtualClock clock = new VirtualClock();
+        DeadlineWheel wheel = new DeadlineWheel(clock);
+        GameSession s = new SessionManager(wheel).open(null, dungeon); // 60 s allowed
+        s.enterDungeon();
+        clock.advance(Duration.ofSeconds(50));
+        s.enterDungeon();
+        assertEquals(1, wheel.size());
+        assertEquals(Duration.ofSeconds(50).toMillis(), s.getElapsedTime());
+
+        clock.advance(Duration.ofSeconds(10));
+        wheel.advance();
+        assertTrue(s.isExpired(), "The limit should count from the first entry");
+    }
+}
@@ -0,0 +1,182 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        UserList.getInstance().replaceAll(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserList.getInstance().replaceAll(null);
+    }
+
+    /** Runs an action under a recording with every S2TN event on and returns what was committed. */
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path out = dir.resolve("test.jfr");
+        try (Recording r = new Recording()) {
+            for (String name : new String[] {"UsersLoad", "DungeonsLoad", "UsersSave", "DungeonsSave",
+                    "ProgressSave", "ProgressLoad", "LeaderboardSubmit", "PuzzleInput"}) {
+                r.enable("com.s2tn." + name).withThreshold(java.time.Duration.ZERO);
+            }
+            r.start();
+            action.run();
+            r.stop();
+            r.dump(out);
+        }
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent e : RecordingFile.readAllEvents(out)) {
+            if (e.getEventType().getName().startsWith("com.s2tn.")) events.add(e);
+        }
+        return events;
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> found = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertEquals(1, found.size(), "expected exactly one " + name + " in " + events);
+        return found.get(0);
+    }
+
+    @Test
+    @DisplayName("events should be registered but disabled by default")
+    void events_disabledByDefault() {
+        new Riddle("r", "q", "a").enterInput("a"); // make sure the event class is loaded
+        boolean seen = false;
+        for (EventType t : FlightRecorder.getFlightRecorder().getEventTypes()) {
+            if (t.getName().startsWith("com.s2tn.")) {
+                seen = true;
+                assertFalse(t.isEnabled(), t.getName() + " should be off until a recording enables it");
+            }
+        }
+        assertTrue(seen);
+    }
+
+    @Test
+    @DisplayName("enterInput should record the puzzle type and outcome but not the input")
+    void puzzleInput_recordsOutcome() throws IOException {
+        Riddle riddle = new Riddle("Riddle", "What has an eye?", "needle");
+        List<RecordedEvent> events = record(() -> riddle.enterInput("needle"));
+        RecordedEvent e = only(events, "com.s2tn.PuzzleInput");
+        assertEquals("Riddle", e.getString("puzzleType"));
+        assertEquals(riddle.getPuzzleID().toString(), e.getString("puzzleId"));
+        assertTrue(e.getBoolean("valid"));
+        assertEquals("SOLVED", e.getString("outcome"));
+        assertFalse(e.getFields().stream().anyMatch(f -> f.getName().contains("input")));
+    }
+
+    @Test
+    @DisplayName("saving and loading users should record bytes and account counts")
+    void users_saveAndLoad() throws IOException {
+        Path users = dir.resolve("users.json");
+        UserList.getInstance().addUser(new Account("alice", "pw"));
+        UserList.getInstance().addUser(new Account("bob", "pw"));
+        List<RecordedEvent> events = record(() -> {
+            new DataWriter().saveUsers(users);
+            new DataLoader().loadUsers(users);
+        });
+        RecordedEvent save = only(events, "com.s2tn.UsersSave");
+        assertEquals(2, save.getInt("records"));
+        assertTrue(save.getLong("bytes") > 0);
+        RecordedEvent load = only(events, "com.s2tn.UsersLoad");
+        assertEquals(2, load.getInt("records"));
+        assertEquals(users.toString(), load.getString("file"));
+        assertEquals(save.getLong("bytes"), load.getLong("bytes"));
+    }
+
+    @Test
+    @DisplayName("saving and loading dungeons should record the file and dungeon count")
+    void dungeons_saveAndLoad() throws IOException {
+        Path rooms = dir.resolve("rooms.json");
+        Dungeon d = new Dungeon("Crypt", new ArrayList<>(), 1000, Difficulty.EASY, null);
+        List<RecordedEvent> events = record(() -> {
+            new DataWriter().saveDungeons(rooms, List.of(d));
+            new DataLoader().loadDungeons(dir.resolve("missing.json"));
+        });
+        RecordedEvent save = only(events, "com.s2tn.DungeonsSave");
+        assertEquals(1, save.getInt("records"));
+        assertEquals(Files.size(rooms), save.getLong("bytes"));
+        RecordedEvent load = only(events, "com.s2tn.DungeonsLoad");
+        assertEquals(0, load.getInt("records"));
+        assertEquals(0, load.getLong("bytes"));
+    }
+
+    @Test
+    @DisplayName("a leaderboard submit should record the ranking change and save trigger")
+    void leaderboard_submit() throws IOException {
+        Leaderboard lb = new Leaderboard();
+        lb.clear();
+        List<RecordedEvent> events = record(() -> lb.submit("ghost", 40, 1000));
+        RecordedEvent e = only(events, "com.s2tn.LeaderboardSubmit");
+        assertEquals("ghost", e.getString("user"));
+        assertEquals(40, e.getInt("score"));
+        assertEquals(1, e.getInt("entries"));
+        assertTrue(e.getBoolean("ranked"));
+        assertFalse(e.getBoolean("saveTriggered"), "no account, so nothing to save");
+        lb.clear();
+    }
+
+    @Test
+    @DisplayName("progress save and load should record the slot and outcome")
+    void progress_saveAndLoad() throws IOException {
+        ProgressManager pm = new ProgressManager(dir.resolve("progress"));
+        Progress p = new Progress();
+        p.setUserName("alice");
+        List<RecordedEvent> events = record(() -> {
+            pm.save("slot1", p);
+            pm.load("alice", "slot1");
+            pm.load("alice", "nothing");
+        });
+        RecordedEvent save = only(events, "com.s2tn.ProgressSave");
+        assertEquals("slot1", save.getString("slot"));
+        assertTrue(save.getBoolean("succeeded"));
+        List<RecordedEvent> loads = events.stream().filter(e -> e.getEventType().getName().equals("com.s2tn.ProgressLoad")).toList();
+        assertEquals(2, loads.size());
+        assertTrue(loads.get(0).getBoolean("found"));
+        assertFalse(loads.get(1).getBoolean("found"));
+    }
+
+    @Test
+    @DisplayName("the shipped JFC profile should parse and enable every S2TN event")
+    void jfcProfile_enablesEveryEvent() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/com/s2tn/s2tn.jfc")) {
+            assertNotNull(in, "s2tn.jfc should be on the classpath");
+            Configuration c = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+            assertEquals("S2TN", c.getLabel());
+            for (String name : new String[] {"UsersLoad", "DungeonsLoad", "UsersSave", "DungeonsSave",
+                    "ProgressSave", "ProgressLoad", "LeaderboardSubmit", "PuzzleInput"}) {
+                assertEquals("true", c.getSettings().get("com.s2tn." + name + "#enabled"), name);
+                assertNotNull(c.getSettings().get("com.s2tn." + name + "#threshold"), name);
+            }
+        }
+    }
+}
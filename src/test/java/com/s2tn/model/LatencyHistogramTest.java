@@ -0,0 +1,74 @@
+package com.s2tn.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("bucket bounds should cover every value with at most 1/16 relative error")
+    void index_boundsAreTightAndOrdered() {
+        long[] samples = {0, 1, 31, 32, 33, 63, 64, 100, 1_000, 65_535, 1_000_000, 123_456_789_012L, Long.MAX_VALUE};
+        for (long v : samples) {
+            int b = LatencyHistogram.index(v);
+            long hi = LatencyHistogram.highestIn(b);
+            long lo = b == 0 ? 0 : LatencyHistogram.highestIn(b - 1) + 1;
+            assertTrue(lo <= v && v <= hi, v + " should lie in [" + lo + ", " + hi + "]");
+            assertTrue(v < 32 ? hi == v : (hi - lo + 1) <= v / 16 + 1, "bucket of " + v + " is too wide");
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestIn(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    @DisplayName("percentiles should land within bucket precision of the true values")
+    void percentile_uniformValues() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) h.record(i * 100L);
+        assertEquals(10_000, h.count());
+        assertEquals(1_000_000, h.max());
+        assertEquals(500_050, h.mean(), 0.5);
+        assertWithin(500_000, h.percentile(50));
+        assertWithin(990_000, h.percentile(99));
+        assertWithin(999_000, h.percentile(99.9));
+        assertEquals(1_000_000, h.percentile(100));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    @DisplayName("an empty or reset histogram should report zeros")
+    void reset_clearsEverything() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentile(99));
+        h.record(42);
+        h.record(-5);
+        assertEquals(2, h.count());
+        assertEquals(0, h.percentile(50), "negative latencies count as zero");
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.max());
+        assertEquals(0, h.percentile(50));
+    }
+
+    @Test
+    @DisplayName("concurrent recorders should not lose counts")
+    void record_concurrent() throws InterruptedException {
+        LatencyHistogram h = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) h.record(i);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(40_000, h.count());
+        assertEquals(9_999, h.max());
+    }
+}
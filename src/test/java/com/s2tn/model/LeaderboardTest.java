@@ -1,4 +1,5 @@
 package com.s2tn.model;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -274,4 +275,52 @@ class LeaderboardTest {
         leaderboard.clear();
         assertTrue(leaderboard.topScore(1).isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("rankOf should follow the player's position as scores change")
+    void rankOf() {
+        leaderboard.submit("player1", 100, 60000);
+        leaderboard.submit("player2", 200, 50000);
+        leaderboard.submit("player3", 50, 70000);
+
+        assertEquals(1, leaderboard.rankOf("player2"));
+        assertEquals(2, leaderboard.rankOf("player1"));
+        assertEquals(3, leaderboard.rankOf("player3"));
+        assertEquals(-1, leaderboard.rankOf("nobody"));
+
+        leaderboard.submit("player3", 300, 70000);
+        assertEquals(1, leaderboard.rankOf("player3"));
+        assertEquals(3, leaderboard.rankOf("player1"));
+        assertEquals(3, leaderboard.size());
+    }
+
+    @Test
+    @DisplayName("snapshot should not change after later submissions")
+    void snapshot_isStable() {
+        leaderboard.submit("player1", 100, 60000);
+        List<Leaderboard.Entry> before = leaderboard.snapshot();
+
+        leaderboard.submit("player2", 200, 50000);
+        leaderboard.submit("player1", 300, 40000);
+
+        assertEquals(1, before.size());
+        assertEquals(100, before.get(0).getScore());
+        assertEquals(2, leaderboard.snapshot().size());
+        assertEquals("player1", leaderboard.snapshot().get(0).getUserName());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(null));
+    }
+
+    @Test
+    @DisplayName("submit with a Timer should record its exact elapsed time, penalties included")
+    void submit_fromTimer() {
+        VirtualClock clock = new VirtualClock();
+        Timer timer = new Timer(clock);
+        timer.start();
+        clock.advance(Duration.ofMillis(61_234));
+        timer.stop();
+        timer.addPenalty(1_000);
+
+        leaderboard.submit("player1", 100, timer);
+        assertEquals(62_234, leaderboard.topScore(1).get(0).getElapsedTime());
+    }
+}
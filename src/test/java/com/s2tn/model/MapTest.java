@@ -92,6 +92,22 @@ class MapTest {
         assertEquals(1, map.getCompletedRooms().size(), "Duplicate rooms should not be added to completed list.");
     }
 
+    @Test
+    @DisplayName("markComplete should count a puzzle added to the room after the analyzer was built")
+    void markComplete_countsLaterPuzzle() {
+        puzzle1.setState(PuzzleState.SOLVED);
+        assertTrue(dungeon.getAnalyzer().isComplete(room1));
+
+        Puzzle added = new CodePuzzle();
+        assertTrue(room1.addPuzzle(added));
+        map.markComplete(room1);
+        assertTrue(map.getCompletedRooms().isEmpty(), "The new puzzle is unsolved, so the room is not complete.");
+
+        added.setState(PuzzleState.SOLVED);
+        map.markComplete(room1);
+        assertTrue(map.getCompletedRooms().contains(room1));
+    }
+
     @Test
     @DisplayName("getCompletedRooms should return a defensive copy")
     void getCompletedRooms_shouldBeDefensiveCopy() {
@@ -0,0 +1,182 @@
+package com.s2tn.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeSolverTest {
+
+    /** Plain BFS distance, used as the reference for optimality. */
+    private static int bfsDistance(Maze m, int fr, int fc, int tr, int tc) {
+        int cols = m.getCols();
+        int[] dist = new int[m.getRows() * cols];
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> q = new ArrayDeque<>();
+        dist[fr * cols + fc] = 0;
+        q.add(fr * cols + fc);
+        int[][] deltas = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        while (!q.isEmpty()) {
+            int cell = q.poll();
+            int r = cell / cols, c = cell % cols;
+            if (r == tr && c == tc) return dist[cell];
+            for (int[] d : deltas) {
+                int nr = r + d[0], nc = c + d[1];
+                if (m.isBlocked(nr, nc) || dist[nr * cols + nc] >= 0) continue;
+                dist[nr * cols + nc] = dist[cell] + 1;
+                q.add(nr * cols + nc);
+            }
+        }
+        return -1;
+    }
+
+    private static Maze openMaze() {
+        Maze m = new Maze();
+        m.setGrid(5, 5, "0,0", "4,4");
+        // wall across row 2 except the last column
+        for (int c = 0; c < 4; c++) m.addWall(2, c);
+        return m;
+    }
+
+    @Test
+    @DisplayName("shortestPath matches BFS on a grid with many routes")
+    void shortestPath_isOptimal() {
+        Maze m = new Maze();
+        m.setGrid(60, 80, "0,0", "59,79");
+        SplittableRandom rnd = new SplittableRandom(11L);
+        for (int r = 0; r < 60; r++) {
+            for (int c = 0; c < 80; c++) {
+                if ((r | c) != 0 && rnd.nextInt(100) < 25) m.addWall(r, c);
+            }
+        }
+        MazeSolver solver = new MazeSolver(m);
+
+        for (int i = 0; i < 50; i++) {
+            int tr = rnd.nextInt(60), tc = rnd.nextInt(80);
+            if (m.isBlocked(tr, tc)) continue;
+            int expected = bfsDistance(m, 0, 0, tr, tc);
+            int[] path = solver.shortestPath(0, 0, tr, tc);
+            assertEquals(expected, path.length - 1, "target " + tr + "," + tc);
+            if (expected < 0) continue;
+            assertEquals(0, path[0]);
+            assertEquals(tr * 80 + tc, path[path.length - 1]);
+            for (int j = 1; j < path.length; j++) {
+                int a = path[j - 1], b = path[j];
+                assertEquals(1, Math.abs(a / 80 - b / 80) + Math.abs(a % 80 - b % 80), "steps are adjacent");
+                assertFalse(m.isBlocked(b / 80, b % 80), "steps avoid walls");
+            }
+        }
+    }
+
+    @Test
+    void shortestPath_detoursAroundWall() {
+        MazeSolver solver = new MazeSolver(openMaze());
+        assertEquals(12, solver.shortestPath(0, 0, 4, 0).length - 1); // right 4, down 4, left 4
+        assertArrayEquals(new int[] {7}, solver.shortestPath(1, 2, 1, 2));
+    }
+
+    @Test
+    void shortestPath_unreachableOrBlocked() {
+        Maze m = openMaze();
+        m.addWall(2, 4);
+        MazeSolver solver = new MazeSolver(m);
+        assertEquals(0, solver.shortestPath(0, 0, 4, 4).length);
+        assertEquals(0, solver.shortestPath(2, 0, 0, 0).length, "start on a wall");
+        assertFalse(solver.isSolvable());
+        assertEquals(0, solver.nextMove(0, 0));
+        assertEquals(-1, solver.distanceToEnd(0, 0));
+    }
+
+    @Test
+    @DisplayName("following nextMove walks an optimal route to the end")
+    void nextMove_reachesEnd() {
+        Maze m = Maze.generate(41, 41, 3L);
+        MazeSolver solver = new MazeSolver(m);
+        assertTrue(solver.isSolvable());
+        int expected = bfsDistance(m, 0, 0, 40, 40);
+        assertEquals(expected, solver.distanceToEnd(0, 0));
+
+        int steps = 0;
+        while (!m.isAtEnd()) {
+            char move = solver.nextMove(m.getRow(), m.getCol());
+            assertNotEquals(0, move);
+            assertTrue(m.enterInput(String.valueOf(move)).isValid());
+            steps++;
+        }
+        assertEquals(expected, steps);
+        assertEquals(0, solver.nextMove(40, 40));
+    }
+
+    @Test
+    void nextMove_recomputesAfterWallChange() {
+        Maze m = openMaze();
+        MazeSolver solver = new MazeSolver(m);
+        assertEquals(8, solver.distanceToEnd(0, 0));
+        assertEquals('R', solver.nextMove(1, 0));
+
+        m.addWall(2, 4);
+        assertEquals(-1, solver.distanceToEnd(0, 0), "gap closed");
+
+        m.clearWalls();
+        assertEquals(8, solver.distanceToEnd(0, 0));
+        assertEquals('D', solver.nextMove(3, 4));
+
+        m.addWall(3, 4);
+        m.addWall(4, 3);
+        assertEquals(0, solver.nextMove(3, 0));
+        assertFalse(solver.isSolvable());
+    }
+
+    @Test
+    void hint_includesNextMove() {
+        Maze m = openMaze();
+        assertTrue(m.getHint().endsWith("next move: R"), m.getHint());
+        assertTrue(m.getHint().contains("distance: 8"), m.getHint());
+
+        m.addWall(2, 4);
+        assertTrue(m.getHint().endsWith("no route to the end from here"), m.getHint());
+    }
+
+    @Test
+    @DisplayName("distanceToEnd follows a wandering player and matches BFS at every step")
+    void distanceToEnd_followsPlayer() {
+        Maze m = Maze.generate(41, 41, 5L);
+        MazeSolver solver = new MazeSolver(m);
+        SplittableRandom rnd = new SplittableRandom(3L);
+        String[] moves = {"U", "D", "L", "R"};
+        for (int i = 0; i < 400; i++) {
+            m.enterInput(moves[rnd.nextInt(4)]);
+            int r = m.getRow(), c = m.getCol();
+            assertEquals(bfsDistance(m, r, c, m.endRow(), m.endCol()), solver.distanceToEnd(r, c));
+        }
+    }
+
+    @Test
+    @DisplayName("run copies reuse the template's route field until either side changes")
+    void runCopies_shareRouteField() {
+        Maze template = openMaze();
+        assertTrue(template.getSolver().isSolvable());
+        Maze run = (Maze) template.newRun();
+        assertEquals(8, run.getSolver().distanceToEnd(0, 0));
+        assertEquals('R', run.getSolver().nextMove(1, 0));
+
+        run.addWall(2, 4);
+        assertEquals(-1, run.getSolver().distanceToEnd(0, 0));
+        assertEquals(8, template.getSolver().distanceToEnd(0, 0), "The template's field is untouched");
+
+        Maze other = (Maze) template.newRun();
+        template.addWall(1, 4);
+        assertEquals(8, other.getSolver().distanceToEnd(0, 0), "A template edit does not reach the run");
+        assertEquals(-1, template.getSolver().distanceToEnd(0, 0));
+    }
+
+    @Test
+    void requiresGrid() {
+        assertThrows(IllegalArgumentException.class, () -> new MazeSolver(null));
+        assertThrows(IllegalStateException.class, () -> new MazeSolver(new Maze()).isSolvable());
+    }
+}
@@ -1,44 +1,161 @@
 package com.s2tn.model;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class MazeTest {
 
+    private static Maze maze3x3() {
+        Maze m = new Maze();
+        m.setGrid(3, 3, "0,0", "2,2");
+        return m;
+    }
+
     @Test
     void setGrid() {
+        Maze m = maze3x3();
+        assertEquals("0,0", m.getStartPosition());
+        assertEquals("2,2", m.getEndPosition());
+        assertEquals("0,0", m.getPlayerPosition());
+        assertEquals(3, m.getRows());
+        assertEquals(3, m.getCols());
+        assertThrows(IllegalArgumentException.class, () -> m.setGrid(0, 3, "0,0", "1,1"));
     }
 
     @Test
     void addWall() {
+        Maze m = new Maze();
+        m.addWall(0, 1);            // before the grid exists
+        m.setGrid(3, 3, "0,0", "2,2");
+        m.addWall(5, 5);            // outside the grid for now
+        assertTrue(m.isBlocked(0, 1));
+        assertFalse(m.enterInput("R").isValid());
+
+        m.setGrid(6, 6, "0,0", "2,2");
+        assertTrue(m.isBlocked(0, 1), "walls survive a resize");
+        assertTrue(m.isBlocked(5, 5), "parked walls apply once the grid covers them");
     }
 
     @Test
     void clearWalls() {
+        Maze m = maze3x3();
+        m.addWall(0, 1);
+        m.clearWalls();
+        assertFalse(m.isBlocked(0, 1));
+        assertTrue(m.enterInput("right").isValid());
     }
 
     @Test
     void displayPuzzle() {
+        assertDoesNotThrow(() -> maze3x3().displayPuzzle());
     }
 
     @Test
     void move() {
+        Maze m = maze3x3();
+        assertEquals("invalid", m.move(" "));
+        assertEquals("0,0U", m.move("up"));
     }
 
     @Test
     void checkAnswer() {
+        Maze m = maze3x3();
+        assertTrue(m.checkAnswer(" 2,2 "));
+        assertFalse(m.checkAnswer("1,1"));
+        assertFalse(m.checkAnswer(null));
     }
 
     @Test
     void enterInput() {
+        Maze m = maze3x3();
+        assertFalse(m.enterInput("U").isValid());
+        assertEquals(PuzzleState.IN_PROGRESS, m.enterInput("D").getNewState());
+        assertEquals("1,0", m.getPlayerPosition());
+        assertEquals(PuzzleState.IN_PROGRESS, m.enterInput("1,2").getNewState());
+        assertEquals(PuzzleState.SOLVED, m.enterInput("s").getNewState());
+        assertTrue(m.isAtEnd());
+        assertFalse(m.enterInput("9,9").isValid());
+        assertFalse(m.enterInput("jump").isValid());
     }
 
     @Test
     void checkSpecificAchievementCondition() {
+        assertFalse(maze3x3().checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
     }
 
     @Test
     void reset() {
+        Maze m = maze3x3();
+        m.tryMove(1, 0);
+        m.reset();
+        assertEquals("0,0", m.getPlayerPosition());
+        assertEquals(0, m.getRow());
+    }
+
+    @Test
+    void tryMove_primitivePath() {
+        Maze m = maze3x3();
+        m.addWall(1, 1);
+        assertTrue(m.tryMove(0, 1));
+        assertFalse(m.tryMove(1, 0));
+        assertFalse(m.tryMove(-1, 0));
+        assertEquals(0, m.getRow());
+        assertEquals(1, m.getCol());
+        assertEquals("0,1", m.getPlayerPosition());
+    }
+
+    @Test
+    void generate_isDeterministicAndOpensStartAndEnd() {
+        Maze a = Maze.generate(101, 73, 7L);
+        Maze b = Maze.generate(101, 73, 7L);
+        for (int rr = 0; rr < 101; rr++) {
+            for (int cc = 0; cc < 73; cc++) assertEquals(a.isBlocked(rr, cc), b.isBlocked(rr, cc));
+        }
+        assertFalse(a.isBlocked(0, 0));
+        assertEquals("100,72", a.getEndPosition());
+        assertFalse(a.isBlocked(100, 72));
+        assertTrue(a.isBlocked(1, 1), "odd/odd cells are always walls");
+    }
+
+    @Test
+    void newRun_sharesWallsUntilEdited() {
+        Maze m = maze3x3();
+        m.addWall(0, 1);
+        m.setRewardItem("MAP");
+        m.enterInput("D");
+
+        Maze run = (Maze) m.newRun();
+        assertEquals(m.getPuzzleID(), run.getPuzzleID());
+        assertEquals("MAP", run.getRewardItem());
+        assertEquals(0, run.getRow(), "a run starts at the start cell");
+        assertTrue(run.isBlocked(0, 1));
+        assertEquals(1, m.getRow(), "the template keeps its own position");
+
+        run.addWall(1, 1);
+        assertTrue(run.isBlocked(1, 1));
+        assertFalse(m.isBlocked(1, 1), "edits to a run do not reach the template");
+        assertTrue(run.enterInput("D").isValid());
+        assertTrue(run.enterInput("D").isValid());
+        assertTrue(run.enterInput("R").isValid());
+        assertEquals(PuzzleState.SOLVED, run.enterInput("R").getNewState());
+    }
+
+    @Test
+    void newRun_templateEditsDoNotReachRuns() {
+        Maze m = maze3x3();
+        Maze run = (Maze) m.newRun();
+
+        m.addWall(1, 0);
+        m.clearWalls();
+        m.addWall(0, 1);
+        assertTrue(m.isBlocked(0, 1));
+        assertFalse(run.isBlocked(0, 1), "edits to the template do not reach a live run");
+        assertTrue(run.enterInput("R").isValid());
+        assertTrue(run.enterInput("R").isValid());
+        assertTrue(run.enterInput("D").isValid());
+        assertEquals(PuzzleState.SOLVED, run.enterInput("D").getNewState());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    @DisplayName("random inserts and removes match a TreeSet, including ranks and prefixes")
+    void randomOperations_matchTreeSet() {
+        Random rnd = new Random(42);
+        OrderStatisticTree<Integer> tree = OrderStatisticTree.empty(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int v = rnd.nextInt(1000);
+            if (rnd.nextInt(3) == 0) {
+                tree = tree.remove(v);
+                expected.remove(v);
+            } else {
+                tree = tree.insert(v);
+                expected.add(v);
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted.size(), tree.size());
+        assertEquals(sorted, tree.asList());
+        assertEquals(sorted.subList(0, 10), tree.first(10));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i, tree.indexOf(sorted.get(i)));
+            assertEquals(sorted.get(i), tree.get(i));
+        }
+        assertEquals(-1, tree.indexOf(-1));
+    }
+
+    @Test
+    @DisplayName("updates return new trees and leave earlier ones untouched")
+    void updates_arePersistent() {
+        OrderStatisticTree<String> empty = OrderStatisticTree.empty(Comparator.naturalOrder());
+        OrderStatisticTree<String> one = empty.insert("b");
+        OrderStatisticTree<String> two = one.insert("a");
+
+        assertEquals(0, empty.size());
+        assertEquals(List.of("b"), one.asList());
+        assertEquals(List.of("a", "b"), two.asList());
+        assertSame(two, two.remove("zzz"));
+        assertTrue(two.contains("a"));
+        assertFalse(two.remove("a").contains("a"));
+        assertTrue(two.first(0).isEmpty());
+    }
+}
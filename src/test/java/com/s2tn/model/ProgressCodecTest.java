@@ -0,0 +1,116 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProgressCodecTest {
+
+    @TempDir
+    Path dir;
+
+    private PuzzleKeyDictionary dict;
+
+    @BeforeEach
+    void setUp() {
+        dict = new PuzzleKeyDictionary(dir.resolve("d.keys"));
+    }
+
+    @Test
+    @DisplayName("encode/decode round-trips every field")
+    void roundTrip() throws Exception {
+        Progress p = new Progress();
+        p.setUserName("Ünïcode user");
+        p.setDungeonID(UUID.randomUUID());
+        p.setCurrentRoomID(UUID.randomUUID());
+        p.setSlot("autosave");
+        p.setElapsedTime(-42);
+        for (int i = 0; i < 200; i++) p.getPuzzleState().put("puzzle-" + i, PuzzleState.values()[i % 4]);
+
+        byte[] data = ProgressCodec.encode(p, dict);
+        assertTrue(ProgressCodec.isBinary(data));
+        Progress back = ProgressCodec.decode(data, id -> dict);
+
+        assertEquals(p.getUserName(), back.getUserName());
+        assertEquals(p.getDungeonID(), back.getDungeonID());
+        assertEquals(p.getCurrentRoomID(), back.getCurrentRoomID());
+        assertEquals(p.getSlot(), back.getSlot());
+        assertEquals(-42, back.getElapsedTime());
+        assertEquals(p.getPuzzleState(), back.getPuzzleState());
+    }
+
+    @Test
+    @DisplayName("missing fields stay null and the record is tiny")
+    void emptyProgress() throws Exception {
+        byte[] data = ProgressCodec.encode(new Progress(), dict);
+        Progress back = ProgressCodec.decode(data, id -> dict);
+        assertNull(back.getUserName());
+        assertNull(back.getDungeonID());
+        assertTrue(back.getPuzzleState().isEmpty());
+        assertTrue(data.length <= 8, "got " + data.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("truncated or foreign data is rejected with an IOException")
+    void badData() throws Exception {
+        Progress p = new Progress();
+        p.setUserName("alice");
+        p.setDungeonID(UUID.randomUUID());
+        byte[] data = ProgressCodec.encode(p, dict);
+
+        assertThrows(IOException.class, () -> ProgressCodec.decode(Arrays.copyOf(data, data.length - 3), id -> dict));
+        assertThrows(IOException.class, () -> ProgressCodec.decode("{}".getBytes(StandardCharsets.UTF_8), id -> dict));
+    }
+
+    @Test
+    @DisplayName("dictionary indexes are stable across reloads and a torn record is dropped")
+    void dictionary_persists() throws Exception {
+        assertEquals(0, dict.intern("a"));
+        assertEquals(1, dict.intern("b"));
+        assertEquals(0, dict.intern("a"));
+        Files.write(dir.resolve("d.keys"), new byte[] {0, 9, 'x'}, StandardOpenOption.APPEND);
+
+        PuzzleKeyDictionary reopened = new PuzzleKeyDictionary(dir.resolve("d.keys"));
+        assertEquals(2, reopened.size());
+        assertEquals("b", reopened.keyAt(1));
+        assertNull(reopened.keyAt(7));
+        assertEquals(2, reopened.intern("c"));
+        assertEquals("c", new PuzzleKeyDictionary(dir.resolve("d.keys")).keyAt(2));
+    }
+
+    @Test
+    @DisplayName("a batch of new keys is added in order, once each, and survives a reload")
+    void dictionary_internAll() throws Exception {
+        assertEquals(0, dict.intern("first"));
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) batch.add("k" + i);
+        batch.add("first");
+        batch.add("k3");
+
+        int[] idx = dict.internAll(batch);
+        for (int i = 0; i < 40; i++) assertEquals(i + 1, idx[i]);
+        assertEquals(0, idx[40]);
+        assertEquals(4, idx[41]);
+        assertEquals(41, dict.size());
+
+        PuzzleKeyDictionary reopened = new PuzzleKeyDictionary(dir.resolve("d.keys"));
+        assertEquals(41, reopened.size());
+        assertEquals("k39", reopened.keyAt(40));
+        assertEquals(0, reopened.internAll(List.of()).length);
+    }
+}
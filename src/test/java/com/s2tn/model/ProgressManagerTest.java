@@ -1,32 +1,131 @@
 package com.s2tn.model;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProgressManagerTest {
 
+    @TempDir
+    Path dir;
+
+    private ProgressManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ProgressManager(dir.resolve("progress"));
+    }
+
+    private static Progress progress(String user, String slot) {
+        Progress p = new Progress();
+        p.setUserName(user);
+        p.setSlot(slot);
+        p.setDungeonID(UUID.randomUUID());
+        p.setCurrentRoomID(UUID.randomUUID());
+        p.setElapsedTime(12_345);
+        p.getPuzzleState().put("riddle-1", PuzzleState.SOLVED);
+        p.getPuzzleState().put("code-2", PuzzleState.IN_PROGRESS);
+        return p;
+    }
+
     @Test
     void saveProgress() {
+        Progress p = progress("alice", null);
+        manager.saveProgress(p);
+        assertEquals(List.of("autosave"), manager.listSlots("alice"));
+        assertNull(p.getSlot(), "the caller's object should not be modified");
     }
 
     @Test
     void loadProgress() {
+        manager.saveProgress(progress("alice", null));
+        manager.saveProgress(progress("bob", null));
+
+        Progress loaded = manager.loadProgress("bob");
+        assertNotNull(loaded);
+        assertEquals("bob", loaded.getUserName());
+        assertNull(manager.loadProgress("carol"));
     }
 
     @Test
     void save() {
+        Progress p = progress("alice", "slot1");
+        manager.save("slot1", p);
+        manager.save("slot1", p);
+        manager.save(" ", p);
+        manager.save("slot2", null);
+        assertEquals(List.of("slot1"), manager.listSlots("alice"));
     }
 
     @Test
     void load() {
+        Progress p = progress("Alice", "s");
+        manager.save("s", p);
+
+        Progress loaded = manager.load("Alice", "s");
+        assertEquals(p.getDungeonID(), loaded.getDungeonID());
+        assertEquals(p.getCurrentRoomID(), loaded.getCurrentRoomID());
+        assertEquals(p.getElapsedTime(), loaded.getElapsedTime());
+        assertEquals(p.getPuzzleState(), loaded.getPuzzleState());
+        assertEquals("s", loaded.getSlot());
+        assertNull(manager.load("alice", "s"), "user names differing in case are separate owners");
+        assertNull(manager.load("s"), "user slots are not in the shared area");
     }
 
     @Test
     void listSlots() {
+        manager.save("b", progress(null, null));
+        manager.save("a", progress(null, null));
+        manager.save("x/../y", progress("alice", null));
+        assertEquals(List.of("a", "b"), manager.listSlots());
+        assertEquals(List.of("x/../y"), manager.listSlots("alice"));
     }
 
     @Test
     void delete() {
+        manager.save("s", progress("alice", null));
+        manager.delete("alice", "s");
+        manager.delete("alice", "s");
+        assertTrue(manager.listSlots("alice").isEmpty());
+        assertNull(manager.load("alice", "s"));
+    }
+
+    @Test
+    void slots_surviveRestart() throws Exception {
+        manager.save("slot one", progress("alice", null));
+        manager.save("autosave", progress(null, null));
+
+        // a fresh process only has the files: copy them somewhere no store has seen yet
+        Path moved = dir.resolve("restarted");
+        try (Stream<Path> files = Files.walk(dir.resolve("progress"))) {
+            for (Path f : (Iterable<Path>) files::iterator) {
+                Files.copy(f, moved.resolve(dir.resolve("progress").relativize(f).toString()));
+            }
+        }
+        ProgressManager restarted = new ProgressManager(moved);
+
+        assertEquals(List.of("slot one"), restarted.listSlots("alice"));
+        assertEquals(12_345, restarted.load("alice", "slot one").getElapsedTime());
+        assertNotNull(restarted.load("autosave"));
+    }
+
+    @Test
+    void load_readsJsonSlotFiles() throws Exception {
+        Progress p = progress("alice", "old");
+        Path file = dir.resolve("progress").resolve("alice").resolve("old.save");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, ProgressStore.encodeJson(p));
+
+        Progress loaded = new ProgressManager(dir.resolve("progress")).load("alice", "old");
+        assertEquals(p.getPuzzleState(), loaded.getPuzzleState());
+        assertEquals(p.getDungeonID(), loaded.getDungeonID());
     }
-}
\ No newline at end of file
+}
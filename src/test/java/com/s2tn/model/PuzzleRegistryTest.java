@@ -0,0 +1,147 @@
+package com.s2tn.model;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleRegistryTest {
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject json(Object... kv) {
+        JSONObject o = new JSONObject();
+        for (int i = 0; i < kv.length; i += 2) o.put(kv[i], kv[i + 1]);
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONArray array(Object... items) {
+        JSONArray a = new JSONArray();
+        for (Object item : items) a.add(item);
+        return a;
+    }
+
+    @Test
+    @DisplayName("declared type picks the factory, case-insensitively")
+    void create_byDeclaredType() {
+        Puzzle p = PuzzleRegistry.create(json("type", "riddle", "title", "R", "question", "q", "answer", "torch"));
+        assertInstanceOf(Riddle.class, p);
+        assertEquals("R", p.getTitle());
+        assertTrue(p.enterInput("TORCH").isValid());
+
+        Puzzle c = PuzzleRegistry.create(json("type", "CODE", "codePrompt", "digits", "expectedCode", "3214"));
+        CodePuzzle cp = assertInstanceOf(CodePuzzle.class, c);
+        assertEquals("digits", cp.getCodePrompt());
+        assertEquals("Puzzle", cp.getTitle());
+        assertTrue(cp.enterInput("3214").isValid());
+    }
+
+    @Test
+    @DisplayName("definitions without a known type fall back to key sniffing")
+    void create_sniffsKeys() {
+        assertInstanceOf(Riddle.class, PuzzleRegistry.create(json("question", "q", "answer", "a")));
+        assertInstanceOf(Riddle.class, PuzzleRegistry.create(json("type", "UNKNOWN", "question", "q", "answer", "a")));
+
+        CodePuzzle scramble = (CodePuzzle) PuzzleRegistry.create(json("scrambledWord", "DLOG", "solution", "GOLD"));
+        assertEquals("Unscramble the letters: DLOG", scramble.getCodePrompt());
+        assertTrue(scramble.enterInput("gold").isValid());
+
+        CodePuzzle fallback = (CodePuzzle) PuzzleRegistry.create(json("acceptedCodes", array("alpha", "beta")));
+        assertTrue(fallback.enterInput("beta").isValid());
+        assertNull(fallback.getCodePrompt());
+    }
+
+    @Test
+    @DisplayName("expectedCode definitions ignore acceptedCodes and solution, as before the registry")
+    void create_codeFieldPrecedence() {
+        Puzzle c = PuzzleRegistry.create(json("type", "CODE", "expectedCode", "1234",
+                "acceptedCodes", array("9999"), "solution", "0000"));
+        assertTrue(c.enterInput("1234").isValid());
+        assertFalse(c.enterInput("9999").isValid());
+        assertFalse(c.enterInput("0000").isValid());
+
+        Puzzle bare = PuzzleRegistry.create(json("acceptedCodes", array("9999"), "solution", "0000"));
+        assertTrue(bare.enterInput("9999").isValid());
+        assertTrue(bare.enterInput("0000").isValid());
+    }
+
+    @Test
+    @DisplayName("ignoreAccents and alternateAnswers are applied at load")
+    void create_answerOptions() {
+        Puzzle r = PuzzleRegistry.create(json("question", "q", "answer", "Crème brûlée",
+                "alternateAnswers", array("a candle"), "ignoreAccents", true));
+        assertTrue(r.enterInput("creme  BRULEE").isValid());
+        assertTrue(r.enterInput("A Candle").isValid());
+
+        Puzzle c = PuzzleRegistry.create(json("type", "CODE", "expectedCode", "Señor"));
+        assertFalse(c.enterInput("senor").isValid(), "accents count unless ignoreAccents is set");
+        assertTrue(c.enterInput(" SEÑOR ").isValid());
+    }
+
+    @Test
+    @DisplayName("hints and item fields are bound on every puzzle type")
+    void create_bindsCommonFields() {
+        JSONArray hints = array(json("level", 1L, "text", "first", "cost", 1.0),
+                json("level", 2L, "text", "second", "cost", 1.5));
+        Puzzle p = PuzzleRegistry.create(json("type", "SCRAMBLE", "scrambledWord", "DLOG", "solution", "GOLD",
+                "hints", hints, "rewardItem", "GOLD_COIN", "requiresItem", "true", "requiredItemKey", "CIPHER"));
+
+        assertEquals(2, p.getHints().size());
+        assertEquals(2, p.getMaxHints());
+        assertEquals("second", p.getHints().get(1).getText());
+        assertEquals("GOLD_COIN", p.getRewardItem());
+        assertTrue(p.isRequiresItem());
+        assertEquals("CIPHER", p.getRequiredItemKey());
+
+        Puzzle plain = PuzzleRegistry.create(json("question", "q", "answer", "a", "requiredItemKey", "IGNORED"));
+        assertFalse(plain.isRequiresItem());
+        assertNull(plain.getRequiredItemKey());
+    }
+
+    @Test
+    @DisplayName("custom factories can be registered for new types")
+    void register_customType() {
+        PuzzleRegistry.Factory maze = (title, json) -> {
+            Maze m = new Maze();
+            m.setTitle(title);
+            return m;
+        };
+        // the registry is global, so use a type no loader or other test relies on
+        PuzzleRegistry.register("registryTestMaze", maze);
+        assertSame(maze, PuzzleRegistry.get("REGISTRYTESTMAZE"));
+
+        Puzzle p = PuzzleRegistry.create(json("type", "RegistryTestMaze", "title", "Labyrinth"));
+        assertInstanceOf(Maze.class, p);
+        assertEquals("Labyrinth", p.getTitle());
+
+        assertNull(PuzzleRegistry.create(null));
+        assertNotNull(PuzzleRegistry.get("code"));
+    }
+
+    @Test
+    @DisplayName("mazes are built and checked for a route when loaded")
+    void create_maze() throws Exception {
+        JSONParser parser = new JSONParser();
+        Puzzle p = PuzzleRegistry.create((JSONObject) parser.parse(
+                "{\"type\":\"maze\",\"title\":\"Hall\",\"rows\":3,\"cols\":3,\"start\":\"0,0\",\"end\":\"2,2\","
+                        + "\"walls\":[[1,0],[1,1]]}"));
+        Maze m = assertInstanceOf(Maze.class, p);
+        assertEquals("Hall", m.getTitle());
+        assertTrue(m.isBlocked(1, 1));
+        assertTrue(m.getHint().contains("distance: 4"), m.getHint());
+
+        assertInstanceOf(Maze.class, PuzzleRegistry.create(json("type", "MAZE", "rows", 21L, "cols", 31L, "seed", 9L)));
+        assertNull(PuzzleRegistry.create((JSONObject) parser.parse(
+                "{\"type\":\"maze\",\"rows\":3,\"cols\":3,\"walls\":[[1,0],[1,1],[1,2]]}")), "No route to the end");
+        assertNull(PuzzleRegistry.create(json("type", "maze", "rows", 0L, "cols", 3L)));
+    }
+}
@@ -1,5 +1,7 @@
 package com.s2tn.model;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -8,9 +10,31 @@ class RiddleTest {
 
     @Test
     void enterInput() {
+        Riddle r = new Riddle("R", "What has an eye but cannot see?", "  a Needle ");
+        assertEquals("No answer entered.", r.enterInput(null).getMessage());
+        assertFalse(r.enterInput("needle").isValid());
+        assertEquals(PuzzleState.IN_PROGRESS, r.getState());
+        assertTrue(r.enterInput("A   NEEDLE").isValid());
+        assertEquals(PuzzleState.SOLVED, r.getState());
+    }
+
+    @Test
+    void alternateAnswersAndAccents() {
+        Riddle r = new Riddle("R", "q", "Résumé");
+        r.addAlternateAnswer("CV");
+        assertTrue(r.enterInput("cv").isValid());
+        assertFalse(r.enterInput("resume").isValid());
+        r.setIgnoreAccents(true);
+        assertTrue(r.enterInput("RESUME").isValid());
+        assertFalse(new Riddle().enterInput("anything").isValid());
     }
 
     @Test
     void checkSpecificAchievementCondition() {
+        Riddle r = new Riddle("R", "q", "a");
+        assertFalse(r.checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
+        r.enterInput("a");
+        assertTrue(r.checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
+        assertFalse(r.checkSpecificAchievementCondition(null, Duration.ZERO, 1, 0));
     }
-}
\ No newline at end of file
+}
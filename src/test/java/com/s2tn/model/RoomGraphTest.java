@@ -0,0 +1,116 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RoomGraphTest {
+
+    private Room c;
+    private Room d;
+    private Room outside;
+    private Room b;
+    private Room a;
+    private RoomGraph graph;
+
+    /** a -> b (open), a -> c (locked), b -> outside (open), c -> d (open) */
+    @BeforeEach
+    void setUp() {
+        d = new Room("D");
+        outside = new Room("Outside");
+        c = new Room(null, null, list(d), null);
+        b = new Room(null, null, list(outside), null);
+        a = new Room(null, null, list(b), list(c));
+        graph = RoomGraph.of(List.of(a, b, c, d));
+    }
+
+    private static ArrayList<Room> list(Room... rooms) {
+        return new ArrayList<>(List.of(rooms));
+    }
+
+    @Test
+    @DisplayName("of should index rooms in list order and drop exits outside the list")
+    void build() {
+        assertEquals(4, graph.size());
+        assertEquals(0, graph.indexOf(a));
+        assertEquals(3, graph.indexOf(d));
+        assertEquals(-1, graph.indexOf(outside));
+        assertEquals(-1, graph.indexOf(null));
+        assertSame(c, graph.room(2));
+        assertEquals(2, graph.degree(0));
+        assertEquals(0, graph.degree(1));
+        assertEquals(0, graph.degree(3));
+        assertEquals(1, graph.neighbor(0, 0));
+        assertFalse(graph.isLocked(0, 0));
+        assertEquals(2, graph.neighbor(0, 1));
+        assertTrue(graph.isLocked(0, 1));
+    }
+
+    @Test
+    @DisplayName("forEachOpenNeighbor and canMove should skip locked exits")
+    void openNeighbors() {
+        List<Integer> seen = new ArrayList<>();
+        graph.forEachOpenNeighbor(0, seen::add);
+        assertEquals(List.of(1), seen);
+        assertTrue(graph.canMove(0, 1));
+        assertFalse(graph.canMove(0, 2));
+        assertFalse(graph.canMove(0, 3));
+    }
+
+    @Test
+    @DisplayName("unlock through the graph should open the edge and update the room")
+    void unlockThroughGraph() {
+        assertTrue(graph.unlock(0, 2));
+        assertTrue(graph.canMove(0, 2));
+        assertEquals(0, a.getLockedExits().length);
+        assertArrayEquals(new Room[] {b, c}, a.getExits());
+        assertFalse(graph.unlock(0, 2), "Nothing left to unlock");
+    }
+
+    @Test
+    @DisplayName("unlock through the room should keep the graph in step")
+    void unlockThroughRoom() {
+        a.unlock(c);
+        assertTrue(graph.canMove(0, 2));
+        assertFalse(graph.isLocked(0, 1));
+    }
+
+    @Test
+    @DisplayName("Reachability should follow open exits only")
+    void reachability() {
+        assertTrue(graph.isReachable(0, 1));
+        assertFalse(graph.isReachable(1, 0));
+        assertFalse(graph.isReachable(0, 3));
+        assertTrue(graph.isReachable(3, 3));
+        assertEquals(2, graph.reachableCount(0));
+        assertEquals(1, graph.reachableCount(3));
+
+        graph.unlock(0, 2);
+        assertTrue(graph.isReachable(0, 3));
+        assertTrue(graph.isReachable(2, 3));
+        assertEquals(4, graph.reachableCount(0));
+    }
+
+    @Test
+    @DisplayName("Dungeon should build its graph lazily and rebuild it when the rooms change")
+    void dungeonGraph() {
+        ArrayList<Room> rooms = list(a, b, c, d);
+        Dungeon dungeon = new Dungeon("Graph", rooms, 1000, Difficulty.NORMAL, a);
+        RoomGraph g = dungeon.getGraph();
+        assertSame(g, dungeon.getGraph());
+        assertEquals(2, dungeon.indexOfRoom(c));
+        assertEquals(-1, dungeon.indexOfRoom(outside));
+
+        rooms.add(outside);
+        assertEquals(4, dungeon.indexOfRoom(outside));
+        assertEquals(5, dungeon.getGraph().size());
+    }
+}
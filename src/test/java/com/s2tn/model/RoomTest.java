@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -61,8 +60,8 @@ class RoomTest {
         assertNotNull(emptyRoom.getRoomID());
         assertTrue(emptyRoom.getPuzzles().isEmpty());
         assertTrue(emptyRoom.getHints().isEmpty());
-        assertNull(emptyRoom.getExits()[0]);
-        assertNull(emptyRoom.getLockedExits()[0]);
+        assertEquals(0, emptyRoom.getExits().length);
+        assertEquals(0, emptyRoom.getLockedExits().length);
     }
 
     @Test
@@ -108,20 +107,33 @@ class RoomTest {
     }
 
     @Test
-    @DisplayName("unlock should remove a room from lockedExits")
+    @DisplayName("unlock should move a room from lockedExits to exits")
     void unlock() {
         // Verify the locked exit is present
         assertSame(lockedExitRoom, room.getLockedExits()[0]);
 
         // Unlock it
         room.unlock(lockedExitRoom);
-        assertNull(room.getLockedExits()[0], "The unlocked room should be null in the lockedExits array.");
+        assertEquals(0, room.getLockedExits().length, "The unlocked room should be removed from lockedExits.");
+        assertEquals(2, room.getExits().length);
+        assertSame(lockedExitRoom, room.getExits()[1], "The unlocked room should become an open exit.");
 
         // Try to unlock a room that isn't locked or is null
         Room anotherRoom = new Room("Another Room");
         room.unlock(anotherRoom); // Should do nothing
         room.unlock(null); // Should do nothing
-        assertNull(room.getLockedExits()[0]); // State should remain unchanged
+        assertEquals(0, room.getLockedExits().length); // State should remain unchanged
+        assertEquals(2, room.getExits().length);
+    }
+
+    @Test
+    @DisplayName("Exit arrays should hold every exit, without a fixed capacity")
+    void exits_noFixedCapacity() {
+        ArrayList<Room> exits = new ArrayList<>();
+        for (int i = 0; i < 25; i++) exits.add(new Room("Exit " + i));
+        exits.add(null);
+        Room hub = new Room(null, null, exits, null);
+        assertEquals(25, hub.getExits().length);
     }
 
     @Test
@@ -0,0 +1,112 @@
+package com.s2tn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SessionManagerTest {
+
+    private Riddle riddle;
+    private Dungeon dungeon;
+    private SessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        riddle = new Riddle("Riddle", "What has an eye, but cannot see?", "needle");
+        Room room = new Room(new ArrayList<>(List.of(riddle)), null, null, null);
+        dungeon = new Dungeon("Shared", new ArrayList<>(List.of(room)), 60000, Difficulty.NORMAL, room);
+        DungeonList.getInstance().clear();
+        DungeonList.getInstance().addDungeon(dungeon);
+        manager = new SessionManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.clear();
+        DungeonList.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("open should look dungeons up in DungeonList and track the session")
+    void openGetClose() {
+        GameSession s = manager.open(null, dungeon.getUUID());
+        assertSame(dungeon, s.getDungeon());
+        assertSame(s, manager.get(s.getSessionId()));
+        assertEquals(1, manager.size());
+        assertNull(manager.open(null, UUID.randomUUID()));
+
+        assertTrue(manager.close(s.getSessionId()));
+        assertFalse(manager.close(s.getSessionId()));
+        assertNull(manager.get(s.getSessionId()));
+    }
+
+    @Test
+    @DisplayName("submit should run many sessions concurrently on virtual threads")
+    void submit_concurrentSessions() {
+        int n = 2000;
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            GameSession s = manager.open(null, dungeon);
+            String answer = (i % 2 == 0) ? "needle" : "thread";
+            futures.add(manager.submit(s.getSessionId(), session -> {
+                assertTrue(Thread.currentThread().isVirtual());
+                session.enterDungeon();
+                return session.answer(riddle.getPuzzleID(), answer).isValid();
+            }));
+        }
+        long solved = futures.stream().map(CompletableFuture::join).filter(b -> b).count();
+        assertEquals(n / 2, solved);
+        assertEquals(n, manager.size());
+        assertEquals(PuzzleState.INIT, riddle.getState(), "The template should not change");
+    }
+
+    @Test
+    @DisplayName("submit should fail for sessions that are not open")
+    void submit_unknownSession() {
+        CompletableFuture<Integer> f = manager.submit(UUID.randomUUID(), GameSession::getSolvedCount);
+        ExecutionException e = assertThrows(ExecutionException.class, f::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("A new session should start from INIT even if the template was played through the Facade")
+    void open_ignoresTemplatePlayState() {
+        assertTrue(riddle.enterInput("needle").isValid()); // the single-player path solves the template in place
+        assertEquals(PuzzleState.SOLVED, riddle.getState());
+
+        GameSession s = manager.open(null, dungeon);
+        assertEquals(PuzzleState.INIT, s.getPuzzleState(riddle.getPuzzleID()));
+        assertEquals(0, s.getSolvedCount());
+        assertFalse(s.isComplete());
+    }
+
+    @Test
+    @DisplayName("A changed room list should be picked up without the staleness check rebuilding the graph")
+    void open_afterRoomChange() {
+        GameSession before = manager.open(null, dungeon);
+        DungeonIndex stale = new DungeonIndex(dungeon);
+        Riddle added = new Riddle("Second", "What runs but never walks?", "river");
+        Room extra = new Room(new ArrayList<>(List.of(added)), null, null, null);
+        dungeon.setRooms(new ArrayList<>(List.of(dungeon.getRooms().get(0), extra)));
+
+        assertFalse(stale.isCurrent());
+        assertFalse(stale.isCurrent(), "Checking must not rebuild the graph behind the index's back");
+        assertNull(before.getPuzzle(added.getPuzzleID()));
+        GameSession after = manager.open(null, dungeon);
+        assertSame(added, after.getPuzzle(added.getPuzzleID()));
+    }
+}
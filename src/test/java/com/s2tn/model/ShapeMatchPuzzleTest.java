@@ -1,16 +1,132 @@
 package com.s2tn.model;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ShapeMatchPuzzleTest {
 
+    private static ShapeMatchPuzzle twoShapes() {
+        ShapeMatchPuzzle p = new ShapeMatchPuzzle();
+        p.setTarget("A", 10, 20, 0);
+        p.setTarget("B", 30, 40, 90);
+        return p;
+    }
+
     @Test
     void enterInput() {
+        ShapeMatchPuzzle p = twoShapes();
+        assertFalse(p.enterInput(" ").isValid());
+        assertFalse(new ShapeMatchPuzzle().enterInput("A:1,2,3").isValid());
+        assertEquals("Bad format", p.enterInput("A:1,2; B:oops,1,1; :1,2,3").getMessage());
+
+        assertEquals("Missing B", p.enterInput("A:10,20,0").getMessage());
+        assertEquals("B off by 10.0px", p.enterInput(" A : 11 , 21 , 359 ; B:30,50,90 ").getMessage());
+        assertEquals("B angle off by 10.0°", p.enterInput("A:10,20,0;B:30,40,1e2").getMessage());
+
+        ValidationResult ok = p.enterInput("A:12,23,-4.5; B:30.5,40,90; C:0,0,0;");
+        assertTrue(ok.isValid());
+        assertEquals(PuzzleState.SOLVED, ok.getNewState());
+        assertEquals("aligned", p.getHint());
+    }
+
+    @Test
+    void enterInput_replacesPreviousPoses() {
+        ShapeMatchPuzzle p = twoShapes();
+        assertTrue(p.enterInput("A:10,20,0; B:30,40,90").isValid());
+        assertEquals("Missing A", p.enterInput("B:30,40,90").getMessage());
+        assertEquals(1, p.getInToleranceCount());
+    }
+
+    @Test
+    void enterInput_acceptsNumberFormsOfParseDouble() {
+        ShapeMatchPuzzle p = new ShapeMatchPuzzle();
+        p.setTarget("A", 0.1, 1234567890.125, 1e-3);
+        assertTrue(p.enterInput("A:+.1,1234567890.125,0.001").isValid());
+        assertTrue(p.enterInput("A:1e-1, 1.234567890125E9, 1d").isValid());
+        assertTrue(p.enterInput("A:0.1,1234567890.125000000000000000001,0").isValid());
+        assertFalse(p.enterInput("A:1..0,2,3").isValid());
+    }
+
+    @Test
+    void updatePose_keepsRunningCount() {
+        ShapeMatchPuzzle p = twoShapes();
+        assertEquals(2, p.getTargetCount());
+        assertFalse(p.isSolved());
+
+        assertTrue(p.updatePose("A", 12, 21, 3));
+        assertEquals(1, p.getInToleranceCount());
+        assertTrue(p.updatePose("A", 11, 21, -2), "moving within tolerance keeps the count");
+        assertEquals(1, p.getInToleranceCount());
+        assertFalse(p.updatePose(" B ", 100, 100, 90));
+        assertFalse(p.updatePose("Z", 30, 40, 90), "unknown label");
+        assertTrue(p.updatePose("B", 30, 40, 450), "angles wrap");
+        assertTrue(p.isSolved());
+
+        assertFalse(p.updatePose("A", 0, 0, 0));
+        assertEquals(1, p.getInToleranceCount());
+        assertFalse(p.isSolved());
+
+        p.clearPoses();
+        assertEquals(0, p.getInToleranceCount());
+    }
+
+    @Test
+    void toleranceAndTargetChanges_recheckPlacedShapes() {
+        ShapeMatchPuzzle p = twoShapes();
+        p.updatePose("A", 18, 20, 0);
+        assertEquals(0, p.getInToleranceCount());
+        p.setTolerance(10, 0);
+        assertEquals(1, p.getInToleranceCount());
+        p.setTarget("A", 50, 50, 0);
+        assertEquals(0, p.getInToleranceCount());
+    }
+
+    @Test
+    void manyTargets_growTheLabelTable() {
+        ShapeMatchPuzzle p = new ShapeMatchPuzzle();
+        for (int i = 0; i < 500; i++) p.setTarget("S" + i, i, i, 0);
+        for (int i = 0; i < 500; i++) assertTrue(p.updatePose("S" + i, i + 1, i, 0));
+        assertTrue(p.isSolved());
     }
 
     @Test
     void checkSpecificAchievementCondition() {
+        assertFalse(twoShapes().checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
+    }
+
+    @Test
+    void newRun_sharesTargetsUntilEdited() {
+        ShapeMatchPuzzle p = twoShapes();
+        p.updatePose("A", 10, 20, 0);
+
+        ShapeMatchPuzzle run = (ShapeMatchPuzzle) p.newRun();
+        assertEquals(2, run.getTargetCount());
+        assertEquals(0, run.getInToleranceCount(), "a run starts with no poses");
+        assertEquals(1, p.getInToleranceCount());
+        assertEquals(PuzzleState.SOLVED, run.enterInput("A:10,20,0; B:30,40,90").getNewState());
+
+        run.setTarget("C", 0, 0, 0);
+        assertEquals(3, run.getTargetCount());
+        assertEquals(2, p.getTargetCount(), "edits to a run do not reach the template");
+        run.setTarget("A", 50, 50, 0);
+        assertTrue(p.updatePose("A", 10, 20, 0));
+    }
+
+    @Test
+    void newRun_templateEditsDoNotReachRuns() {
+        ShapeMatchPuzzle p = twoShapes();
+        ShapeMatchPuzzle run = (ShapeMatchPuzzle) p.newRun();
+
+        p.setTarget("A", 500, 500, 0);
+        for (int i = 0; i < 20; i++) p.setTarget("X" + i, i, i, 0); // grows and rehashes the template's table
+        assertEquals(22, p.getTargetCount());
+        assertEquals(2, run.getTargetCount(), "edits to the template do not reach a live run");
+
+        assertFalse(run.updatePose("X3", 3, 3, 0), "labels added to the template are unknown to the run");
+        assertEquals(PuzzleState.SOLVED, run.enterInput("A:10,20,0; B:30,40,90").getNewState());
+        assertTrue(run.isSolved());
     }
-}
\ No newline at end of file
+}
@@ -1,32 +1,112 @@
 package com.s2tn.model;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class SlideShapePuzzleTest {
 
+    private static final List<String> GOAL_4X4 = Arrays.asList(
+            "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "_");
+
     @Test
     void isSolved() {
+        SlideShapePuzzle p = new SlideShapePuzzle();
+        assertFalse(p.isSolved());
+        assertEquals(PuzzleState.SOLVED, p.enterInput("H left").getNewState());
+        assertTrue(p.isSolved());
+        assertEquals(PuzzleState.IN_PROGRESS, p.enterInput("H right").getNewState());
+        assertFalse(p.isSolved(), "moving a placed tile away unsolves the board");
     }
 
     @Test
     void resetToStart() {
+        SlideShapePuzzle p = new SlideShapePuzzle();
+        p.enterInput("E down");
+        assertEquals(1, p.getMovesMade());
+        p.resetToStart();
+        assertEquals(0, p.getMovesMade());
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "_", "H"), p.getBoard());
     }
 
     @Test
     void displayPuzzle() {
+        assertDoesNotThrow(() -> new SlideShapePuzzle().displayPuzzle());
     }
 
     @Test
     void enterInput() {
+        SlideShapePuzzle p = new SlideShapePuzzle();
+        assertFalse(p.enterInput(" ").isValid());
+        assertFalse(p.enterInput("Z up").isValid());
+        assertFalse(p.enterInput("A sideways").isValid());
+        assertFalse(p.enterInput("A up").isValid(), "A is not below the empty slot");
+        assertEquals("that tile isn't next to the empty in that direction", p.getHint());
+
+        p.enterInput("slide e down");
+        assertEquals(Arrays.asList("A", "B", "C", "D", "_", "F", "G", "E", "H"), p.getBoard());
+        assertEquals(PuzzleState.IN_PROGRESS, p.enterInput("solved").getNewState());
+        p.enterInput("E up");
+        p.enterInput("H left");
+        assertEquals(PuzzleState.SOLVED, p.enterInput("solved").getNewState());
+    }
+
+    @Test
+    void hint_followsAnOptimalPlan() {
+        List<String> start = Arrays.asList(
+                "A", "B", "C", "D", "E", "F", "G", "H", "I", "_", "K", "L", "M", "J", "N", "O");
+        SlideShapePuzzle p = new SlideShapePuzzle(start, GOAL_4X4, 4, 4);
+        assertTrue(p.isSolvable());
+        assertEquals("try: J up", p.enterInput("hint").getMessage());
+
+        int moves = 0;
+        while (!p.isSolved()) {
+            String move = p.suggestMove();
+            assertNotNull(move);
+            p.enterInput(move);
+            moves++;
+        }
+        assertEquals(3, moves);
+        assertNull(p.suggestMove());
+    }
+
+    @Test
+    void hint_givesUpQuicklyOnAFarBoard() {
+        // one of the 80-move 4x4 positions: far beyond the interactive search budget
+        List<String> far = Arrays.asList(
+                "_", "L", "I", "M", "O", "K", "J", "N", "C", "G", "B", "E", "D", "H", "F", "A");
+        SlideShapePuzzle p = new SlideShapePuzzle(far, GOAL_4X4, 4, 4);
+        assertTrue(p.isSolvable());
+        long start = System.nanoTime();
+        assertEquals("no short solution found", p.enterInput("hint").getMessage());
+        assertTrue(System.nanoTime() - start < 2_000_000_000L, "the hint must not run the offline budget");
+    }
+
+    @Test
+    void hint_reportsUnsolvableBoard() {
+        List<String> swapped = Arrays.asList(
+                "B", "A", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "_");
+        SlideShapePuzzle p = new SlideShapePuzzle(swapped, GOAL_4X4, 4, 4);
+        assertFalse(p.isSolvable());
+        assertNull(p.suggestMove());
+        assertEquals("this board cannot be solved", p.enterInput("hint").getMessage());
     }
 
     @Test
     void checkSpecificAchievementCondition() {
+        SlideShapePuzzle p = new SlideShapePuzzle();
+        assertFalse(p.checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
+        p.enterInput("H left");
+        assertTrue(p.checkSpecificAchievementCondition(null, Duration.ZERO, 0, 0));
     }
 
     @Test
     void testToString() {
+        assertEquals("SlideShapePuzzle{moves=0, board=[A, B, C, D, E, F, G, _, H]}",
+                new SlideShapePuzzle().toString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.s2tn.model;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlideSolverTest {
+
+    /** Goal 1..n-1 followed by the blank. */
+    private static byte[] goal(int size) {
+        byte[] g = new byte[size * size];
+        for (int i = 0; i < g.length - 1; i++) g[i] = (byte) (i + 1);
+        return g;
+    }
+
+    /** Random walk of the blank from the goal, never stepping straight back. */
+    private static byte[] scramble(int size, int steps, long seed) {
+        byte[] b = goal(size);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int blank = b.length - 1, prev = -1;
+        for (int i = 0; i < steps; ) {
+            int r = blank / size, c = blank % size;
+            int next = switch (rnd.nextInt(4)) {
+                case 0 -> r > 0 ? blank - size : -1;
+                case 1 -> r < size - 1 ? blank + size : -1;
+                case 2 -> c > 0 ? blank - 1 : -1;
+                default -> c < size - 1 ? blank + 1 : -1;
+            };
+            if (next < 0 || next == prev) continue;
+            b[blank] = b[next];
+            b[next] = 0;
+            prev = blank;
+            blank = next;
+            i++;
+        }
+        return b;
+    }
+
+    private static void apply(byte[] board, int[] path) {
+        int blank = 0;
+        while (board[blank] != 0) blank++;
+        for (int tile : path) {
+            board[blank] = board[tile];
+            board[tile] = 0;
+            blank = tile;
+        }
+    }
+
+    @Test
+    @DisplayName("4x4 and 5x5 solutions reach the goal in no more moves than the scramble")
+    void solve_reachesGoal() {
+        for (int size : new int[] {4, 5}) {
+            byte[] start = scramble(size, 30, size);
+            SlideSolver solver = new SlideSolver(size, size, goal(size));
+            assertTrue(solver.isSolvable(start));
+            int[] path = solver.solve(start, SlideSolver.DEFAULT_NODE_LIMIT);
+            assertNotNull(path);
+            assertTrue(path.length <= 30);
+            assertEquals(0, path.length % 2, "blank returns to its corner in an even number of moves");
+            byte[] board = start.clone();
+            apply(board, path);
+            assertArrayEquals(goal(size), board);
+        }
+    }
+
+    @Test
+    void solve_isOptimalForKnownBoard() {
+        byte[] start = goal(3);
+        // two moves away: blank moved up then left
+        start[8] = 6; start[5] = 5; start[4] = 0;
+        SlideSolver solver = new SlideSolver(3, 3, goal(3));
+        assertArrayEquals(new int[] {5, 8}, solver.solve(start, 1000));
+        assertEquals(0, solver.solve(goal(3), 1000).length);
+    }
+
+    @Test
+    void isSolvable_checksParityAndTiles() {
+        SlideSolver solver = new SlideSolver(4, 4, goal(4));
+        byte[] swapped = goal(4);
+        swapped[0] = 2; swapped[1] = 1;
+        assertFalse(solver.isSolvable(swapped));
+        assertNull(solver.solve(swapped, 1000));
+
+        byte[] missing = goal(4);
+        missing[0] = 9;
+        assertFalse(solver.isSolvable(missing));
+
+        byte[] twoBlanks = goal(4);
+        twoBlanks[0] = 0;
+        assertFalse(solver.isSolvable(twoBlanks));
+    }
+
+    @Test
+    void duplicateLabels_areSolvableEitherParity() {
+        byte[] g = {1, 1, 2, 2, 3, 3, 4, 4, 0};
+        byte[] start = {1, 1, 2, 3, 2, 3, 4, 4, 0};
+        SlideSolver solver = new SlideSolver(3, 3, g);
+        assertTrue(solver.isSolvable(start));
+        int[] path = solver.solve(start, SlideSolver.DEFAULT_NODE_LIMIT);
+        assertNotNull(path);
+        apply(start, path);
+        assertArrayEquals(g, start);
+    }
+
+    @Test
+    void solve_givesUpWhenBudgetRunsOut() {
+        SlideSolver solver = new SlideSolver(4, 4, goal(4));
+        assertNull(solver.solve(scramble(4, 60, 9L), 10));
+    }
+}
@@ -1,5 +1,7 @@
 package com.s2tn.model;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,16 +29,20 @@ class TimerTest {
     @Test
     @DisplayName("start() should set the timer to a running state and reset times")
     void start() {
-        timer.start();
-        assertTrue(timer.isRunning(), "Timer should be running after start().");
-
-        // Restarting the timer should reset the start time
-        long firstStartTime = timer.elapsedTime();
-        try { Thread.sleep(SLEEP_DURATION); } catch (InterruptedException e) { fail("Test interrupted"); }
-        timer.start();
-        long secondStartTime = timer.elapsedTime(); // Also negative
-        assertTrue(firstStartTime > 0, "Time should not be negative");
-        assertTrue(secondStartTime > firstStartTime, "Restarting the timer should reset its start time.");
+        VirtualClock clock = new VirtualClock();
+        Timer t = new Timer(clock);
+        t.start();
+        assertTrue(t.isRunning(), "Timer should be running after start().");
+
+        clock.advance(SLEEP_DURATION * 1_000_000);
+        t.addPenalty(50);
+        long beforeRestart = t.elapsedTime();
+        assertEquals(SLEEP_DURATION + 50, beforeRestart, "Time should count up while running");
+
+        t.start();
+        assertEquals(0, t.elapsedTime(), "Restarting the timer should reset its time and penalties.");
+        clock.advance(1_000_000);
+        assertEquals(1, t.elapsedTime());
     }
 
     @Test
@@ -86,15 +92,15 @@ class TimerTest {
     }
 
     @Test
-    @DisplayName("elapsedTime() returns negative value when timer is running")
-    void elapsedTime_returnsNegativeWhenRunning() {
+    @DisplayName("elapsedTime() reads the live run time while the timer is running")
+    void elapsedTime_readsLiveWhileRunning() {
         timer.start();
         try { Thread.sleep(SLEEP_DURATION); } catch (InterruptedException e) { fail("Test interrupted"); }
 
-        // Since stop() hasn't been called, stopTime is 0.
-        // The result will be 0 - startTime, which is a large negative number.
         long elapsed = timer.elapsedTime();
-        assertTrue(elapsed < 0, "Calling elapsedTime() on a running timer should not return a negative value, but it does.");
+        assertTrue(elapsed >= SLEEP_DURATION, "A running timer should report the time so far.");
+        assertTrue(elapsed < SLEEP_DURATION + TOLERANCE, "Elapsed time should be reasonably close to the sleep duration.");
+        assertTrue(timer.isRunning(), "Reading the time should not stop the timer.");
     }
 
     @Test
@@ -140,4 +146,49 @@ class TimerTest {
         timer.start(); // Restarting
         assertTrue(timer.isRunning(), "Timer should be running after being restarted.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("A virtual clock should fast-forward hours of play exactly, skipping pauses")
+    void virtualClock_pausesAreExcluded() {
+        VirtualClock clock = new VirtualClock(123_456_789L);
+        Timer t = new Timer(clock);
+        t.start();
+        clock.advance(Duration.ofHours(3));
+        t.stop();
+        clock.advance(Duration.ofDays(2));          // paused; must not count
+        assertEquals(Duration.ofHours(3).toMillis(), t.elapsedTime());
+
+        t.stop();                                    // stopping twice banks nothing extra
+        t.unPause();
+        clock.advance(Duration.ofMinutes(45));
+        t.unPause();                                 // resuming a running timer keeps its interval
+        clock.advance(Duration.ofMinutes(15));
+        t.stop();
+        assertEquals(Duration.ofHours(4).toMillis(), t.elapsedTime());
+        assertEquals(Duration.ofHours(4).toNanos(), t.activeNanos());
+    }
+
+    @Test
+    @DisplayName("Penalties are a separate counter added on top of run time")
+    void penaltiesAreSeparate() {
+        VirtualClock clock = new VirtualClock();
+        Timer t = new Timer(clock);
+        t.start();
+        clock.advance(Duration.ofSeconds(10));
+        t.addPenalty(5_000);
+        t.addPenalty(2_500);
+        t.stop();
+        assertEquals(7_500, t.getPenalty());
+        assertEquals(Duration.ofSeconds(10).toNanos(), t.activeNanos(), "Penalties should not change run time");
+        assertEquals(17_500, t.elapsedTime());
+    }
+
+    @Test
+    @DisplayName("The virtual clock should refuse to go backward")
+    void virtualClock_rejectsNegativeAdvance() {
+        VirtualClock clock = new VirtualClock();
+        assertEquals(5, clock.advance(5));
+        assertThrows(IllegalArgumentException.class, () -> clock.advance(-1));
+        assertEquals(5, clock.nanoTime());
+    }
+}
@@ -0,0 +1,108 @@
+package com.s2tn.model;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+/**
+ * Reference dungeon loader that parses the whole file into a JSON tree first and then walks it.
+ * Only used by tests and benchmarks to check the streaming loader in {@link DataLoader} against.
+ */
+final class TreeDungeonLoader {
+
+    private TreeDungeonLoader() {
+    }
+
+    /**
+     * Loads dungeons from a rooms.json style file.
+     *
+     * @param path path to the file
+     * @return the loaded dungeons, empty if the file is missing or malformed
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    static List<Dungeon> load(Path path) {
+        ArrayList<Dungeon> loaded = new ArrayList<>();
+
+        try {
+            if (!Files.exists(path)) {
+                System.err.println("Dungeon file not found at: " + path.toAbsolutePath());
+                return List.of();
+            }
+
+            JSONParser parser = new JSONParser();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                Object rootObj = parser.parse(reader);
+
+                JSONArray dungeonArray;
+                if (rootObj instanceof JSONObject root && root.get("dungeons") instanceof JSONArray arr) {
+                    dungeonArray = arr;
+                } else if (rootObj instanceof JSONArray arr) {
+                    dungeonArray = arr;
+                } else {
+                    System.err.println("Unexpected dungeon JSON format at: " + path.toAbsolutePath());
+                    return List.of();
+                }
+
+                for (Object dObj : dungeonArray) {
+                    if (!(dObj instanceof JSONObject dungeonJson)) continue;
+
+                    String name = DataLoader.asString(dungeonJson.get("name"));
+                    if (name == null) name = "Unnamed Dungeon";
+
+                    Difficulty difficulty = DataLoader.parseDifficulty(dungeonJson.get("difficulty"));
+
+                    double baseMaxAllowedTime = 600_000d; // 10 minutes
+                    Object timerObj = dungeonJson.get("timer");
+                    if (timerObj instanceof JSONObject tJson) {
+                        String allowed = DataLoader.asString(tJson.get("allowedTime"));
+                        if (allowed != null) {
+                            baseMaxAllowedTime = DataLoader.toMillis(allowed, 600_000d);
+                        }
+                    }
+
+                    ArrayList<Room> rooms = new ArrayList<>();
+                    Object roomsObj = dungeonJson.get("rooms");
+                    if (roomsObj instanceof JSONArray roomsArray) {
+                        for (Object rObj : roomsArray) {
+                            if (!(rObj instanceof JSONObject roomJson)) continue;
+
+                            ArrayList<Hint> roomHints = new ArrayList<>();
+                            Object hintsObj = roomJson.get("hints");
+                            if (hintsObj instanceof JSONArray hArr) {
+                                for (Object hObj : hArr) {
+                                    if (hObj instanceof JSONObject hJson) roomHints.add(DataLoader.parseHint(hJson));
+                                }
+                            }
+
+                            ArrayList<Puzzle> puzzles = new ArrayList<>();
+                            Object puzzlesObj = roomJson.get("puzzles");
+                            if (puzzlesObj instanceof JSONArray pArr) {
+                                for (Object pObj : pArr) {
+                                    if (pObj instanceof JSONObject pJson) {
+                                        Puzzle pz = DataLoader.parsePuzzle(pJson);
+                                        if (pz != null) puzzles.add(pz);
+                                    }
+                                }
+                            }
+
+                            rooms.add(new Room(puzzles, roomHints, new ArrayList<>(), new ArrayList<>()));
+                        }
+                    }
+
+                    Room starting = rooms.isEmpty() ? null : rooms.get(0);
+                    loaded.add(new Dungeon(name, rooms, baseMaxAllowedTime, difficulty, starting));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading dungeons: " + e.getMessage());
+        }
+        return List.copyOf(loaded);
+    }
+}
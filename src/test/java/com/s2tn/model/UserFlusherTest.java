@@ -0,0 +1,149 @@
+package com.s2tn.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UserFlusherTest {
+
+    @TempDir
+    Path dir;
+
+    private UserFlusher flusher;
+    private Path users;
+
+    @BeforeEach
+    void setUp() {
+        users = dir.resolve("users.json");
+        flusher = new UserFlusher(users, 60_000, 2); // long interval: tests flush by hand
+    }
+
+    @AfterEach
+    void tearDown() {
+        flusher.close();
+    }
+
+    @Test
+    @DisplayName("repeated changes to one account are coalesced into a single write")
+    void markDirty_coalesces() throws Exception {
+        Account a = new Account("alice", "pw");
+        for (int i = 1; i <= 5; i++) {
+            a.setScore(i * 10);
+            flusher.markDirty(a);
+        }
+        assertEquals(1, flusher.queueDepth());
+
+        assertEquals(1, flusher.flush());
+        assertEquals(0, flusher.queueDepth());
+        assertEquals(50, UserJournal.forPath(users).load().get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("flush writes in batches and records metrics")
+    void flush_batchesAndMetrics() throws Exception {
+        for (int i = 0; i < 5; i++) flusher.markDirty(new Account("player" + i, "pw"));
+
+        assertEquals(5, flusher.flush());
+        assertEquals(3, flusher.flushCount());
+        assertEquals(5, flusher.flushedAccounts());
+        assertTrue(flusher.maxFlushNanos() >= flusher.lastFlushNanos());
+        assertTrue(flusher.averageFlushNanos() > 0);
+        assertEquals(5, UserJournal.forPath(users).load().size());
+    }
+
+    @Test
+    @DisplayName("discarded accounts are not written and close flushes the rest")
+    void discard_andClose() throws Exception {
+        Account keep = new Account("keep", "pw");
+        Account drop = new Account("drop", "pw");
+        flusher.markDirty(keep);
+        flusher.markDirty(drop);
+        flusher.discard(drop.getAccountID());
+
+        flusher.close();
+
+        List<Account> loaded = UserJournal.forPath(users).load();
+        assertEquals(1, loaded.size());
+        assertEquals("keep", loaded.get(0).getUserName());
+    }
+
+    @Test
+    @DisplayName("the background thread flushes on its own")
+    void backgroundFlush() throws Exception {
+        flusher.configure(5, 16);
+        flusher.markDirty(new Account("auto", "pw"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (flusher.queueDepth() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+
+        assertEquals(0, flusher.queueDepth());
+        assertEquals(5, flusher.getIntervalMillis());
+        assertEquals(16, flusher.getBatchSize());
+    }
+
+    @Test
+    @DisplayName("a delete during a flush is ordered after that flush's write")
+    void delete_duringFlush_staysDeleted() throws Exception {
+        Account a = new Account("gone", "pw");
+        UserJournal journal = UserJournal.forPath(users);
+        journal.upsert(List.of(a));
+        a.setScore(99);
+        flusher.markDirty(a);
+
+        Thread flush;
+        Thread delete;
+        synchronized (journal) { // the flush takes its batch, then blocks in upsert
+            flush = new Thread(flusher::flush);
+            flush.start();
+            awaitBlocked(flush);
+            assertEquals(0, flusher.queueDepth());
+            delete = new Thread(() -> {
+                try {
+                    flusher.delete(a.getAccountID());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            delete.start();
+            awaitBlocked(delete);
+        }
+        flush.join(5_000);
+        delete.join(5_000);
+
+        assertTrue(journal.load().isEmpty(), "The deleted account must not come back on load");
+        flusher.markDirty(a); // e.g. a late score update holding the old reference
+        assertEquals(0, flusher.flush());
+        assertTrue(journal.load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("tombstones are dropped once the journal compacts past the delete")
+    void tombstones_prunedAfterCompaction() throws Exception {
+        UserJournal journal = UserJournal.forPath(users);
+        Account a = new Account("pruned", "pw");
+        journal.upsert(List.of(a));
+        assertTrue(flusher.delete(a.getAccountID()));
+        assertEquals(1, flusher.tombstones());
+
+        flusher.flush();
+        assertEquals(1, flusher.tombstones(), "No compaction yet, so late updates are still ignored");
+        journal.compact();
+        flusher.flush();
+        assertEquals(0, flusher.tombstones());
+    }
+
+    private static void awaitBlocked(Thread t) throws InterruptedException {
+        long until = System.nanoTime() + 5_000_000_000L;
+        while (t.getState() != Thread.State.BLOCKED && System.nanoTime() < until) Thread.sleep(1);
+        assertEquals(Thread.State.BLOCKED, t.getState());
+    }
+}
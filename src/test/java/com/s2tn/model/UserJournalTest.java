@@ -0,0 +1,173 @@
+package com.s2tn.model;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UserJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Account account(String name, int score) {
+        Account a = new Account(name, "pw");
+        a.setScore(score);
+        return a;
+    }
+
+    @Test
+    @DisplayName("upsert appends only changed records and load replays them")
+    void upsert_appendsOnlyChanges() throws Exception {
+        Path users = dir.resolve("users.json");
+        Files.writeString(users, "[]", StandardCharsets.UTF_8);
+        UserJournal journal = UserJournal.forPath(users);
+
+        Account a = account("alice", 10);
+        Account b = account("bob", 20);
+        assertEquals(2, journal.upsert(List.of(a, b)));
+        assertEquals(0, journal.upsert(List.of(a, b)));
+
+        a.setScore(15);
+        assertEquals(1, journal.upsert(List.of(a, b)));
+        assertEquals(3, journal.pendingEntries());
+        assertEquals("[]", Files.readString(users, StandardCharsets.UTF_8));
+
+        List<Account> loaded = journal.load();
+        assertEquals(2, loaded.size());
+        assertEquals("alice", loaded.get(0).getUserName());
+        assertEquals(15, loaded.get(0).getScore());
+        assertEquals(b.getAccountID(), loaded.get(1).getAccountID());
+    }
+
+    @Test
+    @DisplayName("delete is replayed and a username owned by another account is not saved")
+    void delete_andUsernameOwnership() throws Exception {
+        UserJournal journal = UserJournal.forPath(dir.resolve("users.json"));
+        Account a = account("alice", 1);
+        journal.upsert(List.of(a));
+
+        assertEquals(0, journal.upsert(List.of(account("alice", 99))));
+        assertTrue(journal.delete(a.getAccountID()));
+        assertFalse(journal.delete(a.getAccountID()));
+        assertTrue(journal.load().isEmpty());
+
+        assertEquals(1, journal.upsert(List.of(account("alice", 99))));
+        assertEquals(99, journal.load().get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("a torn final journal line is dropped and truncated away")
+    void load_dropsTornTail() throws Exception {
+        Path users = dir.resolve("users.json");
+        UserJournal journal = UserJournal.forPath(users);
+        journal.upsert(List.of(account("alice", 1)));
+        long intact = Files.size(journal.getJournalPath());
+
+        Files.writeString(journal.getJournalPath(), "{\"op\":\"put\",\"user\":{\"accountID\":",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Account> loaded = journal.load();
+        assertEquals(1, loaded.size());
+        assertEquals(intact, Files.size(journal.getJournalPath()));
+        assertEquals(1, journal.pendingEntries());
+    }
+
+    @Test
+    @DisplayName("reaching the threshold folds the journal into the snapshot in the background")
+    void compact_rewritesSnapshotAndClearsJournal() throws Exception {
+        Path users = dir.resolve("users.json");
+        UserJournal journal = UserJournal.forPath(users);
+        journal.setCompactThreshold(3);
+
+        Account a = account("alice", 1);
+        Account b = account("bob", 2);
+        journal.upsert(List.of(a, b));
+        assertTrue(journal.delete(b.getAccountID()));
+        awaitCompactions(journal, 1);
+
+        assertEquals(0, journal.pendingEntries());
+        assertEquals(0, Files.size(journal.getJournalPath()));
+        String snapshot = Files.readString(users, StandardCharsets.UTF_8);
+        assertTrue(snapshot.startsWith("[") && snapshot.endsWith("]"));
+        assertTrue(snapshot.contains(a.getAccountID()));
+        assertFalse(snapshot.contains(b.getAccountID()));
+
+        List<Account> loaded = journal.load();
+        assertEquals(1, loaded.size());
+        assertEquals("alice", loaded.get(0).getUserName());
+    }
+
+    @Test
+    @DisplayName("entries saved after a compaction stay in the journal and replay on the new snapshot")
+    void compact_keepsLaterEntries() throws Exception {
+        Path users = dir.resolve("users.json");
+        UserJournal journal = UserJournal.forPath(users);
+        Account a = account("alice", 1);
+        journal.upsert(List.of(a));
+        journal.compact();
+
+        a.setScore(7);
+        assertEquals(1, journal.upsert(List.of(a)));
+        assertEquals(1, journal.pendingEntries());
+        assertFalse(Files.readString(users, StandardCharsets.UTF_8).contains("\"score\":7"));
+
+        List<Account> loaded = journal.load();
+        assertEquals(1, loaded.size());
+        assertEquals(7, loaded.get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("a corrupt line in the middle of the journal is skipped, not treated as the end")
+    void load_skipsCorruptMiddleLine() throws Exception {
+        Path users = dir.resolve("users.json");
+        UserJournal journal = UserJournal.forPath(users);
+        journal.upsert(List.of(account("alice", 1)));
+        Files.writeString(journal.getJournalPath(), "{\"op\":\"put\",\"us garbage\n[1,2]\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Account b = account("bob", 2);
+        journal.upsert(List.of(b));
+        long size = Files.size(journal.getJournalPath());
+
+        List<Account> loaded = journal.load();
+        assertEquals(2, loaded.size());
+        assertEquals(b.getAccountID(), loaded.get(1).getAccountID());
+        assertEquals(2, journal.pendingEntries());
+        assertEquals(size, Files.size(journal.getJournalPath()), "Complete lines must not be truncated away");
+    }
+
+    @Test
+    @DisplayName("a renamed account frees its old username, in memory and after replay")
+    void rename_releasesOldUsername() throws Exception {
+        Path users = dir.resolve("users.json");
+        UserJournal journal = UserJournal.forPath(users);
+        Account a = account("alice", 1);
+        journal.upsert(List.of(a));
+
+        a.setUserName("alicia");
+        assertEquals(1, journal.upsert(List.of(a)));
+        Account b = account("alice", 2);
+        assertEquals(1, journal.upsert(List.of(b)), "The old name should be free for another account");
+        assertEquals(0, journal.upsert(List.of(account("alicia", 3))), "The new name should stay taken");
+
+        List<Account> loaded = journal.load();
+        assertEquals(2, loaded.size());
+        assertEquals(0, journal.upsert(List.of(account("alice", 4))), "Replay should rebuild both directions");
+        assertTrue(journal.delete(b.getAccountID()));
+        assertEquals(1, journal.upsert(List.of(account("alice", 5))));
+    }
+
+    private static void awaitCompactions(UserJournal journal, long count) throws InterruptedException {
+        long until = System.nanoTime() + 5_000_000_000L;
+        while (journal.compactionCount() < count && System.nanoTime() < until) Thread.sleep(1);
+        assertEquals(count, journal.compactionCount());
+    }
+}
@@ -3,6 +3,8 @@ package com.s2tn.model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -173,4 +175,91 @@ class UserListTest {
         // The original user2 should remain unchanged in the list
         assertEquals("userTwo", userList.getId(user2.getAccountID()).getUserName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getUserIgnoreCase should match usernames regardless of case")
+    void getUserIgnoreCase() {
+        userList.addUser(user1);
+        assertSame(user1, userList.getUserIgnoreCase("USERONE"));
+        assertSame(user1, userList.getUserIgnoreCase("userone"));
+        assertNull(userList.getUser("USERONE"), "Exact lookup should stay case-sensitive.");
+        assertNull(userList.getUserIgnoreCase(null));
+        assertNull(userList.getUserIgnoreCase(" "));
+
+        Account shouting = new Account("USERONE", "pass");
+        assertTrue(userList.addUser(shouting));
+        assertSame(user1, userList.getUserIgnoreCase("UserOne"), "Earliest registered account should win.");
+
+        userList.removeUser(user1.getAccountID());
+        assertSame(shouting, userList.getUserIgnoreCase("userOne"));
+    }
+
+    @Test
+    @DisplayName("getAll should keep insertion order through updates and removals")
+    void getAll_keepsInsertionOrder() {
+        Account user3 = new Account("userThree", "pass3");
+        userList.addUser(user1);
+        userList.addUser(user2);
+        userList.addUser(user3);
+
+        Account renamed = new Account("userTwoRenamed", "pass2");
+        renamed.setAccountID(user2.getAccountID());
+        assertTrue(userList.updateUser(renamed));
+        assertTrue(userList.removeUser(user1.getAccountID()));
+
+        List<Account> all = userList.getAll();
+        assertEquals(2, all.size());
+        assertSame(renamed, all.get(0));
+        assertSame(user3, all.get(1));
+        assertEquals(2, userList.size());
+
+        assertNull(userList.getUser("userTwo"), "Old username should no longer resolve.");
+        assertSame(renamed, userList.getUser("userTwoRenamed"));
+        assertTrue(userList.addUser(new Account("userTwo", "again")), "Old username should be free again.");
+    }
+
+    @Test
+    @DisplayName("replaceAll should keep the first of any duplicate IDs or usernames")
+    void replaceAll_skipsDuplicates() {
+        Account sameName = new Account("userOne", "other");
+        Account sameId = new Account("someoneElse", "x");
+        sameId.setAccountID(user2.getAccountID());
+
+        List<Account> fresh = new ArrayList<>();
+        fresh.add(user1);
+        fresh.add(user2);
+        fresh.add(sameName);
+        fresh.add(sameId);
+        fresh.add(null);
+        userList.replaceAll(fresh);
+
+        assertEquals(2, userList.getAll().size());
+        assertSame(user1, userList.getUser("userOne"));
+        assertSame(user2, userList.getId(user2.getAccountID()));
+    }
+
+    @Test
+    @DisplayName("replaceAll should never show a reader an empty or partly filled list")
+    void replaceAll_isAtomicForReaders() throws InterruptedException {
+        List<Account> fresh = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) fresh.add(new Account("filler" + i, "x"));
+        fresh.add(user1);
+        userList.replaceAll(fresh);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (userList.getUser("userOne") == null) misses.incrementAndGet();
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 200; i++) userList.replaceAll(fresh);
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertEquals(0, misses.get(), "userOne is in every list, so lookups should always find it.");
+    }
+}